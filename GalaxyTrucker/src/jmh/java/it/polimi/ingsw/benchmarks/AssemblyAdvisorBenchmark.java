@@ -0,0 +1,96 @@
+package it.polimi.ingsw.benchmarks;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.model.simulation.AssemblyAdvisor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decisions of the assembly advisor on ships halfway through assembly, searched to the end (no time budget):
+ * the placement of a tile in hand, the choice among the uncovered tiles and the evaluation of a ship.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AssemblyAdvisorBenchmark {
+
+    private static final int SHIPS = 8;
+    private static final int PLACED_TILES = 12;
+    private static final int UNCOVERED_TILES = 10;
+    private static final long UNLIMITED_BUDGET_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Param({"TESTFLIGHT", "TWO"})
+    public GameLevel level;
+
+    private AssemblyAdvisor advisor;
+    private ShipBoard[] ships;
+    private List<TileSkeleton> uncoveredTiles;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        advisor = new AssemblyAdvisor(level);
+        ships = new ShipBoard[SHIPS];
+        for (int i = 0; i < SHIPS; i++) {
+            ships[i] = halfAssembledShip(MainCabinTile.Color.values()[i % MainCabinTile.Color.values().length], i);
+        }
+        List<TileSkeleton> pile = new ArrayList<>(TilesFactory.createPileTiles());
+        Collections.shuffle(pile, new Random(SHIPS));
+        uncoveredTiles = List.copyOf(pile.subList(0, UNCOVERED_TILES));
+    }
+
+    /**
+     * @return a ship with {@link #PLACED_TILES} random tiles placed where the advisor suggests
+     */
+    private ShipBoard halfAssembledShip(MainCabinTile.Color color, long seed) {
+        ShipBoard ship = ShipBoard.create(level, color);
+        List<TileSkeleton> pile = new ArrayList<>(TilesFactory.createPileTiles());
+        Collections.shuffle(pile, new Random(seed));
+        for (int i = 0; i < PLACED_TILES; i++) {
+            TileSkeleton tile = pile.removeFirst();
+            AssemblyAdvisor.Placement placement = advisor.advise(ship, tile, List.of(), UNLIMITED_BUDGET_MILLIS);
+            if (placement == null) break;
+            try {
+                tile.rotateTile(placement.rotation());
+                ship.setTile(tile, placement.coordinates());
+            } catch (Exception e) {
+                throw new RuntimeException(e);  // should never happen -> runtime error
+            }
+        }
+        ship.resetVisitors();
+        return ship;
+    }
+
+    private ShipBoard nextShip() {
+        next = (next + 1) % ships.length;
+        return ships[next];
+    }
+
+    @Benchmark
+    public AssemblyAdvisor.Placement adviseTileInHand() {
+        return advisor.advise(nextShip(), uncoveredTiles.get(next % UNCOVERED_TILES), List.of(),
+                UNLIMITED_BUDGET_MILLIS);
+    }
+
+    @Benchmark
+    public AssemblyAdvisor.Placement adviseUncoveredTiles() {
+        return advisor.advise(nextShip(), null, uncoveredTiles, UNLIMITED_BUDGET_MILLIS);
+    }
+
+    @Benchmark
+    public float evaluate() {
+        return AssemblyAdvisor.evaluate(nextShip());
+    }
+}
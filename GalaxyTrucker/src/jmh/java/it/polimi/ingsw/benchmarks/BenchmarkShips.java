@@ -0,0 +1,60 @@
+package it.polimi.ingsw.benchmarks;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.game.Cheats;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.BatteryComponentTile;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the representative ships used by the benchmarks.
+ */
+final class BenchmarkShips {
+
+    private BenchmarkShips() { }
+
+    /**
+     * Builds a ship filled with random tiles (see {@link Cheats#randomFillShipboard}),
+     * with its aggregates computed and its batteries charged.
+     *
+     * @param level The level of the shipboard.
+     * @param color The color of the main cabin.
+     * @param seed The seed used to shuffle the pile of tiles.
+     * @return The built ship.
+     */
+    static ShipBoard randomShip(GameLevel level, MainCabinTile.Color color, long seed) {
+        ShipBoard ship = ShipBoard.create(level, color);
+        List<TileSkeleton> pile = new ArrayList<>(TilesFactory.createPileTiles());
+        Collections.shuffle(pile, new Random(seed));
+        try {
+            Cheats.randomFillShipboard(ship, pile);
+        } catch (RemoteException e) {
+            throw new RuntimeException(e);  // should never happen -> runtime error
+        }
+        ship.resetVisitors();
+        ship.getVisitorCalculateCargoInfo().getBatteriesInfo().getLocations().values()
+                .forEach(BatteryComponentTile::fill);
+        return ship;
+    }
+
+    /**
+     * @param level The level of the shipboards.
+     * @param count The number of ships to build.
+     * @return {@code count} different random ships, always the same for the same arguments.
+     */
+    static ShipBoard[] randomShips(GameLevel level, int count) {
+        ShipBoard[] ships = new ShipBoard[count];
+        for (int i = 0; i < count; i++) {
+            ships[i] = randomShip(level, MainCabinTile.Color.values()[i % MainCabinTile.Color.values().length], i);
+        }
+        return ships;
+    }
+}
@@ -0,0 +1,65 @@
+package it.polimi.ingsw.benchmarks;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.Direction;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.view.cli.CLIFrame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composition and printing of CLI frames, as done by the TUI for each screen refresh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CLIFrameBenchmark {
+
+    private static final int TILES_PER_ROW = 10;
+
+    private CLIFrame[] tileFrames;
+    private ShipBoard ship;
+    private CLIFrame shipFrame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<TileSkeleton> tiles = TilesFactory.createPileTiles();
+        tileFrames = new CLIFrame[4 * TILES_PER_ROW];
+        for (int i = 0; i < tileFrames.length; i++) {
+            tileFrames[i] = tiles.get(i).getCLIRepresentation();
+        }
+        ship = BenchmarkShips.randomShip(GameLevel.TWO, MainCabinTile.Color.BLUE, 0);
+        shipFrame = ship.getCLIRepresentation();
+    }
+
+    @Benchmark
+    public CLIFrame mergeTiles() {
+        CLIFrame result = new CLIFrame();
+        for (int row = 0; row < tileFrames.length / TILES_PER_ROW; row++) {
+            CLIFrame rowFrame = new CLIFrame();
+            for (int column = 0; column < TILES_PER_ROW; column++) {
+                rowFrame = rowFrame.merge(tileFrames[row * TILES_PER_ROW + column], Direction.EAST, 1);
+            }
+            result = result.merge(rowFrame, Direction.SOUTH, 1);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public CLIFrame shipRepresentation() {
+        return ship.getCLIRepresentation();
+    }
+
+    @Benchmark
+    public String shipToString() {
+        return shipFrame.toString();
+    }
+}
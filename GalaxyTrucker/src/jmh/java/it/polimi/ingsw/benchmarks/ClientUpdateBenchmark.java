@@ -0,0 +1,74 @@
+package it.polimi.ingsw.benchmarks;
+
+import it.polimi.ingsw.GamesHandler;
+import it.polimi.ingsw.model.game.Game;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.network.messages.ClientUpdate;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the updates sent to the clients, for games with 2 to 4 players with built ships.
+ * <p>
+ * The game is registered in the {@link GamesHandler} without starting its game loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientUpdateBenchmark {
+
+    @Param({"2", "3", "4"})
+    public int players;
+
+    private Game game;
+    private UUID clientUUID;
+    private ClientUpdate update;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        game = new Game();
+        GamesHandler.getInstance().getGames().add(game);
+        for (int i = 0; i < players; i++) {
+            UUID uuid = UUID.randomUUID();
+            game.addPlayer("player" + i, uuid, MainCabinTile.Color.fromPlayerIndex(i));
+            if (i == 0) {
+                clientUUID = uuid;
+            }
+        }
+        game.initGame();
+        int seed = 0;
+        for (Player player : game.getGameData().getPlayers()) {
+            player.setShipBoard(BenchmarkShips.randomShip(game.getGameData().getLevel(), player.getColor(), seed++));
+        }
+        update = new ClientUpdate(clientUUID);
+        serialized = update.serialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        GamesHandler.getInstance().getGames().remove(game);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return update.serialize();
+    }
+
+    @Benchmark
+    public ClientUpdate deserialize() throws IOException, ClassNotFoundException {
+        return ClientUpdate.deserialize(serialized);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() {
+        return new ClientUpdate(clientUUID).serialize();
+    }
+}
@@ -0,0 +1,35 @@
+package it.polimi.ingsw.benchmarks;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.cards.Deck;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of the pile of tiles and of the decks, done once per game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FactoriesBenchmark {
+
+    @Param({"TESTFLIGHT", "TWO"})
+    public GameLevel level;
+
+    @Benchmark
+    public List<TileSkeleton> createPileTiles() {
+        return TilesFactory.createPileTiles();
+    }
+
+    @Benchmark
+    public Deck randomDeck() {
+        return Deck.random(level);
+    }
+}
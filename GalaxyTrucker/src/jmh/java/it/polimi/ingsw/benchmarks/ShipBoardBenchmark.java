@@ -0,0 +1,65 @@
+package it.polimi.ingsw.benchmarks;
+
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.integrity.VisitorCheckIntegrity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Structural checks on representative ships: the incremental validation done after each change,
+ * the full recomputation of the aggregates and a from-scratch integrity check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShipBoardBenchmark {
+
+    private static final int SHIPS = 8;
+
+    @Param({"TESTFLIGHT", "TWO"})
+    public GameLevel level;
+
+    private ShipBoard[] ships;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ships = BenchmarkShips.randomShips(level, SHIPS);
+    }
+
+    private ShipBoard nextShip() {
+        next = (next + 1) % ships.length;
+        return ships[next];
+    }
+
+    @Benchmark
+    public ShipBoard validateStructure() {
+        ShipBoard ship = nextShip();
+        ship.validateStructure();
+        return ship;
+    }
+
+    @Benchmark
+    public ShipBoard resetVisitors() {
+        ShipBoard ship = nextShip();
+        ship.resetVisitors();
+        return ship;
+    }
+
+    @Benchmark
+    public Object checkIntegrityFromScratch() {
+        VisitorCheckIntegrity visitor = new VisitorCheckIntegrity();
+        nextShip().getBoard().forEach((_, tile) -> tile.accept(visitor));
+        return visitor.getProblem(false);
+    }
+
+    @Benchmark
+    public ShipBoard copy() {
+        return nextShip().copy();
+    }
+}
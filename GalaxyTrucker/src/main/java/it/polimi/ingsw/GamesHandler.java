@@ -2,9 +2,13 @@ package it.polimi.ingsw;
 
 import it.polimi.ingsw.model.game.Game;
 import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.game.GameSaveWriter;
+import it.polimi.ingsw.model.game.SavedGamesIndex;
 import it.polimi.ingsw.model.game.exceptions.ColorAlreadyInUseException;
 import it.polimi.ingsw.model.game.exceptions.GameAlreadyRunningException;
 import it.polimi.ingsw.model.game.exceptions.PlayerAlreadyInGameException;
+import it.polimi.ingsw.model.game.journal.GameJournal;
+import it.polimi.ingsw.model.game.journal.JournalReplayException;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
 
@@ -128,14 +132,21 @@ public class GamesHandler {
     /**
      * Command to resume an existing game. Takes as argument the game state and builds a game in the gamehandler. Then
      * makes the player that wanted to resume it connect as the game leader.
+     * Before building the game, the commands journaled after the snapshot are re-applied on the game state, which is
+     * then saved again to compact the journal.
      * @return the created game object.
+     * @throws JournalReplayException if a journaled command can not be re-applied: the game is not resumed, and its
+     * save and journal are left untouched.
      */
     public Game resumeGame(GameData savedGameState, UUID connectionUUID) throws PlayerAlreadyInGameException,
-            GameAlreadyRunningException {
-        Game createdGame = new Game(savedGameState);
+            GameAlreadyRunningException, JournalReplayException {
         if(games.stream().anyMatch((g) -> g.getId().equals(savedGameState.getGameId()))){
-            throw new GameAlreadyRunningException(createdGame.getId());
+            throw new GameAlreadyRunningException(savedGameState.getGameId());
+        }
+        if (savedGameState.replayJournal() > 0) {
+            savedGameState.saveGameState();
         }
+        Game createdGame = new Game(savedGameState);
         games.add(createdGame);
         try {
             createdGame.addPlayer(savedGameState.getGameLeader(), connectionUUID, null);
@@ -169,13 +180,23 @@ public class GamesHandler {
     }
 
     /**
-     * Deletes the saved game state file associated with the given UUID.
+     * Deletes the saved game state file associated with the given UUID, together with its journal.
      *
      * @param gameId the UUID of the game to delete the state file for
      * @return true if the file was successfully deleted; false if it did not exist or deletion failed
      */
     public static boolean deleteGameSave(UUID gameId) {
-        File file = new File("games", gameId.toString() + ".state");
+        // prevent a save still waiting to be written from restoring the deleted file
+        GameSaveWriter.getInstance().cancel(gameId);
+        File file = GameSaveWriter.getStateFile(gameId);
+        // a game still running has its journal open: close it, or its next command would recreate the file
+        Game game = getInstance().getGame(gameId);
+        if (game != null) {
+            game.getGameData().getJournal().delete();
+        } else {
+            GameJournal.getJournalFile(gameId).delete();
+        }
+        SavedGamesIndex.getInstance().remove(gameId);
 
         if (!file.exists()) {
             return false;
@@ -1,12 +1,27 @@
 package it.polimi.ingsw;
 
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.game.GameSaveFormat;
+import it.polimi.ingsw.model.game.GameSaveWriter;
+import it.polimi.ingsw.model.simulation.SimulationRunner;
 import it.polimi.ingsw.network.GameClient;
 import it.polimi.ingsw.network.GameServer;
 import it.polimi.ingsw.network.exceptions.AlreadyRunningServerException;
 import it.polimi.ingsw.util.CommandOptionsParser;
 import it.polimi.ingsw.util.Default;
+import it.polimi.ingsw.util.Logger;
+import it.polimi.ingsw.util.logging.ConsoleLogSink;
+import it.polimi.ingsw.util.logging.Log;
+import it.polimi.ingsw.util.logging.LogSink;
+import it.polimi.ingsw.util.metrics.Metrics;
+import it.polimi.ingsw.util.metrics.MetricsEndpoint;
+import it.polimi.ingsw.view.bot.LoadGenerator;
+import it.polimi.ingsw.view.bot.LoadStats;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.rmi.NotBoundException;
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +33,8 @@ public class Launcher {
     private static final String OPT_SERVER = "server";
     private static final String OPT_SOCKET_PORT = "socket_port";
     private static final String OPT_RMI_PORT = "rmi_port";
+    private static final String OPT_METRICS_PORT = "metrics_port";
+    private static final String OPT_CONVERT_SAVES = "convert_saves";
     // client
     private static final String OPT_TUI = "tui";
     private static final String OPT_GUI = "gui";
@@ -25,6 +42,19 @@ public class Launcher {
     private static final String OPT_RMI = "rmi_client";
     private static final String OPT_HOST = "host";
     private static final String OPT_CLIENT_PORT = "client_port";
+    // load test (also uses the client connection options)
+    private static final String OPT_LOAD_TEST = "load_test";
+    private static final String OPT_GAMES = "games";
+    private static final String OPT_BOTS = "bots";
+    private static final String OPT_LEVEL = "level";
+    private static final String OPT_TILES = "tiles";
+    private static final String OPT_DURATION = "duration";
+    private static final String OPT_SEED = "seed";
+    // simulation (uses the load test options: games, bots, level, duration, seed)
+    private static final String OPT_SIMULATE = "simulate";
+    // logging
+    private static final String OPT_LOG_LEVEL = "log_level";
+    private static final String OPT_LOG_FILE = "log_file";
 
     public static void main(String[] args) {
         // build command from args
@@ -45,8 +75,16 @@ public class Launcher {
             return;
         }
 
-        // choice - server or client
-        if (CommandOptionsParser.toBoolean(options, OPT_SERVER)) {
+        if (!configureLogging(options)) return;
+
+        // choice - saves conversion, load test, simulation, server or client
+        if (CommandOptionsParser.toBoolean(options, OPT_CONVERT_SAVES)) {
+            convertSaves();
+        } else if (CommandOptionsParser.toBoolean(options, OPT_LOAD_TEST)) {
+            launchLoadTest(options);
+        } else if (CommandOptionsParser.toBoolean(options, OPT_SIMULATE)) {
+            launchSimulation(options);
+        } else if (CommandOptionsParser.toBoolean(options, OPT_SERVER)) {
             launchServer(options);
         } else {
             launchClient(options);
@@ -62,8 +100,39 @@ public class Launcher {
                 .createIntegerInvalidator(OPT_SOCKET_PORT, 1, 65535));
         validator.add(OPT_RMI_PORT, CommandOptionsParser.Validator
                 .createIntegerInvalidator(OPT_RMI_PORT, 1, 65535));
+        validator.add(OPT_METRICS_PORT, CommandOptionsParser.Validator
+                .createIntegerInvalidator(OPT_METRICS_PORT, 0, 65535));
         validator.add(OPT_CLIENT_PORT, CommandOptionsParser.Validator
                 .createIntegerInvalidator(OPT_CLIENT_PORT, 1, 65535));
+        validator.add(OPT_GAMES, CommandOptionsParser.Validator
+                .createIntegerInvalidator(OPT_GAMES, 1, 1_000_000));
+        validator.add(OPT_BOTS, CommandOptionsParser.Validator
+                .createIntegerInvalidator(OPT_BOTS, 2, 4));
+        validator.add(OPT_LEVEL, level -> {
+            try {
+                if (GameLevel.canBePlayed(GameLevel.fromInteger(Integer.parseInt(level)))) return null;
+            } catch (NumberFormatException e) {
+                // invalid: below
+            }
+            return "The value for '" + OPT_LEVEL + "' must be a playable level " + GameLevel.LEVELS_TO_PLAY
+                    .stream().map(l -> String.valueOf(l.ordinal())).toList() + "; '" + level + "' provided.";
+        });
+        validator.add(OPT_TILES, CommandOptionsParser.Validator
+                .createIntegerInvalidator(OPT_TILES, 0, Default.TOTAL_TILES_NUMBER));
+        validator.add(OPT_DURATION, CommandOptionsParser.Validator
+                .createIntegerInvalidator(OPT_DURATION, 1, Integer.MAX_VALUE));
+        validator.add(OPT_SEED, CommandOptionsParser.Validator
+                .createIntegerInvalidator(OPT_SEED, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        validator.add(OPT_LOG_LEVEL, levels -> {
+            try {
+                Log.parseLevels(levels);
+                return null;
+            } catch (IllegalArgumentException e) {
+                return "The value for '" + OPT_LOG_LEVEL + "' must be a comma separated list of levels "
+                        + List.of(Logger.LoggerLevel.values()) + ", each optionally preceded by 'package='; '"
+                        + levels + "' provided.";
+            }
+        });
 
         // parse the command
         HashMap<String, String> result = CommandOptionsParser.parse(command, List.of(
@@ -73,6 +142,9 @@ public class Launcher {
                         OPT_SOCKET_PORT, String.valueOf(Default.PORT(false))),
                 new CommandOptionsParser.OptionFinder(List.of("--rmi-port", "-rmip"),
                         OPT_RMI_PORT, String.valueOf(Default.PORT(true))),
+                new CommandOptionsParser.OptionFinder(List.of("--metrics-port", "-mp"),
+                        OPT_METRICS_PORT, String.valueOf(Default.METRICS_PORT)),
+                new CommandOptionsParser.OptionFinder("--convert-saves", OPT_CONVERT_SAVES, null),
 
                 // Client
                 new CommandOptionsParser.OptionFinder("--tui", OPT_TUI, null),
@@ -82,13 +154,32 @@ public class Launcher {
                 new CommandOptionsParser.OptionFinder(List.of("--host", "-h"),
                         OPT_HOST, Default.HOST),
                 new CommandOptionsParser.OptionFinder(List.of("--port", "-p"),
-                        OPT_CLIENT_PORT, String.valueOf(Default.PORT(Default.USE_RMI)))
+                        OPT_CLIENT_PORT, String.valueOf(Default.PORT(Default.USE_RMI))),
+
+                // Load test
+                new CommandOptionsParser.OptionFinder("--load-test", OPT_LOAD_TEST, null),
+                new CommandOptionsParser.OptionFinder(List.of("--games", "-g"), OPT_GAMES, "1"),
+                new CommandOptionsParser.OptionFinder(List.of("--bots", "-b"), OPT_BOTS, "4"),
+                new CommandOptionsParser.OptionFinder(List.of("--level", "-l"),
+                        OPT_LEVEL, String.valueOf(GameLevel.TWO.ordinal())),
+                new CommandOptionsParser.OptionFinder("--tiles", OPT_TILES, "8"),
+                new CommandOptionsParser.OptionFinder(List.of("--duration", "-d"), OPT_DURATION, "600"),
+                new CommandOptionsParser.OptionFinder("--seed", OPT_SEED, "0"),
+
+                // Simulation
+                new CommandOptionsParser.OptionFinder("--simulate", OPT_SIMULATE, null),
+
+                // Logging
+                new CommandOptionsParser.OptionFinder("--log-level", OPT_LOG_LEVEL, Default.LOG_LEVEL),
+                new CommandOptionsParser.OptionFinder("--log-file", OPT_LOG_FILE, null)
 
-                )
+                ),
+                validator
         );
 
-        // exclusivity between: server and client; in client between: tui and gui, socket and rmi
-        CommandOptionsParser.validateMutuallyExclusiveBooleans(result, Set.of(OPT_SERVER, OPT_TUI, OPT_GUI));
+        // exclusivity between: saves conversion, server and client; in client between: tui and gui, socket and rmi
+        CommandOptionsParser.validateMutuallyExclusiveBooleans(result,
+                Set.of(OPT_CONVERT_SAVES, OPT_SERVER, OPT_TUI, OPT_GUI, OPT_LOAD_TEST, OPT_SIMULATE));
         CommandOptionsParser.validateMutuallyExclusiveBooleans(result, Set.of(OPT_SERVER, OPT_SOCKET, OPT_RMI));
         // exclusivity between: gui, socket and rmi (if gui -> will decide on gui what to use)
         CommandOptionsParser.validateMutuallyExclusiveBooleans(result, Set.of(OPT_GUI, OPT_SOCKET, OPT_RMI));
@@ -96,13 +187,98 @@ public class Launcher {
         return result;
     }
 
+    /**
+     * Applies the levels of the logs and, if requested, adds the log file.
+     * @return {@code false} if the log file can not be opened
+     */
+    private static boolean configureLogging(HashMap<String, String> options) {
+        Log.configure(options.get(OPT_LOG_LEVEL));
+        String logFile = options.get(OPT_LOG_FILE);
+        if (logFile == null) return true;
+        if (logFile.isEmpty()) {
+            System.err.println("The option '--log-file' requires the path of the file.");
+            return false;
+        }
+        try {
+            Log.addFileOutput(new File(logFile), Default.LOG_FILE_MAX_BYTES, Default.LOG_FILE_MAX_OLD_FILES);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Log file " + logFile + " can't be opened: " + e.getMessage());
+            return false;
+        }
+    }
+
     private static void launchServer(HashMap<String, String> options) {
         try {
             GameServer.start(Integer.parseInt(options.get(OPT_RMI_PORT)),
                     Integer.parseInt(options.get(OPT_SOCKET_PORT)));
         } catch (AlreadyRunningServerException e) {
             System.err.println(e.getMessage());
+            return;
+        }
+
+        int metricsPort = Integer.parseInt(options.get(OPT_METRICS_PORT));
+        if (metricsPort == 0) return;  // metrics endpoint disabled
+        try {
+            MetricsEndpoint endpoint = new MetricsEndpoint(metricsPort, Metrics.getInstance());
+            endpoint.start();
+            Logger.info("Metrics available at http://localhost:" + metricsPort + MetricsEndpoint.PATH);
+        } catch (IOException e) {
+            System.err.println("Metrics endpoint can't bind on port " + metricsPort + ": " + e.getMessage());
+        }
+    }
+
+    private static void convertSaves() {
+        int converted = GameSaveFormat.convertLegacySaves(GameSaveWriter.getSavesDirectory());
+        Logger.info("Converted " + converted + " saves to the compact format.");
+    }
+
+    private static void launchLoadTest(HashMap<String, String> options) {
+        LoadGenerator loadGenerator = new LoadGenerator(
+                CommandOptionsParser.toBoolean(options, OPT_RMI),
+                options.get(OPT_HOST),
+                Integer.parseInt(options.get(OPT_CLIENT_PORT)),
+                Integer.parseInt(options.get(OPT_GAMES)),
+                Integer.parseInt(options.get(OPT_BOTS)),
+                GameLevel.fromInteger(Integer.parseInt(options.get(OPT_LEVEL))),
+                Integer.parseInt(options.get(OPT_TILES)),
+                Integer.parseInt(options.get(OPT_SEED))
+        );
+        try {
+            LoadStats stats = loadGenerator.run(Integer.parseInt(options.get(OPT_DURATION)));
+            System.out.println(stats.getReport());
+        } catch (InterruptedException e) {
+            loadGenerator.stopAll();
+            System.out.println(loadGenerator.getStats().getReport());
+        }
+        // the connections of the bots may still hold non-daemon threads
+        System.exit(0);
+    }
+
+    private static void launchSimulation(HashMap<String, String> options) {
+        SimulationRunner runner = new SimulationRunner(
+                GameLevel.fromInteger(Integer.parseInt(options.get(OPT_LEVEL))),
+                Integer.parseInt(options.get(OPT_GAMES)),
+                Integer.parseInt(options.get(OPT_BOTS)),
+                Integer.parseInt(options.get(OPT_SEED))
+        );
+        // the games log every step of their phases: keep only the report and the failed games on the console
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Logger.setLevel(Logger.LoggerLevel.ERROR);
+        LogSink errors = new ConsoleLogSink(System.err);
+        Log.addOutput(errors);
+        try {
+            runner.run(Integer.parseInt(options.get(OPT_DURATION)));
+        } catch (InterruptedException e) {
+            // report what has been played so far
+        } finally {
+            Log.flush();
+            Log.removeOutput(errors);
+            System.setOut(console);
         }
+        System.out.println(runner.getReport());
+        System.exit(0);
     }
 
     private static void launchClient(HashMap<String, String> options) {
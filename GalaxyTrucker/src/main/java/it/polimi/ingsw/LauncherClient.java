@@ -8,7 +8,8 @@ import java.util.List;
 public class LauncherClient {
     public static void main(String[] args) {
         List<String> newArgs = new ArrayList<>(List.of(args));
-        if (!newArgs.contains("--tui") && !newArgs.contains("--gui")) {
+        if (!newArgs.contains("--tui") && !newArgs.contains("--gui") && !newArgs.contains("--load-test")
+                && !newArgs.contains("--simulate")) {
             newArgs.addFirst(Default.USE_GUI ? "--gui" : "--tui");
         }
         Launcher.main(newArgs.toArray(new String[0]));
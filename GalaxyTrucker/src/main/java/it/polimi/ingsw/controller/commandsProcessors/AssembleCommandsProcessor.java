@@ -7,6 +7,7 @@ import it.polimi.ingsw.network.GameClient;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.FixedTileException;
+import it.polimi.ingsw.model.simulation.AssemblyAdvisor;
 import it.polimi.ingsw.util.Coordinates;
 import it.polimi.ingsw.util.EasterEgg;
 import it.polimi.ingsw.view.cli.ANSI;
@@ -63,6 +64,7 @@ public class AssembleCommandsProcessor extends PhaseCommandsProcessor {
                 // can take tile
                 availableCommands.add("draw|Draws a tile from the covered tiles.");
                 availableCommands.add("pick <id>|Pick in hand the tile with ID <id>.");
+                availableCommands.add("hint|Suggest which uncovered tile to pick and where to place it.");
                 // or group of cards
                 if (areThereCardGroups && AssembleState.isPlacedOneTile()) {
                     availableCommands.add("showcg <id>|Pick and show the card group with ID <id>.");
@@ -76,6 +78,7 @@ public class AssembleCommandsProcessor extends PhaseCommandsProcessor {
                 availableCommands.add("reserve|Reserve the tile you have in hand.");
                 availableCommands.add("rotate <direction>|Rotate the tile you have in hand.");
                 availableCommands.add("place <row> <column>|Place the tile from your hand onto your shipboard.");
+                availableCommands.add("hint|Suggest where to place the tile you have in hand.");
             }
             else /* hasCardGroupInHand */ {
                 // can only act with the card group in hand
@@ -262,6 +265,15 @@ public class AssembleCommandsProcessor extends PhaseCommandsProcessor {
                 view.showWarning("Could not find a player with username: " + args[0]);
                 return false;
 
+            case "hint":  // only client side -> always return false, to avoid propagating to the server
+                if (validateIsAssemblyEnded()) return false;
+                if (AssembleState.getPlayer().getShipBoard() == null) {
+                    view.showError("You don't have a shipboard.");
+                    return false;
+                }
+                showHint(tileInHand);
+                return false;
+
             case "easteregg":  // only client side -> always return false, to avoid propagating to the server
                 if (AssembleState.isEndedAssembly() && args.length >= 1) {
                     StringBuilder name = new StringBuilder(args[0]);
@@ -279,6 +291,44 @@ public class AssembleCommandsProcessor extends PhaseCommandsProcessor {
 
     }
 
+    /**
+     * Shows where the {@link AssemblyAdvisor} would place the tile in hand or, with an empty hand,
+     * which uncovered tile it would pick and where.
+     * @param tileInHand the tile in hand, or {@code null} if the hand is empty
+     */
+    private void showHint(TileSkeleton tileInHand) {
+        AssemblyAdvisor.Placement placement = new AssemblyAdvisor(AssembleState.getGameData().getLevel())
+                .advise(AssembleState.getPlayer().getShipBoard(), tileInHand,
+                        AssembleState.getGameData().getUncoveredTiles());
+        if (placement == null) {
+            view.showWarning((tileInHand == null)
+                    ? "There is no uncovered tile to pick: draw one."
+                    : "There is no free spot for the tile you have in hand.");
+            return;
+        }
+        if (placement.gain() < 0) {
+            view.showInfo((tileInHand == null)
+                    ? "No uncovered tile improves your ship: draw one."
+                    : "The tile you have in hand does not improve your ship anywhere: discard or reserve it.");
+            return;
+        }
+
+        // the suggested rotation is from the original orientation: only the missing part must be applied
+        Rotation toApply = (tileInHand == null) ? placement.rotation()
+                : placement.rotation().composedRotation(tileInHand.getAppliedRotation().reversed());
+        Coordinates coordinates = placement.coordinates();
+        StringBuilder hint = new StringBuilder();
+        if (tileInHand == null) {
+            hint.append("pick ").append(placement.tile().getTileId()).append(", ");
+        }
+        if (toApply != Rotation.NONE) {
+            hint.append("rotate ").append(toApply.toString().toLowerCase()).append(", ");
+        }
+        hint.append("place ").append(coordinates.getRow()).append(' ').append(coordinates.getColumn())
+                .append(String.format(" (ship value +%.1f)", placement.gain()));
+        view.showInfo(hint.toString());
+    }
+
     @Override
     protected void performCommand(String command, String[] args) throws RemoteException {
         switch (command) {
@@ -29,6 +29,7 @@ public class ViewCommandsProcessor implements ICommandsProcessor {
             }
             case "help" -> view.onHelp();
             case "debug" -> view.onDebug();
+            case "survival" -> view.onSurvival();
             case "cheat" -> {
                 if (args.length != 1) {
                     view.showWarning("Usage: cheat <cheat name>");
@@ -51,6 +51,30 @@ public enum Direction {
         return value;
     }
 
+    /**
+     * @return The change of row index when moving one step towards this direction:
+     * {@code -1} for {@code NORTH}, {@code +1} for {@code SOUTH}, {@code 0} otherwise.
+     */
+    public int getRowOffset() {
+        return switch (this) {
+            case NORTH -> -1;
+            case SOUTH -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * @return The change of column index when moving one step towards this direction:
+     * {@code -1} for {@code WEST}, {@code +1} for {@code EAST}, {@code 0} otherwise.
+     */
+    public int getColumnOffset() {
+        return switch (this) {
+            case WEST -> -1;
+            case EAST -> 1;
+            default -> 0;
+        };
+    }
+
     /**
      * Calculate the direction obtained as a rotation of <code>this</code> direction.
      * @param rotation The rotation to apply.
@@ -1,5 +1,7 @@
 package it.polimi.ingsw.enums;
 
+import java.util.Random;
+
 /**
  * Four (4) sides rotation enumerator.
  * <p>
@@ -26,6 +28,14 @@ public enum Rotation {
         return VALUES[(int) (Math.random() * VALUES.length)];
     }
 
+    /**
+     * @param random the source of randomness
+     * @return a rotation chosen by {@code random}
+     */
+    public static Rotation random(Random random) {
+        return VALUES[random.nextInt(VALUES.length)];
+    }
+
     private final int value;
 
     Rotation(int value) {
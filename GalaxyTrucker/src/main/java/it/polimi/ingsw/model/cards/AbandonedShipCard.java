@@ -6,8 +6,8 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRRemoveLoadables;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRYesNoChoice;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.model.shipboard.LoadableType;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
@@ -55,14 +55,14 @@ public class AbandonedShipCard extends Card{
 		for(Player p : game.getPlayersInFlight()){
 			if(p.getShipBoard().getVisitorCalculateCargoInfo().getCrewInfo().countAll(LoadableType.CREW_SET) >= requiredCrew){
 				boolean result = game.getPIRHandler().setAndRunTurn(
-						new PIRYesNoChoice(p, Default.PIR_SECONDS, "Do you want to take the ship? " +
+						new PIRYesNoChoice(p, game.getTimings().getPirSeconds(), "Do you want to take the ship? " +
 								"You will lose " + requiredCrew + " crew " +
 								"and " + lostDays + " travel days, but you will receive " +
 								sellPrice + " credits.", false)
 				);
 				if(result){ //meaning they accepted to do it
 					game.getPIRHandler().setAndRunTurn(
-							new PIRRemoveLoadables(p, Default.PIR_SECONDS, LoadableType.CREW_SET, requiredCrew)
+							new PIRRemoveLoadables(p, game.getTimings().getPirSeconds(), LoadableType.CREW_SET, requiredCrew)
 					);
 					PIRUtils.runPlayerMovementBackward(p, lostDays, game);
 					p.addCredits(sellPrice);
@@ -72,6 +72,15 @@ public class AbandonedShipCard extends Card{
 		}
 	}
 
+	@Override
+	public void simulateEffect(FlightSample sample) {
+		// take the ship only if some crew is left after paying for it
+		if(sample.getShipBoard().getVisitorCalculateCargoInfo().getCrewInfo().countAll(LoadableType.CREW_SET) > requiredCrew){
+			sample.loseCrew(requiredCrew);
+			sample.addCredits(sellPrice);
+		}
+	}
+
 	/**
 	 * Generates a CLI representation of the implementing object.
 	 *
@@ -7,7 +7,6 @@ import it.polimi.ingsw.model.playerInput.PIRUtils;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRAddLoadables;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRYesNoChoice;
 import it.polimi.ingsw.model.shipboard.LoadableType;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
@@ -55,14 +54,14 @@ public class AbandonedStationCard extends Card{
 		for(Player p : game.getPlayersInFlight()){
 			if(p.getShipBoard().getVisitorCalculateCargoInfo().getCrewInfo().countAll(LoadableType.CREW_SET) >= requiredCrew){
 				boolean result = game.getPIRHandler().setAndRunTurn(
-						new PIRYesNoChoice(p, Default.PIR_SECONDS, "Do you want to loot the station? " +
+						new PIRYesNoChoice(p, game.getTimings().getPirSeconds(), "Do you want to loot the station? " +
 								"You will lose " + lostDays + " travel days, but you will receive the " +
 								"following loot: " + Arrays.toString(availableCargo)
 								, false)
 				);
 				if(result){ //meaning they accepted to do it
 					game.getPIRHandler().setAndRunTurn(
-							new PIRAddLoadables(p, Default.PIR_SECONDS, List.of(availableCargo))
+							new PIRAddLoadables(p, game.getTimings().getPirSeconds(), List.of(availableCargo))
 					);
 					PIRUtils.runPlayerMovementBackward(p, lostDays, game);
 					break;
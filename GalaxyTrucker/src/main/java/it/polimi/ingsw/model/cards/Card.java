@@ -3,6 +3,7 @@ package it.polimi.ingsw.model.cards;
 import it.polimi.ingsw.enums.AnchorPoint;
 import it.polimi.ingsw.enums.GameLevel;
 import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.util.GameLevelStandards;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
@@ -79,6 +80,14 @@ public abstract class Card implements ICLIPrintable, Serializable {
      */
     public abstract void playEffect(GameData game) throws InterruptedException;
 
+    /**
+     * Applies the effect of the card on a single simulated flight, with no player nor game involved
+     * (see {@link it.polimi.ingsw.model.simulation.SurvivalEstimator SurvivalEstimator}).
+     * By default, the card has no effect on the ship survival nor on its credits.
+     * @param sample The flight to apply the effect on.
+     */
+    public void simulateEffect(FlightSample sample) { }
+
     /**
      * @return The texture associated to this card.
      */
@@ -52,6 +52,15 @@ public class Deck implements Serializable {
      * @param level The deck level.
      */
     public static Deck random(GameLevel level){
+        return random(level, new Random());
+    }
+
+    /**
+     * Instance a deck with randomly selected cards, based on a level.
+     * @param level The deck level.
+     * @param random The source of randomness used to select the cards.
+     */
+    public static Deck random(GameLevel level, Random random){
         Deck result = new Deck(level);
 
         List<Card> tutorialPool;
@@ -61,14 +70,14 @@ public class Deck implements Serializable {
             case TESTFLIGHT:
                 //for the tutorial is simply puts 8 cards randomly into the deck. No cardsgroup here.
                 tutorialPool = DeckFactory.createTutorialDeck();
-                Collections.shuffle(tutorialPool);
+                Collections.shuffle(tutorialPool, random);
                 while (result.deck.size() < 8){
                     result.deck.add(tutorialPool.removeFirst());
                 }
                 break;
             case ONE:
                 l1Pool = DeckFactory.createLevelOneDeck();
-                Collections.shuffle(l1Pool);
+                Collections.shuffle(l1Pool, random);
                 //Creates 4 cardgroups of 2 level1 cards each. The first group is the "secret" one, other 3 are the
                 //flight predictions, so not secret.
 
@@ -82,8 +91,8 @@ public class Deck implements Serializable {
             case TWO:
                 l2Pool = DeckFactory.createLevelTwoDeck();
                 l1Pool = DeckFactory.createLevelOneDeck();
-                Collections.shuffle(l2Pool);
-                Collections.shuffle(l1Pool);
+                Collections.shuffle(l2Pool, random);
+                Collections.shuffle(l1Pool, random);
                 //Create 4 cardgroups each with 2 cards from level 2 and 1 from level 1. Also makes only the first
                 //Cardgroup secret.
                 while(result.cardsGroups.size() < 4){
@@ -148,6 +157,15 @@ public class Deck implements Serializable {
      * It also handles the rule "start with one card of the played level".
      */
     public void mixGroupsIntoCards() {
+        mixGroupsIntoCards(new Random());
+    }
+
+    /**
+     * Prepares the deck from the initial form of cards groups into a full deck with all the cards mixed.
+     * It also handles the rule "start with one card of the played level".
+     * @param random The source of randomness used to mix the cards.
+     */
+    public void mixGroupsIntoCards(Random random) {
         for(CardsGroup c : cardsGroups){
             while(!c.getGroupCards().isEmpty()){
                 deck.add(c.getGroupCards().removeFirst());
@@ -156,7 +174,7 @@ public class Deck implements Serializable {
         // forget about groups of cards
         cardsGroups.clear();
         // now shuffle deck
-        Collections.shuffle(deck);
+        Collections.shuffle(deck, random);
         // ensure the first card is one of the selected level
         while (deck.getFirst().getLevel() != gameLevel) {
             deck.add(deck.removeFirst());  // set as last card
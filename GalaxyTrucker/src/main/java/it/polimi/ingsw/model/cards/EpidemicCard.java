@@ -4,6 +4,7 @@ import it.polimi.ingsw.enums.AnchorPoint;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRDelay;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.model.shipboard.ShipBoard;
 import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
 import it.polimi.ingsw.model.shipboard.visitors.VisitorEpidemic;
@@ -43,17 +44,30 @@ public class EpidemicCard extends Card{
 					pirHandler.setAndRunTurn(pirDelay);
 				});
 		for (Player p : game.getPlayersInFlight()) {
-			VisitorEpidemic visitor = new VisitorEpidemic();
-			ShipBoard shipBoard = p.getShipBoard();
-			Map<Coordinates, TileSkeleton> board = shipBoard.getTilesOnBoard();
-			board.values().forEach(tile -> {
-				tile.accept(visitor);
-			});
-
-			visitor.applyEpidemicEffect(board);
+			spreadEpidemic(p.getShipBoard());
 		}
 	}
 
+	@Override
+	public void simulateEffect(FlightSample sample) {
+		spreadEpidemic(sample.getShipBoard());
+		sample.resolveIntegrity();
+	}
+
+	/**
+	 * Applies the epidemic to a ship, removing one crew member from each cabin connected to another crewed cabin.
+	 * @param shipBoard The ship struck by the epidemic.
+	 */
+	private static void spreadEpidemic(ShipBoard shipBoard) {
+		VisitorEpidemic visitor = new VisitorEpidemic();
+		Map<Coordinates, TileSkeleton> board = shipBoard.getTilesOnBoard();
+		board.values().forEach(tile -> {
+			tile.accept(visitor);
+		});
+
+		visitor.applyEpidemicEffect(board);
+	}
+
 	/**
 	 * Generates a CLI representation of the implementing object.
 	 *
@@ -6,6 +6,7 @@ import it.polimi.ingsw.enums.PowerType;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
@@ -39,6 +40,13 @@ public class OpenSpaceCard extends Card{
 		}
 	}
 
+	@Override
+	public void simulateEffect(FlightSample sample) {
+		if (sample.activatePower(PowerType.THRUST, 0) < 1) {
+			sample.endFlight();
+		}
+	}
+
 	/**
 	 * Generates a CLI representation of the implementing object.
 	 *
@@ -5,6 +5,7 @@ import it.polimi.ingsw.enums.PowerType;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
+import it.polimi.ingsw.model.simulation.FlightSample;
 
 public abstract class EnemyCard extends Card {
 
@@ -73,4 +74,26 @@ public abstract class EnemyCard extends Card {
             }
         }
     }
+
+    /**
+     * Method to assign the loot of the defeated ship in a simulated flight, always accepting it
+     * @param sample flight that is getting the loot
+     */
+    public void simulatePrize(FlightSample sample) { }
+
+    /**
+     * Method to punish a simulated flight defeated by this enemy
+     * @param sample flight on which the method is currently acting upon
+     */
+    public abstract void simulatePunishment(FlightSample sample);
+
+    @Override
+    public void simulateEffect(FlightSample sample) {
+        float totalFirePower = sample.activatePower(PowerType.FIRE, getFirePower());
+        if(totalFirePower > getFirePower()){
+            simulatePrize(sample);
+        }else if(totalFirePower < getFirePower()) {
+            simulatePunishment(sample);
+        }
+    }
 }
@@ -7,9 +7,9 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRMultipleChoice;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRYesNoChoice;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.model.shipboard.exceptions.NoTileFoundException;
 import it.polimi.ingsw.model.shipboard.exceptions.OutOfBuildingAreaException;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
@@ -40,7 +40,7 @@ public class PiratesCard extends EnemyCard{
     @Override
     public void givePrize(Player player, GameData gameData) {
         PIRYesNoChoice pirYesOrNoChoice = new PIRYesNoChoice(player,
-                Default.PIR_SECONDS,
+                gameData.getTimings().getPirSeconds(),
                 "You will receive " + prizeBounty +" credits, but you will lose "
                         + getLostDays() + " days.",
                 true);
@@ -61,6 +61,18 @@ public class PiratesCard extends EnemyCard{
         }
     }
 
+    @Override
+    public void simulatePrize(FlightSample sample) {
+        sample.addCredits(prizeBounty);
+    }
+
+    @Override
+    public void simulatePunishment(FlightSample sample) {
+        for(Projectile proj : punishHits){
+            sample.hit(proj);
+        }
+    }
+
     /**
      * Generates a CLI representation of the implementing object.
      *
@@ -6,8 +6,8 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRRemoveLoadables;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRYesNoChoice;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.model.shipboard.LoadableType;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
@@ -46,7 +46,7 @@ public class SlaversCard extends EnemyCard {
 	@Override
 	public void givePrize(Player player, GameData game) {
 		PIRYesNoChoice pirYesNoChoice = new PIRYesNoChoice(player,
-				Default.PIR_SECONDS,
+				game.getTimings().getPirSeconds(),
 				"You will receive " + prizeBounty +" credits, but you will lose "
 						+ getLostDays() + " days.",
 				true);
@@ -66,10 +66,20 @@ public class SlaversCard extends EnemyCard {
 		if(player.hasRequestedEndFlight()){
 			return;
 		}
-		PIRRemoveLoadables pirRemoveLoadables = new PIRRemoveLoadables(player, Default.PIR_SECONDS, LoadableType.CREW_SET, punishCrewAmount);
+		PIRRemoveLoadables pirRemoveLoadables = new PIRRemoveLoadables(player, game.getTimings().getPirSeconds(), LoadableType.CREW_SET, punishCrewAmount);
 		game.getPIRHandler().setAndRunTurn(pirRemoveLoadables);
 	}
 
+	@Override
+	public void simulatePrize(FlightSample sample) {
+		sample.addCredits(prizeBounty);
+	}
+
+	@Override
+	public void simulatePunishment(FlightSample sample) {
+		sample.loseCrew(punishCrewAmount);
+	}
+
 	/**
 	 * Generates a CLI representation of the implementing object.
 	 *
@@ -6,8 +6,8 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRAddLoadables;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRYesNoChoice;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.model.shipboard.LoadableType;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
@@ -40,7 +40,7 @@ public class SmugglersCard extends EnemyCard {
 	@Override
 	public void givePrize(Player player, GameData game) {
 		PIRYesNoChoice pirYesOrNoChoice = new PIRYesNoChoice(player,
-				Default.PIR_SECONDS,
+				game.getTimings().getPirSeconds(),
 				"You will receive the following goods: " + Arrays.toString(prizeGoods) + " but you will lose " + getLostDays() + " travel days.",
 				true);
 		boolean wantToAccept = game.getPIRHandler().setAndRunTurn(pirYesOrNoChoice);
@@ -52,7 +52,7 @@ public class SmugglersCard extends EnemyCard {
 					.getAllLoadedItems().size();
 			if(loadablesAmount > 0){
 				boolean result = game.getPIRHandler().setAndRunTurn(
-						new PIRYesNoChoice(player, Default.PIR_SECONDS, "Do you want to rearrange the goods already on your ship?", false)
+						new PIRYesNoChoice(player, game.getTimings().getPirSeconds(), "Do you want to rearrange the goods already on your ship?", false)
 				);
 				if(result) {
 					List<LoadableType> loadablesToAdd = player
@@ -62,13 +62,13 @@ public class SmugglersCard extends EnemyCard {
 							.getAllLoadedItems();
 					player.getShipBoard().loseBestGoods(loadablesToAdd.size());
 					game.getPIRHandler().setAndRunTurn(
-							new PIRAddLoadables(player, Default.PIR_SECONDS, loadablesToAdd)
+							new PIRAddLoadables(player, game.getTimings().getPirSeconds(), loadablesToAdd)
 					);
 				}
 			}
 
 
-			PIRAddLoadables pirAddLoadables = new PIRAddLoadables(player, Default.PIR_SECONDS, Arrays.stream(prizeGoods).toList());
+			PIRAddLoadables pirAddLoadables = new PIRAddLoadables(player, game.getTimings().getPirSeconds(), Arrays.stream(prizeGoods).toList());
 			game.getPIRHandler().setAndRunTurn(pirAddLoadables);
 			PIRUtils.runPlayerMovementBackward(player, getLostDays(), game);
 		}
@@ -82,6 +82,11 @@ public class SmugglersCard extends EnemyCard {
 		player.getShipBoard().loseBestGoods(this.punishCargo);
 	}
 
+	@Override
+	public void simulatePunishment(FlightSample sample) {
+		sample.getShipBoard().loseBestGoods(this.punishCargo);
+	}
+
 	/**
 	 * Generates a CLI representation of the implementing object.
 	 *
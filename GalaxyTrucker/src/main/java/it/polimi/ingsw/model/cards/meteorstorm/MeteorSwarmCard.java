@@ -7,6 +7,7 @@ import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRDelay;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.model.shipboard.exceptions.NoTileFoundException;
 import it.polimi.ingsw.model.shipboard.exceptions.OutOfBuildingAreaException;
 import it.polimi.ingsw.util.Default;
@@ -16,8 +17,6 @@ import it.polimi.ingsw.view.cli.CLIFrame;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
 
 import static it.polimi.ingsw.view.cli.CLIScreen.getScreenFrame;
 
@@ -49,6 +48,13 @@ public class MeteorSwarmCard extends Card {
 		}
 	}
 
+	@Override
+	public void simulateEffect(FlightSample sample) {
+		for(Projectile proj : meteors){
+			sample.hit(proj);
+		}
+	}
+
 
 	/**
 	 * Generates a CLI representation of the implementing object.
@@ -8,7 +8,6 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
 import it.polimi.ingsw.model.playerInput.PIRs.*;
 import it.polimi.ingsw.model.shipboard.LoadableType;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
@@ -58,7 +57,7 @@ public class PlanetsCard extends Card {
 		int loadablesAmount = p.getShipBoard().getVisitorCalculateCargoInfo().getGoodsInfo().getAllLoadedItems().size();
 		if(loadablesAmount > 0){
 			boolean result = pirHandler.setAndRunTurn(
-					new PIRYesNoChoice(p, Default.PIR_SECONDS, "Do you want to rearrange the goods already on your ship?", false)
+					new PIRYesNoChoice(p, pirHandler.getTimings().getPirSeconds(), "Do you want to rearrange the goods already on your ship?", false)
 			);
 			if(result){
 				List<LoadableType> loadablesToAdd = p
@@ -68,12 +67,12 @@ public class PlanetsCard extends Card {
 						.getAllLoadedItems();
 				p.getShipBoard().loseBestGoods(loadablesToAdd.size());
 				pirHandler.setAndRunTurn(
-						new PIRAddLoadables(p, Default.PIR_SECONDS, loadablesToAdd)
+						new PIRAddLoadables(p, pirHandler.getTimings().getPirSeconds(), loadablesToAdd)
 				);
 			}
 		}
 
-		PIRAddLoadables pirAddLoadables = new PIRAddLoadables(p, Default.PIR_SECONDS, planet.getAvailableGoods());
+		PIRAddLoadables pirAddLoadables = new PIRAddLoadables(p, pirHandler.getTimings().getPirSeconds(), planet.getAvailableGoods());
 		pirHandler.setAndRunTurn(pirAddLoadables);
 	}
 
@@ -100,7 +99,7 @@ public class PlanetsCard extends Card {
 			availablePlanets.forEach(planet -> planetsOption.add("Loot: " + planet.getAvailableGoods()));
 			planetsOption.addFirst("Don't land");
 			int choice = game.getPIRHandler().setAndRunTurn(
-					new PIRMultipleChoice(p, Default.PIR_SECONDS, "On what planet do you want to land? " +
+					new PIRMultipleChoice(p, game.getTimings().getPirSeconds(), "On what planet do you want to land? " +
 							"(-" + lostDays +" travel days)",
 							planetsOption.toArray(new String[0]), 0)
 			);
@@ -145,7 +145,15 @@ public class Projectile implements Serializable {
      */
     public void roll2D6 ()
     {
-        Random rand = new Random();
+        roll2D6(new Random());
+    }
+
+    /**
+     * Rolls two dies and assigns the value to coord variable
+     * @param rand The source of randomness used to roll the dies.
+     */
+    public void roll2D6 (Random rand)
+    {
         this.coord = 2 + rand.nextInt(6) + rand.nextInt(6);
     }
 
@@ -3,6 +3,7 @@ package it.polimi.ingsw.model.cards.warzone;
 import it.polimi.ingsw.enums.AnchorPoint;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
@@ -49,6 +50,14 @@ public class WarLevel implements Serializable {
 		warPunishment.apply(p, game);
 	}
 
+	/**
+	 * Applies the punishment associated to this war level to a simulated flight.
+	 * @param sample the flight to punish
+	 */
+	public void simulatePunishment(FlightSample sample) {
+		warPunishment.simulate(sample);
+	}
+
 	/**
 	 * Create the representation for this war level in a frame with wrapped in a max number of columns
 	 */
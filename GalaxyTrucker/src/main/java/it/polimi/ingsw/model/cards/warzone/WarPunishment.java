@@ -2,10 +2,17 @@ package it.polimi.ingsw.model.cards.warzone;
 
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.simulation.FlightSample;
 
 import java.io.Serializable;
 
 public interface WarPunishment extends Serializable {
     String getDetails();
     void apply(Player player, GameData gameData) throws InterruptedException;
+
+    /**
+     * Applies the punishment to a simulated flight. By default, it has no effect on the ship survival nor credits.
+     * @param sample the flight to punish
+     */
+    default void simulate(FlightSample sample) { }
 }
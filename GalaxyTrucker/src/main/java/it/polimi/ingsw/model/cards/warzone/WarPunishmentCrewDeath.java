@@ -5,8 +5,8 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRDelay;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRHandler;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRRemoveLoadables;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.model.shipboard.LoadableType;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.view.cli.ANSI;
 
 import java.util.Collections;
@@ -34,17 +34,22 @@ public class WarPunishmentCrewDeath implements WarPunishment {
         );
     }
 
+    @Override
+    public void simulate(FlightSample sample) {
+        sample.loseCrew(crewAmount);
+    }
+
     public void runPir(Player player, PIRHandler pirHandler) {
         PIRDelay pirDelay = new PIRDelay(
                 player,
-                Default.PIR_SHORT_SECONDS,
+                pirHandler.getTimings().getPirShortSeconds(),
                 "You lost in the WarZone! Remove " + crewAmount + " crew members.",
                 null);
         pirHandler.setAndRunTurn(pirDelay);
 
         pirHandler.setAndRunTurn(new PIRRemoveLoadables(
                         player,
-                        Default.PIR_SECONDS,
+                        pirHandler.getTimings().getPirSeconds(),
                         LoadableType.CREW_SET,
                         crewAmount
                 ));
@@ -2,6 +2,7 @@ package it.polimi.ingsw.model.cards.warzone;
 
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.view.cli.ANSI;
 
 public class WarPunishmentLoseGoods implements WarPunishment {
@@ -21,4 +22,9 @@ public class WarPunishmentLoseGoods implements WarPunishment {
     public void apply(Player player, GameData gameData) {
         player.getShipBoard().loseBestGoods(lostGoods);
     }
+
+    @Override
+    public void simulate(FlightSample sample) {
+        sample.getShipBoard().loseBestGoods(lostGoods);
+    }
 }
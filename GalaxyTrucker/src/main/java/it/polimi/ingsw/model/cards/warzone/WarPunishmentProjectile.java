@@ -4,6 +4,7 @@ import it.polimi.ingsw.model.cards.projectile.Projectile;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.view.cli.ANSI;
 
 public class WarPunishmentProjectile implements WarPunishment {
@@ -29,4 +30,11 @@ public class WarPunishmentProjectile implements WarPunishment {
             PIRUtils.runProjectile(player, proj, gameData, false, "War Zone Projectiles");
         }
     }
+
+    @Override
+    public void simulate(FlightSample sample) {
+        for(Projectile proj : projectiles){
+            sample.hit(proj);
+        }
+    }
 }
\ No newline at end of file
@@ -5,7 +5,7 @@ import it.polimi.ingsw.enums.AnchorPoint;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRDelay;
-import it.polimi.ingsw.util.Default;
+import it.polimi.ingsw.model.simulation.FlightSample;
 import it.polimi.ingsw.view.cli.CLIFrame;
 import it.polimi.ingsw.view.cli.CLIScreen;
 
@@ -14,6 +14,11 @@ import java.util.List;
 
 public class WarZoneCard extends Card {
 
+	/**
+	 * Probability for a simulated flight to be the worst of a war level, as one of two players.
+	 */
+	public static final double SIMULATED_WORST_PROBABILITY = 0.5;
+
 	/**
 	 * Levels of this warZone.
 	 */
@@ -40,7 +45,7 @@ public class WarZoneCard extends Card {
 		if (playersInFlight.isEmpty()) return;
 		if (playersInFlight.size() == 1) {
 			game.getPIRHandler().setAndRunTurn(new PIRDelay(playersInFlight.getFirst(),
-					Default.PIR_SHORT_SECONDS, "Since you are the only player still in flight, "
+					game.getTimings().getPirShortSeconds(), "Since you are the only player still in flight, "
 					+ getTitle() + " has no effects on you!", null));
 			return;
 		}
@@ -53,6 +58,22 @@ public class WarZoneCard extends Card {
 		}
 	}
 
+	/**
+	 * Without the other players the worst one can not be selected:
+	 * for each war level, the simulated flight is considered the worst with probability {@link #SIMULATED_WORST_PROBABILITY}.
+	 */
+	@Override
+	public void simulateEffect(FlightSample sample) {
+		for(WarLevel wl : warLevels){
+			if(sample.isEnded()){
+				return;
+			}
+			if(sample.getRandom().nextDouble() < SIMULATED_WORST_PROBABILITY){
+				wl.simulatePunishment(sample);
+			}
+		}
+	}
+
 	/**
 	 * Generates a CLI representation of the implementing object.
 	 *
@@ -1,11 +1,9 @@
 package it.polimi.ingsw.model.game;
 
-import it.polimi.ingsw.GamesHandler;
 import it.polimi.ingsw.TilesFactory;
 import it.polimi.ingsw.enums.GamePhaseType;
 import it.polimi.ingsw.enums.Rotation;
 import it.polimi.ingsw.model.shipboard.exceptions.*;
-import it.polimi.ingsw.network.GameServer;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.shipboard.ShipBoard;
 import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
@@ -14,6 +12,7 @@ import it.polimi.ingsw.util.Coordinates;
 
 import java.rmi.RemoteException;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.IntStream;
 
 import static it.polimi.ingsw.enums.Rotation.CLOCKWISE;
@@ -98,13 +97,34 @@ public class Cheats {
 		player.getShipBoard().forceSetTile(tileList.get(13), new Coordinates(8, 7));
 	}
 
-	public static void cheatShipboard(String cheatName, Game game, Player player) throws AlreadyEndedAssemblyException, FixedTileException, TileAlreadyPresentException, TileWithoutNeighborException, RemoteException, OutOfBuildingAreaException, UninitializedShipboardException {
+	/**
+	 * Applies a cheat shipboard to a player and updates the spectators of its ship.
+	 * @param cheatName the name of the cheat
+	 * @param game the game of the player
+	 * @param player the player to cheat for
+	 * @param seed the seed of the random choices of the cheat, to apply it again in the same way
+	 * (e.g. when replaying the journal of the game)
+	 */
+	public static void cheatShipboard(String cheatName, Game game, Player player, long seed) throws AlreadyEndedAssemblyException, FixedTileException, TileAlreadyPresentException, TileWithoutNeighborException, RemoteException, OutOfBuildingAreaException, UninitializedShipboardException {
+		cheatShipboard(cheatName, game.getGameData(), player, seed);
+		game.getUpdatesListener().broadcastUpdateShipboardSpectators(game, player);
+	}
+
+	/**
+	 * Applies a cheat shipboard to a player, without updating anyone.
+	 * The same cheat with the same seed on the same game data always builds the same shipboard.
+	 * @param cheatName the name of the cheat
+	 * @param gameData the game data of the player
+	 * @param player the player to cheat for
+	 * @param seed the seed of the random choices of the cheat
+	 */
+	public static void cheatShipboard(String cheatName, GameData gameData, Player player, long seed) throws AlreadyEndedAssemblyException, FixedTileException, TileAlreadyPresentException, TileWithoutNeighborException, RemoteException, OutOfBuildingAreaException, UninitializedShipboardException {
 		switch(cheatName){
-			case "standard" -> cheatStandardShipboard(game.getGameData(), player);
-			case "ipship" -> Cheats.integrityProblemShipboard(game, player);
-			case "randomship" -> Cheats.randomShipboard(game, player);
-			case "shielded" -> Cheats.cheatShieldedShipboard(game.getGameData(), player);
-			case "b3-0200" -> Cheats.cheatb3_0200(game.getGameData(), player);
+			case "standard" -> cheatStandardShipboard(gameData, player);
+			case "ipship" -> Cheats.integrityProblemShipboard(gameData, player);
+			case "randomship" -> Cheats.randomShipboard(gameData, player, new Random(seed));
+			case "shielded" -> Cheats.cheatShieldedShipboard(gameData, player);
+			case "b3-0200" -> Cheats.cheatb3_0200(gameData, player);
 			default -> throw new UninitializedShipboardException("Cheat shipboard '" + cheatName +"' not found.");
 		}
 
@@ -159,12 +179,14 @@ public class Cheats {
 		player.getShipBoard().forceSetTile(tileList.get(62 - 1), new Coordinates(7, 8));
 
 		player.getShipBoard().forceSetTile(tileList.get(133 - 1), new Coordinates(6, 8));
-		Game game = GamesHandler.getInstance().getGame(gameData.getGameId());
-		GameServer.getInstance().broadcastUpdateShipboardSpectators(game, player);
-
 	}
 
 	public static void randomFillShipboard(ShipBoard playerShip, List<TileSkeleton> tilesLeft) throws RemoteException {
+		randomFillShipboard(playerShip, tilesLeft, new Random());
+	}
+
+	public static void randomFillShipboard(ShipBoard playerShip, List<TileSkeleton> tilesLeft, Random random)
+			throws RemoteException {
 		TileSkeleton randomTile = null;
 
 		// randomly fill the shipboard
@@ -173,7 +195,7 @@ public class Cheats {
 				if (randomTile == null) {
 					randomTile = tilesLeft.removeFirst();
 					try {
-						randomTile.rotateTile(Rotation.random());
+						randomTile.rotateTile(Rotation.random(random));
 					} catch (FixedTileException e) {
 						throw new RuntimeException(e);  // should never happen -> runtime exception
 					}
@@ -205,18 +227,16 @@ public class Cheats {
 		}
 	}
 
-	public static void randomShipboard(Game game, Player player) throws RemoteException {
-		if (game.getGameData().getCurrentGamePhaseType() != GamePhaseType.ASSEMBLE) {
+	public static void randomShipboard(GameData gameData, Player player, Random random) throws RemoteException {
+		if (gameData.getCurrentGamePhaseType() != GamePhaseType.ASSEMBLE) {
 			return;
 		}
 
-		randomFillShipboard(player.getShipBoard(), game.getGameData().getCoveredTiles());
-
-		GameServer.getInstance().broadcastUpdateShipboardSpectators(game, player);
+		randomFillShipboard(player.getShipBoard(), gameData.getCoveredTiles(), random);
 	}
 
-	public static void integrityProblemShipboard(Game game, Player player) throws RemoteException, FixedTileException {
-		List<TileSkeleton> tileList = validatePhaseAndGetTilesAsGfxElements(game.getGameData());
+	public static void integrityProblemShipboard(GameData gameData, Player player) throws FixedTileException {
+		List<TileSkeleton> tileList = validatePhaseAndGetTilesAsGfxElements(gameData);
 		if (tileList == null) return;
 
 		player.getShipBoard().forceSetTile(tileList.get(3 - 1), new Coordinates(8, 7));
@@ -226,8 +246,6 @@ public class Cheats {
 		player.getShipBoard().forceSetTile(tileList.get(136 - 1), new Coordinates(8, 6));
 
 		player.getShipBoard().forceSetTile(tileList.get(11 - 1), new Coordinates(8, 8));
-
-		GameServer.getInstance().broadcastUpdateShipboardSpectators(game, player);
 	}
 
 	public static void skipPhase(Game game){
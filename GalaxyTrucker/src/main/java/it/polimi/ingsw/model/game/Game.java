@@ -15,17 +15,20 @@ import it.polimi.ingsw.model.gamePhases.ScoreGamePhase;
 import it.polimi.ingsw.model.gamePhases.exceptions.IllegalStartingPositionIndexException;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRDelay;
 import it.polimi.ingsw.network.GameServer;
-import it.polimi.ingsw.network.messages.ClientUpdate;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.player.exceptions.NoShipboardException;
 import it.polimi.ingsw.model.player.exceptions.TooManyItemsInHandException;
+import it.polimi.ingsw.model.playerInput.IntegrityProblemExecutor;
 import it.polimi.ingsw.model.playerInput.PIRUtils;
+import it.polimi.ingsw.model.simulation.AutoPolicy;
 import it.polimi.ingsw.model.shipboard.ShipBoard;
 import it.polimi.ingsw.model.shipboard.exceptions.AlreadyEndedAssemblyException;
 import it.polimi.ingsw.model.gamePhases.exceptions.AlreadyPickedPosition;
 import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
 import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
 import it.polimi.ingsw.util.Default;
+import it.polimi.ingsw.util.events.GamePhaseEvent;
+import it.polimi.ingsw.util.logging.Log;
 
 import java.rmi.RemoteException;
 import java.util.*;
@@ -39,8 +42,11 @@ import java.util.concurrent.TimeUnit;
  */
 public class Game {
 
+    private static final Log LOG = Log.get(Game.class);
+
     ScheduledExecutorService schedulerPeriodicSaver = Executors.newSingleThreadScheduledExecutor();
     private transient Thread gameThread;
+    private final IntegrityProblemExecutor integrityProblemExecutor;
 
     /**
      * Unique identifier for the game.
@@ -52,12 +58,28 @@ public class Game {
      */
     private GameData gameData;
 
+    /**
+     * Receiver of the notifications for the players: if not set, the {@link GameServer}.
+     */
+    private IGameUpdatesListener updatesListener;
+
+    /**
+     * Whether this game is saved on disk while played.
+     */
+    private boolean persistent = true;
+
+    /**
+     * If set, plays in place of all the players.
+     */
+    private AutoPolicy autoPolicy;
+
     /**
      * Creates a new game, based on a GameData. Creates an ID and a timer for it.
      * @param resumeGame The game data to resume.
      */
     public Game(GameData resumeGame) {
         id = resumeGame.getGameId();
+        integrityProblemExecutor = new IntegrityProblemExecutor(id.toString());
         loadGameData(resumeGame);
     }
 
@@ -66,13 +88,69 @@ public class Game {
      */
     public Game(){
         id = UUID.randomUUID();
+        integrityProblemExecutor = new IntegrityProblemExecutor(id.toString());
         loadGameData(new GameData(id));
     }
 
+    /**
+     * Creates a new game, whose random choices are all taken from the provided seed:
+     * receiving the same commands it plays exactly as the game the seed comes from (see {@link GameData#getSeed()}).
+     * @param seed The seed of the game.
+     */
+    public Game(long seed){
+        id = UUID.randomUUID();
+        integrityProblemExecutor = new IntegrityProblemExecutor(id.toString());
+        loadGameData(new GameData(id, seed));
+    }
+
+    /**
+     * @return the receiver of the notifications for the players of this game
+     */
+    public IGameUpdatesListener getUpdatesListener() {
+        if (updatesListener == null) {
+            updatesListener = GameServer.getInstance();
+        }
+        return updatesListener;
+    }
+
+    /**
+     * Sets the receiver of the notifications for the players of this game.
+     * Must be called before starting the game to avoid starting the {@link GameServer}.
+     * @param updatesListener the receiver of the notifications, e.g. {@link IGameUpdatesListener#NONE}
+     */
+    public void setUpdatesListener(IGameUpdatesListener updatesListener) {
+        this.updatesListener = updatesListener;
+    }
+
+    /**
+     * Sets whether this game is saved on disk while played (the default) or only kept in memory.
+     * @param persistent {@code false} to never save this game
+     */
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    /**
+     * Sets a policy playing in place of all the players of this game: it builds their ships as soon as the
+     * assembly starts, and answers all their input requests.
+     * @param autoPolicy the policy, or {@code null} to let the players play
+     */
+    public void setAutoPolicy(AutoPolicy autoPolicy) {
+        this.autoPolicy = autoPolicy;
+        gameData.getPIRHandler().setAutoResponder(autoPolicy == null ? null : autoPolicy::answer);
+    }
+
     public Thread getGameThread() {
         return gameThread;
     }
 
+    /**
+     * @return the executor that resolves the integrity problems of the ships in this game.
+     */
+    public IntegrityProblemExecutor getIntegrityProblemExecutor() {
+        return integrityProblemExecutor;
+    }
+
     public void setGameThread(Thread gameThread) {
         this.gameThread = gameThread;
         gameThread.start();
@@ -107,7 +185,7 @@ public class Game {
 
         //*******//
         // LOBBY
-        System.out.println(this + " In lobby");
+        LOG.info("In lobby");
 
         LobbyGamePhase lobby = new LobbyGamePhase(gameData);
         getGameData().setCurrentGamePhase(lobby);
@@ -118,13 +196,14 @@ public class Game {
         }
 
         // call function to initialize all players stuff
-        System.out.println(this + " Initialization");
+        LOG.info("Initialization");
         initGame();
 
         return true;
     }
 
     private void startPeriodicSave() {
+        if (!persistent) return;
         schedulerPeriodicSaver.scheduleAtFixedRate(gameData::saveGameState, 0, 15, TimeUnit.SECONDS);
     }
 
@@ -143,7 +222,7 @@ public class Game {
         Runnable onTimerSwitch = () -> {
             // notify all players about the new game state with an expired timer
             try {
-                GameServer.getInstance().broadcastUpdate(this);
+                getUpdatesListener().broadcastUpdate(this);
             } catch (RemoteException e) {
                 // ignore exception since there is no other way to notify the players
             }
@@ -170,7 +249,7 @@ public class Game {
 
         //**********//
         // ASSEMBLE
-        System.out.println(this + " Started assemble phase");
+        LOG.info("Started assemble phase");
 
         // create schedule to save game in assemble every tot seconds
         startPeriodicSave();
@@ -179,7 +258,13 @@ public class Game {
         getGameData().setCurrentGamePhase(assemble);
 
         // notify all players about the new game state
-        GameServer.getInstance().broadcastUpdate(this);
+        getUpdatesListener().broadcastUpdate(this);
+
+        if (autoPolicy != null) {
+            for (Player player : getGameData().getPlayers()) {
+                autoPolicy.assemble(this, player);
+            }
+        }
 
         // actually run assemble
         try {
@@ -192,13 +277,13 @@ public class Game {
         // end periodic save
         stopPeriodicSave();
 
-        System.out.println(this + " Ended assemble phase");
+        LOG.info("Ended assemble phase");
         // if here can be because time ended: force all the players that haven't finished yet to end assembly
         for (Player player : getGameData().getPlayers()) {
             if (!player.getShipBoard().isEndedAssembly()) {
                 try {
                     getGameData().endAssembly(player, true, null);
-                    System.out.println(this + " Forced end assemble for player '" + player.getUsername() + "'");
+                    LOG.info("Forced end assemble for player '" + player.getUsername() + "'");
                 } catch (AlreadyEndedAssemblyException | NoShipboardException | TooManyItemsInHandException |
                          AlreadyPickedPosition | IllegalStartingPositionIndexException e) {
                     throw new RuntimeException(e);  // should never happen -> runtime exception
@@ -207,7 +292,7 @@ public class Game {
         }
 
         // Blocking function that waits for everyone to finish set up their shipboard aliens
-        System.out.println(this + " Started filling the shipboards");
+        LOG.info("Started filling the shipboards");
         try {
             fillUpShipboards();
         } catch (InterruptedException e) {
@@ -215,7 +300,7 @@ public class Game {
         }
         //resetting visitor after fillup is necessary to recalculate fire powers.
         gameData.getPlayers().forEach(p -> p.getShipBoard().resetVisitors());
-        System.out.println(this + " Filled all the shipboards");
+        LOG.info("Filled all the shipboards");
 
         gameData.getPIRHandler().joinEndTurn(gameData.getPlayers());
 
@@ -236,12 +321,12 @@ public class Game {
 
         //********//
         // FLIGHT
-        System.out.println(this + " Started flight phase");
+        LOG.info("Started flight phase");
 
         // (*1) ... in that case: no need to prepare the deck -> only prepare if the game is arriving from assemble
         if (currentGamePhaseType == GamePhaseType.ASSEMBLE) {
             // prepare the deck
-            gameData.getDeck().mixGroupsIntoCards();
+            gameData.getDeck().mixGroupsIntoCards(gameData.getRandom());
         }
 
         // manage adventures
@@ -251,15 +336,15 @@ public class Game {
             // endgame if 0 players are flying.
             // we don't check for <= 1 players connected because the game still progresses in this case.
             if (getGameData().getPlayersInFlight().isEmpty()) {
-                System.out.println(this + " Zero alive players... Exiting game.");
-                GameServer.getInstance().broadcastUpdateRefreshOnlyIf(this, _ -> false);
+                LOG.info("Zero alive players... Exiting game.");
+                getUpdatesListener().broadcastUpdateRefreshOnlyIf(this, _ -> false);
                 return true;
             }
 
             // create adventure
             adventureGamePhase = new AdventureGamePhase(gameData, currentAdventureCard);
             getGameData().setCurrentGamePhase(adventureGamePhase);
-            gameData.saveGameState();
+            saveGameState();
             // play the adventure
             try {
                 adventureGamePhase.playLoop();
@@ -279,18 +364,18 @@ public class Game {
                 PIRUtils.runEndFlight(player, gameData.getPIRHandler());
             }
 
-            gameData.saveGameState();
+            saveGameState();
 
             // prepare next adventure
             currentAdventureCard = gameData.getDeck().drawNextCard();
         }
 
-        System.out.println(this + " Ended flight phase");
+        LOG.info("Ended flight phase");
         return true;
     }
 
     private void playEndgame() {
-        System.out.println(this + " Started scoring phase");
+        LOG.info("Started scoring phase");
 
         //********//
         // SCORE SCREEN
@@ -303,34 +388,70 @@ public class Game {
         }
 
         // Delete game save file to prevent the resuming of a finished game.
-        GamesHandler.deleteGameSave(getId());
+        if (persistent) {
+            GamesHandler.deleteGameSave(getId());
+        }
 
         // Disconnect all players. Notify of the disconnection.
         getGameData().getPlayers(Player::isConnected).forEach((p) -> {
             UUID connectionUUID = p.getConnectionUUID();
             p.disconnect();
 			try {
-				GameServer.getInstance()
-                        .getClient(connectionUUID)
-                        .updateClient(new ClientUpdate(connectionUUID, true));
+				getUpdatesListener().notifyLeftGame(connectionUUID);
 			} catch (RemoteException e) {
 				// player may have disconnected, will let the gameserver discover it.
 			}
 		});
 
-        System.out.println(this + " Ended scoring phase.");
+        LOG.info("Ended scoring phase.");
 
         stopGame();
     }
 
+    private void saveGameState() {
+        if (persistent) {
+            gameData.saveGameState();
+        }
+    }
+
     /**
      * Starts and manages the game loop.
+     * Everything logged by the game thread is tagged with the id of this game.
      */
     public void gameLoop() throws RemoteException {
-        boolean continueLoop = playLobby();
-        if (continueLoop) continueLoop = playAssemble();
-        if (continueLoop) continueLoop = playFlight();
-        if (continueLoop) playEndgame();
+        try (Log.Scope _ = Log.tag("game", id)) {
+            boolean continueLoop = playPhase("LOBBY", this::playLobby);
+            if (continueLoop) continueLoop = playPhase("ASSEMBLE", this::playAssemble);
+            if (continueLoop) continueLoop = playPhase("FLIGHT", this::playFlight);
+            if (continueLoop) playPhase("ENDGAME", () -> {
+                playEndgame();
+                return true;
+            });
+        }
+    }
+
+    private interface Phase {
+        boolean play() throws RemoteException;
+    }
+
+    /**
+     * Plays a phase of this game, recording it as a {@link GamePhaseEvent}.
+     * @param name the name of the phase
+     * @param phase the phase to play
+     * @return {@code true} if the phase has been completed successfully, {@code false} otherwise
+     */
+    private boolean playPhase(String name, Phase phase) throws RemoteException {
+        GamePhaseEvent event = new GamePhaseEvent();
+        event.begin();
+        boolean completed = phase.play();
+        event.end();
+        if (event.shouldCommit()) {
+            event.gameId = id.toString();
+            event.phase = name;
+            event.completed = completed;
+            event.commit();
+        }
+        return completed;
     }
 
     /**
@@ -393,7 +514,7 @@ public class Game {
         //After the lobby phase has ended, we initialize the game.
 
         List<TileSkeleton> t = TilesFactory.createPileTiles();
-        Collections.shuffle(t);
+        Collections.shuffle(t, gameData.getRandom());
 
         //assign numeric progressive id to shuffled tiles
         for (int i = 0; i < t.size(); i++) {
@@ -402,7 +523,7 @@ public class Game {
 
         gameData.setCoveredTiles(t);
 
-        gameData.setDeck(Deck.random(gameData.getLevel()));
+        gameData.setDeck(Deck.random(gameData.getLevel(), gameData.getRandom()));
 
         for (Player player : gameData.getPlayers()) {
             ShipBoard shipBoard = ShipBoard.create(gameData.getLevel(), player.getColor());
@@ -430,14 +551,15 @@ public class Game {
         if(getGameThread() != null){
             getGameThread().interrupt();
         }
+        integrityProblemExecutor.shutdown();
         GamesHandler.getInstance().getGames().remove(this);
         getGameData().getPlayers(Player::isConnected).forEach(p -> {
             UUID clientId = p.getConnectionUUID();
             p.disconnect();
 			try {
-				GameServer.getInstance().getClient(clientId).updateClient(new ClientUpdate(clientId, true));
+				getUpdatesListener().notifyLeftGame(clientId);
 			} catch (RemoteException e) {
-				System.out.println("Could not update client " + clientId + " after ending a game.");
+				LOG.warn("Could not update client " + clientId + " after ending a game.");
 			}
 		});
     }
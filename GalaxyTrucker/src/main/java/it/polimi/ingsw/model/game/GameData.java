@@ -7,11 +7,12 @@ import it.polimi.ingsw.enums.GameLevel;
 import it.polimi.ingsw.enums.GamePhaseType;
 import it.polimi.ingsw.model.game.exceptions.PlayerAlreadyInGameException;
 import it.polimi.ingsw.model.game.exceptions.PlayerNotInGameException;
+import it.polimi.ingsw.model.game.journal.GameJournal;
+import it.polimi.ingsw.model.game.journal.JournalReplayException;
 import it.polimi.ingsw.model.gamePhases.AssembleGamePhase;
 import it.polimi.ingsw.model.gamePhases.PlayableGamePhase;
 import it.polimi.ingsw.model.gamePhases.exceptions.IllegalStartingPositionIndexException;
 import it.polimi.ingsw.model.gamePhases.exceptions.IncorrectGamePhaseTypeException;
-import it.polimi.ingsw.network.GameServer;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.player.exceptions.NoShipboardException;
 import it.polimi.ingsw.model.player.exceptions.TooManyItemsInHandException;
@@ -23,6 +24,9 @@ import it.polimi.ingsw.model.gamePhases.exceptions.AlreadyPickedPosition;
 import it.polimi.ingsw.model.shipboard.exceptions.ThatTileIdDoesNotExistsException;
 import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
 import it.polimi.ingsw.util.GameLevelStandards;
+import it.polimi.ingsw.util.events.SaveEvent;
+import it.polimi.ingsw.util.logging.Log;
+import it.polimi.ingsw.util.metrics.Metrics;
 
 import java.io.*;
 import java.rmi.RemoteException;
@@ -34,6 +38,8 @@ import java.util.function.Predicate;
  */
 public class GameData implements Serializable {
 
+    private static final Log LOG = Log.get(GameData.class);
+
     /**
      * The game level configuration.
      */
@@ -50,7 +56,8 @@ public class GameData implements Serializable {
     private PlayableGamePhase currentGamePhase;
 
     /**
-     * List of players in the game.
+     * List of players in the game, in order of joining:
+     * players with the same route order (e.g. before the assembly ends) are always listed in the same order.
      */
     private final Set<Player> players;
 
@@ -64,6 +71,20 @@ public class GameData implements Serializable {
      */
     private final UUID gameId;
 
+    /**
+     * The seed of {@link #random}: together with the journaled commands it is enough to replay the whole game.
+     * Like {@link #random}, it is not sent to the clients.
+     */
+    private transient long seed;
+
+    /**
+     * Source of every random choice of the game (tiles pile, deck, dice).
+     * It is saved explicitly with the game by {@link GameSaveFormat}, so a resumed game keeps drawing the same
+     * sequence, but it is not part of the serialized game data: the clients, receiving the game data in every
+     * {@code ClientUpdate}, could otherwise predict the next tiles, cards and dice.
+     */
+    private transient Random random;
+
     /**
      * The player whose turn it is.
      */
@@ -98,16 +119,45 @@ public class GameData implements Serializable {
      */
     private transient Object movementLock = new Object();
 
+    /**
+     * Sequence number of the last journal entry whose effect is contained in the saved snapshot of this game.
+     */
+    private long journalSequence = 0;
+
+    /**
+     * Journal of the commands applied since the last saved snapshot.
+     */
+    private transient GameJournal journal;
+
+    /**
+     * Held while applying a journaled command and recording it, and while capturing a snapshot, so that a snapshot
+     * contains exactly the commands journaled up to its {@link #journalSequence}.
+     */
+    private transient Object commandLock;
+
     private int requiredPlayers;
 
     private String gameLeader;
 
     /**
-     * Constructs a new GameData object with a default game level.
+     * Constructs a new GameData object with a default game level and a random seed.
      */
     public GameData(UUID gameId) {
+        this(gameId, new Random().nextLong());
+    }
+
+    /**
+     * Constructs a new GameData object with a default game level.
+     * Two games created with the same seed, receiving the same commands, evolve in the same way.
+     *
+     * @param gameId the id of the game
+     * @param seed the seed of all the random choices of the game
+     */
+    public GameData(UUID gameId, long seed) {
         this.gameId = gameId;
-        players = new HashSet<>();
+        this.seed = seed;
+        random = new Random(seed);
+        players = new LinkedHashSet<>();
         availableGoods = new HashMap<>();
         coveredTiles = new ArrayList<>();
         uncoveredTiles = new ArrayList<>();
@@ -234,6 +284,23 @@ public class GameData implements Serializable {
         return pirHandler;
     }
 
+    /**
+     * @return the time limits of this game
+     */
+    public GameTimings getTimings() {
+        return pirHandler.getTimings();
+    }
+
+    /**
+     * Sets the time limits of this game.
+     * The hourglass duration is read when the assembly starts, the others every time a PIR is created.
+     *
+     * @param timings the time limits
+     */
+    public void setTimings(GameTimings timings) {
+        pirHandler.setTimings(timings);
+    }
+
     /**
      * Gets the list of game deck.
      *
@@ -437,6 +504,34 @@ public class GameData implements Serializable {
         return gameId;
     }
 
+    /**
+     * @return the seed of all the random choices of the game
+     */
+    @JsonIgnore
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the source of all the random choices of the game, initialized with {@link #getSeed()}.
+     * {@code null} on the clients.
+     */
+    @JsonIgnore
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Restore the random choices of a loaded game.
+     * @param seed the seed of the game
+     * @param random the state of the random choices of the game as it was saved, or {@code null} to start a new
+     *               sequence from {@code seed}
+     */
+    void restoreRandom(long seed, Random random) {
+        this.seed = seed;
+        this.random = (random != null) ? random : new Random(seed);
+    }
+
     /**
      * Gets the username or identifier of the game leader.<br>
      * <b>NOTE</b>: the game leader is not the leader in flight board! It's the one who created the game.
@@ -532,6 +627,15 @@ public class GameData implements Serializable {
         return result;
     }
 
+    /**
+     * @param position a position on the route board
+     * @return the index of {@code position} relative to the {@code startingPositions} list,
+     * or -1 if it is not a starting position
+     */
+    public int getStartingPositionIndex(int position) {
+        return startingPositions.indexOf(position);
+    }
+
     /**
      * Ends the assembly phase for the given player, optionally forcing it.
      * <p>
@@ -563,7 +667,12 @@ public class GameData implements Serializable {
 
         if (preferredPositionIndex == null) {
             // calculate first valid position as preferred
-            preferredPositionIndex = getAvailableStartingPositionIndexes().getFirst();
+            List<Integer> availablePositionIndexes = getAvailableStartingPositionIndexes();
+            if (availablePositionIndexes.isEmpty()) {
+                // every position is taken: everyone, this player too, has already ended assembly
+                throw new AlreadyEndedAssemblyException();
+            }
+            preferredPositionIndex = availablePositionIndexes.getFirst();
         }
 
         // check if anyone is sitting on the preferred position already, or if it is not valid -> throw exception
@@ -590,11 +699,12 @@ public class GameData implements Serializable {
             if (p.getPosition() == null) {  // not ended assemble yet
                 // notify only this player about its end of assemble, and if it has no integrity problems
                 // if it has integrity problems -> already updates with requests to solve integrity problem
-                if (!player.getShipBoard().getVisitorCheckIntegrity().getProblem(true).isProblem()) {
+                Game game = GamesHandler.getInstance().getGame(gameId);
+                if (game != null && !player.getShipBoard().getVisitorCheckIntegrity().getProblem(true).isProblem()) {
                     try {
-                        GameServer.getInstance().broadcastUpdate(GamesHandler.getInstance().getGame(gameId));
+                        game.getUpdatesListener().broadcastUpdate(game);
                     } catch (RemoteException e) {
-                        System.err.println("RemoteException while notifying end of assemble without integrity problem");
+                        LOG.warn("RemoteException while notifying end of assemble without integrity problem");
                     }
                 }
                 return;
@@ -607,50 +717,106 @@ public class GameData implements Serializable {
     }
 
     /**
-     * Serializes the object instance into an UTF-8 encoded string.
-     * @return
+     * @return the journal of the commands applied to this game since its last saved snapshot.
      */
-    public void saveGameState() {
-        if(getCurrentGamePhaseType() == GamePhaseType.LOBBY){
-            return;
+    @JsonIgnore
+    public synchronized GameJournal getJournal() {
+        if (journal == null) {
+            journal = new GameJournal(gameId, journalSequence);
         }
+        return journal;
+    }
 
-        File directory = new File("games");
-
-        if (!directory.exists()) {
-            directory.mkdirs();
+    /**
+     * A command that changes this game data must be applied and recorded in the {@link #getJournal() journal}
+     * while holding this lock, otherwise a snapshot could contain the command without its journal entry,
+     * or vice versa.
+     * @return the lock of the journaled commands of this game.
+     */
+    public synchronized Object getCommandLock() {
+        if (commandLock == null) {
+            commandLock = new Object();
         }
+        return commandLock;
+    }
 
-        File file = new File(directory, getGameId().toString() + ".state");
-
-        try (FileOutputStream fos = new FileOutputStream(file);
-             ObjectOutputStream oos = new ObjectOutputStream(fos)) {
+    /**
+     * Re-apply on this (just loaded) game data the commands journaled after its snapshot has been saved.
+     * @return the amount of commands re-applied
+     * @throws JournalReplayException if a command can not be re-applied: this game data should not be resumed
+     */
+    public int replayJournal() throws JournalReplayException {
+        return getJournal().replay(this, journalSequence);
+    }
 
-            oos.writeObject(this); // Assuming `this` is Serializable
-            oos.flush();
+    /**
+     * Captures a snapshot of the object instance, in the {@link GameSaveFormat}, and schedules it to be saved in
+     * {@code games/<gameId>.state} by the {@link GameSaveWriter}, so that no disk I/O happens on the calling thread.
+     * Once the snapshot has been saved, the journal is compacted dropping all the commands contained in it.
+     */
+    public void saveGameState() {
+        if(getCurrentGamePhaseType() == GamePhaseType.LOBBY){
+            return;
+        }
 
-        } catch (IOException e) {
-            e.printStackTrace();
+        GameJournal journal = getJournal();
+        long snapshotSequence;
+
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        GameSaveFormat.Metadata metadata = GameSaveFormat.createMetadata(this, System.currentTimeMillis());
+        byte[] snapshot;
+        synchronized (getCommandLock()) {
+            journalSequence = journal.getLastSequence();
+            snapshotSequence = journalSequence;
+            try {
+                snapshot = GameSaveFormat.write(this, metadata);
+            } catch (ConcurrentModificationException e) {
+                // game state changed while capturing it (by the game thread, which does not journal its changes):
+                // the next save will capture a consistent one
+                Metrics.getInstance().counter("saves.skipped").increment();
+                LOG.warn("Game " + gameId + " modified while capturing its snapshot: save skipped");
+                return;
+            } catch (IOException e) {
+                LOG.error("Unable to capture the snapshot of game " + gameId, e);
+                return;
+            }
+        }
+        Metrics.getInstance().timer("saves.snapshot.duration").recordNanosSince(start);
+        Metrics.getInstance().histogram("saves.snapshot.size", "bytes").record(snapshot.length);
+        event.end();
+        if (event.shouldCommit()) {
+            event.gameId = gameId.toString();
+            event.stage = SaveEvent.SNAPSHOT;
+            event.size = snapshot.length;
+            event.commit();
         }
+
+        GameSaveWriter.getInstance().submit(gameId, snapshot, () -> {
+            journal.compact(snapshotSequence);
+            SavedGamesIndex.getInstance().update(metadata);
+        });
     }
 
 
     /**
      * Given a gameID, returns a GameData relative to that ID.
+     * Both saves in the {@link GameSaveFormat} and in the legacy format are supported.
      * @param gameId The gameID to resume.
      * @return The GameData object built from the savestate. Null if the save state with the ID does not exist.
      */
     public static GameData loadFromState(UUID gameId) {
-        File file = new File("games", gameId.toString() + ".state");
+        File file = GameSaveWriter.getStateFile(gameId);
 
         if (!file.exists()) {
             return null;
         }
 
-        try (FileInputStream fis = new FileInputStream(file);
-             ObjectInputStream ois = new ObjectInputStream(fis)) {
-
-            GameData game = (GameData) ois.readObject();
+        try {
+            GameData game = GameSaveFormat.isCompactSave(file)
+                    ? GameSaveFormat.read(file)
+                    : GameSaveFormat.readLegacy(file);
 
             // Reset connectionUUIDs for all players
             game.players.forEach(Player::disconnect);
@@ -658,7 +824,7 @@ public class GameData implements Serializable {
             return game;
 
         } catch (IOException | ClassNotFoundException e) {
-            e.printStackTrace();
+            LOG.error("Unable to load the saved game " + file, e);
             return null;
         }
     }
@@ -0,0 +1,549 @@
+package it.polimi.ingsw.model.game;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.GamePhaseType;
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.shipboard.LoadableType;
+import it.polimi.ingsw.model.shipboard.tiles.CabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.ContainerTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.model.shipboard.tiles.exceptions.FixedTileException;
+import it.polimi.ingsw.util.Coordinates;
+import it.polimi.ingsw.util.logging.Log;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact, versioned binary format of the game saves.
+ * <p>
+ * Layout of a save file:
+ * <ol>
+ *     <li>header: magic number and format version;</li>
+ *     <li>metadata: game id, save time, level, phase, required players, leader and players usernames.
+ *     It can be read without loading the rest of the save (see {@link #readMetadata(File)});</li>
+ *     <li>tile table: for each tile of the pile, by tile id, its texture (to rebuild it from {@link TilesFactory}),
+ *     rotation, coordinates and primitive-encoded cargo;</li>
+ *     <li>object section: the remaining game state, Java-serialized with every tile of the table replaced
+ *     by a reference to its id, followed by the seed and the state of the random choices of the game
+ *     (not part of the serialized {@link GameData}, which is also sent to the clients).</li>
+ * </ol>
+ * Saves of version 1 have no random state: a resumed game starts a new sequence of random choices.
+ * Save files are read through a memory-mapped {@link FileChannel}.
+ * Saves in the legacy format (plain Java serialization of {@link GameData}) can still be read,
+ * and converted with {@link #convertLegacySaves(File)}.
+ */
+public class GameSaveFormat {
+
+    private static final Log LOG = Log.get(GameSaveFormat.class);
+
+    /**
+     * "GTSV" in ASCII
+     */
+    private static final int MAGIC = 0x47545356;
+    public static final short VERSION = 2;
+
+    private static final byte TILE_PLAIN = 0;
+    private static final byte TILE_CONTAINER = 1;
+    private static final byte TILE_CABIN = 2;
+
+    /**
+     * Metadata of a saved game, readable without loading the whole save.
+     */
+    public static class Metadata implements Serializable {
+        private final UUID gameId;
+        private final long savedAt;
+        private final GameLevel level;
+        private final GamePhaseType phase;
+        private final int requiredPlayers;
+        private final String leader;
+        private final List<String> players;
+
+        public Metadata(UUID gameId, long savedAt, GameLevel level, GamePhaseType phase,
+                        int requiredPlayers, String leader, List<String> players) {
+            this.gameId = gameId;
+            this.savedAt = savedAt;
+            this.level = level;
+            this.phase = phase;
+            this.requiredPlayers = requiredPlayers;
+            this.leader = leader;
+            this.players = players;
+        }
+
+        public UUID getGameId() {
+            return gameId;
+        }
+
+        /**
+         * @return the time the game has been saved at, in milliseconds since the epoch
+         */
+        public long getSavedAt() {
+            return savedAt;
+        }
+
+        public GameLevel getLevel() {
+            return level;
+        }
+
+        public GamePhaseType getPhase() {
+            return phase;
+        }
+
+        public int getRequiredPlayers() {
+            return requiredPlayers;
+        }
+
+        public String getLeader() {
+            return leader;
+        }
+
+        public List<String> getPlayers() {
+            return players;
+        }
+    }
+
+    /**
+     * Placeholder written in the object section in place of a tile of the tile table.
+     */
+    private static class TileRef implements Serializable {
+        private final int id;
+
+        private TileRef(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Textures of all the tiles of the pile, the only ones that can be rebuilt from the tile table.
+     */
+    private static Set<String> pileTextures;
+
+    private static synchronized Set<String> getPileTextures() {
+        if (pileTextures == null) {
+            pileTextures = Collections.unmodifiableSet(createPileByTexture().keySet());
+        }
+        return pileTextures;
+    }
+
+    /**
+     * Create a new pile of tiles, by texture name.
+     * The texture is what identifies a tile of the pile in the tile table: tile ids are only assigned when the
+     * pile is shuffled, so they can not be used to rebuild the tiles from {@link TilesFactory}.
+     * @return the tiles of a new pile, by texture name
+     * @throws IllegalStateException if two tiles of the pile have the same texture
+     */
+    private static Map<String, TileSkeleton> createPileByTexture() {
+        Map<String, TileSkeleton> pile = new HashMap<>();
+        for (TileSkeleton tile : TilesFactory.createPileTiles()) {
+            if (pile.put(tile.getTextureName(), tile) != null) {
+                throw new IllegalStateException("Texture " + tile.getTextureName() + " is used by more than one tile: "
+                        + "the tiles of the pile can not be saved");
+            }
+        }
+        return pile;
+    }
+
+    private GameSaveFormat() {}
+
+    // ------------------------------------------------------------------------------------------------------------
+    // WRITE
+
+    private static class TileReplacingOutputStream extends ObjectOutputStream {
+        private final Map<Integer, TileSkeleton> replacedTiles = new TreeMap<>();
+        private final Set<String> replaceableTextures = getPileTextures();
+
+        private TileReplacingOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (obj instanceof TileSkeleton tile && tile.hasTileId()
+                    && replaceableTextures.contains(tile.getTextureName())) {
+                replacedTiles.put(tile.getTileId(), tile);
+                return new TileRef(tile.getTileId());
+            }
+            return obj;
+        }
+    }
+
+    /**
+     * Encode a game in the compact save format.
+     * @param gameData the game to encode
+     * @return the bytes of the save
+     * @throws IOException if the game can not be encoded
+     */
+    public static byte[] write(GameData gameData) throws IOException {
+        return write(gameData, createMetadata(gameData, System.currentTimeMillis()));
+    }
+
+    /**
+     * Encode a game in the compact save format, with the provided metadata.
+     * @param gameData the game to encode
+     * @param metadata the metadata of the game, as created by {@link #createMetadata(GameData, long)}
+     * @return the bytes of the save
+     * @throws IOException if the game can not be encoded
+     */
+    public static byte[] write(GameData gameData, Metadata metadata) throws IOException {
+        // 1. object section first, to know which tiles need to be in the table
+        ByteArrayOutputStream objectSection = new ByteArrayOutputStream();
+        Map<Integer, TileSkeleton> tiles;
+        try (TileReplacingOutputStream oos = new TileReplacingOutputStream(objectSection)) {
+            oos.writeObject(gameData);
+            oos.writeLong(gameData.getSeed());
+            oos.writeObject(gameData.getRandom());
+            oos.flush();
+            tiles = oos.replacedTiles;
+        }
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(objectSection.size() + 32 * tiles.size() + 256);
+        DataOutputStream out = new DataOutputStream(bos);
+
+        // 2. header
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        // 3. metadata
+        writeMetadata(out, metadata);
+
+        // 4. tile table
+        out.writeInt(tiles.size());
+        for (TileSkeleton tile : tiles.values()) {
+            writeTile(out, tile);
+        }
+
+        // 5. object section
+        out.writeInt(objectSection.size());
+        objectSection.writeTo(out);
+
+        out.flush();
+        return bos.toByteArray();
+    }
+
+    /**
+     * Capture the metadata of a game.
+     * @param gameData the game
+     * @param savedAt the time the game is being saved at, in milliseconds since the epoch
+     * @return the metadata of the game
+     */
+    public static Metadata createMetadata(GameData gameData, long savedAt) {
+        List<String> players = new ArrayList<>();
+        for (Player player : gameData.getPlayers()) {
+            players.add(player.getUsername());
+        }
+        return new Metadata(gameData.getGameId(), savedAt, gameData.getLevel(), gameData.getCurrentGamePhaseType(),
+                gameData.getRequiredPlayers(), gameData.getGameLeader(), Collections.unmodifiableList(players));
+    }
+
+    static void writeMetadata(DataOutputStream out, Metadata metadata) throws IOException {
+        out.writeLong(metadata.getGameId().getMostSignificantBits());
+        out.writeLong(metadata.getGameId().getLeastSignificantBits());
+        out.writeLong(metadata.getSavedAt());
+        writeString(out, metadata.getLevel().name());
+        writeString(out, metadata.getPhase().name());
+        out.writeByte(metadata.getRequiredPlayers());
+        writeString(out, metadata.getLeader() == null ? "" : metadata.getLeader());
+        out.writeByte(metadata.getPlayers().size());
+        for (String player : metadata.getPlayers()) {
+            writeString(out, player);
+        }
+    }
+
+    private static void writeTile(DataOutputStream out, TileSkeleton tile) throws IOException {
+        out.writeShort(tile.getTileId());
+        writeString(out, tile.getTextureName());
+        out.writeByte(tile.getAppliedRotation().ordinal());
+        Coordinates coordinates = tile.isPlaced() ? tile.forceGetCoordinates() : null;
+        out.writeByte(coordinates == null ? -1 : coordinates.getRow());
+        out.writeByte(coordinates == null ? -1 : coordinates.getColumn());
+
+        if (tile instanceof ContainerTile container) {
+            out.writeByte(container instanceof CabinTile ? TILE_CABIN : TILE_CONTAINER);
+            int allowedMask = 0;
+            for (LoadableType allowed : container.getAllowedItems()) {
+                allowedMask |= 1 << allowed.ordinal();
+            }
+            out.writeShort(allowedMask);
+            List<LoadableType> loadedItems = container.getLoadedItems();
+            out.writeByte(loadedItems.size());
+            for (LoadableType item : loadedItems) {
+                out.writeByte(item.ordinal());
+            }
+            if (container instanceof CabinTile cabin) {
+                out.writeByte(cabin.getLoadedCrew() == null ? -1 : cabin.getLoadedCrew().ordinal());
+            }
+        } else {
+            out.writeByte(TILE_PLAIN);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // READ
+
+    private static class TileResolvingInputStream extends ObjectInputStream {
+        private final Map<Integer, TileSkeleton> tiles;
+
+        private TileResolvingInputStream(InputStream in, Map<Integer, TileSkeleton> tiles) throws IOException {
+            super(in);
+            this.tiles = tiles;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) throws IOException {
+            if (obj instanceof TileRef ref) {
+                TileSkeleton tile = tiles.get(ref.id);
+                if (tile == null) {
+                    throw new InvalidObjectException("Tile " + ref.id + " is not in the tile table");
+                }
+                return tile;
+            }
+            return obj;
+        }
+    }
+
+    /**
+     * Input stream reading the remaining bytes of a buffer.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) return -1;
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * @param file the save file to check
+     * @return {@code true} if the file is a save in the compact format, {@code false} otherwise
+     * (e.g. a legacy save)
+     */
+    public static boolean isCompactSave(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static short readHeader(ByteBuffer buffer, File file) throws IOException {
+        if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+            throw new StreamCorruptedException(file + " is not a save in the compact format");
+        }
+        short version = buffer.getShort();
+        if (version < 1 || version > VERSION) {
+            throw new StreamCorruptedException(file + " has unsupported save format version " + version);
+        }
+        return version;
+    }
+
+    static Metadata readMetadata(ByteBuffer buffer) {
+        UUID gameId = new UUID(buffer.getLong(), buffer.getLong());
+        long savedAt = buffer.getLong();
+        GameLevel level = GameLevel.valueOf(readString(buffer));
+        GamePhaseType phase = GamePhaseType.valueOf(readString(buffer));
+        int requiredPlayers = buffer.get();
+        String leader = readString(buffer);
+        int playersCount = buffer.get();
+        List<String> players = new ArrayList<>(playersCount);
+        for (int i = 0; i < playersCount; i++) {
+            players.add(readString(buffer));
+        }
+        return new Metadata(gameId, savedAt, level, phase, requiredPlayers,
+                leader.isEmpty() ? null : leader, Collections.unmodifiableList(players));
+    }
+
+    /**
+     * Read only the metadata of a save in the compact format.
+     * @param file the save file
+     * @return the metadata of the saved game
+     * @throws IOException if the file can not be read or is not a save in the compact format
+     */
+    public static Metadata readMetadata(File file) throws IOException {
+        MappedByteBuffer buffer = map(file);
+        try {
+            readHeader(buffer, file);
+            return readMetadata(buffer);
+        } catch (RuntimeException e) {
+            throw new StreamCorruptedException("Corrupted metadata in " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read a whole save in the compact format.
+     * @param file the save file
+     * @return the saved game
+     * @throws IOException if the file can not be read or is not a save in the compact format
+     * @throws ClassNotFoundException if the object section references unknown classes
+     */
+    public static GameData read(File file) throws IOException, ClassNotFoundException {
+        MappedByteBuffer buffer = map(file);
+        short version;
+        Map<Integer, TileSkeleton> tiles;
+        try {
+            version = readHeader(buffer, file);
+            readMetadata(buffer);
+            tiles = readTileTable(buffer);
+        } catch (RuntimeException e) {
+            throw new StreamCorruptedException("Corrupted tile table in " + file + ": " + e.getMessage());
+        }
+
+        int objectSectionLength = buffer.getInt();
+        if (objectSectionLength != buffer.remaining()) {
+            throw new StreamCorruptedException(file + " is truncated");
+        }
+        try (TileResolvingInputStream in = new TileResolvingInputStream(new ByteBufferInputStream(buffer), tiles)) {
+            GameData gameData = (GameData) in.readObject();
+            if (version >= 2) {
+                gameData.restoreRandom(in.readLong(), (Random) in.readObject());
+            } else {
+                gameData.restoreRandom(new Random().nextLong(), null);
+            }
+            return gameData;
+        }
+    }
+
+    private static Map<Integer, TileSkeleton> readTileTable(ByteBuffer buffer) throws IOException {
+        Map<String, TileSkeleton> pile = createPileByTexture();
+
+        int tilesCount = buffer.getInt();
+        Map<Integer, TileSkeleton> tiles = new HashMap<>(tilesCount * 2);
+        LoadableType[] loadableTypes = LoadableType.values();
+        for (int i = 0; i < tilesCount; i++) {
+            int id = buffer.getShort() & 0xFFFF;
+            String texture = readString(buffer);
+            Rotation rotation = Rotation.values()[buffer.get()];
+            int row = buffer.get();
+            int column = buffer.get();
+            byte kind = buffer.get();
+
+            TileSkeleton tile = pile.remove(texture);
+            if (tile == null) {
+                throw new StreamCorruptedException("Unknown or duplicated tile texture " + texture);
+            }
+            tile.setTileId(id);
+            try {
+                tile.rotateTile(rotation);
+                if (row >= 0) {
+                    tile.place(new Coordinates(row, column));
+                }
+            } catch (FixedTileException e) {
+                throw new RuntimeException(e);  // should never happen -> runtime exception
+            }
+
+            if (kind == TILE_CONTAINER || kind == TILE_CABIN) {
+                int allowedMask = buffer.getShort();
+                Set<LoadableType> allowedItems = new HashSet<>();
+                for (LoadableType type : loadableTypes) {
+                    if ((allowedMask & (1 << type.ordinal())) != 0) {
+                        allowedItems.add(type);
+                    }
+                }
+                int loadedCount = buffer.get();
+                List<LoadableType> loadedItems = new ArrayList<>(loadedCount);
+                for (int j = 0; j < loadedCount; j++) {
+                    loadedItems.add(loadableTypes[buffer.get()]);
+                }
+                if (!(tile instanceof ContainerTile container)) {
+                    throw new StreamCorruptedException("Tile " + texture + " is not a container");
+                }
+                container.restoreItems(Collections.unmodifiableSet(allowedItems), loadedItems);
+                if (kind == TILE_CABIN) {
+                    int crew = buffer.get();
+                    if (!(tile instanceof CabinTile cabin)) {
+                        throw new StreamCorruptedException("Tile " + texture + " is not a cabin");
+                    }
+                    cabin.restoreLoadedCrew(crew < 0 ? null : loadableTypes[crew]);
+                }
+            }
+            tiles.put(id, tile);
+        }
+        return tiles;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // LEGACY
+
+    /**
+     * Read a save in the legacy format (plain Java serialization of {@link GameData}).
+     * @param file the save file
+     * @return the saved game
+     * @throws IOException if the file can not be read
+     * @throws ClassNotFoundException if the save references unknown classes
+     */
+    public static GameData readLegacy(File file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            GameData gameData = (GameData) ois.readObject();
+            // legacy saves have no random state
+            gameData.restoreRandom(new Random().nextLong(), null);
+            return gameData;
+        }
+    }
+
+    /**
+     * Convert all the saves in the legacy format found in {@code directory} to the compact format.
+     * Each save is replaced atomically; saves already in the compact format are left untouched.
+     * @param directory the directory containing the saves (usually {@code games})
+     * @return the amount of converted saves
+     */
+    public static int convertLegacySaves(File directory) {
+        File[] saves = directory.listFiles((_, name) -> name.endsWith(".state"));
+        if (saves == null) return 0;
+        int converted = 0;
+        for (File save : saves) {
+            if (isCompactSave(save)) continue;
+            try {
+                GameSaveWriter.writeAtomically(save, write(readLegacy(save)));
+                converted++;
+            } catch (IOException | ClassNotFoundException e) {
+                LOG.error("Unable to convert save " + save, e);
+            }
+        }
+        return converted;
+    }
+}
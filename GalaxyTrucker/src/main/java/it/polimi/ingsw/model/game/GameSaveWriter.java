@@ -0,0 +1,288 @@
+package it.polimi.ingsw.model.game;
+
+import it.polimi.ingsw.util.Default;
+import it.polimi.ingsw.util.events.SaveEvent;
+import it.polimi.ingsw.util.logging.Log;
+import it.polimi.ingsw.util.metrics.Metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Singleton background writer for the game saves.
+ * <p>
+ * The caller captures the snapshot of the game in memory, then the writer puts it on disk off the caller thread:
+ * the snapshot is written to a temporary file, optionally synced (see {@link Default#SAVE_FSYNC}) and atomically
+ * renamed over the previous save, so that a crash while writing never corrupts the existing save.
+ * If a newer snapshot of the same game is submitted while the previous one is still waiting to be written,
+ * only the newer one is written.
+ * <p>
+ * The writer thread is a daemon, so a shutdown hook drains it when the JVM exits: the snapshots already submitted
+ * are written (waiting at most {@link Default#SAVE_SHUTDOWN_TIMEOUT_MS}), while the ones submitted afterwards are
+ * discarded.
+ */
+public class GameSaveWriter {
+
+    private static final Log LOG = Log.get(GameSaveWriter.class);
+
+    /**
+     * The single instance of {@code GameSaveWriter}.
+     */
+    private static GameSaveWriter instance;
+
+    /**
+     * The directory containing the game saves.
+     */
+    private static File savesDirectory = new File("games");
+
+    /**
+     * A snapshot waiting to be written.
+     */
+    private static class PendingSave {
+        private final byte[] data;
+        private final Runnable onSaved;
+
+        private PendingSave(byte[] data, Runnable onSaved) {
+            this.data = data;
+            this.onSaved = onSaved;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final Map<UUID, PendingSave> pending = new HashMap<>();
+    private final Object writeLock = new Object();
+    private boolean shutdown = false;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    GameSaveWriter() {
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "game-save-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Returns the singleton instance of {@code GameSaveWriter}.
+     *
+     * @return the single instance of {@code GameSaveWriter}
+     */
+    public static synchronized GameSaveWriter getInstance() {
+        if (instance == null) {
+            instance = new GameSaveWriter();
+            GameSaveWriter writer = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> writer.shutdown(Default.SAVE_SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS),
+                    "game-save-writer-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * @return the directory containing the game saves
+     */
+    public static synchronized File getSavesDirectory() {
+        return savesDirectory;
+    }
+
+    /**
+     * Change the directory containing the game saves (and their journals and index), e.g. to keep the saves
+     * written by the tests out of the real one. The {@link SavedGamesIndex} is reloaded from the new directory.
+     * @param directory the new directory of the game saves
+     */
+    public static synchronized void setSavesDirectory(File directory) {
+        savesDirectory = directory;
+        SavedGamesIndex.reset();
+    }
+
+    /**
+     * @param gameId the id of the game
+     * @return the file containing the save of the specified game
+     */
+    public static File getStateFile(UUID gameId) {
+        return new File(getSavesDirectory(), gameId.toString() + ".state");
+    }
+
+    /**
+     * Schedule the writing of a snapshot of a game.
+     * @param gameId the id of the saved game
+     * @param data the serialized snapshot of the game
+     * @param onSaved action to run (on the writer thread) once the snapshot is safely on disk. Can be {@code null}.
+     * @return {@code true} if the snapshot will be written, {@code false} if the writer has been shut down
+     */
+    public boolean submit(UUID gameId, byte[] data, Runnable onSaved) {
+        synchronized (pending) {
+            if (shutdown) {
+                LOG.warn("Save of game " + gameId + " submitted after shutdown: discarded");
+                return false;
+            }
+            PendingSave previous = pending.put(gameId, new PendingSave(data, onSaved));
+            if (previous != null) {
+                // the write of the previous snapshot is already scheduled and will write this one instead
+                coalescedCount.incrementAndGet();
+                return true;
+            }
+            // scheduled while holding the lock, so that it is never rejected by a concurrent shutdown
+            executor.execute(() -> writePending(gameId));
+        }
+        return true;
+    }
+
+    private void writePending(UUID gameId) {
+        synchronized (writeLock) {
+            PendingSave save;
+            synchronized (pending) {
+                save = pending.remove(gameId);
+            }
+            if (save == null) return;  // cancelled in the meantime
+
+            SaveEvent event = new SaveEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                writeAtomically(getStateFile(gameId), save.data);
+                Metrics.getInstance().timer("saves.write.duration").recordNanosSince(start);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.gameId = gameId.toString();
+                    event.stage = SaveEvent.WRITE;
+                    event.size = save.data.length;
+                    event.commit();
+                }
+            } catch (IOException e) {
+                failedCount.incrementAndGet();
+                LOG.error("Unable to save game " + gameId, e);
+                return;
+            }
+            writtenCount.incrementAndGet();
+            if (save.onSaved != null) {
+                save.onSaved.run();
+            }
+        }
+    }
+
+    /**
+     * Write {@code data} in a temporary file and atomically rename it as {@code target}.
+     * @param target the file to (over)write
+     * @param data the content of the file
+     * @throws IOException if the file can not be written
+     */
+    static void writeAtomically(File target, byte[] data) throws IOException {
+        File directory = target.getParentFile();
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        File temp = new File(directory, target.getName() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(temp)) {
+            fos.write(data);
+            fos.flush();
+            if (Default.SAVE_FSYNC) {
+                fos.getFD().sync();
+            }
+        }
+        try {
+            Files.move(temp.toPath(), target.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Discard the snapshot of the specified game waiting to be written (if any),
+     * and wait for the end of its write if it is currently being written.
+     * @param gameId the id of the game
+     */
+    public void cancel(UUID gameId) {
+        synchronized (pending) {
+            pending.remove(gameId);
+        }
+        synchronized (writeLock) {
+            // nothing to do: only waits for the write in progress
+        }
+    }
+
+    /**
+     * Block until all the snapshots submitted so far have been written.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        try {
+            executor.submit(() -> {}).get();
+        } catch (RejectedExecutionException e) {
+            // shut down: the submitted snapshots are the last ones
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);  // should never happen -> runtime exception
+        }
+    }
+
+    /**
+     * Stop accepting new snapshots and wait for the ones already submitted to be written.
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout argument
+     * @return {@code true} if all the submitted snapshots have been written,
+     * {@code false} if the timeout elapsed (or the thread was interrupted) before
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        synchronized (pending) {
+            shutdown = true;
+            executor.shutdown();
+        }
+        try {
+            if (executor.awaitTermination(timeout, unit)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOG.warn("Shut down before the end of the pending saves: " + getPendingCount() + " not written");
+        return false;
+    }
+
+    /**
+     * @return the amount of snapshots waiting to be written
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * @return the total amount of snapshots written on disk
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return the total amount of snapshots not written because superseded by a newer one of the same game
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * @return the total amount of snapshots whose write failed
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+}
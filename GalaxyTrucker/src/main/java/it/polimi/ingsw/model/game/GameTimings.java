@@ -0,0 +1,66 @@
+package it.polimi.ingsw.model.game;
+
+import it.polimi.ingsw.util.Default;
+
+import java.io.Serializable;
+
+/**
+ * Time limits of a game: how long the game waits for the players' input requests and how long the hourglass lasts.
+ * <p>
+ * A time limit of {@code 0} seconds means that the game does not wait at all: input requests are immediately
+ * resolved with their default choice (or with the answer of an automatic policy, if any),
+ * and the hourglass runs out as soon as it is flipped.
+ */
+public class GameTimings implements Serializable {
+
+    /**
+     * Timings with no wait at all, for games played by automatic policies.
+     */
+    public static final GameTimings INSTANT = new GameTimings(0, 0, 0);
+
+    private final int pirSeconds;
+    private final int pirShortSeconds;
+    private final int hourglassSeconds;
+
+    /**
+     * @param pirSeconds the seconds the players have to answer an input request which requires a decision
+     * @param pirShortSeconds the seconds the players have to acknowledge an information
+     * @param hourglassSeconds the seconds the hourglass lasts during assembly
+     */
+    public GameTimings(int pirSeconds, int pirShortSeconds, int hourglassSeconds) {
+        if (pirSeconds < 0 || pirShortSeconds < 0 || hourglassSeconds < 0) {
+            throw new IllegalArgumentException("Time limits can not be negative");
+        }
+        this.pirSeconds = pirSeconds;
+        this.pirShortSeconds = pirShortSeconds;
+        this.hourglassSeconds = hourglassSeconds;
+    }
+
+    /**
+     * @return the timings currently set as default in {@link Default}
+     */
+    public static GameTimings standard() {
+        return new GameTimings(Default.PIR_SECONDS, Default.PIR_SHORT_SECONDS, Default.HOURGLASS_SECONDS);
+    }
+
+    /**
+     * @return the seconds the players have to answer an input request which requires a decision
+     */
+    public int getPirSeconds() {
+        return pirSeconds;
+    }
+
+    /**
+     * @return the seconds the players have to acknowledge an information
+     */
+    public int getPirShortSeconds() {
+        return pirShortSeconds;
+    }
+
+    /**
+     * @return the seconds the hourglass lasts during assembly
+     */
+    public int getHourglassSeconds() {
+        return hourglassSeconds;
+    }
+}
@@ -0,0 +1,75 @@
+package it.polimi.ingsw.model.game;
+
+import it.polimi.ingsw.model.player.Player;
+
+import java.rmi.RemoteException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Receiver of the notifications a {@link Game} sends to its players when its state changes.
+ * <p>
+ * Games played over the network notify the clients through the {@link it.polimi.ingsw.network.GameServer};
+ * games played entirely in-process (e.g. simulations) can use {@link #NONE} and need no server at all.
+ */
+public interface IGameUpdatesListener {
+
+    /**
+     * Listener which ignores all the notifications.
+     */
+    IGameUpdatesListener NONE = new IGameUpdatesListener() {
+        @Override
+        public void broadcastUpdate(Game game) {}
+
+        @Override
+        public void broadcastUpdateRefreshOnlyIf(Game game, Predicate<Player> filter) {}
+
+        @Override
+        public void notifyLeftGame(UUID connectionUUID) {}
+    };
+
+    /**
+     * Notifies all the connected players of the game, refreshing their view.
+     * @param game the changed game
+     * @throws RemoteException if a remote communication error occurs during client notification
+     */
+    void broadcastUpdate(Game game) throws RemoteException;
+
+    /**
+     * Notifies all the connected players of the game, refreshing the view only of those matching {@code filter}.
+     * @param game the changed game
+     * @param filter the players whose view has to be refreshed
+     * @throws RemoteException if a remote communication error occurs during client notification
+     */
+    void broadcastUpdateRefreshOnlyIf(Game game, Predicate<Player> filter) throws RemoteException;
+
+    /**
+     * Notifies all the connected players of the game, refreshing the view only of the provided players.
+     * @param game the changed game
+     * @param playersToRefreshView the players whose view has to be refreshed
+     * @throws RemoteException if a remote communication error occurs during client notification
+     */
+    default void broadcastUpdateRefreshOnly(Game game, Set<Player> playersToRefreshView) throws RemoteException {
+        broadcastUpdateRefreshOnlyIf(game, playersToRefreshView::contains);
+    }
+
+    /**
+     * Notifies all the connected players of the game, refreshing the view of the owner of a shipboard
+     * and of the players spectating it.
+     * @param game the changed game
+     * @param targetShipboard the player whose shipboard changed
+     * @throws RemoteException if a remote communication error occurs during client notification
+     */
+    default void broadcastUpdateShipboardSpectators(Game game, Player targetShipboard) throws RemoteException {
+        broadcastUpdateRefreshOnlyIf(game, p ->
+                p.equals(targetShipboard) || p.getSpectating().equals(targetShipboard.getUsername()));
+    }
+
+    /**
+     * Notifies a client that its player is no longer in the game.
+     * @param connectionUUID the connection of the client
+     * @throws RemoteException if a remote communication error occurs during client notification
+     */
+    void notifyLeftGame(UUID connectionUUID) throws RemoteException;
+}
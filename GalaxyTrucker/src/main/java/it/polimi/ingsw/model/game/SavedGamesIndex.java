@@ -0,0 +1,228 @@
+package it.polimi.ingsw.model.game;
+
+import it.polimi.ingsw.util.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Singleton index of the saved games, stored alongside the saves in {@code games/index.dat}.
+ * <p>
+ * It keeps only the {@link GameSaveFormat.Metadata} of each save (id, leader, players, level, phase and save time),
+ * so that the saved games can be listed without loading them: the whole state of a game is loaded only when
+ * the game is actually resumed.
+ * The index is updated each time a save is written on disk and when a save is deleted.
+ * On load, it is reconciled with the save files actually present in the directory: entries without a save are
+ * dropped, and saves missing from the index (e.g. written by an older version) are added by reading only their
+ * metadata (or the whole save, once, for saves in the legacy format).
+ */
+public class SavedGamesIndex {
+
+    /**
+     * "GTIX" in ASCII
+     */
+    private static final int MAGIC = 0x47544958;
+    private static final short VERSION = 1;
+    private static final String INDEX_FILE_NAME = "index.dat";
+
+    /**
+     * The single instance of {@code SavedGamesIndex}.
+     */
+    private static SavedGamesIndex instance;
+
+    private final File directory;
+    private final Map<UUID, GameSaveFormat.Metadata> entries = new HashMap<>();
+    /**
+     * The entries, the most recently saved first: rebuilt only after a change of the index.
+     */
+    private List<GameSaveFormat.Metadata> savedGames;
+
+    /**
+     * Create an index of the saves in {@code directory} and load it.
+     * @param directory the directory containing the saves
+     */
+    SavedGamesIndex(File directory) {
+        this.directory = directory;
+        load();
+    }
+
+    /**
+     * Returns the singleton instance of {@code SavedGamesIndex}, loading it on the first call.
+     *
+     * @return the single instance of {@code SavedGamesIndex}
+     */
+    public static synchronized SavedGamesIndex getInstance() {
+        if (instance == null) {
+            instance = new SavedGamesIndex(GameSaveWriter.getSavesDirectory());
+        }
+        return instance;
+    }
+
+    /**
+     * Drop the singleton instance, so that the next {@link #getInstance()} loads the index of the current
+     * {@link GameSaveWriter#getSavesDirectory() saves directory}.
+     */
+    static synchronized void reset() {
+        instance = null;
+    }
+
+    private File getIndexFile() {
+        return new File(directory, INDEX_FILE_NAME);
+    }
+
+    private File getStateFile(UUID gameId) {
+        return new File(directory, gameId.toString() + ".state");
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // LOAD
+
+    private synchronized void load() {
+        File indexFile = getIndexFile();
+        if (indexFile.exists()) {
+            try {
+                readIndex(indexFile);
+            } catch (IOException | RuntimeException e) {
+                Logger.error("Unable to read the saved games index, rebuilding it: " + e.getMessage());
+                entries.clear();
+            }
+        }
+        if (reconcile()) {
+            persist();
+        }
+    }
+
+    private void readIndex(File indexFile) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath()));
+        if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+            throw new StreamCorruptedException(indexFile + " is not a saved games index");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new StreamCorruptedException(indexFile + " has unsupported index version " + version);
+        }
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            GameSaveFormat.Metadata metadata = GameSaveFormat.readMetadata(buffer);
+            entries.put(metadata.getGameId(), metadata);
+        }
+    }
+
+    /**
+     * Align the index with the save files in the directory.
+     * @return {@code true} if the index changed, {@code false} otherwise
+     */
+    private boolean reconcile() {
+        Set<UUID> saved = new HashSet<>();
+        File[] saves = directory.listFiles((_, name) -> name.endsWith(".state"));
+        if (saves != null) {
+            for (File save : saves) {
+                try {
+                    saved.add(UUID.fromString(save.getName().substring(0, save.getName().length() - 6)));
+                } catch (IllegalArgumentException e) {
+                    // not a game save
+                }
+            }
+        }
+
+        boolean changed = entries.keySet().retainAll(saved);
+        for (UUID gameId : saved) {
+            if (entries.containsKey(gameId)) continue;
+            GameSaveFormat.Metadata metadata = readSaveMetadata(getStateFile(gameId));
+            if (metadata != null) {
+                entries.put(gameId, metadata);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static GameSaveFormat.Metadata readSaveMetadata(File save) {
+        try {
+            if (GameSaveFormat.isCompactSave(save)) {
+                return GameSaveFormat.readMetadata(save);
+            }
+            return GameSaveFormat.createMetadata(GameSaveFormat.readLegacy(save), save.lastModified());
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            Logger.error("Unable to index save " + save + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // UPDATE
+
+    private void persist() {
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(64 * (entries.size() + 1));
+            DataOutputStream out = new DataOutputStream(bos);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(entries.size());
+            for (GameSaveFormat.Metadata metadata : entries.values()) {
+                GameSaveFormat.writeMetadata(out, metadata);
+            }
+            out.flush();
+            GameSaveWriter.writeAtomically(getIndexFile(), bos.toByteArray());
+        } catch (IOException e) {
+            Logger.error("Unable to write the saved games index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Add or replace the entry of a saved game.
+     * Ignored if older than the entry already indexed for the same game.
+     * @param metadata the metadata of the save just written on disk
+     */
+    public synchronized void update(GameSaveFormat.Metadata metadata) {
+        GameSaveFormat.Metadata previous = entries.get(metadata.getGameId());
+        if (previous != null && previous.getSavedAt() > metadata.getSavedAt()) return;
+        entries.put(metadata.getGameId(), metadata);
+        savedGames = null;
+        persist();
+    }
+
+    /**
+     * Remove the entry of a saved game, if present.
+     * @param gameId the id of the game whose save has been deleted
+     */
+    public synchronized void remove(UUID gameId) {
+        if (entries.remove(gameId) != null) {
+            savedGames = null;
+            persist();
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // QUERY
+
+    /**
+     * @param gameId the id of the game
+     * @return the metadata of the saved game, or {@code null} if there is no save of it
+     */
+    public synchronized GameSaveFormat.Metadata get(UUID gameId) {
+        return entries.get(gameId);
+    }
+
+    /**
+     * The returned list is shared until the index changes, so it can be sent to many clients without copying it.
+     * @return an unmodifiable list of the metadata of all the saved games, the most recently saved first
+     */
+    public synchronized List<GameSaveFormat.Metadata> getSavedGames() {
+        if (savedGames == null) {
+            List<GameSaveFormat.Metadata> sorted = new ArrayList<>(entries.values());
+            sorted.sort(Comparator.comparingLong(GameSaveFormat.Metadata::getSavedAt).reversed());
+            savedGames = Collections.unmodifiableList(sorted);
+        }
+        return savedGames;
+    }
+
+    /**
+     * @return the amount of indexed saved games
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
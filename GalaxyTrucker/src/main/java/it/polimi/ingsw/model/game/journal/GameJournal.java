@@ -0,0 +1,211 @@
+package it.polimi.ingsw.model.game.journal;
+
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.game.GameSaveWriter;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.util.Coordinates;
+import it.polimi.ingsw.util.Logger;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only journal of the commands applied to a game since its last saved snapshot.
+ * <p>
+ * Each command is appended (and flushed) as soon as it has been applied, so that a crash loses at most the
+ * command being applied. When a new snapshot of the game is saved, the journal is compacted by dropping all the
+ * entries already contained in the snapshot. To resume a game, the entries following the snapshot are re-applied
+ * on top of it with {@link #replay(GameData, long)}.
+ * Every command changing the game during the assembly (cheats included) is applied and recorded while holding
+ * {@link GameData#getCommandLock()}, the same lock under which the snapshot and the sequence number of its last entry
+ * are captured.
+ * <p>
+ * The journal is stored next to the snapshot, in {@code games/<gameId>.journal}
+ * (see {@link GameSaveWriter#getSavesDirectory()}).
+ */
+public class GameJournal {
+
+    private final File file;
+    private DataOutputStream out;
+    private long lastSequence;
+    private int pendingEntries;
+
+    /**
+     * Creates the journal of a game.
+     * @param gameId the id of the game
+     * @param lastSequence the sequence number of the last entry already contained in the game snapshot
+     */
+    public GameJournal(UUID gameId, long lastSequence) {
+        this.file = getJournalFile(gameId);
+        this.lastSequence = lastSequence;
+        this.pendingEntries = 0;
+    }
+
+    /**
+     * @param gameId the id of the game
+     * @return the file containing the journal of the specified game
+     */
+    public static File getJournalFile(UUID gameId) {
+        return new File(GameSaveWriter.getSavesDirectory(), gameId.toString() + ".journal");
+    }
+
+    /**
+     * @return the sequence number of the last entry appended to this journal
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return the amount of entries appended since the last compaction
+     */
+    public synchronized int getPendingEntries() {
+        return pendingEntries;
+    }
+
+    public synchronized void recordTileDrawn(Player player, int tileId) {
+        append(JournalEntry.tileDrawn(nextSequence(), player.getUsername(), tileId));
+    }
+
+    public synchronized void recordTileDiscarded(Player player) {
+        append(JournalEntry.tileDiscarded(nextSequence(), player.getUsername()));
+    }
+
+    public synchronized void recordTileReserved(Player player) {
+        append(JournalEntry.tileReserved(nextSequence(), player.getUsername()));
+    }
+
+    public synchronized void recordTilePicked(Player player, int tileId) {
+        append(JournalEntry.tilePicked(nextSequence(), player.getUsername(), tileId));
+    }
+
+    public synchronized void recordTilePlaced(Player player, Coordinates coordinates, Rotation rotation) {
+        append(JournalEntry.tilePlaced(nextSequence(), player.getUsername(), coordinates, rotation));
+    }
+
+    public synchronized void recordAssemblyEnded(Player player, int startingPosition) {
+        append(JournalEntry.assemblyEnded(nextSequence(), player.getUsername(), startingPosition));
+    }
+
+    public synchronized void recordCardGroupShown(Player player, int groupId) {
+        append(JournalEntry.cardGroupShown(nextSequence(), player.getUsername(), groupId));
+    }
+
+    public synchronized void recordCardGroupHidden(Player player) {
+        append(JournalEntry.cardGroupHidden(nextSequence(), player.getUsername()));
+    }
+
+    public synchronized void recordCheatApplied(Player player, String cheatName, long seed) {
+        append(JournalEntry.cheatApplied(nextSequence(), player.getUsername(), cheatName, seed));
+    }
+
+    private synchronized long nextSequence() {
+        return ++lastSequence;
+    }
+
+    private synchronized void append(JournalEntry entry) {
+        try {
+            if (out == null) {
+                file.getParentFile().mkdirs();
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+            }
+            entry.write(out);
+            out.flush();
+            pendingEntries++;
+        } catch (IOException e) {
+            Logger.error("Unable to append " + entry + " to the journal " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drop all the entries already contained in the snapshot.
+     * @param snapshotSequence the sequence number of the last entry contained in the snapshot
+     */
+    public synchronized void compact(long snapshotSequence) {
+        closeStream();
+        List<JournalEntry> toKeep = readEntries().stream()
+                .filter(e -> e.getSequence() > snapshotSequence)
+                .toList();
+        if (toKeep.isEmpty()) {
+            file.delete();
+        } else {
+            try (DataOutputStream rewrite = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file, false)))) {
+                for (JournalEntry entry : toKeep) {
+                    entry.write(rewrite);
+                }
+            } catch (IOException e) {
+                Logger.error("Unable to compact the journal " + file + ": " + e.getMessage());
+            }
+        }
+        pendingEntries = toKeep.size();
+    }
+
+    /**
+     * Read all the entries of this journal. A truncated last entry (e.g. due to a crash while appending it)
+     * is ignored.
+     * @return the list of entries in the order they have been appended
+     */
+    public synchronized List<JournalEntry> readEntries() {
+        List<JournalEntry> entries = new ArrayList<>();
+        if (!file.exists()) return entries;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                entries.add(JournalEntry.read(in));
+            }
+        } catch (EOFException e) {
+            // end of the journal (or truncated last entry)
+        } catch (IOException e) {
+            Logger.warn("Journal " + file + " is corrupted after " + entries.size() + " entries: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    /**
+     * Re-apply on {@code gameData} all the entries following its snapshot.
+     * Replaying stops at the first entry that can not be applied: skipping it would make the resumed game silently
+     * diverge from the played one, since the following entries were applied on the state it produced.
+     * @param gameData the game data loaded from the snapshot
+     * @param snapshotSequence the sequence number of the last entry contained in the snapshot
+     * @return the amount of entries re-applied
+     * @throws JournalReplayException if an entry can not be applied (e.g. because the journal has been damaged):
+     * {@code gameData} then contains only the entries preceding it, and should not be resumed
+     */
+    public synchronized int replay(GameData gameData, long snapshotSequence) throws JournalReplayException {
+        int applied = 0;
+        for (JournalEntry entry : readEntries()) {
+            if (entry.getSequence() <= snapshotSequence) continue;
+            try {
+                entry.applyTo(gameData);
+            } catch (Exception e) {
+                throw new JournalReplayException("Unable to replay the entry " + entry + " of the journal " + file
+                        + " after " + applied + " entries: " + e.getMessage(), e);
+            }
+            applied++;
+            lastSequence = Math.max(lastSequence, entry.getSequence());
+        }
+        return applied;
+    }
+
+    private void closeStream() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            Logger.warn("Unable to close the journal " + file + ": " + e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Close this journal and delete its file.
+     */
+    public synchronized void delete() {
+        closeStream();
+        file.delete();
+        pendingEntries = 0;
+    }
+}
@@ -0,0 +1,180 @@
+package it.polimi.ingsw.model.game.journal;
+
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.game.Cheats;
+import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.Coordinates;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A single command applied to a game, as recorded in its {@link GameJournal}.
+ * Entries record the outcome of the command (e.g. the id of the drawn tile) so that they can be re-applied
+ * on top of a snapshot without depending on any randomness.
+ */
+public class JournalEntry {
+
+    /**
+     * The kind of command recorded by a journal entry.
+     */
+    public enum Type {
+        TILE_DRAWN,
+        TILE_DISCARDED,
+        TILE_RESERVED,
+        TILE_PICKED,
+        TILE_PLACED,
+        ASSEMBLY_ENDED,
+        CARD_GROUP_SHOWN,
+        CARD_GROUP_HIDDEN,
+        CHEAT_APPLIED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String username;
+    private final int tileId;
+    private final int row;
+    private final int column;
+    private final int value;
+    // only for CHEAT_APPLIED, written after the fields common to all the types
+    private final String cheatName;
+    private final long seed;
+
+    private JournalEntry(long sequence, Type type, String username, int tileId, int row, int column, int value) {
+        this(sequence, type, username, tileId, row, column, value, null, 0);
+    }
+
+    private JournalEntry(long sequence, Type type, String username, int tileId, int row, int column, int value,
+                         String cheatName, long seed) {
+        this.sequence = sequence;
+        this.type = type;
+        this.username = username;
+        this.tileId = tileId;
+        this.row = row;
+        this.column = column;
+        this.value = value;
+        this.cheatName = cheatName;
+        this.seed = seed;
+    }
+
+    static JournalEntry tileDrawn(long sequence, String username, int tileId) {
+        return new JournalEntry(sequence, Type.TILE_DRAWN, username, tileId, 0, 0, 0);
+    }
+
+    static JournalEntry tileDiscarded(long sequence, String username) {
+        return new JournalEntry(sequence, Type.TILE_DISCARDED, username, 0, 0, 0, 0);
+    }
+
+    static JournalEntry tileReserved(long sequence, String username) {
+        return new JournalEntry(sequence, Type.TILE_RESERVED, username, 0, 0, 0, 0);
+    }
+
+    static JournalEntry tilePicked(long sequence, String username, int tileId) {
+        return new JournalEntry(sequence, Type.TILE_PICKED, username, tileId, 0, 0, 0);
+    }
+
+    static JournalEntry tilePlaced(long sequence, String username, Coordinates coordinates, Rotation rotation) {
+        return new JournalEntry(sequence, Type.TILE_PLACED, username, 0,
+                coordinates.getRow(), coordinates.getColumn(), rotation.ordinal());
+    }
+
+    static JournalEntry assemblyEnded(long sequence, String username, int startingPosition) {
+        return new JournalEntry(sequence, Type.ASSEMBLY_ENDED, username, 0, 0, 0, startingPosition);
+    }
+
+    static JournalEntry cardGroupShown(long sequence, String username, int groupId) {
+        return new JournalEntry(sequence, Type.CARD_GROUP_SHOWN, username, 0, 0, 0, groupId);
+    }
+
+    static JournalEntry cardGroupHidden(long sequence, String username) {
+        return new JournalEntry(sequence, Type.CARD_GROUP_HIDDEN, username, 0, 0, 0, 0);
+    }
+
+    static JournalEntry cheatApplied(long sequence, String username, String cheatName, long seed) {
+        return new JournalEntry(sequence, Type.CHEAT_APPLIED, username, 0, 0, 0, 0, cheatName, seed);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeLong(sequence);
+        out.writeByte(type.ordinal());
+        out.writeUTF(username);
+        out.writeInt(tileId);
+        out.writeInt(row);
+        out.writeInt(column);
+        out.writeInt(value);
+        if (type == Type.CHEAT_APPLIED) {
+            out.writeUTF(cheatName);
+            out.writeLong(seed);
+        }
+    }
+
+    static JournalEntry read(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        int typeOrdinal = in.readByte();
+        if (typeOrdinal < 0 || typeOrdinal >= Type.values().length) {
+            throw new IOException("Unknown journal entry type " + typeOrdinal);
+        }
+        Type type = Type.values()[typeOrdinal];
+        String username = in.readUTF();
+        int tileId = in.readInt();
+        int row = in.readInt();
+        int column = in.readInt();
+        int value = in.readInt();
+        if (type == Type.CHEAT_APPLIED) {
+            return new JournalEntry(sequence, type, username, tileId, row, column, value, in.readUTF(), in.readLong());
+        }
+        return new JournalEntry(sequence, type, username, tileId, row, column, value);
+    }
+
+    /**
+     * Re-apply the recorded command on the provided game data.
+     * @param gameData the game data to modify
+     * @throws Exception if the command can not be applied on the current state of {@code gameData}:
+     * e.g. because the journal does not match the snapshot it follows.
+     */
+    void applyTo(GameData gameData) throws Exception {
+        Player player = gameData.getPlayer(p -> p.getUsername().equals(username));
+        if (player == null) {
+            throw new IllegalStateException("Player '" + username + "' is not in this game");
+        }
+        switch (type) {
+            case TILE_DRAWN -> {
+                TileSkeleton tile = gameData.getCoveredTiles().stream()
+                        .filter(t -> t.getTileId() == tileId)
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Tile " + tileId + " is not covered"));
+                player.setTileInHand(tile);
+                gameData.getCoveredTiles().remove(tile);
+            }
+            case TILE_DISCARDED -> player.discardTile(gameData);
+            case TILE_RESERVED -> player.reserveTile();
+            case TILE_PICKED -> player.pickTile(gameData, tileId);
+            case TILE_PLACED -> player.placeTile(new Coordinates(row, column), Rotation.values()[value]);
+            case ASSEMBLY_ENDED -> gameData.endAssembly(player, false, gameData.getStartingPositionIndex(value));
+            case CARD_GROUP_SHOWN -> player.showCardGroup(gameData, value);
+            case CARD_GROUP_HIDDEN -> player.hideCardGroup(gameData);
+            case CHEAT_APPLIED -> Cheats.cheatShipboard(cheatName, gameData, player, seed);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " by " + username;
+    }
+}
@@ -0,0 +1,11 @@
+package it.polimi.ingsw.model.game.journal;
+
+/**
+ * Thrown when an entry of a {@link GameJournal} can not be re-applied on the game it belongs to:
+ * the game can not be resumed without diverging from the one that has been played.
+ */
+public class JournalReplayException extends Exception {
+    public JournalReplayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
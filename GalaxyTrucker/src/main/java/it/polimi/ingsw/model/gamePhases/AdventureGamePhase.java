@@ -6,7 +6,7 @@ import it.polimi.ingsw.enums.GamePhaseType;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRDelay;
-import it.polimi.ingsw.util.Default;
+import it.polimi.ingsw.util.events.CardResolutionEvent;
 
 public class AdventureGamePhase extends PlayableGamePhase{
 
@@ -26,8 +26,18 @@ public class AdventureGamePhase extends PlayableGamePhase{
 
     @Override
     public void playLoop() throws InterruptedException {
+        CardResolutionEvent event = new CardResolutionEvent();
+        event.begin();
         notifyAdventureToPlayers();
         card.playEffect(gameData);
+        event.end();
+        if (event.shouldCommit()) {
+            event.gameId = gameData.getGameId().toString();
+            event.card = card.getTitle();
+            event.level = String.valueOf(card.getLevel());
+            event.playersInFlight = gameData.getPlayersInFlight().size();
+            event.commit();
+        }
     }
 
     /**
@@ -45,7 +55,7 @@ public class AdventureGamePhase extends PlayableGamePhase{
                         .getPlayers(Player::isConnected),
                 (player, pirHandler) -> {
 
-                    PIRDelay pirDelay = new PIRDelay(player, Default.PIR_SHORT_SECONDS,
+                    PIRDelay pirDelay = new PIRDelay(player, pirHandler.getTimings().getPirShortSeconds(),
                             "The leader " + leaderName + " has drawn a new Adventure Card: " + card.getTitle(),
                             card.getCLIRepresentation());
                     pirHandler.setAndRunTurn(pirDelay);
@@ -1,30 +1,29 @@
 package it.polimi.ingsw.model.gamePhases;
 
-import it.polimi.ingsw.GamesHandler;
 import it.polimi.ingsw.enums.GameLevel;
 import it.polimi.ingsw.enums.GamePhaseType;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.controller.commandsProcessors.exceptions.CommandNotAllowedException;
 import it.polimi.ingsw.model.gamePhases.exceptions.TimerIsAlreadyRunningException;
-import it.polimi.ingsw.network.GameServer;
 import it.polimi.ingsw.model.player.Player;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.util.GameLevelStandards;
 
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.rmi.RemoteException;
 import java.util.UUID;
 
 public class AssembleGamePhase extends PlayableGamePhase {
 
-    private static final long timerMilliseconds = Default.HOURGLASS_SECONDS * 1000L;
-    transient private final Object timerLock = new Object();
+    transient private Object timerLock = new Object();
     transient private Runnable onTimerSwitchCallback;
 
     private final int totalTimerRotations;
     private int howManyTimerRotationsLeft;
     private boolean timerRunning;
     private boolean autoTimerSequence;
+    private boolean allPlayersEndedAssembly;
 
     /**
      * Constructs a new PlayableGamePhase as {@link GamePhaseType#ASSEMBLE}.
@@ -68,6 +67,12 @@ public class AssembleGamePhase extends PlayableGamePhase {
         setTimerRunning(false);
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // a loaded phase can be notified too, e.g. while replaying the journal of its game
+        timerLock = new Object();
+    }
+
     private void setTimerRunning(boolean running) {
         timerRunning = running;
         // callback for timer ended or started
@@ -91,14 +96,12 @@ public class AssembleGamePhase extends PlayableGamePhase {
         if (gameData.getCurrentGamePhase() != this) {
             throw new RuntimeException("Trying to run a game phase which is not active on the game.");
         }
+        long timerMilliseconds = gameData.getTimings().getHourglassSeconds() * 1000L;
 
         while (howManyTimerRotationsLeft > 1) {
-            GameServer.getInstance().broadcastUpdate(GamesHandler.getInstance().getGame(gameId));
             setTimerRunning(true);
 
-            synchronized (timerLock) {
-                timerLock.wait(timerMilliseconds);
-            }
+            waitHourglass(timerMilliseconds);
             if (howManyTimerRotationsLeft <= 0) {
                 return;
             }
@@ -108,7 +111,9 @@ public class AssembleGamePhase extends PlayableGamePhase {
             if (!autoTimerSequence) {
                 // Manual mode: wait for player input
                 synchronized (timerLock) {
-                    timerLock.wait();
+                    if (!allPlayersEndedAssembly) {
+                        timerLock.wait();
+                    }
                 }
             } else {
                 // Auto mode: immediately proceed to next timer
@@ -121,15 +126,28 @@ public class AssembleGamePhase extends PlayableGamePhase {
         // Last timer handling
         if (howManyTimerRotationsLeft == 1) {
             setTimerRunning(true);
-            synchronized (timerLock) {
-                timerLock.wait(timerMilliseconds);
-            }
+            waitHourglass(timerMilliseconds);
             setTimerRunning(false);
             howManyTimerRotationsLeft = 0;
         }
         else if (howManyTimerRotationsLeft == 0) {
             synchronized (timerLock) {
-                timerLock.wait();
+                while (!allPlayersEndedAssembly) {
+                    timerLock.wait();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the hourglass to run out, or for all the players to end assembly.
+     * Checking under the lock avoids waiting for a notification already sent before starting to wait.
+     * @param timerMilliseconds the duration of the hourglass: if {@code 0} it runs out immediately
+     */
+    private void waitHourglass(long timerMilliseconds) throws InterruptedException {
+        synchronized (timerLock) {
+            if (timerMilliseconds > 0 && !allPlayersEndedAssembly) {
+                timerLock.wait(timerMilliseconds);
             }
         }
     }
@@ -160,9 +178,10 @@ public class AssembleGamePhase extends PlayableGamePhase {
     public void notifyAllPlayersEndedAssembly() {
         // if all the players end assemble before the last timer reaches the end,
         // there is no need to continue turning the timer -> immediate stop
-        howManyTimerRotationsLeft = 0;
         // then, default behavior: end assemble
         synchronized (timerLock) {
+            howManyTimerRotationsLeft = 0;
+            allPlayersEndedAssembly = true;
             timerLock.notifyAll();
         }
     }
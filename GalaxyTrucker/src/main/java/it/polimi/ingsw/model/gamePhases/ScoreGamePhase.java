@@ -8,12 +8,12 @@ import it.polimi.ingsw.controller.commandsProcessors.exceptions.CommandNotAllowe
 import it.polimi.ingsw.model.gamePhases.exceptions.TimerIsAlreadyRunningException;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.playerInput.PIRs.PIRDelay;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.util.ScoreCalculator;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 import it.polimi.ingsw.view.cli.ICLIPrintable;
 import it.polimi.ingsw.util.GameLevelStandards;
+import it.polimi.ingsw.util.logging.Log;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.Predicate;
@@ -21,24 +21,37 @@ import java.util.stream.Collectors;
 
 public class ScoreGamePhase extends PlayableGamePhase implements ICLIPrintable, Serializable {
 
+    private static final Log LOG = Log.get(ScoreGamePhase.class);
+
     public ScoreGamePhase(GameData gameData) {
         super(GamePhaseType.ENDGAME, gameData);
     }
 
     @Override
     public void playLoop() throws InterruptedException {
+        reportPIRTimes();
         notifyScoresToPlayers();
     }
 
+    /**
+     * Logs how the time of the player input requests of the game has been spent,
+     * between the server and the players, by type of request.
+     */
+    private void reportPIRTimes() {
+        LOG.info("Time of the player input requests of game " + gameData.getGameId() + ":"
+                + System.lineSeparator() + gameData.getPIRHandler().getTimeStats().getReport());
+    }
+
     private void notifyScoresToPlayers() throws InterruptedException {
         CLIFrame scoresFrame = getCLIRepresentation();
         gameData.getPIRHandler().broadcastPIR(
                 gameData.getPlayers(Player::isConnected),
                 (player, pirHandler) -> {
+                    int cooldown = pirHandler.getTimings().getPirShortSeconds();
                     PIRDelay pirDelay = new PIRDelay(
                             player,
-                            10,
-                            "GG to all, match is over. You will be sent to the menu in 10 seconds...",
+                            cooldown,
+                            "GG to all, match is over. You will be sent to the menu in " + cooldown + " seconds...",
                             scoresFrame);
                     pirHandler.setAndRunTurn(pirDelay);
                 });
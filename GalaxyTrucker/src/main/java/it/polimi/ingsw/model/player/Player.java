@@ -1,6 +1,7 @@
 package it.polimi.ingsw.model.player;
 
 import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.cards.exceptions.CardsGroupException;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.game.exceptions.DrawTileException;
 import it.polimi.ingsw.model.player.exceptions.*;
@@ -345,6 +346,49 @@ public class Player implements Serializable {
         cardGroupInHand = null;
     }
 
+    /**
+     * Takes in hand a group of cards of the deck, showing it to this player.
+     * The player must have placed at least a tile on its ship board.
+     *
+     * @param gameData the current game data containing the deck
+     * @param id the index of the group of cards
+     * @throws NoShipboardException if the player does not have a ship board
+     * @throws CardsGroupException if no tile has been placed yet, or the group can not be shown to the player
+     * @throws TooManyItemsInHandException if the player is already holding a tile or a group of cards
+     */
+    public void showCardGroup(GameData gameData, int id) throws NoShipboardException, CardsGroupException,
+            TooManyItemsInHandException {
+        ShipBoard shipBoard = getShipBoard();
+        if (shipBoard == null) {
+            throw new NoShipboardException();
+        }
+        if (shipBoard.getTiles().size() <= 1) {
+            throw new CardsGroupException("You have to place a tile before taking a group of cards.");
+        }
+
+        setCardGroupInHand(id);
+        try {
+            gameData.getDeck().getGroup(id).showGroup(getUsername());
+        } catch (CardsGroupException e) {
+            clearCardGroupInHand();
+            throw e;
+        }
+    }
+
+    /**
+     * Puts back the group of cards held in hand, releasing it for the other players.
+     *
+     * @param gameData the current game data containing the deck
+     * @throws CardsGroupException if the player is not holding a group of cards, or the group can not be hidden
+     */
+    public void hideCardGroup(GameData gameData) throws CardsGroupException {
+        if (getCardGroupInHand() == null) {
+            throw new CardsGroupException("You are not holding a group of cards.");
+        }
+        gameData.getDeck().getGroup(getCardGroupInHand()).hideGroup();
+        clearCardGroupInHand();
+    }
+
     /**
      * Randomly picks a tile from the covered tiles pile. Removes it from the pile and assigns it to the player.
      * @throws DrawTileException if there are no tiles from the pile
@@ -0,0 +1,190 @@
+package it.polimi.ingsw.model.playerInput;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.util.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor used to resolve the integrity problems of the ships of a single game.
+ * <p>
+ * Resolutions are serialized per player: at most one resolution is in flight for each ship, and while it runs
+ * only the most recent problem notified for that ship is kept waiting (any older waiting one is superseded,
+ * since a newer integrity problem always describes the current state of the ship).
+ * The amount of threads is bounded by the amount of ships with an in-flight resolution.
+ * <p>
+ * Note that a newer resolution does not start until the one in flight for the same ship has returned:
+ * previously every problem was resolved on its own thread, concurrently with the older ones.
+ * Therefore a resolution blocked waiting for the player's input delays the newer problems of that ship,
+ * which should end it (e.g. by clearing the player's input requests) rather than wait for it.
+ * The waiting and in-flight resolutions of all the games are exposed as the {@code integrity.queued} and
+ * {@code integrity.inflight} gauges.
+ */
+public class IntegrityProblemExecutor {
+
+	/**
+	 * Status of the resolutions of the integrity problems of a single player.
+	 */
+	private static class PlayerLane {
+		private boolean running = false;
+		private Runnable pending = null;
+	}
+
+	private final ThreadPoolExecutor executor;
+	private final Map<String, PlayerLane> lanes = new HashMap<>();
+	private boolean shutdown = false;
+
+	private final AtomicLong submittedCount = new AtomicLong();
+	private final AtomicLong supersededCount = new AtomicLong();
+	private final AtomicLong completedCount = new AtomicLong();
+
+	/**
+	 * Creates an executor whose threads are named after the provided game tag.
+	 * @param gameTag the tag used to name the worker threads, useful for debugging.
+	 */
+	public IntegrityProblemExecutor(String gameTag) {
+		AtomicInteger threadCounter = new AtomicInteger();
+		executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+				30, TimeUnit.SECONDS,
+				new SynchronousQueue<>(),
+				r -> {
+					Thread t = new Thread(r, "integrity-" + gameTag + "-" + threadCounter.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				});
+	}
+
+	/**
+	 * Submit the resolution of an integrity problem for the specified player.
+	 * If a resolution is already in flight for the player, this one will wait for it to finish,
+	 * superseding any other resolution still waiting.
+	 * @param player the player whose ship has the integrity problem.
+	 * @param resolution the task that resolves the integrity problem.
+	 * @return {@code true} if the resolution has been accepted, {@code false} if the executor has been shut down.
+	 */
+	public synchronized boolean submit(Player player, Runnable resolution) {
+		if (shutdown) return false;
+		submittedCount.incrementAndGet();
+		PlayerLane lane = lanes.computeIfAbsent(player.getUsername(), _ -> new PlayerLane());
+		if (lane.running) {
+			if (lane.pending != null) {
+				supersededCount.incrementAndGet();
+			}
+			lane.pending = resolution;
+		} else {
+			lane.running = true;
+			start(lane, resolution);
+		}
+		return true;
+	}
+
+	/**
+	 * Discard the resolution waiting for the specified player, if any.
+	 * The resolution in flight (if any) is not affected.
+	 * @param player the player whose waiting resolution should be discarded.
+	 */
+	public synchronized void cancelPending(Player player) {
+		PlayerLane lane = lanes.get(player.getUsername());
+		if (lane != null && lane.pending != null) {
+			lane.pending = null;
+			supersededCount.incrementAndGet();
+		}
+	}
+
+	private void start(PlayerLane lane, Runnable resolution) {
+		try {
+			executor.execute(() -> runLane(lane, resolution));
+		} catch (RejectedExecutionException e) {
+			lane.running = false;
+			lane.pending = null;
+		}
+	}
+
+	private void runLane(PlayerLane lane, Runnable resolution) {
+		try {
+			resolution.run();
+		} catch (RuntimeException e) {
+			Logger.error("Unexpected exception while resolving an integrity problem: " + e.getMessage());
+		} finally {
+			completedCount.incrementAndGet();
+			synchronized (this) {
+				Runnable next = lane.pending;
+				lane.pending = null;
+				if (next == null || shutdown) {
+					lane.running = false;
+				} else {
+					start(lane, next);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the amount of resolutions currently waiting for another one (of the same player) to finish.
+	 */
+	public synchronized int getQueueLength() {
+		return (int) lanes.values().stream().filter(l -> l.pending != null).count();
+	}
+
+	/**
+	 * @return the amount of resolutions currently in flight.
+	 */
+	public synchronized int getInFlightCount() {
+		return (int) lanes.values().stream().filter(l -> l.running).count();
+	}
+
+	/**
+	 * @return the total amount of resolutions submitted to this executor.
+	 */
+	public long getSubmittedCount() {
+		return submittedCount.get();
+	}
+
+	/**
+	 * @return the total amount of resolutions discarded because superseded by a newer one, or cancelled.
+	 */
+	public long getSupersededCount() {
+		return supersededCount.get();
+	}
+
+	/**
+	 * @return the total amount of resolutions that finished running (successfully or not).
+	 */
+	public long getCompletedCount() {
+		return completedCount.get();
+	}
+
+	/**
+	 * @return {@code true} if this executor has been shut down, {@code false} otherwise.
+	 */
+	public synchronized boolean isShutdown() {
+		return shutdown;
+	}
+
+	/**
+	 * Stop accepting new resolutions, discard the waiting ones and interrupt the ones in flight.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			if (shutdown) return;
+			shutdown = true;
+			lanes.values().forEach(l -> l.pending = null);
+		}
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Wait for the resolutions in flight to terminate after a {@link #shutdown()}.
+	 * @param timeout the maximum time to wait
+	 * @param unit the time unit of the timeout argument
+	 * @return {@code true} if the executor terminated, {@code false} if the timeout elapsed before termination
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+}
@@ -8,7 +8,6 @@ import it.polimi.ingsw.enums.Rotation;
 import it.polimi.ingsw.model.game.Game;
 import it.polimi.ingsw.model.game.GameData;
 import it.polimi.ingsw.model.playerInput.PIRs.*;
-import it.polimi.ingsw.network.GameServer;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.shipboard.LoadableType;
 import it.polimi.ingsw.model.shipboard.ShipBoard;
@@ -21,7 +20,6 @@ import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.NotFixedTileException;
 import it.polimi.ingsw.model.shipboard.visitors.VisitorCalculatePowers;
 import it.polimi.ingsw.util.Coordinates;
-import it.polimi.ingsw.util.Default;
 import it.polimi.ingsw.util.Logger;
 import it.polimi.ingsw.util.Util;
 import it.polimi.ingsw.view.cli.ANSI;
@@ -58,14 +56,14 @@ public class PIRUtils {
 		if (powerInfo == null) {
 			return 0f;
 		}
-		PIRActivateTiles inputRequest = new PIRActivateTiles(player, Default.PIR_SECONDS, powerType);
+		PIRActivateTiles inputRequest = new PIRActivateTiles(player, game.getTimings().getPirSeconds(), powerType);
 		// phase 1: ask activation
 		Set<Coordinates> activatedTiles = game.getPIRHandler().setAndRunTurn(inputRequest);
 
         // phase 2: ask batteries removal for desired activation
 		int batteriesToRemove = activatedTiles.size();
 		if(batteriesToRemove > 0){
-			PIRRemoveLoadables pirRemoveLoadables = new PIRRemoveLoadables(player, Default.PIR_SECONDS, Set.of(LoadableType.BATTERY), batteriesToRemove);
+			PIRRemoveLoadables pirRemoveLoadables = new PIRRemoveLoadables(player, game.getTimings().getPirSeconds(), Set.of(LoadableType.BATTERY), batteriesToRemove);
 			game.getPIRHandler().setAndRunTurn(
 					pirRemoveLoadables
 			);
@@ -114,7 +112,7 @@ public class PIRUtils {
 		// 1. smooth side and bouncy projectile
 		if (projectile.isBouncy()) {
 			try {
-				if (!playerShip.getTile(firstTilePlace).getSide(projectile.getDirection()).isConnector()) {
+				if (!playerShip.getTile(firstTilePlace).hasConnector(projectile.getDirection())) {
 					return true;
 				}
 			} catch (NoTileFoundException | OutOfBuildingAreaException e) {
@@ -142,11 +140,11 @@ public class PIRUtils {
 				//Asking player to activate double cannon
 				String message = "You are being hit from direction " + projectile.getDirection().toString() + ". You can defend yourself " +
 						"with a double cannon. Do you want to activate it?";
-				PIRYesNoChoice choiceReq = new PIRYesNoChoice(player, Default.PIR_SECONDS, message, false);
+				PIRYesNoChoice choiceReq = new PIRYesNoChoice(player, game.getTimings().getPirSeconds(), message, false);
 				boolean activateToDefend = game.getPIRHandler().setAndRunTurn(choiceReq);
 				if (activateToDefend) {
 					game.getPIRHandler().setAndRunTurn(
-							new PIRRemoveLoadables(player, Default.PIR_SECONDS, Set.of(LoadableType.BATTERY), 1));
+							new PIRRemoveLoadables(player, game.getTimings().getPirSeconds(), Set.of(LoadableType.BATTERY), 1));
 					return true;
 				}
 			}
@@ -172,11 +170,11 @@ public class PIRUtils {
 
 			String message = "You are being hit from direction " + projectile.getDirection().toString() + ". You can defend yourself " +
 					"with a shield. Do you want to activate it?";
-			PIRYesNoChoice choiceReq = new PIRYesNoChoice(player, Default.PIR_SECONDS, message, false);
+			PIRYesNoChoice choiceReq = new PIRYesNoChoice(player, game.getTimings().getPirSeconds(), message, false);
 			boolean activateToDefend = game.getPIRHandler().setAndRunTurn(choiceReq);
 			if (activateToDefend) {
 				game.getPIRHandler().setAndRunTurn(
-						new PIRRemoveLoadables(player, Default.PIR_SECONDS, Set.of(LoadableType.BATTERY), 1));
+						new PIRRemoveLoadables(player, game.getTimings().getPirSeconds(), Set.of(LoadableType.BATTERY), 1));
 				return true;
 			}
 		}
@@ -188,7 +186,7 @@ public class PIRUtils {
 	public static void runPlayerMovementForward(Player player, int movement, GameData game,
 												Function<Integer, String> messageRetriever) {
 		game.getPIRHandler().setAndRunTurn(
-				new PIRDelay(player, Default.PIR_SHORT_SECONDS,
+				new PIRDelay(player, game.getTimings().getPirShortSeconds(),
 						messageRetriever.apply(movement), null)
 		);
 		game.movePlayerForward(player, movement);
@@ -200,7 +198,7 @@ public class PIRUtils {
 	public static void runPlayerMovementBackward(Player player, int movement, GameData game,
 												 Function<Integer, String> messageRetriever) {
 		game.getPIRHandler().setAndRunTurn(
-				new PIRDelay(player, Default.PIR_SHORT_SECONDS, messageRetriever.apply(movement), null)
+				new PIRDelay(player, game.getTimings().getPirShortSeconds(), messageRetriever.apply(movement), null)
 		);
 		game.movePlayerBackward(player, movement);
 	}
@@ -215,12 +213,12 @@ public class PIRUtils {
                 : ": " + diceTosser.toColoredString() + " is deciding the fate of the flight..."
         );
 		return (p, pirHandler) -> pirHandler.setAndRunTurn(new PIRDelay(p,
-				Default.PIR_SHORT_SECONDS, messageRetriever.apply(p), null));
+				pirHandler.getTimings().getPirShortSeconds(), messageRetriever.apply(p), null));
 	}
 
 	private static void runPlayerHitAttempt(Player player, Projectile proj, GameData game) {
 		// notify hit
-		PIRDelay pirDelay = new PIRDelay(player, Default.PIR_SHORT_SECONDS,
+		PIRDelay pirDelay = new PIRDelay(player, game.getTimings().getPirShortSeconds(),
 				proj.toVerboseString(),
 				proj.getCLIRepresentation(player.getShipBoard()
 				));
@@ -238,7 +236,7 @@ public class PIRUtils {
 
 	public static void runProjectile(Player diceTosser, Projectile proj, GameData game,
 									 boolean broadcastHit, String cause) throws InterruptedException {
-		proj.roll2D6();
+		proj.roll2D6(game.getRandom());
 		if (broadcastHit) {
 			game.getPIRHandler().broadcastPIR(game.getPlayersInFlight(), (p, pirHandler) -> {
 				PIRUtils.getRunnerProjectileInfo(diceTosser, cause).accept(p, pirHandler);
@@ -252,7 +250,7 @@ public class PIRUtils {
 
 	public static void runEndFlight(Player player, PIRHandler pirHandler) {
 		boolean ended = player.endFlight();
-		pirHandler.setAndRunTurn(new PIRDelay(player, Default.PIR_SHORT_SECONDS, (ended
+		pirHandler.setAndRunTurn(new PIRDelay(player, pirHandler.getTimings().getPirShortSeconds(), (ended
 				? "Here your flight falls silent, echoing across the stars..."
 				: "Against all odds, the stars aligned: you're not done yet, continue your flight!"),
 				null));
@@ -270,6 +268,7 @@ public class PIRUtils {
 		public ShipIntegrityListener(Player player, Game game) {
 			this.player = player;
 			gameID = game.getId();
+			this.game = game;
 			pirHandler = game.getGameData().getPIRHandler();
 		}
 
@@ -291,10 +290,10 @@ public class PIRUtils {
 					.collect(Collectors.toSet());
 			if (maskTilesToRemove.isEmpty()) return false;
 			// notify
-			PIRDelay pirInfo = new PIRDelay(player, Default.PIR_SHORT_SECONDS,
+			PIRDelay pirInfo = new PIRDelay(player, pirHandler.getTimings().getPirShortSeconds(),
 					"These tiles needs to be removed...",
 					playerShip.getCLIRepresentation(maskTilesToRemove, ANSI.RED));
-			integritySequence.addPlayerInputRequest(pirInfo);
+			addToIntegritySequence(pirInfo);
 			pirHandler.setAndRunTurn(pirInfo, false);
 			// actually remove those
 			for (Coordinates placeTileToRemove : maskTilesToRemove) {
@@ -312,12 +311,12 @@ public class PIRUtils {
 			if (clustersToKeep.size() == 1) return false;
 			if (clustersToKeep.isEmpty()) {
 				Logger.info("Starting end flight pir.");
-				PIRDelay pirInfo = new PIRDelay(player, Default.PIR_SHORT_SECONDS,
+				PIRDelay pirInfo = new PIRDelay(player, pirHandler.getTimings().getPirShortSeconds(),
 						"Your ship has no valid cluster of tiles." +
 								" You need to end your flight...", null);
-				integritySequence.addPlayerInputRequest(pirInfo);
+				addToIntegritySequence(pirInfo);
 				pirHandler.setAndRunTurn(pirInfo, false);
-				pirHandler.destroyAtomicSequence(integritySequence);
+				interruptProblem();
 				Logger.info("Ending end flight pir.");
 				player.requestEndFlight();
 				return false;
@@ -341,13 +340,13 @@ public class PIRUtils {
 				options[i] = clustersToKeep.get(i).toString(Util.getModularAt(ansiColors, i));
 			}
 			// send player input request
-			PIRMultipleChoice pirChoice = new PIRMultipleChoice(player, Default.PIR_SECONDS,
+			PIRMultipleChoice pirChoice = new PIRMultipleChoice(player, pirHandler.getTimings().getPirSeconds(),
 					"Choose one cluster to keep",
 					playerShip.getCLIRepresentation(coordCluster, ansiColors),
 					options,
 					0);
 			pirChoice.addTag(IntegrityProblem.TAG);
-			integritySequence.addPlayerInputRequest(pirChoice);
+			addToIntegritySequence(pirChoice);
 			int choice = pirHandler.setAndRunTurn(pirChoice, false);
 
 			TileCluster chosenCluster = clustersToKeep.remove(choice);
@@ -367,15 +366,30 @@ public class PIRUtils {
 			return true;
 		}
 
+		/**
+		 * Adds a request to the atomic sequence of the current integrity problem, if it is still going on.
+		 * @param pir the request to add
+		 */
+		private synchronized void addToIntegritySequence(PIR pir) {
+			if (integritySequence != null) {
+				integritySequence.addPlayerInputRequest(pir);
+			}
+		}
+
 		private void manageIntegrityProblem(IntegrityProblem integrityProblem) {
 			boolean revalidateStructure;
 
+			// the problem may have already been solved (or the flight ended) while this resolution was waiting
+			synchronized (this) {
+				if (integritySequence == null) return;
+			}
+
 			// 0. if no more humans: end here the flight and the problem
 			if (integrityProblem.isNoMoreHumansProblem()) {
-				PIRDelay pirInfo = new PIRDelay(player, Default.PIR_SHORT_SECONDS,
+				PIRDelay pirInfo = new PIRDelay(player, pirHandler.getTimings().getPirShortSeconds(),
 						"Your ship has no more humans." +
 								" You need to end your flight...", null);
-				integritySequence.addPlayerInputRequest(pirInfo);
+				addToIntegritySequence(pirInfo);
 				pirHandler.setAndRunTurn(pirInfo, false);
 				interruptProblem();
 				player.requestEndFlight();
@@ -383,9 +397,9 @@ public class PIRUtils {
 			}
 
 			// 1. notify about problems
-			PIRDelay pirInfo = new PIRDelay(player, Default.PIR_SHORT_SECONDS,
+			PIRDelay pirInfo = new PIRDelay(player, pirHandler.getTimings().getPirShortSeconds(),
 					"Unfortunately, your Ship has some integrity problems...", null);
-			integritySequence.addPlayerInputRequest(pirInfo);
+			addToIntegritySequence(pirInfo);
 			pirHandler.setAndRunTurn(pirInfo, false);
 
 			// 2. notify about all the clusters that must be removed
@@ -406,14 +420,15 @@ public class PIRUtils {
         }
 
 		private void notifyEndOfIntegrityProblem() {
+			if (game == null) return;
 			try {
-				GameServer.getInstance().broadcastUpdateShipboardSpectators(game, player);
+				game.getUpdatesListener().broadcastUpdateShipboardSpectators(game, player);
 			} catch (RemoteException e) {
 				Logger.error("RemoteException while broadcasting end of integrity problem");
 			}
 		}
 
-		private void interruptProblem() {
+		private synchronized void interruptProblem() {
 			if (integritySequence != null) {
 				// destroy atomic sequence to continue with other PIRs for this player
 				pirHandler.destroyAtomicSequence(integritySequence);
@@ -423,8 +438,15 @@ public class PIRUtils {
 		}
 
 		@Override
-		public void update(IntegrityProblem integrityProblem) {
+		public synchronized void update(IntegrityProblem integrityProblem) {
+			if (game == null) {
+				game = GamesHandler.getInstance().getGame(gameID);
+			}
+
 			if (!integrityProblem.isProblem()) {
+				if (game != null) {
+					game.getIntegrityProblemExecutor().cancelPending(player);
+				}
 				interruptProblem();
 				return;
 			}
@@ -439,12 +461,9 @@ public class PIRUtils {
 			if (playerShip == null) {
 				playerShip = player.getShipBoard();
 			}
-			if (game == null) {
-				game = GamesHandler.getInstance().getGame(gameID);
-			}
-
 			// TOGGLE INTEGRITY CHECK
-			new Thread(() -> manageIntegrityProblem(integrityProblem)).start();
+			// one resolution in flight per ship: newer problems wait for (or supersede) the older ones
+			game.getIntegrityProblemExecutor().submit(player, () -> manageIntegrityProblem(integrityProblem));
 		}
 	}
 }
@@ -12,6 +12,8 @@ import it.polimi.ingsw.model.shipboard.tiles.exceptions.UnsupportedLoadableItemE
 import it.polimi.ingsw.util.Coordinates;
 import it.polimi.ingsw.view.cli.ICLIPrintable;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
 
@@ -23,6 +25,12 @@ public abstract class PIR implements ICLIPrintable, Serializable {
 	transient protected final Object lock = new Object();
 	private final PIRType pirType;
 	private final List<String> tags = new ArrayList<>();
+	private transient boolean timedOut = false;
+	// life of the request on the server, as System.nanoTime() (see PIRTimeStats): 0 if not happened yet
+	private transient long createdNanos = System.nanoTime();
+	private transient volatile long deliveredNanos = 0;
+	private transient volatile long respondedNanos = 0;
+	private transient volatile long completedNanos = 0;
 
 	/**
 	 * Abstract object for a PlayerInput request. The server will instance a new thread and wait for the player to
@@ -76,6 +84,91 @@ public abstract class PIR implements ICLIPrintable, Serializable {
 		this.cooldown = cooldown;
 	}
 
+	/**
+	 * Waits on {@link #lock} for the player's input, at most for the cooldown of the turn.
+	 * With a cooldown of {@code 0} seconds it does not wait at all.
+	 * The caller must hold {@link #lock}.
+	 */
+	protected void waitCooldown() throws InterruptedException {
+		if (cooldown > 0) {
+			long start = System.nanoTime();
+			lock.wait(cooldown * 1000L);
+			timedOut = System.nanoTime() - start >= cooldown * 1_000_000_000L;
+		}
+	}
+
+	/**
+	 * @return {@code true} if the turn ended because the cooldown expired, without the player's input
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		// transient fields are not initialized by deserialization: the life of a loaded request starts now
+		createdNanos = System.nanoTime();
+	}
+
+	/**
+	 * Marks the first delivery of this request to the player.
+	 */
+	void markDelivered() {
+		if (deliveredNanos == 0) {
+			deliveredNanos = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Marks the arrival of the player's input for this request: only the first one is kept.
+	 * An input implies that the request has been delivered.
+	 */
+	public void markResponded() {
+		if (respondedNanos == 0) {
+			respondedNanos = System.nanoTime();
+			markDelivered();
+		}
+	}
+
+	/**
+	 * Marks the completion of this request.
+	 */
+	void markCompleted() {
+		completedNanos = System.nanoTime();
+	}
+
+	/**
+	 * @return the nanoseconds from the creation of this request to its delivery to the player,
+	 * {@code 0} if never delivered (e.g. the player is disconnected): the whole wait is then think time
+	 */
+	public long getDeliveryNanos() {
+		return getDelivered() - createdNanos;
+	}
+
+	/**
+	 * @return the nanoseconds from the delivery of this request to the player's input,
+	 * or to its completion if the player did not answer
+	 */
+	public long getThinkNanos() {
+		return getResponded() - getDelivered();
+	}
+
+	/**
+	 * @return the nanoseconds from the player's input to the completion of this request,
+	 * {@code 0} if the player did not answer
+	 */
+	public long getProcessingNanos() {
+		return completedNanos - getResponded();
+	}
+
+	private long getDelivered() {
+		return (deliveredNanos == 0) ? createdNanos : Math.min(deliveredNanos, completedNanos);
+	}
+
+	private long getResponded() {
+		return (respondedNanos == 0) ? completedNanos : Math.min(respondedNanos, completedNanos);
+	}
+
 	/**
 	 * @return the current player of the turn.
 	 */
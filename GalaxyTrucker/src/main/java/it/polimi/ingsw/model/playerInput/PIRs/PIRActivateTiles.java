@@ -38,7 +38,7 @@ public class PIRActivateTiles extends PIR {
 	@Override
 	public void run() throws InterruptedException {
 		synchronized (lock){
-			lock.wait(getCooldown()* 1000L);
+			waitCooldown();
 		}
 	}
 
@@ -88,7 +88,7 @@ public class PIRAddLoadables extends PIR {
 	@Override
 	public void run() throws InterruptedException {
 		synchronized (lock){
-			lock.wait(getCooldown()* 1000L);
+			waitCooldown();
 			//at the end if the cargo is not completely allocated, it gets ignored
 		}
 	}
@@ -15,6 +15,10 @@ public class PIRDelay extends PIR {
 
     private final String message;
     private final CLIFrame cliToShow;
+    /**
+     * Set (holding the lock) when the player ends the turn: the input may arrive before {@link #run()} waits.
+     */
+    private transient boolean ended = false;
 
     /**
      * Object that makes the players aware of something and requires any input to go on.
@@ -45,13 +49,16 @@ public class PIRDelay extends PIR {
     @Override
     public void run() throws InterruptedException {
         synchronized (lock){
-            lock.wait(getCooldown() * 1000L);
+            if (!ended) {
+                waitCooldown();
+            }
         }
     }
 
     @Override
     void endTurn() {
         synchronized (lock){
+            ended = true;
             lock.notifyAll();
         }
     }
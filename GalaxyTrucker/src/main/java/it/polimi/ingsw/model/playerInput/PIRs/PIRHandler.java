@@ -2,19 +2,24 @@ package it.polimi.ingsw.model.playerInput.PIRs;
 
 import it.polimi.ingsw.GamesHandler;
 import it.polimi.ingsw.model.game.Game;
-import it.polimi.ingsw.network.GameServer;
+import it.polimi.ingsw.model.game.GameTimings;
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.playerInput.PIRType;
 import it.polimi.ingsw.model.playerInput.exceptions.WrongPlayerTurnException;
 import it.polimi.ingsw.util.Coordinates;
-import it.polimi.ingsw.util.Logger;
+import it.polimi.ingsw.util.events.PIREvent;
+import it.polimi.ingsw.util.logging.Log;
+import it.polimi.ingsw.util.metrics.Metrics;
 
 import java.io.Serializable;
 import java.rmi.RemoteException;
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class PIRHandler implements Serializable {
 
+	private static final Log LOG = Log.get(PIRHandler.class);
 
 	private final Map<Player, PIR> activePIRs = new HashMap<>(4);
 	private final List<PIRAtomicSequence> atomicSequences = new ArrayList<>(4);
@@ -23,10 +28,56 @@ public class PIRHandler implements Serializable {
 
 	private boolean standardRunRefreshAll = true;
 
+	private GameTimings timings = GameTimings.standard();
+
+	/**
+	 * If set, answers every PIR in place of its player, as soon as it is set.
+	 */
+	private transient Consumer<PIR> autoResponder;
+
+	/**
+	 * Times of the PIRs completed since the game has been created or resumed.
+	 */
+	private transient PIRTimeStats timeStats;
+
 	public PIRHandler(UUID gameID) {
 		gameReference = gameID;
 	}
 
+	/**
+	 * @return the times of the PIRs completed in this game, since it has been created or resumed
+	 */
+	public synchronized PIRTimeStats getTimeStats() {
+		if (timeStats == null) {
+			timeStats = new PIRTimeStats();
+		}
+		return timeStats;
+	}
+
+	/**
+	 * @return the time limits of this game, to use as cooldown for the PIRs
+	 */
+	public GameTimings getTimings() {
+		return timings;
+	}
+
+	/**
+	 * Sets the time limits of this game. They are used by the PIRs created from now on.
+	 * @param timings the time limits
+	 */
+	public void setTimings(GameTimings timings) {
+		this.timings = Objects.requireNonNull(timings);
+	}
+
+	/**
+	 * Sets the automatic responder of this game: every PIR is passed to it as soon as it is set, and its answer
+	 * ends the turn without waiting for the cooldown. What the responder leaves unanswered gets the PIR default.
+	 * @param autoResponder the automatic responder, or {@code null} to wait for the players' input
+	 */
+	public void setAutoResponder(Consumer<PIR> autoResponder) {
+		this.autoResponder = autoResponder;
+	}
+
 	/**
 	 * @return the currently running PIRs atomic sequence for the specified player, or {@code null} if there is no
 	 * atomic sequence running for the player
@@ -93,26 +144,26 @@ public class PIRHandler implements Serializable {
 	 */
 	private void setAndRunGenericTurn(PIR pir, boolean refreshAllPlayers) {
 		// verify correctness of pir and atomic sequences
-		Logger.info("Running generic turn pir " + pir.getPIRType());
+		LOG.debug(() -> "Running generic turn pir " + pir.getPIRType() + " for " + pir.getCurrentPlayer().getUsername());
+		PIREvent event = new PIREvent();
+		event.begin();
+		long waitStart = System.nanoTime();
 		synchronized (atomicSequences) {
 			while (!validateAtomicSequence(pir)) {
                 try {
-					Logger.info("Waiting for atomic sequence");
+					LOG.debug("Waiting for atomic sequence");
                     atomicSequences.wait();
                 } catch (InterruptedException e) {
 					Thread.currentThread().interrupt();
                 }
             }
 		}
-		Logger.info("Post atomic sequences verification");
+		Metrics.getInstance().timer("pir.wait.atomicSequence").recordNanosSince(waitStart);
+		LOG.debug("Post atomic sequences verification");
 		// setup the pir
 		if (!isPlayerReadyForInputRequest(pir.getCurrentPlayer())) {
-			Logger.error("Can not start new turn while another turn has not ended itself");
-			try{
-				throw new Exception();
-			}catch (Exception e){
-				e.printStackTrace();
-			}
+			LOG.error("Can not start new turn while another turn has not ended itself", new IllegalStateException());
+			commitEvent(event, pir, PIREvent.REJECTED);
 			return;
 		}
 		synchronized (activePIRs) {
@@ -121,31 +172,73 @@ public class PIRHandler implements Serializable {
 		}
 		// skip decisions for disconnected players and pick default
 		if (!pir.getCurrentPlayer().isConnected()) {
-			pir.setCooldown(1);
+			pir.setCooldown(Math.min(pir.getCooldown(), 1));
+		}
+		// the automatic responder already answered: nothing else to wait for
+		if (autoResponder != null) {
+			pir.markDelivered();
+			autoResponder.accept(pir);
+			pir.markResponded();
+			pir.setCooldown(0);
 		}
 		// notify players about the newly set pir
 		try {
 			Game game = GamesHandler.getInstance().getGame(gameReference);
 			if (game != null) {
 				if (refreshAllPlayers) {
-					GameServer.getInstance().broadcastUpdate(game);
+					game.getUpdatesListener().broadcastUpdate(game);
 				} else {
-					GameServer.getInstance().broadcastUpdateRefreshOnly(game, Set.of(pir.getCurrentPlayer()));
+					game.getUpdatesListener().broadcastUpdateRefreshOnly(game, Set.of(pir.getCurrentPlayer()));
+				}
+				if (pir.getCurrentPlayer().isConnected()) {
+					pir.markDelivered();
 				}
 			}
 		} catch (RemoteException e) {
 			throw new RuntimeException(e);
 		}
 		// run the pir
+		long runStart = System.nanoTime();
 		try {
 			pir.run();
 		} catch(InterruptedException e) {
 			Thread.currentThread().interrupt();
 		}
+		Metrics.getInstance().timer("pir.wait.answer." + pir.getPIRType()).recordNanosSince(runStart);
+		pir.markCompleted();
+		recordTimes(pir);
+		commitEvent(event, pir, pir.isTimedOut() ? PIREvent.TIMEOUT : PIREvent.ANSWERED);
 		//Do not clear in here the map entry after the turn has finished. This because after it we still
 		//need to retrieve from the object the result of the turn!
 	}
 
+	/**
+	 * Records the times of a completed PIR in the stats of this game and in the metrics of the server.
+	 */
+	private void recordTimes(PIR pir) {
+		getTimeStats().record(pir);
+		Metrics metrics = Metrics.getInstance();
+		PIRType type = pir.getPIRType();
+		metrics.timer("pir.delivery." + type).record(pir.getDeliveryNanos());
+		metrics.timer("pir.think." + type).record(pir.getThinkNanos());
+		metrics.timer("pir.processing." + type).record(pir.getProcessingNanos());
+		if (pir.isTimedOut()) {
+			metrics.counter("pir.timeouts." + type).increment();
+		}
+	}
+
+	private void commitEvent(PIREvent event, PIR pir, String outcome) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.gameId = gameReference.toString();
+			event.player = pir.getCurrentPlayer().getUsername();
+			event.pirType = pir.getPIRType().toString();
+			event.cooldown = pir.getCooldown();
+			event.outcome = outcome;
+			event.commit();
+		}
+	}
+
 	/**
 	 * Blocking function that will create a new PIR for the operation of activating
 	 * specific tiles on the player's shipboard.
@@ -406,6 +499,7 @@ public class PIRHandler implements Serializable {
 		synchronized (activePIRs) {
 			PIR active = activePIRs.get(player);
 			if (active != null) {
+				active.markResponded();
 				active.endTurn();
 			}
 		}
@@ -61,7 +61,7 @@ public class PIRMultipleChoice extends PIR {
 	@Override
 	public void run() throws InterruptedException {
 		synchronized (lock){
-			lock.wait(getCooldown() * 1000L);
+			waitCooldown();
 		}
 	}
 
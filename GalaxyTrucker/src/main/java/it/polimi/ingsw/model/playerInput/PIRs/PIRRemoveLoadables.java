@@ -11,6 +11,7 @@ import it.polimi.ingsw.model.shipboard.tiles.ContainerTile;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.NotEnoughItemsException;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.UnsupportedLoadableItemException;
 import it.polimi.ingsw.util.Coordinates;
+import it.polimi.ingsw.util.logging.Log;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 import it.polimi.ingsw.view.cli.CLIScreen;
@@ -22,6 +23,8 @@ import java.util.Set;
 
 public class PIRRemoveLoadables extends PIR {
 
+	private static final Log LOG = Log.get(PIRRemoveLoadables.class);
+
 	private int amountToRemove;
 	private final Set<LoadableType> allowedCargo;
 
@@ -67,9 +70,9 @@ public class PIRRemoveLoadables extends PIR {
 	@Override
 	public void run() throws InterruptedException {
 		synchronized (lock){
-			lock.wait(getCooldown()* 1000L);
+			waitCooldown();
 			if (!resendRequest && amountToRemove > 0) {
-				System.out.println("Removing default loadables...");
+				LOG.debug("Removing default loadables of " + currentPlayer.getUsername());
 				if(this.allowedCargo.containsAll(LoadableType.CREW_SET)){  // crew
 					currentPlayer.getShipBoard().loseCrew(amountToRemove);
 				} else if (this.allowedCargo.contains(LoadableType.BATTERY) && this.allowedCargo.size() == 1) {
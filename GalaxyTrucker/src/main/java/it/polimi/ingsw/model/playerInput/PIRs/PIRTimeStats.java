@@ -0,0 +1,108 @@
+package it.polimi.ingsw.model.playerInput.PIRs;
+
+import it.polimi.ingsw.model.playerInput.PIRType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Time spent by the player input requests of a game, by {@link PIRType}, split in the stages of their life
+ * on the server:
+ * <ul>
+ *     <li><b>delivery</b>: from the creation of the request to its delivery to the player,
+ *     including the wait for the previous requests of the player to end;</li>
+ *     <li><b>think</b>: from the delivery to the player's input, or to the end of the cooldown;</li>
+ *     <li><b>processing</b>: from the player's input to the completion of the request.</li>
+ * </ul>
+ * Delivery and processing are the time of the server, think is the time of the player.
+ */
+public class PIRTimeStats {
+
+	/**
+	 * The sums of the times of the completed requests of a type.
+	 * @param count the number of requests
+	 * @param timeouts the number of requests ended by their cooldown
+	 * @param deliveryNanos the total delivery time
+	 * @param thinkNanos the total think time
+	 * @param processingNanos the total processing time
+	 */
+	public record Totals(int count, int timeouts, long deliveryNanos, long thinkNanos, long processingNanos) {
+
+		static Totals of(PIR pir) {
+			return new Totals(1, pir.isTimedOut() ? 1 : 0,
+					pir.getDeliveryNanos(), pir.getThinkNanos(), pir.getProcessingNanos());
+		}
+
+		Totals plus(Totals other) {
+			return new Totals(count + other.count, timeouts + other.timeouts,
+					deliveryNanos + other.deliveryNanos, thinkNanos + other.thinkNanos,
+					processingNanos + other.processingNanos);
+		}
+
+		/**
+		 * @return the total time of the server (delivery and processing)
+		 */
+		public long serverNanos() {
+			return deliveryNanos + processingNanos;
+		}
+
+		/**
+		 * @return the total time of the requests
+		 */
+		public long totalNanos() {
+			return serverNanos() + thinkNanos;
+		}
+	}
+
+	private final Map<PIRType, Totals> totals = new EnumMap<>(PIRType.class);
+
+	/**
+	 * Adds the times of a completed request.
+	 * @param pir the completed request
+	 */
+	public synchronized void record(PIR pir) {
+		totals.merge(pir.getPIRType(), Totals.of(pir), Totals::plus);
+	}
+
+	/**
+	 * @return the totals of each type of request recorded
+	 */
+	public synchronized Map<PIRType, Totals> getTotals() {
+		return new EnumMap<>(totals);
+	}
+
+	/**
+	 * @return the totals of all the requests recorded
+	 */
+	public synchronized Totals getOverall() {
+		return totals.values().stream().reduce(new Totals(0, 0, 0, 0, 0), Totals::plus);
+	}
+
+	private static String millis(long nanos, int count) {
+		return (count == 0) ? "-" : String.valueOf(nanos / count / 1_000_000);
+	}
+
+	private static void appendRow(StringBuilder report, String name, Totals t) {
+		report.append(String.format("%-14s %6d %8d %13s %10s %15s %9.1f%n", name, t.count(), t.timeouts(),
+				millis(t.deliveryNanos(), t.count()), millis(t.thinkNanos(), t.count()),
+				millis(t.processingNanos(), t.count()), t.totalNanos() / 1e9));
+	}
+
+	/**
+	 * @return a table with the average times of each stage, for each type of request,
+	 * and the share of time of the server and of the players
+	 */
+	public String getReport() {
+		StringBuilder report = new StringBuilder(String.format("%-14s %6s %8s %13s %10s %15s %9s%n",
+				"PIR", "count", "timeouts", "delivery (ms)", "think (ms)", "processing (ms)", "total (s)"));
+		getTotals().forEach((type, totals) -> appendRow(report, type.toString(), totals));
+		Totals overall = getOverall();
+		appendRow(report, "ALL", overall);
+		if (overall.totalNanos() > 0) {
+			report.append(String.format("Server %.1f s (%.0f%%), players %.1f s (%.0f%%)",
+					overall.serverNanos() / 1e9, 100.0 * overall.serverNanos() / overall.totalNanos(),
+					overall.thinkNanos() / 1e9, 100.0 * overall.thinkNanos() / overall.totalNanos()));
+		}
+		return report.toString();
+	}
+}
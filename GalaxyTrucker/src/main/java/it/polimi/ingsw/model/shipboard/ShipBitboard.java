@@ -0,0 +1,248 @@
+package it.polimi.ingsw.model.shipboard;
+
+import it.polimi.ingsw.enums.Direction;
+import it.polimi.ingsw.enums.ProtectionType;
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.shipboard.tiles.CannonTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.BoardCoordinates;
+import it.polimi.ingsw.util.Coordinates;
+import it.polimi.ingsw.util.Pair;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of the geometry of a shipboard, used to answer geometry queries
+ * (exposed connectors, first tile hit by a projectile, cannons covering a line) with a few bit operations.
+ * <p>
+ * The building area of every level (rows from {@link #MIN_ROW} to {@link #MAX_ROW}, columns from
+ * {@link #MIN_COL} to {@link #MAX_COL}) is mapped, together with a ring of always empty cells around it,
+ * onto the bits of a single {@code long}, in row-major order. The empty ring lets shifting the masks
+ * to look at the neighbor cells without any wrap-around between rows.
+ * <p>
+ * On top of the masks, an index keeps for each direction and row/column the first tile hit by a projectile and
+ * the protection given by the cannons, so that resolving a projectile is just an array lookup.
+ * <p>
+ * Tiles are fixed once placed (see {@link TileSkeleton#rotateTile}), so the masks only change when
+ * a tile is placed or removed: then only the index entries of the rows and columns around it are refreshed. Tiles outside the building area can not be represented: if there is any,
+ * {@link #isExact()} returns {@code false} and the queries must be answered without this bitboard.
+ */
+class ShipBitboard {
+
+    static final int MIN_ROW = BoardCoordinates.getFirstCoordinateFromDirection(Direction.NORTH);
+    static final int MAX_ROW = BoardCoordinates.getFirstCoordinateFromDirection(Direction.SOUTH);
+    static final int MIN_COL = BoardCoordinates.getFirstCoordinateFromDirection(Direction.WEST);
+    static final int MAX_COL = BoardCoordinates.getFirstCoordinateFromDirection(Direction.EAST);
+
+    /** Width of a row in bits: the building area plus one empty column on each side. */
+    private static final int WIDTH = MAX_COL - MIN_COL + 3;
+
+    /** For each direction, the cells scanned by {@link ShipBoard#getFirstTileLocation}, indexed by row or column. */
+    private static final long[][] RAYS = new long[Direction.TOTAL_DIRECTIONS][Math.max(MAX_ROW, MAX_COL) + 1];
+
+    /** For each direction, the cells covered by the cannons (see {@link ShipBoard#getCannonProtection}),
+     * indexed by row or column. */
+    private static final long[][] COVERAGES = new long[Direction.TOTAL_DIRECTIONS][RAYS[0].length];
+
+    static {
+        for (Direction direction : Direction.values()) {
+            for (int coordinate = 0; coordinate < COVERAGES[direction.getValue()].length; coordinate++) {
+                Pair<Coordinates> area = ShipBoard.getCannonCoverageArea(direction, coordinate);
+                long coverage = 0;
+                for (int row = area.getFirst().getRow(); row <= area.getSecond().getRow(); row++) {
+                    for (int column = area.getFirst().getColumn(); column <= area.getSecond().getColumn(); column++) {
+                        coverage |= bit(row, column);
+                    }
+                }
+                COVERAGES[direction.getValue()][coordinate] = coverage;
+            }
+        }
+
+        for (Direction direction : Direction.values()) {
+            int first = BoardCoordinates.getFirstCoordinateFromDirection(direction);
+            Direction checkDirection = direction.getRotated(Rotation.OPPOSITE);
+            int iterations = Math.abs(BoardCoordinates.getFirstCoordinateFromDirection(checkDirection) - first);
+            for (int coordinate = 0; coordinate < RAYS[direction.getValue()].length; coordinate++) {
+                int row = (direction == Direction.EAST || direction == Direction.WEST) ? coordinate : first;
+                int column = (direction == Direction.EAST || direction == Direction.WEST) ? first : coordinate;
+                long ray = 0;
+                for (int i = 0; i < iterations; i++) {
+                    ray |= bit(row, column);
+                    row += checkDirection.getRowOffset();
+                    column += checkDirection.getColumnOffset();
+                }
+                RAYS[direction.getValue()][coordinate] = ray;
+            }
+        }
+    }
+
+    private long occupied;
+    private final long[] connectors = new long[Direction.TOTAL_DIRECTIONS];
+    private final long[] singleCannons = new long[Direction.TOTAL_DIRECTIONS];
+    private final long[] doubleCannons = new long[Direction.TOTAL_DIRECTIONS];
+    private int untrackedTiles;
+
+    private final Coordinates[][] firstTiles = new Coordinates[Direction.TOTAL_DIRECTIONS][RAYS[0].length];
+    private final ProtectionType[][] protections = new ProtectionType[Direction.TOTAL_DIRECTIONS][RAYS[0].length];
+
+    ShipBitboard() {
+        for (ProtectionType[] directionProtections : protections) {
+            Arrays.fill(directionProtections, ProtectionType.NONE);
+        }
+    }
+
+    /**
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return {@code true} if the cell is inside the building area, {@code false} otherwise
+     */
+    private static boolean isTracked(int row, int column) {
+        return row >= MIN_ROW && row <= MAX_ROW && column >= MIN_COL && column <= MAX_COL;
+    }
+
+    /**
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @return the mask with only the bit of the cell set, or {@code 0} if the cell is outside the building area
+     */
+    private static long bit(int row, int column) {
+        if (!isTracked(row, column)) return 0;
+        return 1L << ((row - MIN_ROW + 1) * WIDTH + (column - MIN_COL + 1));
+    }
+
+    private static int rowOf(int index) {
+        return index / WIDTH + MIN_ROW - 1;
+    }
+
+    private static int columnOf(int index) {
+        return index % WIDTH + MIN_COL - 1;
+    }
+
+    /**
+     * @param mask the cells to move
+     * @param direction the direction to move the cells towards
+     * @return the mask of the cells reached moving each cell of {@code mask} one step towards {@code direction}
+     */
+    private static long shift(long mask, Direction direction) {
+        return switch (direction) {
+            case EAST -> mask << 1;
+            case WEST -> mask >>> 1;
+            case NORTH -> mask >>> WIDTH;
+            case SOUTH -> mask << WIDTH;
+        };
+    }
+
+    private void update(TileSkeleton tile, Coordinates coordinates, boolean add) {
+        long bit = bit(coordinates.getRow(), coordinates.getColumn());
+        if (bit == 0) {
+            untrackedTiles += add ? 1 : -1;
+            return;
+        }
+        occupied = add ? (occupied | bit) : (occupied & ~bit);
+        for (Direction direction : Direction.values()) {
+            int d = direction.getValue();
+            if (tile.hasConnector(direction)) {
+                connectors[d] = add ? (connectors[d] | bit) : (connectors[d] & ~bit);
+            }
+            if (tile instanceof CannonTile cannon && tile.getSide(direction) == SideType.CANNON) {
+                long[] cannons = cannon.isDoubleCannon() ? doubleCannons : singleCannons;
+                cannons[d] = add ? (cannons[d] | bit) : (cannons[d] & ~bit);
+            }
+        }
+        refreshIndex(coordinates.getRow(), coordinates.getColumn());
+    }
+
+    /**
+     * Refreshes the index entries which can depend on the cell in the provided position:
+     * those of its row and column, and of the adjacent ones (cannons cover up to three rows or columns).
+     */
+    private void refreshIndex(int row, int column) {
+        for (Direction direction : Direction.values()) {
+            int center = (direction == Direction.EAST || direction == Direction.WEST) ? row : column;
+            for (int coordinate = Math.max(center - 1, 0);
+                 coordinate <= Math.min(center + 1, RAYS[0].length - 1); coordinate++) {
+                firstTiles[direction.getValue()][coordinate] = findFirstTile(direction, coordinate);
+                protections[direction.getValue()][coordinate] = findCannonProtection(direction, coordinate);
+            }
+        }
+    }
+
+    private Coordinates findFirstTile(Direction direction, int coordinate) {
+        long hit = occupied & RAYS[direction.getValue()][coordinate];
+        if (hit == 0) return null;
+        // searching from east or south the first found is the one with the highest index
+        int index = (direction == Direction.EAST || direction == Direction.SOUTH)
+                ? 63 - Long.numberOfLeadingZeros(hit)
+                : Long.numberOfTrailingZeros(hit);
+        return Coordinates.of(rowOf(index), columnOf(index));
+    }
+
+    private ProtectionType findCannonProtection(Direction direction, int coordinate) {
+        long coverage = COVERAGES[direction.getValue()][coordinate];
+        // single cannons have priority: they need no battery
+        if ((singleCannons[direction.getValue()] & coverage) != 0) return ProtectionType.SINGLE_CANNON;
+        if ((doubleCannons[direction.getValue()] & coverage) != 0) return ProtectionType.DOUBLE_CANNON;
+        return ProtectionType.NONE;
+    }
+
+    /**
+     * Adds a tile just placed on the shipboard.
+     * @param tile the placed tile
+     * @param coordinates the coordinates the tile has been placed in
+     */
+    void add(TileSkeleton tile, Coordinates coordinates) {
+        update(tile, coordinates, true);
+    }
+
+    /**
+     * Removes a tile just removed from the shipboard.
+     * @param tile the removed tile
+     * @param coordinates the coordinates the tile has been removed from
+     */
+    void remove(TileSkeleton tile, Coordinates coordinates) {
+        update(tile, coordinates, false);
+    }
+
+    /**
+     * @return {@code true} if every tile on the shipboard is represented in this bitboard, {@code false} otherwise
+     */
+    boolean isExact() {
+        return untrackedTiles == 0;
+    }
+
+    /**
+     * @return the number of connectors not facing any tile
+     * @see ShipBoard#getExposedConnectorsCount()
+     */
+    int countExposedConnectors() {
+        int count = 0;
+        for (Direction direction : Direction.values()) {
+            // a cell has a neighbor towards direction if that neighbor, moved back by one step, lands on it
+            long withNeighbor = shift(occupied, direction.getRotated(Rotation.OPPOSITE));
+            count += Long.bitCount(connectors[direction.getValue()] & ~withNeighbor);
+        }
+        return count;
+    }
+
+    /**
+     * @param direction the direction the search comes from
+     * @param coordinate the row or the column to search along
+     * @return the coordinates of the first tile found, or {@code null} if there is none
+     * @see ShipBoard#getFirstTileLocation(Direction, int)
+     */
+    Coordinates getFirstTileLocation(Direction direction, int coordinate) {
+        if (coordinate < 0 || coordinate >= RAYS[0].length) return null;
+        return firstTiles[direction.getValue()][coordinate];
+    }
+
+    /**
+     * @param direction the direction the projectile comes from
+     * @param coordinate the row or the column the projectile comes along
+     * @return the protection given by the cannons
+     * @see ShipBoard#getCannonProtection(Direction, int)
+     */
+    ProtectionType getCannonProtection(Direction direction, int coordinate) {
+        if (coordinate < 0 || coordinate >= RAYS[0].length) return ProtectionType.NONE;
+        return protections[direction.getValue()][coordinate];
+    }
+}
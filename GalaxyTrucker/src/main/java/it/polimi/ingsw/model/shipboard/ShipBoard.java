@@ -17,6 +17,7 @@ import it.polimi.ingsw.model.shipboard.tiles.exceptions.FixedTileException;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.NotFixedTileException;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.UnsupportedLoadableItemException;
 import it.polimi.ingsw.util.*;
+import it.polimi.ingsw.util.logging.Log;
 import it.polimi.ingsw.view.cli.ANSI;
 import it.polimi.ingsw.view.cli.CLIFrame;
 import it.polimi.ingsw.view.cli.CLIScreen;
@@ -24,15 +25,19 @@ import it.polimi.ingsw.view.cli.ICLIPrintable;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 public class ShipBoard implements ICLIPrintable, Serializable {
 
+	private static final Log LOG = Log.get(ShipBoard.class);
+	private static final Direction[] DIRECTIONS = Direction.values();
+
 	private final GameLevel level;
-	private final Map<Coordinates, TileSkeleton> board;
+	private final TileGrid board;
 	private MainCabinTile.Color color;
 
-	private final CLIFrame emptyRepresentation;
+	private transient CLIFrame emptyRepresentation;
 
 	private boolean endedAssembly;
 	private boolean filled;
@@ -47,12 +52,13 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 	private VisitorCheckIntegrity visitorCheckIntegrity;
 	private VisitorLifeSupport visitorLifeSupport;
 
+	private transient ShipBitboard bitboard;
+
 
 	protected ShipBoard(GameLevel level) {
 		this.level = level;
-		board = new HashMap<>();
+		board = new TileGrid();
 		color = null;
-		emptyRepresentation = BoardCoordinates.getCLIRepresentation(level);
 		endedAssembly = false;
 		filled = false;
 		endedFlight = false;
@@ -60,6 +66,35 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		countExposedConnectors = null;
 	}
 
+	/**
+	 * Copy constructor: see {@link #copy()}.
+	 * @param toCopy The shipboard to copy.
+	 */
+	private ShipBoard(ShipBoard toCopy) {
+		this(toCopy.level);
+		color = toCopy.color;
+		endedAssembly = toCopy.endedAssembly;
+		filled = toCopy.filled;
+		endedFlight = toCopy.endedFlight;
+		toCopy.board.forEach((coordinates, tile) -> board.put(coordinates, tile.copy()));
+		countExposedConnectors = toCopy.countExposedConnectors;
+		if (toCopy.hasAggregates()) {
+			resetVisitors();
+		}
+	}
+
+	/**
+	 * Creates an independent copy of this shipboard, to evaluate changes (e.g. "what if this tile is placed here",
+	 * "what if this meteor hits") without touching the live state.
+	 * <p>
+	 * Tiles are copied with their placement, rotation and loaded items; integrity listeners are not copied.
+	 * The aggregates are recomputed on the copied tiles if this shipboard has them.
+	 * @return The copy of this shipboard.
+	 */
+	public ShipBoard copy() {
+		return new ShipBoard(this);
+	}
+
 	/**
 	 * Creates a ShipBoard for the player with specified index, already managing the main cabin placement.
 	 * @param level The game level to play (for the shipboard form)
@@ -79,6 +114,16 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		return sb;
     }
 
+	/**
+	 * @return the representation of the empty board, calculated only when needed since it depends only on the level
+	 */
+	private CLIFrame getEmptyRepresentation() {
+		if (emptyRepresentation == null) {
+			emptyRepresentation = BoardCoordinates.getCLIRepresentation(level);
+		}
+		return emptyRepresentation;
+	}
+
 	private void populateVisitors(Set<TileVisitor> visitors) {
 		for (TileSkeleton tile : board.values()) {
 			for (TileVisitor visitor : visitors) {
@@ -87,10 +132,40 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		}
 	}
 
+	/**
+	 * @return {@code true} if the aggregates computed by the visitors are available
+	 * (hence are kept up to date on each tile change), {@code false} if they have never been computed.
+	 */
+	private boolean hasAggregates() {
+		return visitorLifeSupport != null && visitorCalculateCargoInfo != null
+				&& visitorCalculatePowers != null && visitorCalculateShieldedSides != null
+				&& visitorCheckIntegrity != null;
+	}
+
+	/**
+	 * @return The bitboard of this ship geometry, built from the board the first time it's needed
+	 * (e.g. after deserialization) and then kept up to date on each tile placed or removed.
+	 */
+	private ShipBitboard getBitboard() {
+		if (bitboard == null) {
+			ShipBitboard newBitboard = new ShipBitboard();
+			board.forEach((coordinates, tile) -> newBitboard.add(tile, coordinates));
+			bitboard = newBitboard;
+		}
+		return bitboard;
+	}
+
 	/**
 	 * Resets and re-applies all visitor computations on the current board.
+	 * <p>
+	 * After this, the aggregates (life supports, cargo info, powers, shielded sides and welded components)
+	 * are kept up to date incrementally on each tile placed or removed
+	 * (see {@link #forceSetTile} and {@link #forceRemoveTile}), so a full recomputation is needed only the first time.
 	 */
 	public void resetVisitors() {
+		// 0. geometry: rebuilt on demand
+		bitboard = null;
+
 		// 1. life supports
 		visitorLifeSupport = new VisitorLifeSupport();
 		populateVisitors(Set.of(visitorLifeSupport));
@@ -98,6 +173,10 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		visitorLifeSupport.updateLifeSupportSystems();
 
 		// 2. other visitors
+		if (visitorCalculateCargoInfo != null) {
+			// stop the replaced one from listening to the containers
+			visitorCalculateCargoInfo.detach();
+		}
 		visitorCalculateCargoInfo = new VisitorCalculateCargoInfo();
 		visitorCalculatePowers = new VisitorCalculatePowers();
 		visitorCalculateShieldedSides = new VisitorCalculateShieldedSides();
@@ -114,22 +193,90 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		populateVisitors(Set.of(visitorCheckIntegrity));
 	}
 
+	/**
+	 * Adds the contribution of a just placed tile to the aggregates, if already computed.
+	 * @param tile The placed tile.
+	 * @param coordinates The coordinates the tile has been placed in.
+	 */
+	private void addToAggregates(TileSkeleton tile, Coordinates coordinates) {
+		countExposedConnectors = null;
+		if (bitboard != null) {
+			bitboard.add(tile, coordinates);
+		}
+		if (!hasAggregates()) return;
+		tile.accept(visitorLifeSupport);
+		visitorLifeSupport.updateLifeSupportSystems(coordinates);
+		tile.accept(visitorCalculateCargoInfo);
+		tile.accept(visitorCalculatePowers);
+		tile.accept(visitorCalculateShieldedSides);
+		tile.accept(visitorCheckIntegrity);
+	}
+
+	/**
+	 * Removes the contribution of a just removed tile from the aggregates, if already computed.
+	 * @param tile The removed tile.
+	 * @param coordinates The coordinates the tile has been removed from.
+	 */
+	private void removeFromAggregates(TileSkeleton tile, Coordinates coordinates) {
+		countExposedConnectors = null;
+		if (bitboard != null) {
+			bitboard.remove(tile, coordinates);
+		}
+		if (!hasAggregates()) return;
+		visitorLifeSupport.unvisit(tile, coordinates);
+		visitorLifeSupport.updateLifeSupportSystems(coordinates);
+		visitorCalculateCargoInfo.unvisit(tile, coordinates);
+		visitorCalculatePowers.unvisit(tile, coordinates);
+		visitorCalculateShieldedSides.unvisit(tile, coordinates);
+		visitorCheckIntegrity.unvisit(tile, coordinates);
+	}
+
+	/**
+	 * Debug cross-check: recomputes from scratch all the aggregates and compares them with
+	 * the incrementally maintained ones. On mismatch, an error is logged and the recomputed ones are kept.
+	 * @return {@code true} if the incremental aggregates were consistent, {@code false} otherwise.
+	 */
+	boolean crossCheckAggregates() {
+		VisitorLifeSupport incrementalLifeSupport = visitorLifeSupport;
+		VisitorCalculateCargoInfo incrementalCargoInfo = visitorCalculateCargoInfo;
+		VisitorCalculatePowers incrementalPowers = visitorCalculatePowers;
+		VisitorCalculateShieldedSides incrementalShieldedSides = visitorCalculateShieldedSides;
+		VisitorCheckIntegrity incrementalCheckIntegrity = visitorCheckIntegrity;
+
+		// check life support before the reset, since the reset fixes the cabins allowed items
+		VisitorLifeSupport recomputedLifeSupport = new VisitorLifeSupport();
+		populateVisitors(Set.of(recomputedLifeSupport));
+		boolean consistent = incrementalLifeSupport.isConsistentWith(recomputedLifeSupport);
+
+		resetVisitors();
+		consistent &= incrementalCargoInfo.isConsistentWith(visitorCalculateCargoInfo)
+				&& incrementalPowers.isConsistentWith(visitorCalculatePowers)
+				&& incrementalShieldedSides.isConsistentWith(visitorCalculateShieldedSides)
+				&& incrementalCheckIntegrity.isConsistentWith(visitorCheckIntegrity);
+		if (!consistent) {
+			LOG.error("Incremental shipboard aggregates diverged from the full recomputation");
+		}
+		return consistent;
+	}
+
 	/**
 	 * Validates the current structure of the ship, if it's still flying.
 	 * <p>
-	 * This method recomputes all cargo, powers, shielded sides, and structural integrity
-	 * by resetting and reapplying visitors to each tile.
+	 * All the aggregates, welded components included, are already up to date (they are computed from scratch
+	 * only the first time, then maintained incrementally), so the integrity problem is built directly from them.
 	 * If any integrity problem is detected, registered listeners are notified.
 	 * <p>
 	 * Typically called after initialization or after structural modifications such as removing tiles.
+	 * @see Default#DEBUG_SHIPBOARD_AGGREGATES
 	 */
 	public void validateStructure() {
 		if (endedFlight) return;
 		countExposedConnectors = null;
-		Logger.info("Starting visitors reset proces...");
-		long startTime = System.currentTimeMillis();
-		resetVisitors();
-		Logger.info("Time elapsed: " + (System.currentTimeMillis() - startTime) + "ms");
+		if (!hasAggregates()) {
+			resetVisitors();
+		} else if (Default.DEBUG_SHIPBOARD_AGGREGATES) {
+			crossCheckAggregates();
+		}
 		notifyIntegrityListeners(visitorCheckIntegrity.getProblem(!filled));
 	}
 
@@ -190,22 +337,23 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 
 	/**
 	 * Retrieves a set of all tiles currently placed on the board, mapped to their coordinates.
-	 * The returned set is unmodifiable to prevent external modifications.
+	 * The returned map is an unmodifiable snapshot of the board, so it can be iterated while the board changes
+	 * (e.g. by the game thread while a view is drawing it).
 	 *
-	 * @return A copy of the board.
+	 * @return An unmodifiable snapshot of the board.
 	 */
 	public Map<Coordinates, TileSkeleton> getTilesOnBoard() {
-		return Map.copyOf(board);
+		return Collections.unmodifiableMap(new TileGrid(board));
 	}
 
 	/**
 	 * Retrieves the set of coordinates that are currently occupied by tiles on the board.
-	 * The returned set is unmodifiable to prevent external modifications.
+	 * The returned set is an unmodifiable snapshot, so it can be iterated while the board changes.
 	 *
-	 * @return An unmodifiable set of coordinates where tiles are placed.
+	 * @return An unmodifiable snapshot of the coordinates where tiles are placed.
 	 */
 	public Set<Coordinates> getOccupiedCoordinates() {
-		return Set.copyOf(board.keySet());
+		return Collections.unmodifiableSet(new TileGrid(board).keySet());
 	}
 
 	/**
@@ -216,12 +364,16 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 	 */
 	@JsonIgnore
 	public Set<TileSkeleton> getTiles() {
-		return Set.copyOf(board.values());
+		// by identity: two different tiles with the same sides are equal, but both are on the board
+		Set<TileSkeleton> tiles = Collections.newSetFromMap(new IdentityHashMap<>(board.size()));
+		tiles.addAll(board.values());
+		return Collections.unmodifiableSet(tiles);
 	}
 
 	/**
 	 * Returns the map representing the shipboard.
-	 * The map is returned by reference, allowing direct modifications to the shipboard.
+	 * The map is returned by reference, allowing direct modifications to the shipboard:
+	 * those bypass the aggregates update, so call {@link #resetVisitors()} after them.
 	 *
 	 * @return the map representing the shipboard.
 	 */
@@ -230,6 +382,17 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		return board;
 	}
 
+	/**
+	 * Checks if there is a tile in the provided position, without creating any {@link Coordinates} for it.
+	 *
+	 * @param row The row to check.
+	 * @param column The column to check.
+	 * @return {@code true} if there is a tile placed in the provided position, {@code false} otherwise.
+	 */
+	public boolean isOccupied(int row, int column) {
+		return board.get(row, column) != null;
+	}
+
 	/**
 	 * Retrieves only the tiles placed in the provided coordinates.
 	 * If a coordinate value is not associated with a tile (no tile found) it is simply not considered.
@@ -292,10 +455,19 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 	 * @param coordinates The coordinates where the tile should be placed.
 	 * @throws FixedTileException If the provided tile has already been placed.
 	 * @throws NullPointerException If the provided tile is null.
+	 * @throws IllegalArgumentException If the coordinates are outside the grid of the board
+	 * (see {@link Coordinates#isInGrid()}).
 	 */
 	public void forceSetTile(TileSkeleton tile, Coordinates coordinates) throws FixedTileException {
+		if (!coordinates.isInGrid()) {
+			throw new IllegalArgumentException("Coordinates " + coordinates + " are outside the grid");
+		}
 		tile.place(coordinates);
-		board.put(coordinates, tile);
+		TileSkeleton previous = board.put(coordinates, tile);
+		if (previous != null) {
+			removeFromAggregates(previous, coordinates);
+		}
+		addToAggregates(tile, coordinates);
 	}
 
 	/**
@@ -308,7 +480,11 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 	 * or {@code null} if there was no mapping for {@code coordinates}.
 	 */
 	public TileSkeleton forceRemoveTile(Coordinates coordinates) {
-		return board.remove(coordinates);
+		TileSkeleton removed = board.remove(coordinates);
+		if (removed != null) {
+			removeFromAggregates(removed, coordinates);
+		}
+		return removed;
 	}
 
 	/**
@@ -343,14 +519,10 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 			throw new TileAlreadyPresentException(coordinates, board.get(coordinates));
 		}
 
-		boolean hasNeighbor = false;
-		for (Coordinates neighbor : coordinates.getNeighbors()) {
-			if (board.containsKey(neighbor)) {
-				hasNeighbor = true;
-				break;
-			}
-		}
-		if (!hasNeighbor) {
+		int row = coordinates.getRow();
+		int column = coordinates.getColumn();
+		if (!isOccupied(row - 1, column) && !isOccupied(row + 1, column)
+				&& !isOccupied(row, column - 1) && !isOccupied(row, column + 1)) {
 			throw new TileWithoutNeighborException(coordinates);
 		}
 
@@ -397,7 +569,7 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		}
 
 		// Remove the tile and revalidate structure
-		board.remove(coordinates);
+		forceRemoveTile(coordinates);
 		validateStructure();
 	}
 
@@ -410,12 +582,23 @@ public class ShipBoard implements ICLIPrintable, Serializable {
      * @param direction The direction to search in (EAST, WEST, NORTH, SOUTH).
      * @param coordinate The coordinate along the perpendicular axis to the direction.
      * @return The {@link Coordinates} of the first found tile, or {@code null} if no tile is found.
+     * @implNote Read from the per-row/column index of the {@link ShipBitboard}, unless some tile has been
+     * forced outside the building area: only in that case the cells are scanned one by one.
      */
     public Coordinates getFirstTileLocation(Direction direction, int coordinate) {
+        ShipBitboard bits = getBitboard();
+        if (bits.isExact()) {
+            return bits.getFirstTileLocation(direction, coordinate);
+        }
+
         int firstCoordValue = BoardCoordinates.getFirstCoordinateFromDirection(direction);
-        Coordinates coord = switch (direction) {
-            case EAST, WEST -> new Coordinates(coordinate, firstCoordValue);
-            case NORTH, SOUTH -> new Coordinates(firstCoordValue, coordinate);
+        int row = switch (direction) {
+            case EAST, WEST -> coordinate;
+            case NORTH, SOUTH -> firstCoordValue;
+        };
+        int column = switch (direction) {
+            case EAST, WEST -> firstCoordValue;
+            case NORTH, SOUTH -> coordinate;
         };
 
         Direction checkDirection = direction.getRotated(Rotation.OPPOSITE);
@@ -425,10 +608,11 @@ public class ShipBoard implements ICLIPrintable, Serializable {
         }
 
         for (int i = 0; i < maxIterations; i++) {
-            if (board.containsKey(coord)) {
-                return coord;
+            if (isOccupied(row, column)) {
+                return Coordinates.of(row, column);
             }
-            coord = coord.getNext(checkDirection);
+            row += checkDirection.getRowOffset();
+            column += checkDirection.getColumnOffset();
         }
 
         return null;
@@ -472,7 +656,7 @@ public class ShipBoard implements ICLIPrintable, Serializable {
                                       Coordinates coordTopLeft, Coordinates coordBottomRight) {
         for (int row = coordTopLeft.getRow(); row <= coordBottomRight.getRow(); row++) {
             for (int col = coordTopLeft.getColumn(); col <= coordBottomRight.getColumn(); col++) {
-                Coordinates coord = new Coordinates(row, col);
+                Coordinates coord = Coordinates.of(row, col);
                 if (visitorCalculatePowers.getInfoFirePower().isPresent(coord)) {  // there is a cannon
                     if ((checkForDoubleCannon == visitorCalculatePowers.getInfoFirePower()
                             .getLocationsToActivate().containsKey(coord))
@@ -508,42 +692,62 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 	 * @param coordinate The coordinate along the perpendicular axis to the direction.
 	 * @return The level of protection, which can be: {@link ProtectionType#SINGLE_CANNON},
 	 *         {@link ProtectionType#DOUBLE_CANNON} or {@link ProtectionType#NONE}.
+	 * @implNote Read from the per-row/column index of the {@link ShipBitboard}, unless some tile has been
+	 * forced outside the building area: only in that case the area is scanned one cell at a time.
 	 */
 	public ProtectionType getCannonProtection(Direction direction, int coordinate) {
+		ShipBitboard bits = getBitboard();
+		if (bits.isExact()) {
+			return bits.getCannonProtection(direction, coordinate);
+		}
+
+		Pair<Coordinates> area = getCannonCoverageArea(direction, coordinate);
+		Coordinates coordTopLeft = area.getFirst(), coordBottomRight = area.getSecond();
+
+		// first search for single cannons: higher priority
+		if (hasCannonPointing(false, direction, coordTopLeft, coordBottomRight)) {
+			return ProtectionType.SINGLE_CANNON;
+		}
+		// if no single cannon is found: search for double cannons
+		if (hasCannonPointing(true, direction, coordTopLeft, coordBottomRight)) {
+			return ProtectionType.DOUBLE_CANNON;
+		}
+		// if here: no cannon found
+		return ProtectionType.NONE;
+	}
 
+	/**
+	 * Retrieves the area where a cannon can protect the ship from a projectile.
+	 *
+	 * @param direction The direction the projectile comes from.
+	 * @param coordinate The coordinate along the perpendicular axis to the direction.
+	 * @return The top-left and the bottom-right coordinates of the area.
+	 * @see #getCannonProtection(Direction, int)
+	 */
+	static Pair<Coordinates> getCannonCoverageArea(Direction direction, int coordinate) {
 		// create coordinates box range
 		int firstCoordValue = BoardCoordinates.getFirstCoordinateFromDirection(direction);
 		int lastCoordValue = BoardCoordinates.getFirstCoordinateFromDirection(direction.getRotated(Rotation.OPPOSITE));
 		Coordinates coordTopLeft = null, coordBottomRight = null;
 		switch (direction) {
 			case EAST:
-				coordTopLeft = new Coordinates(coordinate - 1, lastCoordValue);
-				coordBottomRight = new Coordinates(coordinate + 1, firstCoordValue);
+				coordTopLeft = Coordinates.of(coordinate - 1, lastCoordValue);
+				coordBottomRight = Coordinates.of(coordinate + 1, firstCoordValue);
 				break;
 			case NORTH:
-				coordTopLeft = new Coordinates(firstCoordValue, coordinate);
-				coordBottomRight = new Coordinates(lastCoordValue, coordinate);
+				coordTopLeft = Coordinates.of(firstCoordValue, coordinate);
+				coordBottomRight = Coordinates.of(lastCoordValue, coordinate);
 				break;
 			case WEST:
-				coordTopLeft = new Coordinates(coordinate - 1, firstCoordValue);
-				coordBottomRight = new Coordinates(coordinate + 1, lastCoordValue);
+				coordTopLeft = Coordinates.of(coordinate - 1, firstCoordValue);
+				coordBottomRight = Coordinates.of(coordinate + 1, lastCoordValue);
 				break;
 			case SOUTH:
-				coordTopLeft = new Coordinates(lastCoordValue, coordinate - 1);
-				coordBottomRight = new Coordinates(firstCoordValue, coordinate + 1);
+				coordTopLeft = Coordinates.of(lastCoordValue, coordinate - 1);
+				coordBottomRight = Coordinates.of(firstCoordValue, coordinate + 1);
 				break;
 		}
-
-		// first search for single cannons: higher priority
-		if (hasCannonPointing(false, direction, coordTopLeft, coordBottomRight)) {
-			return ProtectionType.SINGLE_CANNON;
-		}
-		// if no single cannon is found: search for double cannons
-		if (hasCannonPointing(true, direction, coordTopLeft, coordBottomRight)) {
-			return ProtectionType.DOUBLE_CANNON;
-		}
-		// if here: no cannon found
-		return ProtectionType.NONE;
+		return new Pair<>(coordTopLeft, coordBottomRight);
 	}
 
 	/**
@@ -552,11 +756,7 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 	 * @param quantityToRemove the number of contraband items to remove
 	 */
 	public void loseBestGoods(int quantityToRemove) {
-		VisitorSmugglers smugglers = new VisitorSmugglers(quantityToRemove);
-		for (TileSkeleton tile : board.values()) {
-			tile.accept(smugglers);
-		}
-		smugglers.removeMostValuableItems(quantityToRemove);
+		getVisitorCalculateCargoInfo().getInfoAllContainers().removeMostValuableItems(quantityToRemove);
 	}
 
 	/**
@@ -587,8 +787,44 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 	 * @param handler A reference to the PIRHandler, to handle these requests.
 	 */
 	public void fill(Player p, PIRHandler handler){
-		System.out.println("Filling up shipboard: " + p.getUsername());
+		LOG.debug("Filling up shipboard: " + p.getUsername());
 
+		fill((cabin, allowedTypes) -> {
+			String[] choices = allowedTypes.stream().map((type) -> {
+				int amount = cabin.getCapacityLeft() / type.getRequiredCapacity();
+				return amount + " units of " + type.name();
+			}).toArray(String[]::new); //Generate messages for each type
+			try {
+				PIRMultipleChoice choicePir = new PIRMultipleChoice(p,
+						handler.getTimings().getPirSeconds(),
+						"What type of crew do you want to add in cabin at coordinates "
+								+ cabin.getCoordinates().toString() + "?",
+						choices,
+						0
+				);
+				int selected = handler.setAndRunTurn(choicePir);
+				return allowedTypes.get(selected);
+			} catch (NotFixedTileException e) {
+				throw new RuntimeException(e); //shouldn't happen
+			}
+		});
+	}
+
+	/**
+	 * Fills this shipboard like {@link #fill(Player, PIRHandler)} would do if no choice was ever made:
+	 * full batteries and the default crew (humans) in every cabin.
+	 * Useful to evaluate a ship still being assembled as if it was about to start the flight.
+	 */
+	public void fillWithDefaults() {
+		fill((cabin, allowedTypes) -> allowedTypes.getFirst());
+	}
+
+	/**
+	 * Fills batteries and cabins.
+	 * @param crewChooser Called for each cabin where more than one type of crew can be loaded,
+	 *                    with the cabin and the allowed types in natural order: returns the type to load.
+	 */
+	private void fill(BiFunction<CabinTile, List<LoadableType>, LoadableType> crewChooser) {
 		//Fill batteries
 		getVisitorCalculateCargoInfo()
 				.getBatteriesInfo()
@@ -614,25 +850,9 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 					allowedTypes.removeAll(loadedAliens); //Remove any alien that was already added, to prevent adding duplicates
 					LoadableType fillType = allowedTypes.getFirst(); //Get default choice
 					if(allowedTypes.size() > 1){
-						String[] choices = allowedTypes.stream().map((type) -> {
-							int amount = cabin.getCapacityLeft() / type.getRequiredCapacity();
-							return amount + " units of " + type.name();
-						}).toArray(String[]::new); //Generate messages for each type
-						try {
-							PIRMultipleChoice choicePir = new PIRMultipleChoice(p,
-									Default.PIR_SECONDS,
-									"What type of crew do you want to add in cabin at coordinates "
-											+ cabin.getCoordinates().toString() + "?",
-									choices,
-									0
-							);
-							int selected = handler.setAndRunTurn(choicePir);
-							fillType = allowedTypes.get(selected);
-							if(fillType == LoadableType.PURPLE_ALIEN || fillType == LoadableType.BROWN_ALIEN){
-								loadedAliens.add(fillType);
-							}
-						} catch (NotFixedTileException e) {
-							throw new RuntimeException(e); //shouldn't happen
+						fillType = crewChooser.apply(cabin, allowedTypes);
+						if(fillType == LoadableType.PURPLE_ALIEN || fillType == LoadableType.BROWN_ALIEN){
+							loadedAliens.add(fillType);
 						}
 					}
 
@@ -718,7 +938,7 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		// consider the numbers offset in the empty representation
 		tilesRepresentation.applyOffset(tileHeight + 1, tileWidth + 2);
 
-		CLIFrame rep = emptyRepresentation.merge(tilesRepresentation);
+		CLIFrame rep = getEmptyRepresentation().merge(tilesRepresentation);
 		if (filled) {
 			// already filled for the first time -> show content
 			rep = rep.merge(getInfoCliRepresentation(), Direction.EAST, 5);
@@ -751,7 +971,7 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		// consider the numbers offset in the empty representation
 		tilesRepresentation.applyOffset(tileHeight + 1, tileWidth + 2);
 
-		CLIFrame rep = emptyRepresentation.merge(tilesRepresentation);
+		CLIFrame rep = getEmptyRepresentation().merge(tilesRepresentation);
 		if (filled) {
 			// already filled for the first time -> show content
 			rep = rep.merge(getInfoCliRepresentation(), Direction.EAST, 5);
@@ -771,6 +991,7 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 	 * increments counter for each empty adjacent one if its side is a connector.
 	 * If the count has already been calculated since last structural change in the ship,
 	 * the previously stored result is returned, avoiding duplicated calculations.
+	 * The count is taken on the {@link ShipBitboard} when every tile is inside the building area.
 	 * @return the number of exposed connectors
 	 */
 	public int getExposedConnectorsCount() {
@@ -778,8 +999,13 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 			return countExposedConnectors;
 		}
 		// else: calculate and store it
+		ShipBitboard bits = getBitboard();
+		if (bits.isExact()) {
+			countExposedConnectors = bits.countExposedConnectors();
+			return countExposedConnectors;
+		}
 		countExposedConnectors = 0;
-		for(Coordinates coord : getOccupiedCoordinates())
+		for(Coordinates coord : board.keySet())
 		{
 			// Count exposed connectors for each tile
 			countExposedConnectors += countTileExposedConnectors(coord);
@@ -796,13 +1022,11 @@ public class ShipBoard implements ICLIPrintable, Serializable {
 		int exposedCount = 0;
 
 		// Check all 4 adjacent positions
-		for (Coordinates neighborCoord: coord.getNeighbors()) {
-			if (!board.containsKey(neighborCoord)) {
-				Direction sideDirectionToCheck = coord.getNeighborDirection(neighborCoord);
-				SideType sideToCheck = board.get(coord).getSide(sideDirectionToCheck);
-				if (sideToCheck.isConnector()) {
-					exposedCount++;
-				}
+		TileSkeleton tile = board.get(coord);
+		for (Direction direction : DIRECTIONS) {
+			if (!isOccupied(coord.getRow() + direction.getRowOffset(), coord.getColumn() + direction.getColumnOffset())
+					&& tile.hasConnector(direction)) {
+				exposedCount++;
 			}
 		}
 
@@ -26,8 +26,41 @@ public enum SideType {
     /** A side equipped with an engine (no connectors). */
     ENGINE;
 
+    private static final SideType[] VALUES = values();
 
+    /** {@code WELDABLE[s1.ordinal()][s2.ordinal()]} caches {@link #areWeldable(SideType, SideType)}. */
+    private static final boolean[][] WELDABLE = new boolean[VALUES.length][VALUES.length];
+    /** {@code COMPATIBLE[s1.ordinal()][s2.ordinal()]} caches {@link #areCompatible(SideType, SideType)}. */
+    private static final boolean[][] COMPATIBLE = new boolean[VALUES.length][VALUES.length];
+
+    static {
+        for (SideType s1 : VALUES) {
+            for (SideType s2 : VALUES) {
+                WELDABLE[s1.ordinal()][s2.ordinal()] = computeWeldable(s1, s2);
+                COMPATIBLE[s1.ordinal()][s2.ordinal()] = computeCompatible(s1, s2);
+            }
+        }
+    }
+
+    /**
+     * @param s1 The side of a tile.
+     * @param s2 The side of another tile, facing {@code s1}.
+     * @return {@code true} if the two sides are connected to each other, {@code false} otherwise.
+     */
     public static boolean areWeldable(SideType s1, SideType s2) {
+        return WELDABLE[s1.ordinal()][s2.ordinal()];
+    }
+
+    /**
+     * @param s1 The side of a tile.
+     * @param s2 The side of another tile, facing {@code s1}.
+     * @return {@code true} if the two sides can legally face each other, {@code false} otherwise.
+     */
+    public static boolean areCompatible(SideType s1, SideType s2) {
+        return COMPATIBLE[s1.ordinal()][s2.ordinal()];
+    }
+
+    private static boolean computeWeldable(SideType s1, SideType s2) {
         if (s1 == SINGLE) {
             return (s2 == SINGLE || s2 == UNIVERSAL);
         }
@@ -42,8 +75,8 @@ public enum SideType {
         }
     }
 
-    public static boolean areCompatible(SideType s1, SideType s2) {
-        if (areWeldable(s1, s2)) return true;  // weldable ==> compatible
+    private static boolean computeCompatible(SideType s1, SideType s2) {
+        if (computeWeldable(s1, s2)) return true;  // weldable ==> compatible
         // else: not weldable but still have chance to be compatible
         return (s1 == SMOOTH && s2 == SMOOTH);
     }
@@ -0,0 +1,248 @@
+package it.polimi.ingsw.model.shipboard;
+
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.Coordinates;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Storage of the tiles placed on a shipboard: a fixed-size array indexed by {@link Coordinates#getID()},
+ * exposed as a {@link Map} from coordinates to tiles.
+ * <p>
+ * Lookups by coordinates (or directly by ID) are plain array accesses, with no hashing involved;
+ * iterations follow the grid in row-major order.
+ * Only the coordinates inside the grid (see {@link Coordinates#isInGrid()}) can be keys of this map:
+ * unlike the {@link HashMap} previously used for the shipboards, {@link #put} rejects any other coordinates.
+ * Every building area lies inside the grid, so only the boards filled bypassing its checks are affected.
+ */
+public class TileGrid extends AbstractMap<Coordinates, TileSkeleton> implements Serializable {
+
+    private final Coordinates[] keys;
+    private final TileSkeleton[] tiles;
+    private int size;
+    private transient int modCount;
+
+    private transient Set<Entry<Coordinates, TileSkeleton>> entrySet;
+
+    public TileGrid() {
+        keys = new Coordinates[Coordinates.getIDsCount()];
+        tiles = new TileSkeleton[keys.length];
+        size = 0;
+    }
+
+    /**
+     * Creates a snapshot of another grid: later changes to either grid are not reflected in the other one.
+     * @param toCopy the grid to copy
+     */
+    public TileGrid(TileGrid toCopy) {
+        keys = toCopy.keys.clone();
+        tiles = toCopy.tiles.clone();
+        size = toCopy.size;
+    }
+
+    /**
+     * @param key the key to look for
+     * @return the ID of {@code key} if it can be a key of this map, {@code -1} otherwise
+     */
+    private static int indexOf(Object key) {
+        if (key instanceof Coordinates coordinates && coordinates.isInGrid()) {
+            return coordinates.getID();
+        }
+        return -1;
+    }
+
+    /**
+     * @param id the ID of the coordinates to look for
+     * @return the tile placed in the coordinates with the provided ID, or {@code null} if there is none
+     */
+    public TileSkeleton get(int id) {
+        return (id >= 0 && id < tiles.length) ? tiles[id] : null;
+    }
+
+    /**
+     * @param row the row to look for
+     * @param column the column to look for
+     * @return the tile placed in the provided position, or {@code null} if there is none
+     */
+    public TileSkeleton get(int row, int column) {
+        return Coordinates.isInGrid(row, column) ? tiles[Coordinates.toID(row, column)] : null;
+    }
+
+    /**
+     * @param id the ID of the coordinates to look for
+     * @return {@code true} if there is a tile placed in the coordinates with the provided ID, {@code false} otherwise
+     */
+    public boolean isOccupied(int id) {
+        return get(id) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int index = indexOf(key);
+        return index >= 0 && tiles[index] != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (value == null) return false;
+        for (TileSkeleton tile : tiles) {
+            if (value.equals(tile)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public TileSkeleton get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? tiles[index] : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException if {@code key} is outside the grid
+     * @throws NullPointerException if {@code key} or {@code tile} is null
+     */
+    @Override
+    public TileSkeleton put(Coordinates key, TileSkeleton tile) {
+        Objects.requireNonNull(tile);
+        int index = indexOf(Objects.requireNonNull(key));
+        if (index < 0) {
+            throw new IllegalArgumentException("Coordinates " + key + " are outside the grid");
+        }
+        TileSkeleton previous = tiles[index];
+        if (previous == null) {
+            size++;
+        }
+        keys[index] = key;
+        tiles[index] = tile;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public TileSkeleton remove(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? removeAt(index) : null;
+    }
+
+    private TileSkeleton removeAt(int index) {
+        TileSkeleton previous = tiles[index];
+        if (previous != null) {
+            keys[index] = null;
+            tiles[index] = null;
+            size--;
+            modCount++;
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(tiles, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Performs the given action for each placed tile, in row-major order, without allocating any entry.
+     */
+    @Override
+    public void forEach(BiConsumer<? super Coordinates, ? super TileSkeleton> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != null) {
+                action.accept(keys[i], tiles[i]);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<Coordinates, TileSkeleton>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Coordinates, TileSkeleton>> iterator() {
+                    return new GridIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public void clear() {
+                    TileGrid.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Iterator over the occupied cells of the grid, in row-major order.
+     */
+    private class GridIterator implements Iterator<Entry<Coordinates, TileSkeleton>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private GridIterator() {
+            next = advance(0);
+        }
+
+        private int advance(int from) {
+            while (from < tiles.length && tiles[from] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < tiles.length;
+        }
+
+        @Override
+        public Entry<Coordinates, TileSkeleton> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new SimpleImmutableEntry<>(keys[last], tiles[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
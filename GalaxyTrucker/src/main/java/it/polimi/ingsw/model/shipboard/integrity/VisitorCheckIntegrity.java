@@ -7,8 +7,9 @@ import it.polimi.ingsw.model.shipboard.LoadableType;
 import it.polimi.ingsw.model.shipboard.SideType;
 import it.polimi.ingsw.model.shipboard.TileCluster;
 import it.polimi.ingsw.model.shipboard.tiles.*;
-import it.polimi.ingsw.model.shipboard.visitors.TileVisitor;
+import it.polimi.ingsw.model.shipboard.visitors.ReversibleTileVisitor;
 import it.polimi.ingsw.util.Coordinates;
+import it.polimi.ingsw.util.DisjointSet;
 import it.polimi.ingsw.util.Pair;
 
 import java.util.*;
@@ -16,21 +17,30 @@ import java.util.*;
 
 /**
  * Visitor to check for integrity problems. The first encountered must be resolved.
+ * <p>
+ * The welded components of the ship are tracked with a {@link DisjointSet} over the visited tiles coordinates IDs,
+ * so that each visited tile is merged only with its welded neighbors. Tiles can also be un-visited
+ * (e.g. when destroyed by a hit): in that case only the component which contained the removed tile is re-evaluated.
+ * <p>
+ * The visited tiles are kept in visit order, so that the clusters are always listed in the same order:
+ * by the first visited tile of each one.
  */
-public class VisitorCheckIntegrity implements TileVisitor {
+public class VisitorCheckIntegrity implements ReversibleTileVisitor {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     private final Map<Coordinates, TileSkeleton> visitedTiles;
-    private final List<TileCluster> clusters;
+    private final DisjointSet components;
     private final Set<TileSkeleton> intrinsicallyWrongTiles;
     private final List<Pair<TileSkeleton>> illegallyWeldedTiles;
-    private final Set<TileSkeleton> tilesWithHumans;
+    private final Map<Coordinates, CabinTile> cabins;
     private TileSkeleton mainCabin;
 
     public VisitorCheckIntegrity() {
-        visitedTiles = new HashMap<>();
-        clusters = new ArrayList<>();
+        visitedTiles = new LinkedHashMap<>();
+        components = new DisjointSet(256);
         intrinsicallyWrongTiles = new HashSet<>();
         illegallyWeldedTiles = new ArrayList<>();
-        tilesWithHumans = new HashSet<>();
+        cabins = new HashMap<>();
     }
 
     @Override
@@ -52,9 +62,7 @@ public class VisitorCheckIntegrity implements TileVisitor {
     @Override
     public void visitCabin(CabinTile tile) {
         addToClusters(tile);
-        if (tile.getLoadedItems().stream().anyMatch(i -> i == LoadableType.HUMAN)) {
-            tilesWithHumans.add(tile);
-        }
+        cabins.put(tile.forceGetCoordinates(), tile);
     }
 
     @Override
@@ -86,64 +94,150 @@ public class VisitorCheckIntegrity implements TileVisitor {
         addToClusters(tile);
     }
 
-    private static boolean areDirectlyWelded(TileSkeleton tile1, TileSkeleton tile2) {
-        Direction dir = tile1.getNeighborDirection(tile2);
-        if (dir == null) return false;
+    private static boolean areDirectlyWelded(TileSkeleton tile1, TileSkeleton tile2, Direction dir) {
         return SideType.areWeldable(tile1.getSide(dir), tile2.getSide(dir.getRotated(Rotation.OPPOSITE)));
     }
 
     private void addToClusters(TileSkeleton tile) {
         Coordinates tileCoordinates = tile.forceGetCoordinates();
 
-        /* first of all signal if it would be illegally welded */
-        for (Coordinates neighborCoordinates : tileCoordinates.getNeighbors()) {
+        for (Direction neighborDirection : DIRECTIONS) {
+            Coordinates neighborCoordinates = tileCoordinates.getNext(neighborDirection);
             TileSkeleton neighborTile = visitedTiles.get(neighborCoordinates);
-            if (neighborTile != null) {  // there is threat to be illegally welded
-                Direction neighborDirection = tileCoordinates.getNeighborDirection(neighborCoordinates);
-                if (!SideType.areCompatible(tile.getSide(neighborDirection),
-                        neighborTile.getSide(neighborDirection.getRotated(Rotation.OPPOSITE)))) {
-                    illegallyWeldedTiles.add(new Pair<>(tile, neighborTile));
-                }
+            if (neighborTile == null) continue;
+
+            // signal if it would be illegally welded
+            if (!SideType.areCompatible(tile.getSide(neighborDirection),
+                    neighborTile.getSide(neighborDirection.getRotated(Rotation.OPPOSITE)))) {
+                illegallyWeldedTiles.add(new Pair<>(tile, neighborTile));
+            }
+            // merge with the component of each welded neighbor
+            if (areDirectlyWelded(tile, neighborTile, neighborDirection)) {
+                components.union(tileCoordinates.getID(), neighborCoordinates.getID());
             }
         }
-        /**/
-
-        List<TileCluster> weldedClusters = new ArrayList<>();
 
         // store as visited tile
         visitedTiles.put(tileCoordinates, tile);
+    }
 
-        // store all the clusters welded to this tile
-        for (TileCluster cluster : clusters) {
-            for (TileSkeleton clusterTile : cluster.getTiles()) {
-                if (areDirectlyWelded(tile, clusterTile)) {
-                    weldedClusters.add(cluster);
-                    break;
+    @Override
+    public void unvisit(TileSkeleton tile, Coordinates coordinates) {
+        if (visitedTiles.get(coordinates) != tile) return;
+
+        // collect the component which contained the tile: it's the only one that can be split
+        int root = components.find(coordinates.getID());
+        List<Coordinates> component = new ArrayList<>();
+        List<Integer> componentIds = new ArrayList<>();
+        for (Coordinates visited : visitedTiles.keySet()) {
+            if (components.find(visited.getID()) == root) {
+                component.add(visited);
+                componentIds.add(visited.getID());
+            }
+        }
+
+        visitedTiles.remove(coordinates);
+        intrinsicallyWrongTiles.remove(tile);
+        illegallyWeldedTiles.removeIf(pair -> pair.getFirst() == tile || pair.getSecond() == tile);
+        cabins.remove(coordinates);
+        if (mainCabin == tile) {
+            mainCabin = null;
+        }
+
+        // re-evaluate only that component
+        components.reset(componentIds);
+        for (Coordinates member : component) {
+            TileSkeleton memberTile = visitedTiles.get(member);
+            if (memberTile == null) continue;  // the removed tile
+            for (Direction direction : DIRECTIONS) {
+                Coordinates neighbor = member.getNext(direction);
+                TileSkeleton neighborTile = visitedTiles.get(neighbor);
+                if (neighborTile != null && areDirectlyWelded(memberTile, neighborTile, direction)) {
+                    components.union(member.getID(), neighbor.getID());
                 }
             }
         }
+    }
 
-        // if no cluster is welded to this tile -> this tile creates a new cluster
-        if (weldedClusters.isEmpty()) {
-            clusters.add(new TileCluster(Set.of(tile)));
+    /**
+     * @return The welded components of the visited tiles, each as a cluster, in the order of their first visited tile.
+     */
+    public List<TileCluster> getClusters() {
+        Map<Integer, Set<TileSkeleton>> clustersByRoot = new LinkedHashMap<>();
+        for (Map.Entry<Coordinates, TileSkeleton> entry : visitedTiles.entrySet()) {
+            clustersByRoot.computeIfAbsent(components.find(entry.getKey().getID()), _ -> new LinkedHashSet<>())
+                    .add(entry.getValue());
+        }
+        List<TileCluster> clusters = new ArrayList<>(clustersByRoot.size());
+        for (Set<TileSkeleton> tiles : clustersByRoot.values()) {
+            clusters.add(new TileCluster(tiles));
         }
-        else {
-            TileCluster weldedCluster = weldedClusters.getFirst();
-            // merge welded clusters that would have been disconnected if this tile wasn't there.
-            for (int i = 1; i < weldedClusters.size(); i++) {
-                weldedCluster.merge(weldedClusters.get(i));
+        return clusters;
+    }
+
+    /**
+     * @return The coordinates of the tiles welded (directly or not) to the main cabin,
+     * or an empty set if there is no main cabin.
+     */
+    public Set<Coordinates> getMainCabinComponent() {
+        if (mainCabin == null) return Collections.emptySet();
+        int root = components.find(mainCabin.forceGetCoordinates().getID());
+        Set<Coordinates> component = new HashSet<>();
+        for (Coordinates visited : visitedTiles.keySet()) {
+            if (components.find(visited.getID()) == root) {
+                component.add(visited);
             }
-            // remove welded clusters in excess (all but the first)
-            weldedClusters.remove(weldedCluster);
-            clusters.removeAll(weldedClusters);
-            // actually add this tile to the cluster
-            weldedCluster.addTile(tile);
         }
+        return component;
+    }
+
+    /**
+     * @param first The coordinates of a visited tile.
+     * @param second The coordinates of another visited tile.
+     * @return {@code true} if the two tiles are welded (directly or not), {@code false} otherwise.
+     */
+    public boolean areWelded(Coordinates first, Coordinates second) {
+        return visitedTiles.containsKey(first) && visitedTiles.containsKey(second)
+                && components.connected(first.getID(), second.getID());
     }
 
     public IntegrityProblem getProblem(boolean isAssemblePhase) {
-        return new IntegrityProblem(clusters, intrinsicallyWrongTiles, illegallyWeldedTiles,
+        Set<TileSkeleton> tilesWithHumans = new HashSet<>();
+        for (CabinTile cabin : cabins.values()) {
+            if (cabin.getLoadedItems().contains(LoadableType.HUMAN)) {
+                tilesWithHumans.add(cabin);
+            }
+        }
+        return new IntegrityProblem(getClusters(), intrinsicallyWrongTiles, illegallyWeldedTiles,
                 // if not assigned -> humans are not necessary to keep cluster, but main cabin is.
-                isAssemblePhase ? Set.of(mainCabin) : tilesWithHumans);
+                isAssemblePhase ? (mainCabin == null ? Set.of() : Set.of(mainCabin)) : tilesWithHumans);
+    }
+
+    /**
+     * @param other Another visitor, e.g. computed from scratch.
+     * @return {@code true} if {@code other} found the same components and problems as this, {@code false} otherwise.
+     */
+    public boolean isConsistentWith(VisitorCheckIntegrity other) {
+        return getPartition().equals(other.getPartition())
+                && intrinsicallyWrongTiles.equals(other.intrinsicallyWrongTiles)
+                && getIllegallyWeldedCoordinates().equals(other.getIllegallyWeldedCoordinates())
+                && cabins.equals(other.cabins)
+                && mainCabin == other.mainCabin;
+    }
+
+    private Set<Set<Coordinates>> getPartition() {
+        Set<Set<Coordinates>> partition = new HashSet<>();
+        for (TileCluster cluster : getClusters()) {
+            partition.add(cluster.getCoordinates());
+        }
+        return partition;
+    }
+
+    private Set<Set<Coordinates>> getIllegallyWeldedCoordinates() {
+        Set<Set<Coordinates>> pairs = new HashSet<>();
+        for (Pair<TileSkeleton> pair : illegallyWeldedTiles) {
+            pairs.add(Set.of(pair.getFirst().forceGetCoordinates(), pair.getSecond().forceGetCoordinates()));
+        }
+        return pairs;
     }
 }
@@ -25,6 +25,20 @@ public class BatteryComponentTile extends ContainerTile {
         }
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected BatteryComponentTile(BatteryComponentTile toCopy) {
+        super(toCopy);
+    }
+
+    @Override
+    public BatteryComponentTile copy() {
+        return new BatteryComponentTile(this);
+    }
+
     @Override
     public void accept(TileVisitor visitor) {
         visitor.visitBatteryComponent(this);
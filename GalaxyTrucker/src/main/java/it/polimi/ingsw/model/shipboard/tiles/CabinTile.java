@@ -36,6 +36,21 @@ public class CabinTile extends ContainerTile {
         this(sides, LoadableType.CREW_SET);
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected CabinTile(CabinTile toCopy) {
+        super(toCopy);
+        loadedCrew = toCopy.loadedCrew;
+    }
+
+    @Override
+    public CabinTile copy() {
+        return new CabinTile(this);
+    }
+
     @Override
     public String getName() {
         return "Cabin [" + (getCapacity() - getCapacityLeft()) + " " + loadedCrew + "] / " + getCapacity();
@@ -80,4 +95,14 @@ public class CabinTile extends ContainerTile {
         return loadedCrew;
     }
 
+    /**
+     * Overwrite the type of crew this cabin has been filled with.
+     * Used only to restore a previously saved state.
+     *
+     * @param loadedCrew The type of crew to restore, or {@code null} if the cabin has not been filled yet.
+     */
+    public void restoreLoadedCrew(LoadableType loadedCrew) {
+        this.loadedCrew = loadedCrew;
+    }
+
 }
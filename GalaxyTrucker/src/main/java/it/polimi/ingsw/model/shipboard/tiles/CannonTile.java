@@ -30,6 +30,20 @@ public class CannonTile extends PowerableTile {
         setCLISymbol(batteryNeeded ? "2T" : "1t");
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected CannonTile(CannonTile toCopy) {
+        super(toCopy);
+    }
+
+    @Override
+    public CannonTile copy() {
+        return new CannonTile(this);
+    }
+
     @Override
     public void accept(TileVisitor visitor) {
         visitor.visitCannon(this);
@@ -43,6 +43,20 @@ public class CargoHoldTile extends ContainerTile {
         this(sides, Set.of(LoadableType.BLUE_GOODS, LoadableType.GREEN_GOODS, LoadableType.YELLOW_GOODS), capacity);
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected CargoHoldTile(CargoHoldTile toCopy) {
+        super(toCopy);
+    }
+
+    @Override
+    public CargoHoldTile copy() {
+        return new CargoHoldTile(this);
+    }
+
     /**
      * Accepts a visitor for processing this tile.
      *
@@ -12,16 +12,55 @@ import java.util.*;
 /**
  * Represents a container tile that can store specific types of loadable items.
  * Each container has a defined capacity and a set of allowed items.
+ * <p>
+ * The loaded items are stored as a count per {@link LoadableType} (indexed by {@link LoadableType#ordinal()}),
+ * and each change to them is notified to the registered {@link LoadListener}s.
+ * <p>
+ * The counters are also the serialized form of the loaded items, which used to be a list of items:
+ * containers serialized with the list can not be read (see {@code serialVersionUID}).
+ * Saves in the compact format encode the loaded items of the tiles of the pile independently of this form
+ * (see {@code GameSaveFormat}): only their main cabins go through it.
  */
 public abstract class ContainerTile extends TileSkeleton {
 
+    /**
+     * Listener of the changes to the items loaded in a container.
+     */
+    public interface LoadListener {
+        /**
+         * Called each time the amount of an item loaded in a container changes.
+         *
+         * @param container The container whose content changed.
+         * @param item The item whose amount changed.
+         * @param delta The change of the amount: positive if loaded, negative if removed.
+         */
+        void onLoadChanged(ContainerTile container, LoadableType item, int delta);
+    }
+
+    /**
+     * Version of the serialized form with the counters of the loaded items.
+     * A container serialized with the previous list form fails with an {@link java.io.InvalidClassException}
+     * instead of being loaded empty.
+     */
+    private static final long serialVersionUID = 2L;
+
+    private static final LoadableType[] LOADABLE_TYPES = LoadableType.values();
+
+    /** The loadable types, the most valuable for smugglers first. */
+    private static final LoadableType[] LOADABLE_TYPES_BY_CONTRABAND = Arrays.stream(LOADABLE_TYPES)
+            .sorted(ContrabandCalculator.descendingContrabandComparator)
+            .toArray(LoadableType[]::new);
+
     private final Set<LoadableType> maxAllowedItems;
 
     private final int capacity;
     private Set<LoadableType> allowedItems;
-    private final List<LoadableType> loadedItems;
+    private final int[] loadedCounts = new int[LOADABLE_TYPES.length];
+    private int loadedTotal;
     private int occupiedCapacity;
 
+    private transient List<LoadListener> loadListeners;
+
     /**
      * Constructs a ContainerTile with specified sides, allowed items, and capacity.
      *
@@ -42,7 +81,63 @@ public abstract class ContainerTile extends TileSkeleton {
             throw new RuntimeException(e);
         }
         this.capacity = capacity;
-        this.loadedItems = new ArrayList<>(capacity);
+    }
+
+    /**
+     * Constructs a copy of the provided container, with the same loaded items but no listeners.
+     *
+     * @param toCopy The container to copy.
+     */
+    protected ContainerTile(ContainerTile toCopy) {
+        super(toCopy);
+        maxAllowedItems = toCopy.maxAllowedItems;
+        capacity = toCopy.capacity;
+        allowedItems = toCopy.allowedItems;  // never changed in place: can be shared
+        System.arraycopy(toCopy.loadedCounts, 0, loadedCounts, 0, loadedCounts.length);
+        loadedTotal = toCopy.loadedTotal;
+        occupiedCapacity = toCopy.occupiedCapacity;
+    }
+
+    /**
+     * Registers a listener to be notified of each change of the loaded items.
+     * Listeners are not serialized.
+     *
+     * @param listener The listener to register.
+     */
+    public void addLoadListener(LoadListener listener) {
+        if (loadListeners == null) {
+            loadListeners = new ArrayList<>(2);
+        }
+        loadListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener previously registered with {@link #addLoadListener(LoadListener)}.
+     *
+     * @param listener The listener to unregister.
+     */
+    public void removeLoadListener(LoadListener listener) {
+        if (loadListeners != null) {
+            loadListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Changes the loaded amount of an item, keeping the occupied capacity and the listeners up to date.
+     *
+     * @param item The item whose amount to change.
+     * @param delta The change to apply.
+     */
+    private void changeLoaded(LoadableType item, int delta) {
+        if (delta == 0) return;
+        loadedCounts[item.ordinal()] += delta;
+        loadedTotal += delta;
+        occupiedCapacity += delta * item.getRequiredCapacity();
+        if (loadListeners != null) {
+            for (LoadListener listener : loadListeners) {
+                listener.onLoadChanged(this, item, delta);
+            }
+        }
     }
 
     /**
@@ -59,18 +154,16 @@ public abstract class ContainerTile extends TileSkeleton {
         this.allowedItems = allowedItems;
 
         // if no items loaded -> no items to remove
-        if ((loadedItems == null) || (loadedItems.isEmpty())) {
+        if (loadedTotal == 0) {
             return Collections.emptyList();
         }
         // else: calculate all the items to remove and remove and return them
-        List<LoadableType> removedItems = new ArrayList<>(loadedItems.size());
-
-        Iterator<LoadableType> iterator = loadedItems.iterator();
-        while (iterator.hasNext()) {
-            LoadableType item = iterator.next();
-            if (!allowedItems.contains(item)) {
-                removedItems.add(item);
-                iterator.remove();
+        List<LoadableType> removedItems = new ArrayList<>(loadedTotal);
+        for (LoadableType item : LOADABLE_TYPES) {
+            int loaded = loadedCounts[item.ordinal()];
+            if (loaded > 0 && !allowedItems.contains(item)) {
+                removedItems.addAll(Collections.nCopies(loaded, item));
+                changeLoaded(item, -loaded);
             }
         }
 
@@ -98,18 +191,7 @@ public abstract class ContainerTile extends TileSkeleton {
                     + " of them.");
         }
 
-        occupiedCapacity += requiredCapacity;
-        loadedItems.addAll(Collections.nCopies(quantity, item));
-    }
-
-    /**
-     * Calculate and set {@link #occupiedCapacity} from loaded items
-     */
-    private void recalculateOccupiedCapacity() {
-        occupiedCapacity = 0;
-        for (LoadableType item : loadedItems) {
-            occupiedCapacity += item.getRequiredCapacity();
-        }
+        changeLoaded(item, quantity);
     }
 
     /**
@@ -132,17 +214,13 @@ public abstract class ContainerTile extends TileSkeleton {
             throw new UnsupportedLoadableItemException(item, allowedItems);
         }
 
-        long loadedCount = loadedItems.stream().filter(it -> it == item).count();
+        int loadedCount = countLoaded(item);
         if (loadedCount < quantity) {
             throw new NotEnoughItemsException("Attempt to remove " + quantity + " " + item
                     + " from a container with only " + loadedCount + " of them");
         }
 
-        for (int i = 0; i < quantity; i++) {
-            loadedItems.remove(item);
-        }
-
-        recalculateOccupiedCapacity();
+        changeLoaded(item, -quantity);
     }
 
     /**
@@ -164,33 +242,39 @@ public abstract class ContainerTile extends TileSkeleton {
         }
 
         // remove items
-        List<LoadableType> toRemove = new ArrayList<>(quantity);
         int removed = 0;
-        for (LoadableType loadedItem : loadedItems) {
-            int howMany = (int)items.stream().filter(i -> i == loadedItem).count();
-            if (howMany > 0) {
-                removed += howMany;
-                if (removed > quantity) {
-                    howMany -= removed - quantity;
-                    removed = quantity;
-                }
-                toRemove.addAll(Collections.nCopies(howMany, loadedItem));
-
-                if (removed == quantity) {
-                    break;
-                }
+        for (LoadableType item : LOADABLE_TYPES) {
+            if (removed == quantity) {
+                break;
             }
+            if (!items.contains(item)) continue;
+            int howMany = Math.min(loadedCounts[item.ordinal()], quantity - removed);
+            changeLoaded(item, -howMany);
+            removed += howMany;
         }
 
-        for (LoadableType loadedItem : toRemove) {
-            loadedItems.remove(loadedItem);
-        }
-
-        recalculateOccupiedCapacity();
         return removed;
     }
 
 
+    /**
+     * Overwrite allowed and loaded items of this container, without any check on their coherence.
+     * Used only to restore a previously saved state.
+     *
+     * @param allowedItems The set of allowed items to restore.
+     * @param loadedItems The list of loaded items to restore.
+     */
+    public void restoreItems(Set<LoadableType> allowedItems, List<LoadableType> loadedItems) {
+        this.allowedItems = allowedItems;
+        int[] restoredCounts = new int[LOADABLE_TYPES.length];
+        for (LoadableType item : loadedItems) {
+            restoredCounts[item.ordinal()]++;
+        }
+        for (LoadableType item : LOADABLE_TYPES) {
+            changeLoaded(item, restoredCounts[item.ordinal()] - loadedCounts[item.ordinal()]);
+        }
+    }
+
     /**
      * Checks whether a specific item is allowed to be stored in this container.
      *
@@ -202,12 +286,64 @@ public abstract class ContainerTile extends TileSkeleton {
     }
 
     /**
-     * Retrieves a list of currently loaded items.
+     * Retrieves a list of currently loaded items, grouped by type in the order of {@link LoadableType}.
      *
-     * @return A (copy of the) list of items currently in the container.
+     * @return An unmodifiable view of the items currently in the container.
      */
     public List<LoadableType> getLoadedItems() {
-        return new ArrayList<>(loadedItems);
+        return new AbstractList<>() {
+            @Override
+            public LoadableType get(int index) {
+                if (index < 0) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                int remaining = index;
+                for (LoadableType item : LOADABLE_TYPES) {
+                    remaining -= loadedCounts[item.ordinal()];
+                    if (remaining < 0) {
+                        return item;
+                    }
+                }
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            @Override
+            public int size() {
+                return loadedTotal;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof LoadableType item && countLoaded(item) > 0;
+            }
+        };
+    }
+
+    /**
+     * @param item The item to count.
+     * @return The amount of {@code item} currently loaded in this container.
+     */
+    public int countLoaded(LoadableType item) {
+        return loadedCounts[item.ordinal()];
+    }
+
+    /**
+     * @param items The items to count.
+     * @return The amount of items of any of the types in {@code items} currently loaded in this container.
+     */
+    public int countLoaded(Set<LoadableType> items) {
+        int count = 0;
+        for (LoadableType item : items) {
+            count += loadedCounts[item.ordinal()];
+        }
+        return count;
+    }
+
+    /**
+     * @return The amount of items (of any type) currently loaded in this container.
+     */
+    public int countLoaded() {
+        return loadedTotal;
     }
 
     /**
@@ -237,13 +373,17 @@ public abstract class ContainerTile extends TileSkeleton {
         PriorityQueue<LoadableType> queue =
                 new PriorityQueue<>(limit, ContrabandCalculator.descendingContrabandComparator);
         int queueSize = 0;
-        for (LoadableType item : getLoadedItems()) {
-            if (ContrabandCalculator.getContrabandValue(item) > minimumContrabandValueExclusive) {
+        for (LoadableType item : LOADABLE_TYPES_BY_CONTRABAND) {
+            if (ContrabandCalculator.getContrabandValue(item) <= minimumContrabandValueExclusive) {
+                break;  // the following ones are even less valuable
+            }
+            int howMany = Math.min(loadedCounts[item.ordinal()], limit - queueSize);
+            for (int i = 0; i < howMany; i++) {
                 queue.add(item);
-                queueSize++;
-                if (queueSize >= limit) {
-                    break;
-                }
+            }
+            queueSize += howMany;
+            if (queueSize >= limit) {
+                break;
             }
         }
         return queue;
@@ -280,7 +420,7 @@ public abstract class ContainerTile extends TileSkeleton {
      * @return {@code true} if this container has no loaded items, {@code false} otherwise.
      */
     public boolean isEmpty() {
-        return loadedItems.isEmpty();
+        return loadedTotal == 0;
     }
 }
 
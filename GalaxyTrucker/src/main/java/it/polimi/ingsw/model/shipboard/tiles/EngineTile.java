@@ -30,6 +30,20 @@ public class EngineTile extends PowerableTile {
         setCLISymbol(batteryNeeded ? "2E" : "1e");
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected EngineTile(EngineTile toCopy) {
+        super(toCopy);
+    }
+
+    @Override
+    public EngineTile copy() {
+        return new EngineTile(this);
+    }
+
     @Override
     public void accept(TileVisitor visitor) {
         visitor.visitEngine(this);
@@ -30,6 +30,21 @@ public class LifeSupportSystemTile extends TileSkeleton {
         setCLISymbol(providedLifeSupport == LoadableType.PURPLE_ALIEN ? "HP" : "HB");
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected LifeSupportSystemTile(LifeSupportSystemTile toCopy) {
+        super(toCopy);
+        providedLifeSupport = toCopy.providedLifeSupport;
+    }
+
+    @Override
+    public LifeSupportSystemTile copy() {
+        return new LifeSupportSystemTile(this);
+    }
+
     /**
      * Accepts a visitor for processing this tile.
      *
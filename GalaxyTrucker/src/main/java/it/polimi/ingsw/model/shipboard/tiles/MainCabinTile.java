@@ -58,6 +58,21 @@ public class MainCabinTile extends CabinTile {
         this.color = color;
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected MainCabinTile(MainCabinTile toCopy) {
+        super(toCopy);
+        color = toCopy.color;
+    }
+
+    @Override
+    public MainCabinTile copy() {
+        return new MainCabinTile(this);
+    }
+
     @Override
     public void accept(TileVisitor visitor) {
         visitor.visitMainCabin(this);
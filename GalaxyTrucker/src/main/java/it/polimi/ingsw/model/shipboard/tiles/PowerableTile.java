@@ -25,6 +25,16 @@ public abstract class PowerableTile extends TileSkeleton {
         this.batteryNeeded = batteryNeeded;
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     */
+    protected PowerableTile(PowerableTile toCopy) {
+        super(toCopy);
+        sidesWithPower = toCopy.sidesWithPower.clone();
+        batteryNeeded = toCopy.batteryNeeded;
+    }
+
     /**
      * Getter for info about battery usage.
      *
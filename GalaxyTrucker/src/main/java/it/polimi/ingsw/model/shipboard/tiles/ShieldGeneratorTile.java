@@ -29,6 +29,20 @@ public class ShieldGeneratorTile extends PowerableTile {
         }
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected ShieldGeneratorTile(ShieldGeneratorTile toCopy) {
+        super(toCopy);
+    }
+
+    @Override
+    public ShieldGeneratorTile copy() {
+        return new ShieldGeneratorTile(this);
+    }
+
     @Override
     public void accept(TileVisitor visitor) {
         visitor.visitShieldGenerator(this);
@@ -24,6 +24,20 @@ public class SpecialCargoHoldTile extends CargoHoldTile {
         }
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected SpecialCargoHoldTile(SpecialCargoHoldTile toCopy) {
+        super(toCopy);
+    }
+
+    @Override
+    public SpecialCargoHoldTile copy() {
+        return new SpecialCargoHoldTile(this);
+    }
+
     @Override
     public String getName() {
         return "Special " + super.getName();
@@ -21,6 +21,20 @@ public class StructuralTile extends TileSkeleton {
         setCLISymbol("╳╳");
     }
 
+    /**
+     * Constructs a copy of the provided tile.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected StructuralTile(StructuralTile toCopy) {
+        super(toCopy);
+    }
+
+    @Override
+    public StructuralTile copy() {
+        return new StructuralTile(this);
+    }
+
     /**
      * Accepts a visitor for processing this tile.
      *
@@ -20,6 +20,8 @@ import java.util.Objects;
 public abstract class TileSkeleton implements Tile, ICLIPrintable {
     private final SideType[] sides;
     private Rotation appliedRotation;
+    /** Bit {@code d.getValue()} is set if the side facing direction {@code d} is a connector: updated on rotation. */
+    private int connectorsMask;
     private Coordinates fixedAt;
     private String cliSymbol = "?";
     private Integer id;
@@ -41,6 +43,40 @@ public abstract class TileSkeleton implements Tile, ICLIPrintable {
         this.sides = sides;
         this.appliedRotation = Rotation.NONE;
         fixedAt = null;
+        updateConnectorsMask();
+    }
+
+    /**
+     * Construct a copy of the provided tile, with the same sides, rotation and placement.
+     * Subclasses with mutable state must copy it as well.
+     * @param toCopy The tile to copy.
+     * @see #copy()
+     */
+    protected TileSkeleton(TileSkeleton toCopy) {
+        sides = toCopy.sides.clone();
+        appliedRotation = toCopy.appliedRotation;
+        connectorsMask = toCopy.connectorsMask;
+        fixedAt = toCopy.fixedAt;
+        cliSymbol = toCopy.cliSymbol;
+        id = toCopy.id;
+        textureName = toCopy.textureName;
+    }
+
+    /**
+     * Creates an independent copy of this tile: changing one of the two (e.g. loading or removing items)
+     * does not affect the other one. Listeners registered on this tile are not copied.
+     * Each concrete tile implements it through its copy constructor (see {@link #TileSkeleton(TileSkeleton)}).
+     * @return The copy of this tile.
+     */
+    public abstract TileSkeleton copy();
+
+    private void updateConnectorsMask() {
+        connectorsMask = 0;
+        for (int i = 0; i < sides.length; i++) {
+            if (sides[i].isConnector()) {
+                connectorsMask |= 1 << i;
+            }
+        }
     }
 
     /**
@@ -53,6 +89,23 @@ public abstract class TileSkeleton implements Tile, ICLIPrintable {
         return sides[direction.getValue()];
     }
 
+    /**
+     * @param direction The direction to check.
+     * @return {@code true} if the side of this tile facing {@code direction} is a connector, {@code false} otherwise.
+     * @see SideType#isConnector()
+     */
+    public boolean hasConnector(Direction direction) {
+        return (connectorsMask & (1 << direction.getValue())) != 0;
+    }
+
+    /**
+     * @return A mask where bit {@code d.getValue()} is set if the side facing direction {@code d} is a connector.
+     */
+    @JsonIgnore
+    public int getConnectorsMask() {
+        return connectorsMask;
+    }
+
     /**
      * Retrieve {@code this} tile's coordinates.
      * @return {@code this} tile's coordinates.
@@ -134,6 +187,7 @@ public abstract class TileSkeleton implements Tile, ICLIPrintable {
 
         appliedRotation = appliedRotation.composedRotation(rotation);
         rotation.applyTo(sides);
+        updateConnectorsMask();
     }
 
     /**
@@ -186,6 +240,14 @@ public abstract class TileSkeleton implements Tile, ICLIPrintable {
         return id;
     }
 
+    /**
+     * @return {@code true} if a unique identifier has been assigned to this tile, {@code false} otherwise
+     * (e.g. for main cabins)
+     */
+    public boolean hasTileId() {
+        return id != null;
+    }
+
     /**
      * Sets the unique identifier of the tile.
      *
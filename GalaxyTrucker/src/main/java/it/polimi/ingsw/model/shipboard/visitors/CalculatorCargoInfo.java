@@ -3,6 +3,7 @@ package it.polimi.ingsw.model.shipboard.visitors;
 import it.polimi.ingsw.model.shipboard.LoadableType;
 import it.polimi.ingsw.model.shipboard.tiles.ContainerTile;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.NotFixedTileException;
+import it.polimi.ingsw.util.ContrabandCalculator;
 import it.polimi.ingsw.util.Coordinates;
 
 import java.io.Serializable;
@@ -11,17 +12,99 @@ import java.util.*;
 /**
  * This class is responsible for gathering and analyzing cargo-related information from container tiles in a shipboard.
  * It tracks the remaining capacity, the types of items loaded, and the locations of cargo containers.
+ * <p>
+ * The total amount of each loaded item is kept as a running total: the calculator listens to the visited containers
+ * (see {@link ContainerTile.LoadListener}), so counting items does not need to look at the containers.
+ * Listeners are not serialized: a deserialized calculator recomputes its totals and registers again on first use.
+ * <p>
+ * In the same way, for each type of item the calculator keeps the containers holding it:
+ * this index allows to find the most valuable items (e.g. those lost to smugglers) without visiting the ship.
  */
-public class CalculatorCargoInfo<ContainerType extends ContainerTile> implements Serializable {
+public class CalculatorCargoInfo<ContainerType extends ContainerTile>
+        implements ContainerTile.LoadListener, Serializable {
+
+    private static final LoadableType[] LOADABLE_TYPES = LoadableType.values();
 
     /** A map of coordinates and container tiles in these coordinates. Also empty containers are saved. */
     private final Map<Coordinates, ContainerType> containerLocations;
 
+    /** The total amount of each item loaded in the visited containers, indexed by {@link LoadableType#ordinal()}. */
+    private final int[] loadedTotals;
+
+    /** For each type of item, the visited containers holding at least one of it. */
+    private final Map<LoadableType, Set<ContainerType>> holders;
+
+    /** Whether this is registered as listener of the visited containers. */
+    private transient boolean attached;
+
+    /** Whether this has been detached for good (see {@link #detach()}). */
+    private boolean detached;
+
     /**
      * Constructs an empty {@code CalculatorCargoInfo} instance, initializing lists and setting capacity to zero.
      */
     CalculatorCargoInfo() {
         containerLocations = new HashMap<>();
+        loadedTotals = new int[LOADABLE_TYPES.length];
+        holders = new EnumMap<>(LoadableType.class);
+        for (LoadableType item : LOADABLE_TYPES) {
+            holders.put(item, new LinkedHashSet<>());
+        }
+        attached = true;
+    }
+
+    /**
+     * Ensures the running totals are up to date with the visited containers,
+     * registering again as their listener if needed (e.g. after deserialization).
+     */
+    private void ensureAttached() {
+        if (attached || detached) return;
+        Arrays.fill(loadedTotals, 0);
+        holders.values().forEach(Set::clear);
+        for (ContainerType container : containerLocations.values()) {
+            addTotals(container, 1);
+            container.addLoadListener(this);
+        }
+        attached = true;
+    }
+
+    private void addTotals(ContainerType container, int sign) {
+        for (LoadableType item : LOADABLE_TYPES) {
+            int count = container.countLoaded(item);
+            loadedTotals[item.ordinal()] += sign * count;
+            if (sign < 0) {
+                holders.get(item).remove(container);
+            } else if (count > 0) {
+                holders.get(item).add(container);
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the visited containers, e.g. because this calculator is being replaced.
+     * A detached calculator keeps the totals it had in that moment.
+     *
+     * @implSpec {@code protected} to access only from this package.
+     */
+    protected void detach() {
+        if (attached) {
+            for (ContainerType container : containerLocations.values()) {
+                container.removeLoadListener(this);
+            }
+        }
+        attached = false;
+        detached = true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")  // listener registered only on visited containers, which are ContainerType
+    public void onLoadChanged(ContainerTile container, LoadableType item, int delta) {
+        loadedTotals[item.ordinal()] += delta;
+        if (container.countLoaded(item) > 0) {
+            holders.get(item).add((ContainerType) container);
+        } else {
+            holders.get(item).remove((ContainerType) container);
+        }
     }
 
     /**
@@ -33,8 +116,50 @@ public class CalculatorCargoInfo<ContainerType extends ContainerTile> implements
      * @implSpec {@code protected} to access only from this package.
      */
     protected void visit(ContainerType tile) throws NotFixedTileException {
+        ensureAttached();
         Coordinates coordinates = tile.getCoordinates();
-        containerLocations.put(coordinates, tile);
+        ContainerType previous = containerLocations.put(coordinates, tile);
+        if (previous == tile) return;
+        if (previous != null) {
+            forget(previous);
+        }
+        if (!detached) {
+            addTotals(tile, 1);
+            tile.addLoadListener(this);
+        }
+    }
+
+    private void forget(ContainerType container) {
+        if (!detached) {
+            addTotals(container, -1);
+            container.removeLoadListener(this);
+        }
+    }
+
+    /**
+     * Forgets the container tile previously visited in the provided coordinates, if any.
+     *
+     * @param coordinates The coordinates of the container tile to forget.
+     * @implSpec {@code protected} to access only from this package.
+     */
+    protected void unvisit(Coordinates coordinates) {
+        ensureAttached();
+        ContainerType removed = containerLocations.remove(coordinates);
+        if (removed != null) {
+            forget(removed);
+        }
+    }
+
+    /**
+     * @param other Another calculator, e.g. computed from scratch.
+     * @return {@code true} if {@code other} refers to the same container tiles as this,
+     * with the same loaded items, {@code false} otherwise.
+     */
+    public boolean isConsistentWith(CalculatorCargoInfo<?> other) {
+        ensureAttached();
+        other.ensureAttached();
+        return containerLocations.equals(other.containerLocations)
+                && Arrays.equals(loadedTotals, other.loadedTotals);
     }
 
     /**
@@ -44,11 +169,8 @@ public class CalculatorCargoInfo<ContainerType extends ContainerTile> implements
      * @return The number of occurrences of the specified item.
      */
     public int count(LoadableType item) {
-        return containerLocations.values().stream()
-                .mapToInt(c -> (int) c.getLoadedItems().stream()
-                        .filter(i -> i.equals(item))
-                        .count())
-                .sum();
+        ensureAttached();
+        return loadedTotals[item.ordinal()];
     }
 
     /**
@@ -59,17 +181,24 @@ public class CalculatorCargoInfo<ContainerType extends ContainerTile> implements
      * @return The total number of occurrences of the specified item types.
      */
     public int countAll(Set<LoadableType> itemTypes) {
-        return containerLocations.values().stream()
-                .mapToInt(c -> (int) c.getLoadedItems().stream()
-                        .filter(itemTypes::contains)
-                        .count())
-                .sum();
+        ensureAttached();
+        int count = 0;
+        for (LoadableType item : itemTypes) {
+            count += loadedTotals[item.ordinal()];
+        }
+        return count;
     }
 
+    /**
+     * @return All the items loaded in the visited container tiles, grouped by type in the order of {@link LoadableType}.
+     */
     public List<LoadableType> getAllLoadedItems() {
-        return containerLocations.values().stream()
-                .flatMap(c -> c.getLoadedItems().stream())
-                .toList();
+        ensureAttached();
+        List<LoadableType> items = new ArrayList<>();
+        for (LoadableType item : LOADABLE_TYPES) {
+            items.addAll(Collections.nCopies(loadedTotals[item.ordinal()], item));
+        }
+        return Collections.unmodifiableList(items);
     }
 
 
@@ -123,7 +252,7 @@ public class CalculatorCargoInfo<ContainerType extends ContainerTile> implements
 
         Map<Coordinates, ContainerType> result = new HashMap<>();
         for (Map.Entry<Coordinates, ContainerType> entry : containerLocations.entrySet()) {
-            if (entry.getValue().getLoadedItems().size() >= minLoadedItems) {
+            if (entry.getValue().countLoaded() >= minLoadedItems) {
                 result.put(entry.getKey(), entry.getValue());
             }
         }
@@ -149,9 +278,7 @@ public class CalculatorCargoInfo<ContainerType extends ContainerTile> implements
 
         Map<Coordinates, ContainerType> result = new HashMap<>();
         for (Map.Entry<Coordinates, ContainerType> entry : containerLocations.entrySet()) {
-            if (entry.getValue().getLoadedItems().stream()
-                    .filter(i -> i.equals(loadedItems))
-                    .count() >= minLoadedItems) {
+            if (entry.getValue().countLoaded(loadedItems) >= minLoadedItems) {
                 result.put(entry.getKey(), entry.getValue());
             }
         }
@@ -177,9 +304,7 @@ public class CalculatorCargoInfo<ContainerType extends ContainerTile> implements
 
         Map<Coordinates, ContainerType> result = new HashMap<>();
         for (Map.Entry<Coordinates, ContainerType> entry : containerLocations.entrySet()) {
-            if (entry.getValue().getLoadedItems().stream()
-                    .filter(loadedItems::contains)
-                    .count() >= minLoadedItems) {
+            if (entry.getValue().countLoaded(loadedItems) >= minLoadedItems) {
                 result.put(entry.getKey(), entry.getValue());
             }
         }
@@ -207,6 +332,60 @@ public class CalculatorCargoInfo<ContainerType extends ContainerTile> implements
         return result;
     }
 
+    /**
+     * Finds the {@code quantity} items most valuable for smugglers (see {@link ContrabandCalculator}) among the
+     * loaded ones: if there are not enough goods, batteries are chosen. Items without contraband value are never chosen.
+     * <p>
+     * The choice is made in {@code O(quantity + t log t)}, being {@code t} the number of item types,
+     * by polling the loaded types in descending order of contraband value.
+     *
+     * @param quantity The maximum number of items to choose.
+     * @return For each type of chosen item, from the most valuable, how many items of that type are chosen.
+     * Any container holding that type (see {@link #getLocationsWithLoadedItems(LoadableType, int)})
+     * is a valid place to remove them from.
+     */
+    public Map<LoadableType, Integer> getMostValuableItems(int quantity) {
+        ensureAttached();
+        PriorityQueue<LoadableType> loadedTypes = new PriorityQueue<>(ContrabandCalculator.descendingContrabandComparator);
+        for (LoadableType item : LOADABLE_TYPES) {
+            if (loadedTotals[item.ordinal()] > 0 && ContrabandCalculator.getContrabandValue(item) > 0) {
+                loadedTypes.offer(item);
+            }
+        }
+
+        Map<LoadableType, Integer> chosen = new LinkedHashMap<>();
+        while (quantity > 0 && !loadedTypes.isEmpty()) {
+            LoadableType item = loadedTypes.poll();
+            int amount = Math.min(quantity, loadedTotals[item.ordinal()]);
+            chosen.put(item, amount);
+            quantity -= amount;
+        }
+        return chosen;
+    }
+
+    /**
+     * Removes the {@code quantity} items most valuable for smugglers, as chosen by {@link #getMostValuableItems(int)}.
+     *
+     * @param quantity The maximum number of items to remove.
+     * @return The number of removed items: less than {@code quantity} only if there were not enough valuable items.
+     */
+    public int removeMostValuableItems(int quantity) {
+        int removed = 0;
+        for (Map.Entry<LoadableType, Integer> entry : getMostValuableItems(quantity).entrySet()) {
+            Set<LoadableType> item = Set.of(entry.getKey());
+            int toRemove = entry.getValue();
+            // copy: removing the last item of a type from a container also removes the container from its holders
+            for (ContainerType container : new ArrayList<>(holders.get(entry.getKey()))) {
+                toRemove -= container.removeAny(item, toRemove);
+                if (toRemove <= 0) {
+                    break;
+                }
+            }
+            removed += entry.getValue() - toRemove;
+        }
+        return removed;
+    }
+
     /**
      * Removes up to the specified quantity of items from available containers.
      * <p>
@@ -0,0 +1,21 @@
+package it.polimi.ingsw.model.shipboard.visitors;
+
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.Coordinates;
+
+/**
+ * A visitor whose computed information can be kept up to date incrementally:
+ * visiting a tile adds its contribution, un-visiting it removes that contribution,
+ * without the need to visit again all the other tiles.
+ */
+public interface ReversibleTileVisitor extends TileVisitor {
+
+    /**
+     * Remove the contribution of a previously visited tile.
+     * Does nothing if the tile has never been visited.
+     * @param tile The tile to forget.
+     * @param coordinates The coordinates the tile was visited in.
+     */
+    void unvisit(TileSkeleton tile, Coordinates coordinates);
+
+}
@@ -2,8 +2,9 @@ package it.polimi.ingsw.model.shipboard.visitors;
 
 import it.polimi.ingsw.model.shipboard.tiles.*;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.NotFixedTileException;
+import it.polimi.ingsw.util.Coordinates;
 
-public class VisitorCalculateCargoInfo implements TileVisitor {
+public class VisitorCalculateCargoInfo implements ReversibleTileVisitor {
     private final CalculatorCargoInfo<CabinTile> infoCrew;
     private final CalculatorCargoInfo<CargoHoldTile> infoGoods;
     private final CalculatorCargoInfo<BatteryComponentTile> infoBatteries;
@@ -62,6 +63,36 @@ public class VisitorCalculateCargoInfo implements TileVisitor {
         }
     }
 
+    @Override
+    public void unvisit(TileSkeleton tile, Coordinates coordinates) {
+        if (!(tile instanceof ContainerTile)) return;
+        infoCrew.unvisit(coordinates);
+        infoGoods.unvisit(coordinates);
+        infoBatteries.unvisit(coordinates);
+        infoAllContainers.unvisit(coordinates);
+    }
+
+    /**
+     * Stops keeping the running totals up to date, e.g. because this visitor is being replaced by a new one.
+     */
+    public void detach() {
+        infoCrew.detach();
+        infoGoods.detach();
+        infoBatteries.detach();
+        infoAllContainers.detach();
+    }
+
+    /**
+     * @param other Another visitor, e.g. computed from scratch.
+     * @return {@code true} if {@code other} holds the same information as this, {@code false} otherwise.
+     */
+    public boolean isConsistentWith(VisitorCalculateCargoInfo other) {
+        return infoCrew.isConsistentWith(other.infoCrew)
+                && infoGoods.isConsistentWith(other.infoGoods)
+                && infoBatteries.isConsistentWith(other.infoBatteries)
+                && infoAllContainers.isConsistentWith(other.infoAllContainers);
+    }
+
     public CalculatorCargoInfo<CabinTile> getCrewInfo() {
         return infoCrew;
     }
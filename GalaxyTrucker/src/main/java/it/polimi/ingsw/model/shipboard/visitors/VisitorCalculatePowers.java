@@ -7,30 +7,39 @@ import it.polimi.ingsw.model.shipboard.tiles.exceptions.NotFixedTileException;
 import it.polimi.ingsw.util.Coordinates;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
-public class VisitorCalculatePowers implements TileVisitor {
+public class VisitorCalculatePowers implements ReversibleTileVisitor {
 
     /**
      * Stores information about a power calculation, including base power, activation locations, and bonus.
      */
     public static class CalculatorPowerInfo implements Serializable {
-        private boolean bonus;  // Indicates whether an alien bonus applies (e.g. purple/brown alien)
+        private final LoadableType bonusAlien;  // The alien giving the bonus (e.g. purple/brown alien), if any
+        private final Map<Coordinates, CabinTile> cabins;  // Cabins to check for the bonus alien
         private float basePower;  // The base power before any modifications: simple tiles (e.g. single cannons/engines)
         private final Map<Coordinates, Float> locationsToActivate;  // Map of tiles that can be activated mapped to their power values
-        private final List<Coordinates> locations;  // List of visited tiles coordinates
+        private final Set<Coordinates> locations;  // Set of visited tiles coordinates
 
         /**
-         * Constructs a CalculatorPowerInfo object with a given map of activable tiles.
+         * Constructs a CalculatorPowerInfo object with no activable tiles and no possible bonus.
          */
         public CalculatorPowerInfo() {
-            bonus = false;
+            this(null, Collections.emptyMap());
+        }
+
+        /**
+         * Constructs a CalculatorPowerInfo object with no activable tiles,
+         * which gets the bonus if any of the provided cabins contains {@code bonusAlien}.
+         * @param bonusAlien The alien giving the bonus.
+         * @param cabins The cabins to check, by reference: later changes are taken in consideration.
+         */
+        private CalculatorPowerInfo(LoadableType bonusAlien, Map<Coordinates, CabinTile> cabins) {
+            this.bonusAlien = bonusAlien;
+            this.cabins = cabins;
             basePower = 0;
             locationsToActivate = new HashMap<>();
-            locations = new ArrayList<>();
+            locations = new HashSet<>();
         }
 
         /**
@@ -48,7 +57,21 @@ public class VisitorCalculatePowers implements TileVisitor {
          * (alien is present), otherwise 0.
          */
         public float getBonus(float totalPowerWithoutBonus) {
-            return (bonus && (totalPowerWithoutBonus > 0)) ? 2f : 0f;
+            return (hasBonus() && (totalPowerWithoutBonus > 0)) ? 2f : 0f;
+        }
+
+        /**
+         * @return {@code true} if an alien giving the bonus is currently in one of the cabins, {@code false} otherwise.
+         * @implNote The cabins content is checked on each call, so that the loss of the alien is immediately considered.
+         */
+        private boolean hasBonus() {
+            if (bonusAlien == null) return false;
+            for (CabinTile cabin : cabins.values()) {
+                if (cabin.getLoadedItems().contains(bonusAlien)) {
+                    return true;
+                }
+            }
+            return false;
         }
 
         /**
@@ -69,14 +92,47 @@ public class VisitorCalculatePowers implements TileVisitor {
         public boolean isPresent(Coordinates coordinates) {
             return locations.contains(coordinates);
         }
+
+        private void add(Coordinates location, float power, boolean activable) {
+            if (activable) {
+                locationsToActivate.put(location, power);
+            }
+            else {
+                basePower += power;
+            }
+            locations.add(location);
+        }
+
+        private void remove(Coordinates location, float power, boolean activable) {
+            if (!locations.remove(location)) return;
+            if (activable) {
+                locationsToActivate.remove(location);
+            }
+            else {
+                basePower -= power;
+            }
+        }
+
+        /**
+         * @param other Another power info, e.g. computed from scratch.
+         * @return {@code true} if {@code other} holds the same information as this, {@code false} otherwise.
+         */
+        public boolean isConsistentWith(CalculatorPowerInfo other) {
+            return Math.abs(basePower - other.basePower) < 1e-4f
+                    && locationsToActivate.equals(other.locationsToActivate)
+                    && locations.equals(other.locations)
+                    && hasBonus() == other.hasBonus();
+        }
     }
 
+    private final Map<Coordinates, CabinTile> cabins;
     private final CalculatorPowerInfo infoFirePower;
     private final CalculatorPowerInfo infoThrustPower;
 
     public VisitorCalculatePowers() {
-        infoFirePower = new CalculatorPowerInfo();
-        infoThrustPower = new CalculatorPowerInfo();
+        cabins = new HashMap<>();
+        infoFirePower = new CalculatorPowerInfo(LoadableType.PURPLE_ALIEN, cabins);
+        infoThrustPower = new CalculatorPowerInfo(LoadableType.BROWN_ALIEN, cabins);
     }
 
 
@@ -97,12 +153,7 @@ public class VisitorCalculatePowers implements TileVisitor {
 
     @Override
     public void visitCabin(CabinTile tile) {
-        if (tile.getLoadedItems().contains(LoadableType.PURPLE_ALIEN)) {
-            infoFirePower.bonus = true;
-        }
-        else if (tile.getLoadedItems().contains(LoadableType.BROWN_ALIEN)) {
-            infoThrustPower.bonus = true;
-        }
+        cabins.put(getLocation(tile), tile);
     }
 
     @Override
@@ -112,38 +163,33 @@ public class VisitorCalculatePowers implements TileVisitor {
 
     @Override
     public void visitCannon(CannonTile tile) {
-        Coordinates location;
-        try {
-            location = tile.getCoordinates();
-        } catch (NotFixedTileException e) {
-            throw new RuntimeException(e);  // should never happen -> runtime exception
-        }
+        infoFirePower.add(getLocation(tile), tile.calculateFirePower(), tile.isDoubleCannon());
+    }
+
+    @Override
+    public void visitEngine(EngineTile tile) {
+        infoThrustPower.add(getLocation(tile), tile.calculateThrustPower(), tile.isDoubleEngine());
+    }
 
-        if (tile.isDoubleCannon()) {
-            infoFirePower.locationsToActivate.put(location, tile.calculateFirePower());
+    @Override
+    public void unvisit(TileSkeleton tile, Coordinates coordinates) {
+        if (tile instanceof CannonTile cannon) {
+            infoFirePower.remove(coordinates, cannon.calculateFirePower(), cannon.isDoubleCannon());
+        }
+        else if (tile instanceof EngineTile engine) {
+            infoThrustPower.remove(coordinates, engine.calculateThrustPower(), engine.isDoubleEngine());
         }
-        else {
-            infoFirePower.basePower += tile.calculateFirePower();
+        else if (tile instanceof CabinTile) {
+            cabins.remove(coordinates);
         }
-        infoFirePower.locations.add(location);
     }
 
-    @Override
-    public void visitEngine(EngineTile tile) {
-        Coordinates location;
+    private static Coordinates getLocation(TileSkeleton tile) {
         try {
-            location = tile.getCoordinates();
+            return tile.getCoordinates();
         } catch (NotFixedTileException e) {
             throw new RuntimeException(e);  // should never happen -> runtime exception
         }
-
-        if (tile.isDoubleEngine()) {
-            infoThrustPower.locationsToActivate.put(location, tile.calculateThrustPower());
-        }
-        else {
-            infoThrustPower.basePower += tile.calculateThrustPower();
-        }
-        infoThrustPower.locations.add(location);
     }
 
     public CalculatorPowerInfo getInfoFirePower() {
@@ -167,4 +213,14 @@ public class VisitorCalculatePowers implements TileVisitor {
         };
     }
 
+    /**
+     * @param other Another visitor, e.g. computed from scratch.
+     * @return {@code true} if {@code other} holds the same information as this, {@code false} otherwise.
+     */
+    public boolean isConsistentWith(VisitorCalculatePowers other) {
+        return cabins.equals(other.cabins)
+                && infoFirePower.isConsistentWith(other.infoFirePower)
+                && infoThrustPower.isConsistentWith(other.infoThrustPower);
+    }
+
 }
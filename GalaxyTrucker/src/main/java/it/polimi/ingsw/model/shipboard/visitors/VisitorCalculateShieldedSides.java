@@ -2,13 +2,18 @@ package it.polimi.ingsw.model.shipboard.visitors;
 
 import it.polimi.ingsw.enums.Direction;
 import it.polimi.ingsw.model.shipboard.tiles.*;
+import it.polimi.ingsw.util.Coordinates;
 
-public class VisitorCalculateShieldedSides implements TileVisitor {
+import java.util.Arrays;
+
+public class VisitorCalculateShieldedSides implements ReversibleTileVisitor {
     private final Boolean[] protectedSides;
+    private final int[] shieldsCount;  // for each direction: how many visited shield generators are facing it
 
     public VisitorCalculateShieldedSides() {
         protectedSides = Direction.sortedArray(false, false, false, false)
                 .toArray(Boolean[]::new);
+        shieldsCount = new int[protectedSides.length];
     }
 
     @Override
@@ -30,9 +35,21 @@ public class VisitorCalculateShieldedSides implements TileVisitor {
 
     @Override
     public void visitShieldGenerator(ShieldGeneratorTile tile) {
+        updateShields(tile, +1);
+    }
+
+    @Override
+    public void unvisit(TileSkeleton tile, Coordinates coordinates) {
+        if (tile instanceof ShieldGeneratorTile shieldGenerator) {
+            updateShields(shieldGenerator, -1);
+        }
+    }
+
+    private void updateShields(ShieldGeneratorTile tile, int delta) {
         for (Direction direction : Direction.values()) {
             if (tile.hasPower(direction)) {
-                protectedSides[direction.getValue()] = true;
+                shieldsCount[direction.getValue()] += delta;
+                protectedSides[direction.getValue()] = shieldsCount[direction.getValue()] > 0;
             }
         }
     }
@@ -50,4 +67,12 @@ public class VisitorCalculateShieldedSides implements TileVisitor {
     public Boolean[] getProtectedSides() {
         return protectedSides;
     }
+
+    /**
+     * @param other Another visitor, e.g. computed from scratch.
+     * @return {@code true} if {@code other} holds the same information as this, {@code false} otherwise.
+     */
+    public boolean isConsistentWith(VisitorCalculateShieldedSides other) {
+        return Arrays.equals(shieldsCount, other.shieldsCount);
+    }
 }
@@ -1,5 +1,6 @@
 package it.polimi.ingsw.model.shipboard.visitors;
 
+import it.polimi.ingsw.enums.Direction;
 import it.polimi.ingsw.model.shipboard.LoadableType;
 import it.polimi.ingsw.model.shipboard.tiles.*;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.NotFixedTileException;
@@ -8,17 +9,18 @@ import it.polimi.ingsw.util.Coordinates;
 
 import java.util.*;
 
-public class VisitorLifeSupport implements TileVisitor {
+public class VisitorLifeSupport implements ReversibleTileVisitor {
+	private static final Direction[] DIRECTIONS = Direction.values();
 
-	private final List<LifeSupportSystemTile> lifeSupportSystems;
-	private final List<CabinTile> cabinTiles;
+	private final Map<Coordinates, LifeSupportSystemTile> lifeSupportSystems;
+	private final Map<Coordinates, CabinTile> cabinTiles;
 
 	/**
 	 * Instances a visitor to update the life supports of cabin tiles.
 	 */
 	public VisitorLifeSupport() {
-		lifeSupportSystems = new ArrayList<>();
-		cabinTiles = new ArrayList<>();
+		lifeSupportSystems = new HashMap<>();
+		cabinTiles = new HashMap<>();
 	}
 
 	@Override
@@ -44,51 +46,94 @@ public class VisitorLifeSupport implements TileVisitor {
 
 	@Override
 	public void visitLifeSupportSystem(LifeSupportSystemTile tile) {
-		lifeSupportSystems.add(tile);
+		lifeSupportSystems.put(getLocation(tile), tile);
 	}
 
 	@Override
 	public void visitCabin(CabinTile tile) {
-		cabinTiles.add(tile);
+		cabinTiles.put(getLocation(tile), tile);
+	}
+
+	@Override
+	public void unvisit(TileSkeleton tile, Coordinates coordinates) {
+		if (tile instanceof LifeSupportSystemTile) {
+			lifeSupportSystems.remove(coordinates);
+		} else if (tile instanceof CabinTile) {
+			cabinTiles.remove(coordinates);
+		}
+	}
+
+	private static Coordinates getLocation(TileSkeleton tile) {
+		try {
+			return tile.getCoordinates();
+		} catch (NotFixedTileException e) {
+			throw new RuntimeException(e);  // should never happen -> runtime exception
+		}
+	}
+
+	/**
+	 * Calculates the life supported by the cabin in the provided coordinates:
+	 * the basic one, plus the one provided by each adjacent life support.
+	 * @param cabinCoordinates The coordinates of a visited cabin.
+	 * @return The set of items the cabin should allow.
+	 */
+	private Set<LoadableType> calculateSupportedLife(Coordinates cabinCoordinates) {
+		Set<LoadableType> supportedLife = new HashSet<>(CabinTile.BASIC_ALLOWED_ITEMS);
+		for (Direction direction : DIRECTIONS) {
+			LifeSupportSystemTile lifeSupport = lifeSupportSystems.get(cabinCoordinates.getNext(direction));
+			if (lifeSupport != null) {
+				supportedLife.add(lifeSupport.getProvidedLifeSupport());
+			}
+		}
+		return supportedLife;
+	}
+
+	private void updateCabin(Coordinates cabinCoordinates) {
+		CabinTile cabinTile = cabinTiles.get(cabinCoordinates);
+		if (cabinTile == null) return;
+		try {
+			cabinTile.setAllowedItems(calculateSupportedLife(cabinCoordinates));
+		} catch (UnsupportedLoadableItemException e) {
+			throw new RuntimeException(e);  // should never happen
+		}
 	}
 
 	/**
-	 * Iterates through each life support present on the shipboard. Gets the adiacent cabins around all the life
-	 * supports, and for each cabin updates the allowed items to also allow the alien type supported.
+	 * Iterates through each cabin present on the shipboard. Gets the adjacent life supports around each cabin,
+	 * and updates the allowed items of the cabin to also allow the alien types supported.
 	 */
 	public void updateLifeSupportSystems(){
-		HashMap<CabinTile, Set<LoadableType>> supportedLife = new HashMap<>();
-		// 1. populate initial supported life as basic
-		for (CabinTile cabinTile : cabinTiles) {
-			supportedLife.put(cabinTile, new HashSet<>(CabinTile.BASIC_ALLOWED_ITEMS));
+		for (Coordinates cabinCoordinates : cabinTiles.keySet()) {
+			updateCabin(cabinCoordinates);
+		}
+	}
+
+	/**
+	 * Updates the allowed items of only the cabins affected by a change in the provided coordinates
+	 * (a tile visited or un-visited there): the cabin in those coordinates, if any, and the adjacent ones.
+	 * @param coordinates The coordinates of the changed tile.
+	 */
+	public void updateLifeSupportSystems(Coordinates coordinates) {
+		updateCabin(coordinates);
+		for (Direction direction : DIRECTIONS) {
+			updateCabin(coordinates.getNext(direction));
+		}
+	}
+
+	/**
+	 * @param other Another visitor, e.g. computed from scratch.
+	 * @return {@code true} if {@code other} holds the same information as this and the visited cabins
+	 * allow exactly the supported life, {@code false} otherwise.
+	 */
+	public boolean isConsistentWith(VisitorLifeSupport other) {
+		if (!lifeSupportSystems.equals(other.lifeSupportSystems) || !cabinTiles.equals(other.cabinTiles)) {
+			return false;
 		}
-		// 2. calculate additional supported life
-		for(LifeSupportSystemTile lifeSupport : lifeSupportSystems){
-			try {
-				for(Coordinates neighbour : lifeSupport.getCoordinates().getNeighbors()){
-					cabinTiles.stream()
-							.filter((cabin) -> {
-								try {
-									return cabin.getCoordinates().equals(neighbour);
-								} catch (NotFixedTileException e) {
-									throw new RuntimeException(e);
-								}
-							})
-							.forEach((cabin) -> {
-								supportedLife.get(cabin).add(lifeSupport.getProvidedLifeSupport());
-							});
-				}
-			} catch (NotFixedTileException e) {
-				throw new RuntimeException(e);
+		for (Map.Entry<Coordinates, CabinTile> entry : cabinTiles.entrySet()) {
+			if (!entry.getValue().getAllowedItems().equals(calculateSupportedLife(entry.getKey()))) {
+				return false;
 			}
 		}
-		// 3. apply new supported life for cabins
-		for (CabinTile cabinTile : cabinTiles) {
-            try {
-                cabinTile.setAllowedItems(supportedLife.get(cabinTile));
-            } catch (UnsupportedLoadableItemException e) {
-                throw new RuntimeException(e);  // should never happen
-            }
-        }
+		return true;
 	}
 }
@@ -0,0 +1,307 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.PowerType;
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.shipboard.LoadableType;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.TileCluster;
+import it.polimi.ingsw.model.shipboard.exceptions.AlreadyEndedAssemblyException;
+import it.polimi.ingsw.model.shipboard.exceptions.OutOfBuildingAreaException;
+import it.polimi.ingsw.model.shipboard.exceptions.TileAlreadyPresentException;
+import it.polimi.ingsw.model.shipboard.exceptions.TileWithoutNeighborException;
+import it.polimi.ingsw.model.shipboard.integrity.IntegrityProblem;
+import it.polimi.ingsw.model.shipboard.tiles.ContainerTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.model.shipboard.tiles.exceptions.FixedTileException;
+import it.polimi.ingsw.model.shipboard.visitors.VisitorCalculateCargoInfo;
+import it.polimi.ingsw.model.shipboard.visitors.VisitorCalculatePowers;
+import it.polimi.ingsw.util.BoardCoordinates;
+import it.polimi.ingsw.util.Coordinates;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Suggests where to place a tile during assembly, trying every free spot next to the ship with every rotation,
+ * in parallel on the common fork-join pool.
+ * <p>
+ * Each placement is scored by how much it improves the ship (see {@link #evaluate(ShipBoard)}):
+ * fire and thrust power, shields, capacity of cabins, cargo holds and batteries,
+ * minus the exposed connectors and the tiles that would be lost for integrity problems.
+ * <p>
+ * The search stops at its time budget, suggesting the best placement found until then:
+ * a short budget gives a good but not necessarily the best placement.
+ */
+public class AssemblyAdvisor {
+
+    /**
+     * A suggested placement.
+     *
+     * @param tile the tile to place: the one in hand, or one of the uncovered tiles to pick
+     * @param coordinates where to place the tile
+     * @param rotation the rotation to apply to the tile, from its original orientation
+     * @param gain how much the ship improves with this placement (negative if it gets worse)
+     */
+    public record Placement(TileSkeleton tile, Coordinates coordinates, Rotation rotation, float gain) { }
+
+    /** Time budget of a decision by default, in milliseconds. */
+    public static final long DEFAULT_BUDGET_MILLIS = 200;
+
+    private static final float WEIGHT_FIRE_POWER = 2;
+    private static final float WEIGHT_THRUST_POWER = 2;
+    /** Bonus of a ship able to move at all: without thrust the flight ends at the first open space. */
+    private static final float WEIGHT_HAS_THRUST = 6;
+    /** Double cannons and engines count for this fraction of their power, since they need batteries. */
+    private static final float ACTIVABLE_POWER_FACTOR = 0.6f;
+    private static final float WEIGHT_SHIELDED_SIDE = 3;
+    private static final float WEIGHT_CREW_CAPACITY = 1;
+    private static final float WEIGHT_CARGO_CAPACITY = 1;
+    private static final float WEIGHT_SPECIAL_CARGO_CAPACITY = 0.5f;
+    private static final float WEIGHT_BATTERY_CAPACITY = 1;
+    private static final float WEIGHT_EXPOSED_CONNECTOR = -0.5f;
+    private static final float WEIGHT_LOST_TILE = -4;
+
+    /** Number of candidates under which a task is not split anymore (one copy of the ship each). */
+    private static final int CANDIDATES_PER_TASK = 4;
+
+    private final GameLevel level;
+
+    /**
+     * @param level the level of the ships to advise, for the shape of the building area
+     */
+    public AssemblyAdvisor(GameLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Evaluates a ship as it would fly now. Higher is better, and only the differences between two values matter.
+     *
+     * @param shipBoard the ship to evaluate
+     * @return the value of the ship
+     */
+    public static float evaluate(ShipBoard shipBoard) {
+        if (shipBoard.getVisitorCheckIntegrity() == null) {
+            shipBoard.resetVisitors();
+        }
+        float value = 0;
+
+        VisitorCalculatePowers powers = shipBoard.getVisitorCalculatePowers();
+        value += WEIGHT_FIRE_POWER * getPower(powers.getInfoPower(PowerType.FIRE));
+        float thrust = getPower(powers.getInfoPower(PowerType.THRUST));
+        value += WEIGHT_THRUST_POWER * thrust;
+        if (thrust > 0) {
+            value += WEIGHT_HAS_THRUST;
+        }
+
+        for (Boolean shielded : shipBoard.getVisitorCalculateShieldedSides().getProtectedSides()) {
+            if (Boolean.TRUE.equals(shielded)) {
+                value += WEIGHT_SHIELDED_SIDE;
+            }
+        }
+
+        VisitorCalculateCargoInfo cargoInfo = shipBoard.getVisitorCalculateCargoInfo();
+        value += WEIGHT_CREW_CAPACITY * getCapacity(cargoInfo.getCrewInfo().getLocations().values());
+        value += WEIGHT_CARGO_CAPACITY * getCapacity(cargoInfo.getGoodsInfo().getLocations().values());
+        value += WEIGHT_SPECIAL_CARGO_CAPACITY * getCapacity(cargoInfo.getGoodsInfo().getLocations().values().stream()
+                .filter(hold -> hold.isAllowedItem(LoadableType.RED_GOODS))
+                .toList());
+        value += WEIGHT_BATTERY_CAPACITY * getCapacity(cargoInfo.getBatteriesInfo().getLocations().values());
+
+        value += WEIGHT_EXPOSED_CONNECTOR * shipBoard.getExposedConnectorsCount();
+        value += WEIGHT_LOST_TILE * countTilesToLose(shipBoard);
+        return value;
+    }
+
+    private static float getPower(VisitorCalculatePowers.CalculatorPowerInfo powerInfo) {
+        float activable = 0;
+        for (float power : powerInfo.getLocationsToActivate().values()) {
+            activable += power;
+        }
+        return powerInfo.getBasePower() + ACTIVABLE_POWER_FACTOR * activable;
+    }
+
+    private static int getCapacity(Collection<? extends ContainerTile> containers) {
+        int capacity = 0;
+        for (ContainerTile container : containers) {
+            capacity += container.getCapacity();
+        }
+        return capacity;
+    }
+
+    /**
+     * @return the number of tiles that would be removed at the end of assembly for integrity problems,
+     * keeping the biggest part of the ship if it is split
+     */
+    private static int countTilesToLose(ShipBoard shipBoard) {
+        IntegrityProblem problem = shipBoard.getVisitorCheckIntegrity().getProblem(true);
+        if (!problem.isProblem()) return 0;
+        Set<Coordinates> lost = new TreeSet<>(Comparator.comparingInt(Coordinates::getID));
+        for (TileCluster cluster : problem.getClustersToRemove()) {
+            lost.addAll(cluster.getCoordinates());
+        }
+        List<TileCluster> clustersToKeep = problem.getClustersToKeep();
+        if (clustersToKeep.isEmpty()) {
+            return shipBoard.getTilesOnBoard().size();
+        }
+        TileCluster biggest = clustersToKeep.getFirst();
+        for (TileCluster cluster : clustersToKeep) {
+            lost.addAll(cluster.getCoordinates());
+            if (cluster.getTiles().size() > biggest.getTiles().size()) {
+                biggest = cluster;
+            }
+        }
+        lost.removeAll(biggest.getCoordinates());
+        return lost.size();
+    }
+
+    /**
+     * @param shipBoard the ship being assembled
+     * @return the free spots of the building area next to at least a tile of the ship, in row-major order
+     */
+    public List<Coordinates> getFreeSpots(ShipBoard shipBoard) {
+        Set<Coordinates> free = new TreeSet<>(Comparator.comparingInt(Coordinates::getID));
+        for (Coordinates occupied : shipBoard.getOccupiedCoordinates()) {
+            for (Coordinates neighbor : occupied.getNeighbors()) {
+                if (BoardCoordinates.isOnBoard(level, neighbor) && !shipBoard.getBoard().containsKey(neighbor)) {
+                    free.add(neighbor);
+                }
+            }
+        }
+        return new ArrayList<>(free);
+    }
+
+    /**
+     * Finds the best placement of a tile, among the tile in hand (if any) and the uncovered tiles,
+     * within {@link #DEFAULT_BUDGET_MILLIS}.
+     * @see #advise(ShipBoard, TileSkeleton, Collection, long)
+     */
+    public Placement advise(ShipBoard shipBoard, TileSkeleton tileInHand, Collection<TileSkeleton> uncoveredTiles) {
+        return advise(shipBoard, tileInHand, uncoveredTiles, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Finds the best placement of a tile. If a tile is in hand only that tile is considered, since no other tile
+     * can be picked before placing or discarding it; otherwise the uncovered tiles are considered, to pick one.
+     * None of the provided objects is modified.
+     *
+     * @param shipBoard the ship being assembled
+     * @param tileInHand the tile in hand, or {@code null} if the hand is empty
+     * @param uncoveredTiles the tiles that can be picked, considered only if the hand is empty
+     * @param budgetMillis the time budget of the search, in milliseconds
+     * @return the best placement found, or {@code null} if there is no free spot or no tile to place
+     * (also if the ship has already been assembled)
+     */
+    public Placement advise(ShipBoard shipBoard, TileSkeleton tileInHand, Collection<TileSkeleton> uncoveredTiles,
+                            long budgetMillis) {
+        if (shipBoard.isEndedAssembly()) return null;
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        ShipBoard prototype = shipBoard.copy();
+        if (prototype.getVisitorCheckIntegrity() == null) {
+            prototype.resetVisitors();
+        }
+
+        List<TileSkeleton> tiles = (tileInHand != null) ? List.of(tileInHand) : List.copyOf(uncoveredTiles);
+        List<Candidate> candidates = new ArrayList<>();
+        for (Coordinates coordinates : getFreeSpots(prototype)) {
+            for (TileSkeleton tile : tiles) {
+                candidates.add(new Candidate(candidates.size(), tile, coordinates));
+            }
+        }
+        if (candidates.isEmpty()) return null;
+
+        float baseValue = evaluate(prototype);
+        Evaluated best = ForkJoinPool.commonPool().invoke(
+                new CandidatesTask(prototype, candidates, 0, candidates.size(), deadline));
+        return (best == null) ? null
+                : new Placement(best.candidate.tile, best.candidate.coordinates, best.rotation, best.value - baseValue);
+    }
+
+    /**
+     * A tile to try in a spot.
+     */
+    private record Candidate(int index, TileSkeleton tile, Coordinates coordinates) { }
+
+    /**
+     * A candidate tried with a rotation, and the value of the resulting ship.
+     */
+    private record Evaluated(Candidate candidate, Rotation rotation, float value) {
+
+        /**
+         * @return the best between this and {@code other}; on equal value the first candidate, for repeatability
+         */
+        Evaluated best(Evaluated other) {
+            if (other == null) return this;
+            if (value != other.value) return (value > other.value) ? this : other;
+            return (candidate.index <= other.candidate.index) ? this : other;
+        }
+    }
+
+    private static class CandidatesTask extends RecursiveTask<Evaluated> {
+
+        private final ShipBoard prototype;
+        private final List<Candidate> candidates;
+        private final int from;
+        private final int to;
+        private final long deadline;
+
+        CandidatesTask(ShipBoard prototype, List<Candidate> candidates, int from, int to, long deadline) {
+            this.prototype = prototype;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Evaluated compute() {
+            if (to - from > CANDIDATES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                CandidatesTask left = new CandidatesTask(prototype, candidates, from, middle, deadline);
+                left.fork();
+                Evaluated right = new CandidatesTask(prototype, candidates, middle, to, deadline).compute();
+                Evaluated leftBest = left.join();
+                return (leftBest == null) ? right : leftBest.best(right);
+            }
+
+            Evaluated best = null;
+            ShipBoard shipBoard = null;  // copied only if there is time to try something
+            for (int i = from; i < to && System.nanoTime() < deadline; i++) {
+                if (shipBoard == null) {
+                    shipBoard = prototype.copy();
+                }
+                Candidate candidate = candidates.get(i);
+                for (Rotation rotation : Rotation.values()) {
+                    Evaluated evaluated = new Evaluated(candidate, rotation, tryPlacement(shipBoard, candidate, rotation));
+                    best = evaluated.best(best);
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Places a copy of the tile, evaluates the ship and removes the tile again.
+         * @return the value of the ship with the tile placed
+         */
+        private static float tryPlacement(ShipBoard shipBoard, Candidate candidate, Rotation rotation) {
+            TileSkeleton tile = candidate.tile.copy();
+            try {
+                tile.resetRotation();
+                tile.rotateTile(rotation);
+                shipBoard.setTile(tile, candidate.coordinates);
+            } catch (FixedTileException | AlreadyEndedAssemblyException | OutOfBuildingAreaException |
+                     TileAlreadyPresentException | TileWithoutNeighborException e) {
+                throw new RuntimeException(e);  // should never happen -> runtime exception
+            }
+            float value = evaluate(shipBoard);
+            shipBoard.forceRemoveTile(candidate.coordinates);
+            return value;
+        }
+    }
+}
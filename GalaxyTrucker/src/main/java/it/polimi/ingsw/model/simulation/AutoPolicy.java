@@ -0,0 +1,29 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.game.Game;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.playerInput.PIRs.PIR;
+
+/**
+ * Policy playing a game in place of its players, without any client (see {@link Game#setAutoPolicy(AutoPolicy)}).
+ */
+public interface AutoPolicy {
+
+    /**
+     * Builds the ship of a player and ends its assembly.
+     * It is called on the game thread, once for each player, as soon as the assembly starts.
+     *
+     * @param game the game being assembled
+     * @param player the player whose ship has to be built
+     */
+    void assemble(Game game, Player player);
+
+    /**
+     * Answers an input request in place of its player, as soon as it is set.
+     * Input requests of different players can be answered concurrently.
+     * What is left unanswered gets the default of the request.
+     *
+     * @param pir the input request to answer
+     */
+    void answer(PIR pir);
+}
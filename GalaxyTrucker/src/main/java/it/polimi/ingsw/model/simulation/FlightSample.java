@@ -0,0 +1,220 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.enums.Direction;
+import it.polimi.ingsw.enums.PowerType;
+import it.polimi.ingsw.enums.ProtectionType;
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.cards.Card;
+import it.polimi.ingsw.model.cards.projectile.Projectile;
+import it.polimi.ingsw.model.shipboard.LoadableType;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.TileCluster;
+import it.polimi.ingsw.model.shipboard.exceptions.NoTileFoundException;
+import it.polimi.ingsw.model.shipboard.exceptions.OutOfBuildingAreaException;
+import it.polimi.ingsw.model.shipboard.integrity.IntegrityProblem;
+import it.polimi.ingsw.model.shipboard.visitors.VisitorCalculatePowers;
+import it.polimi.ingsw.util.Coordinates;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * A single flight of one ship, played against a sequence of cards without any player or game involved:
+ * each card applies its effect through {@link Card#simulateEffect(FlightSample)}.
+ * <p>
+ * Every choice is made as a sensible player would do it automatically:
+ * batteries are spent only when they change the outcome, the cluster of tiles with most tiles is kept
+ * and the ship is always alone, so it meets every card first.
+ */
+public class FlightSample {
+
+    private final ShipBoard shipBoard;
+    private final RandomGenerator random;
+    private int credits;
+    private int lostTiles;
+    private boolean ended;
+
+    /**
+     * @param shipBoard the ship flying, modified by the flight: pass a {@link ShipBoard#copy() copy} of the real one
+     * @param random the source of randomness for the dice
+     */
+    public FlightSample(ShipBoard shipBoard, RandomGenerator random) {
+        this.shipBoard = shipBoard;
+        this.random = random;
+    }
+
+    public ShipBoard getShipBoard() {
+        return shipBoard;
+    }
+
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    /**
+     * @return {@code true} if the flight ended before the last card, {@code false} if the ship is still flying
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * Ends the flight: the next cards have no more effects.
+     */
+    public void endFlight() {
+        ended = true;
+    }
+
+    public int getCredits() {
+        return credits;
+    }
+
+    public void addCredits(int credits) {
+        this.credits += credits;
+    }
+
+    /**
+     * @return the number of tiles lost during this flight
+     */
+    public int getLostTiles() {
+        return lostTiles;
+    }
+
+    /**
+     * Activates the most powerful double tiles of the requested type, spending one battery each,
+     * until the total power exceeds {@code target}.
+     * If even activating every tile the power cannot reach {@code target}, no battery is spent at all.
+     *
+     * @param powerType the type of power to compute
+     * @param target the power to beat
+     * @return the total power of the ship, alien bonus included
+     */
+    public float activatePower(PowerType powerType, float target) {
+        VisitorCalculatePowers.CalculatorPowerInfo powerInfo = shipBoard.getVisitorCalculatePowers()
+                .getInfoPower(powerType);
+        List<Float> activablePowers = powerInfo.getLocationsToActivate().values().stream()
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        int batteries = shipBoard.getVisitorCalculateCargoInfo().getBatteriesInfo().count(LoadableType.BATTERY);
+
+        float power = powerInfo.getBasePower();
+        int activated = 0;
+        while (power + powerInfo.getBonus(power) <= target
+                && activated < activablePowers.size() && activated < batteries) {
+            power += activablePowers.get(activated++);
+        }
+        power += powerInfo.getBonus(power);
+
+        if (power < target) {
+            power = powerInfo.getBasePower();
+            return power + powerInfo.getBonus(power);
+        }
+        if (activated > 0) {
+            shipBoard.loseBatteries(activated);
+        }
+        return power;
+    }
+
+    /**
+     * Rolls the dice for the projectile and, if the ship can not defend itself, hits it.
+     * The defenses are tried from the cheapest, like the game proposes them:
+     * smooth sides against bouncing meteors, single cannons, double cannons and then shields.
+     *
+     * @param projectile the projectile coming, not modified (the dice are rolled for this flight only)
+     */
+    public void hit(Projectile projectile) {
+        if (ended) return;
+        Direction direction = projectile.getDirection();
+        int coordinate = 2 + random.nextInt(6) + random.nextInt(6);
+        Coordinates firstTilePlace = shipBoard.getFirstTileLocation(direction, coordinate);
+        if (firstTilePlace == null) return;
+
+        try {
+            if (projectile.isBouncy() && !shipBoard.getTile(firstTilePlace).hasConnector(direction)) {
+                return;
+            }
+
+            boolean hasBattery = shipBoard.getVisitorCalculateCargoInfo().getBatteriesInfo()
+                    .count(LoadableType.BATTERY) > 0;
+            if (projectile.isFireDefensible()) {
+                ProtectionType protection = shipBoard.getCannonProtection(direction, coordinate);
+                if (protection == ProtectionType.SINGLE_CANNON) {
+                    return;
+                }
+                if (protection == ProtectionType.DOUBLE_CANNON && hasBattery) {
+                    shipBoard.loseBatteries(1);
+                    return;
+                }
+            }
+            if (projectile.isShieldDefensible() && hasBattery && shipBoard.getVisitorCalculateShieldedSides()
+                    .hasShieldFacing(direction.getRotated(Rotation.OPPOSITE))) {
+                shipBoard.loseBatteries(1);
+                return;
+            }
+
+            shipBoard.hit(direction, coordinate);
+        } catch (NoTileFoundException | OutOfBuildingAreaException e) {
+            throw new RuntimeException(e);  // should never happen -> runtime exception
+        }
+        resolveIntegrity();
+    }
+
+    /**
+     * Removes up to {@code amount} crew members, ending the flight if no human is left.
+     * @param amount the number of crew members to remove
+     */
+    public void loseCrew(int amount) {
+        if (ended) return;
+        shipBoard.loseCrew(amount);
+        resolveIntegrity();
+    }
+
+    /**
+     * Solves the integrity problems of the ship, if any: tiles that must go are removed and, if the ship is split,
+     * the biggest part is kept. Ends the flight if no human is left or no part of the ship can be kept.
+     */
+    public void resolveIntegrity() {
+        while (!ended) {
+            IntegrityProblem problem = shipBoard.getVisitorCheckIntegrity().getProblem(false);
+            if (!problem.isProblem()) return;
+            if (problem.isNoMoreHumansProblem()) {
+                endFlight();
+                return;
+            }
+
+            Set<Coordinates> toRemove = new HashSet<>();
+            for (TileCluster cluster : problem.getClustersToRemove()) {
+                toRemove.addAll(cluster.getCoordinates());
+            }
+            if (toRemove.isEmpty()) {
+                List<TileCluster> clustersToKeep = problem.getClustersToKeep();
+                if (clustersToKeep.isEmpty()) {
+                    endFlight();
+                    return;
+                }
+                // on equal size, the choice must not depend on the (identity based) order of the clusters
+                TileCluster kept = clustersToKeep.stream()
+                        .max(Comparator.<TileCluster>comparingInt(cluster -> cluster.getTiles().size())
+                                .thenComparingInt(cluster -> -cluster.getCoordinates().stream()
+                                        .mapToInt(Coordinates::getID).min().orElse(Integer.MAX_VALUE)))
+                        .orElseThrow();
+                for (TileCluster cluster : clustersToKeep) {
+                    toRemove.addAll(cluster.getCoordinates());
+                }
+                toRemove.removeAll(kept.getCoordinates());
+            }
+
+            int removed = 0;
+            for (Coordinates coordinates : toRemove) {
+                if (shipBoard.forceRemoveTile(coordinates) != null) {
+                    removed++;
+                }
+            }
+            if (removed == 0) return;  // nothing more can be done
+            lostTiles += removed;
+        }
+    }
+}
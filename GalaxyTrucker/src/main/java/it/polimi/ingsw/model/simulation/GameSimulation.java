@@ -0,0 +1,132 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.GamePhaseType;
+import it.polimi.ingsw.model.game.Game;
+import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.game.GameTimings;
+import it.polimi.ingsw.model.game.IGameUpdatesListener;
+import it.polimi.ingsw.model.game.exceptions.ColorAlreadyInUseException;
+import it.polimi.ingsw.model.game.exceptions.GameAlreadyRunningException;
+import it.polimi.ingsw.model.game.exceptions.PlayerAlreadyInGameException;
+import it.polimi.ingsw.model.gamePhases.ScoreGamePhase;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+
+import java.rmi.RemoteException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A complete game played in-process by an {@link AutoPolicy}, from the lobby to the scores:
+ * no server and no client are involved, nothing is saved on disk and the game never waits for its time limits.
+ * <p>
+ * The game is played on the calling thread; interrupting it stops the game.
+ */
+public class GameSimulation {
+
+    /**
+     * Outcome of a simulated game.
+     *
+     * @param seed the seed of the game
+     * @param finished {@code true} if the game reached the scores, {@code false} if it was stopped before
+     * @param nanos the time taken to play the game, in nanoseconds
+     * @param scores the final score of each player (in order of seat), empty if the game did not finish
+     */
+    public record Result(long seed, boolean finished, long nanos, Map<String, Float> scores) {
+
+        /**
+         * @return the seat of the player with the highest score, or {@code -1} if the game did not finish
+         */
+        public int getWinnerSeat() {
+            int seat = 0, winner = -1;
+            float best = Float.NEGATIVE_INFINITY;
+            for (float score : scores.values()) {
+                if (score > best) {
+                    best = score;
+                    winner = seat;
+                }
+                seat++;
+            }
+            return winner;
+        }
+    }
+
+    /** Prefix of the username of the simulated players, followed by their seat. */
+    public static final String PLAYER_PREFIX = "sim-";
+
+    private final GameLevel level;
+    private final int players;
+    private final long seed;
+
+    /**
+     * @param level the level of the game
+     * @param players the number of players, between {@code 2} and {@code 4}
+     * @param seed the seed of the game, driving both the game and the choices of the players
+     */
+    public GameSimulation(GameLevel level, int players, long seed) {
+        if (players < 2 || players > MainCabinTile.Color.values().length) {
+            throw new IllegalArgumentException("A game can not be played by " + players + " players");
+        }
+        this.level = level;
+        this.players = players;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates the game, with all its players already joined.
+     * @return the game ready to be played
+     */
+    Game createGame() {
+        Game game = new Game(seed);
+        game.setUpdatesListener(IGameUpdatesListener.NONE);
+        game.setPersistent(false);
+
+        GameData gameData = game.getGameData();
+        gameData.setTimings(GameTimings.INSTANT);
+        gameData.setLevel(level);
+        gameData.setRequiredPlayers(players);
+        for (int seat = 0; seat < players; seat++) {
+            try {
+                game.addPlayer(PLAYER_PREFIX + seat, UUID.randomUUID(), MainCabinTile.Color.values()[seat]);
+            } catch (PlayerAlreadyInGameException | GameAlreadyRunningException | ColorAlreadyInUseException e) {
+                throw new RuntimeException(e);  // should never happen -> runtime exception
+            }
+        }
+
+        game.setAutoPolicy(new RandomPolicy(seed));
+        return game;
+    }
+
+    /**
+     * Plays the whole game on the calling thread.
+     * @return the outcome of the game
+     */
+    public Result play() {
+        long start = System.nanoTime();
+        Game game = createGame();
+        try {
+            game.gameLoop();
+        } catch (RemoteException e) {
+            throw new RuntimeException(e);  // should never happen -> runtime exception
+        } finally {
+            game.stopGame();
+        }
+        long nanos = System.nanoTime() - start;
+
+        GameData gameData = game.getGameData();
+        boolean finished = gameData.getCurrentGamePhaseType() == GamePhaseType.ENDGAME
+                && !Thread.currentThread().isInterrupted();
+        Map<String, Float> scores = new LinkedHashMap<>();
+        if (finished) {
+            Map<Player, Float> byPlayer = new ScoreGamePhase(gameData).calculateScores();
+            for (int seat = 0; seat < players; seat++) {
+                String username = PLAYER_PREFIX + seat;
+                Player player = gameData.getPlayer(p -> p.getUsername().equals(username));
+                scores.put(player.getUsername(), byPlayer.get(player));
+            }
+        }
+        return new Result(seed, finished, nanos, scores);
+    }
+}
@@ -0,0 +1,72 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.model.game.Cheats;
+import it.polimi.ingsw.model.game.Game;
+import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.gamePhases.exceptions.AlreadyPickedPosition;
+import it.polimi.ingsw.model.gamePhases.exceptions.IllegalStartingPositionIndexException;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.player.exceptions.NoShipboardException;
+import it.polimi.ingsw.model.player.exceptions.TooManyItemsInHandException;
+import it.polimi.ingsw.model.playerInput.PIRs.PIR;
+import it.polimi.ingsw.model.playerInput.PIRs.PIRMultipleChoice;
+import it.polimi.ingsw.model.playerInput.exceptions.WrongPlayerTurnException;
+import it.polimi.ingsw.model.shipboard.exceptions.AlreadyEndedAssemblyException;
+
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Policy building random ships and picking a random option whenever a choice is requested.
+ * Any other input request (activating tiles, loading or unloading goods) is left to its default.
+ * <p>
+ * Each player draws from its own random generator, derived from the seed and its username:
+ * input requests of different players answered concurrently do not alter each other's choices.
+ */
+public class RandomPolicy implements AutoPolicy {
+
+    private final long seed;
+    private final Map<String, Random> randoms = new ConcurrentHashMap<>();
+
+    /**
+     * @param seed the seed all the choices of this policy are derived from
+     */
+    public RandomPolicy(long seed) {
+        this.seed = seed;
+    }
+
+    private Random getRandom(Player player) {
+        return randoms.computeIfAbsent(player.getUsername(), username -> new Random(seed * 31 + username.hashCode()));
+    }
+
+    @Override
+    public void assemble(Game game, Player player) {
+        GameData gameData = game.getGameData();
+        try {
+            Cheats.randomFillShipboard(player.getShipBoard(), gameData.getCoveredTiles(), gameData.getRandom());
+            gameData.endAssembly(player, false, null);
+        } catch (RemoteException | AlreadyEndedAssemblyException | NoShipboardException | TooManyItemsInHandException |
+                 AlreadyPickedPosition | IllegalStartingPositionIndexException e) {
+            throw new RuntimeException(e);  // should never happen -> runtime exception
+        }
+    }
+
+    @Override
+    public void answer(PIR pir) {
+        if (!(pir instanceof PIRMultipleChoice multipleChoice)) {
+            return;
+        }
+        String[] options = multipleChoice.getPossibleOptions();
+        if (options == null || options.length == 0) {
+            return;
+        }
+        Player player = pir.getCurrentPlayer();
+        try {
+            multipleChoice.makeChoice(player, getRandom(player).nextInt(options.length));
+        } catch (WrongPlayerTurnException e) {
+            throw new RuntimeException(e);  // should never happen -> runtime exception
+        }
+    }
+}
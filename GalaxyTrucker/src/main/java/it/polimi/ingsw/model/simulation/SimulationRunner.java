@@ -0,0 +1,164 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.util.logging.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays a batch of {@link GameSimulation}s in parallel, one per available processor, and reports their statistics.
+ * <p>
+ * The game at index {@code i} of the batch is played with seed {@code seed + i}:
+ * running the same batch again plays the very same games.
+ */
+public class SimulationRunner {
+
+    private static final Log LOG = Log.get(SimulationRunner.class);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final GameLevel level;
+    private final int games;
+    private final int players;
+    private final long seed;
+    private final int threads;
+
+    private final List<GameSimulation.Result> results = Collections.synchronizedList(new ArrayList<>());
+    private final LongAdder failures = new LongAdder();
+    private long elapsedNanos;
+
+    /**
+     * Prepares a batch of simulations, run on as many threads as the available processors.
+     *
+     * @param level the level of the games
+     * @param games the number of games to play
+     * @param players the number of players in each game
+     * @param seed the seed of the first game
+     */
+    public SimulationRunner(GameLevel level, int games, int players, long seed) {
+        this(level, games, players, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Prepares a batch of simulations.
+     *
+     * @param level the level of the games
+     * @param games the number of games to play
+     * @param players the number of players in each game
+     * @param seed the seed of the first game
+     * @param threads the number of games played at the same time
+     */
+    public SimulationRunner(GameLevel level, int games, int players, long seed, int threads) {
+        this.level = level;
+        this.games = games;
+        this.players = players;
+        this.seed = seed;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Plays all the games of the batch, waiting for them to end.
+     * When {@code timeoutSeconds} expire the games still running are stopped and the others are not started.
+     *
+     * @param timeoutSeconds the maximum duration of the batch
+     * @return the outcome of every game played, in no particular order
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    public List<GameSimulation.Result> run(int timeoutSeconds) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "simulation-" + THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            long gameSeed = seed + i;
+            GameSimulation simulation = new GameSimulation(level, players, gameSeed);
+            executor.execute(() -> {
+                try {
+                    results.add(simulation.play());
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    LOG.error("Simulation with seed " + gameSeed + " failed", e);
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            elapsedNanos = System.nanoTime() - start;
+        }
+        return getResults();
+    }
+
+    /**
+     * @return a copy of the outcomes collected so far
+     */
+    public List<GameSimulation.Result> getResults() {
+        synchronized (results) {
+            return new ArrayList<>(results);
+        }
+    }
+
+    /**
+     * @param sorted the sorted samples
+     * @param percentile the percentile to find, between {@code 0} and {@code 100}
+     * @return the value of the requested percentile, in milliseconds
+     */
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)] / 1e6;
+    }
+
+    /**
+     * @return a human-readable report of the batch
+     */
+    public String getReport() {
+        List<GameSimulation.Result> all = getResults();
+        List<GameSimulation.Result> finished = all.stream().filter(GameSimulation.Result::finished).toList();
+        double seconds = elapsedNanos / 1e9;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Simulation: %d games (level %s, %d players, seeds %d..%d) on %d threads in %.1f s%n",
+                games, level, players, seed, seed + games - 1, threads, seconds));
+        report.append(String.format("Finished %d, stopped %d, failed %d, not started %d (%.1f games/s)%n",
+                finished.size(), all.size() - finished.size(), failures.sum(),
+                games - all.size() - failures.sum(), finished.size() / Math.max(seconds, 1e-9)));
+
+        long[] durations = finished.stream().mapToLong(GameSimulation.Result::nanos).sorted().toArray();
+        report.append(String.format("Game duration [ms]: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                percentile(durations, 50), percentile(durations, 90), percentile(durations, 99),
+                percentile(durations, 100)));
+
+        if (!finished.isEmpty()) {
+            int[] wins = new int[players];
+            double[] totalScores = new double[players];
+            for (GameSimulation.Result result : finished) {
+                wins[result.getWinnerSeat()]++;
+                int seat = 0;
+                for (float score : result.scores().values()) {
+                    totalScores[seat++] += score;
+                }
+            }
+            report.append(String.format("%-10s %8s %10s%n", "seat", "win rate", "avg score"));
+            for (int seat = 0; seat < players; seat++) {
+                report.append(String.format("%-10s %7.1f%% %10.2f%n", GameSimulation.PLAYER_PREFIX + seat,
+                        100.0 * wins[seat] / finished.size(), totalScores[seat] / finished.size()));
+            }
+            report.append(String.format("Average winning score: %.2f%n", finished.stream()
+                    .mapToDouble(r -> Collections.max(r.scores().values())).average().orElse(0)));
+        }
+        return report.toString();
+    }
+}
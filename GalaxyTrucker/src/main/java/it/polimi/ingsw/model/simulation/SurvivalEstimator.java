@@ -0,0 +1,207 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.cards.Card;
+import it.polimi.ingsw.model.cards.DeckFactory;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.util.ScoreCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Estimates how a ship would do in a flight of a given level, flying it against thousands of random flights
+ * (see {@link FlightSample}) in parallel on the common fork-join pool.
+ * <p>
+ * Each flight draws its cards from the same pools a real deck of that level is made of, in random order,
+ * and rolls its own dice. The flight at index {@code i} only depends on the seed and on {@code i}:
+ * the same ship estimated with the same seed gets the very same estimate, whatever the parallelism.
+ * <p>
+ * Goods that could be earned from planets, stations and smugglers are not considered,
+ * nor the rewards for the final position: the expected credits come from bounties, sold ships,
+ * goods already on board and repairs.
+ */
+public class SurvivalEstimator {
+
+    /**
+     * Result of an estimate.
+     *
+     * @param samples the number of flights simulated
+     * @param survivalProbability the fraction of flights the ship completed, between {@code 0} and {@code 1}
+     * @param expectedCredits the average credits earned at the end of a flight
+     * @param expectedLostTiles the average number of tiles lost in a flight
+     */
+    public record Estimate(int samples, double survivalProbability, double expectedCredits, double expectedLostTiles) { }
+
+    /** Number of flights simulated by default, enough for a precision of about one percent point. */
+    public static final int DEFAULT_SAMPLES = 2000;
+
+    /** Seed used by default, so that the same ship always gets the same estimate. */
+    public static final long DEFAULT_SEED = 42;
+
+    /** Number of flights under which a task is not split anymore. */
+    private static final int SAMPLES_PER_TASK = 64;
+
+    private final GameLevel level;
+    private final List<List<Card>> pools = new ArrayList<>();
+    private final List<Integer> cardsPerPool = new ArrayList<>();
+
+    /**
+     * @param level the level of the flights to simulate
+     */
+    public SurvivalEstimator(GameLevel level) {
+        this.level = level;
+        switch (level) {
+            case TESTFLIGHT -> addPool(DeckFactory.createTutorialDeck(), 8);
+            case ONE -> addPool(DeckFactory.createLevelOneDeck(), 8);
+            case TWO -> {
+                addPool(DeckFactory.createLevelOneDeck(), 4);
+                addPool(DeckFactory.createLevelTwoDeck(), 8);
+            }
+        }
+    }
+
+    private void addPool(List<Card> pool, int cards) {
+        pools.add(List.copyOf(pool));
+        cardsPerPool.add(Math.min(cards, pool.size()));
+    }
+
+    public GameLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Estimates the ship with {@link #DEFAULT_SAMPLES} flights and the {@link #DEFAULT_SEED}.
+     * @param shipBoard the ship to estimate, not modified
+     * @return the estimate
+     */
+    public Estimate estimate(ShipBoard shipBoard) {
+        return estimate(shipBoard, DEFAULT_SAMPLES, DEFAULT_SEED);
+    }
+
+    /**
+     * Estimates the ship. If it has not been filled yet, it is considered filled with full batteries
+     * and humans in every cabin.
+     *
+     * @param shipBoard the ship to estimate, not modified
+     * @param samples the number of flights to simulate
+     * @param seed the seed all the flights are derived from
+     * @return the estimate
+     */
+    public Estimate estimate(ShipBoard shipBoard, int samples, long seed) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("At least one flight must be simulated, not " + samples);
+        }
+        ShipBoard prototype = shipBoard.copy();
+        if (prototype.getVisitorCheckIntegrity() == null) {
+            prototype.resetVisitors();
+        }
+        if (!prototype.isFilled()) {
+            prototype.fillWithDefaults();
+        }
+
+        Totals totals = ForkJoinPool.commonPool().invoke(new SamplesTask(prototype, seed, 0, samples));
+        return new Estimate(samples, (double) totals.survived / samples,
+                totals.credits / samples, (double) totals.lostTiles / samples);
+    }
+
+    /**
+     * Flies a copy of the ship through a random flight.
+     * @param prototype the ship to copy
+     * @param random the source of randomness of the flight
+     * @return the flight once ended
+     */
+    private FlightSample fly(ShipBoard prototype, RandomGenerator random) {
+        FlightSample sample = new FlightSample(prototype.copy(), random);
+        sample.resolveIntegrity();
+        for (Card card : drawFlight(random)) {
+            if (sample.isEnded()) break;
+            card.simulateEffect(sample);
+        }
+        return sample;
+    }
+
+    /**
+     * @param random the source of randomness
+     * @return the cards of a random flight, in order of play
+     */
+    private List<Card> drawFlight(RandomGenerator random) {
+        List<Card> flight = new ArrayList<>();
+        for (int i = 0; i < pools.size(); i++) {
+            List<Card> pool = pools.get(i);
+            int[] indices = new int[pool.size()];
+            for (int j = 0; j < indices.length; j++) {
+                indices[j] = j;
+            }
+            // partial Fisher-Yates: only the drawn cards are shuffled
+            for (int j = 0; j < cardsPerPool.get(i); j++) {
+                int k = j + random.nextInt(indices.length - j);
+                int drawn = indices[k];
+                indices[k] = indices[j];
+                indices[j] = drawn;
+                flight.add(pool.get(drawn));
+            }
+        }
+        for (int j = flight.size() - 1; j > 0; j--) {
+            int k = random.nextInt(j + 1);
+            flight.set(k, flight.set(j, flight.get(k)));
+        }
+        return flight;
+    }
+
+    /**
+     * Partial sums over a range of flights.
+     */
+    private record Totals(int survived, double credits, long lostTiles) {
+        Totals plus(Totals other) {
+            return new Totals(survived + other.survived, credits + other.credits, lostTiles + other.lostTiles);
+        }
+    }
+
+    private class SamplesTask extends RecursiveTask<Totals> {
+
+        private final ShipBoard prototype;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        SamplesTask(ShipBoard prototype, long seed, int from, int to) {
+            this.prototype = prototype;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from > SAMPLES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                SamplesTask left = new SamplesTask(prototype, seed, from, middle);
+                left.fork();
+                Totals right = new SamplesTask(prototype, seed, middle, to).compute();
+                return left.join().plus(right);
+            }
+
+            int survived = 0;
+            double credits = 0;
+            long lostTiles = 0;
+            for (int i = from; i < to; i++) {
+                FlightSample sample = fly(prototype, new SplittableRandom(seed * 0x9E3779B97F4A7C15L + i));
+                float goodsValue = ScoreCalculator.calculateGoodsValue(sample.getShipBoard());
+                if (sample.isEnded()) {
+                    // goods are worth half when the flight is abandoned
+                    goodsValue /= 2;
+                } else {
+                    survived++;
+                }
+                credits += sample.getCredits() + goodsValue - sample.getLostTiles();
+                lostTiles += sample.getLostTiles();
+            }
+            return new Totals(survived, credits, lostTiles);
+        }
+    }
+}
@@ -56,13 +56,28 @@ public class GameClient implements IClient {
 	 */
 	public static GameClient create(boolean useRMI, String host, Integer port, boolean useGUI)
 			throws IOException, NotBoundException {
-		GameClient gc;
-
-		// state
-		State state = State.getInstance();
+		return create(useRMI, host, port, useGUI ? new GUIView() : new CLIView(), State.getInstance());
+	}
 
-		// view
-		View view = useGUI ? new GUIView() : new CLIView();
+	/**
+	 * A game client with a custom view and state.
+	 * Useful to run multiple clients in the same process (e.g. headless bots), each one with its own state
+	 * instead of the shared {@link State#getInstance()}.
+	 *
+	 * @param useRMI {@code true} to use RMI, {@code false} to use Socket.
+	 * @param host The host IP address
+	 * @param port The port on the host
+	 * @param view The view this client will interact with, not yet initialized
+	 * @param state The state of the game this client will be linked to
+	 *
+	 * @throws IOException Signals that some sort of I/O exception has occurred,
+	 * in particular can also be for ConnectException
+	 * @throws NotBoundException The RMI server is not present
+	 * @see #create(boolean, String, Integer, boolean)
+	 */
+	public static GameClient create(boolean useRMI, String host, Integer port, View view, State state)
+			throws IOException, NotBoundException {
+		GameClient gc;
 
 		// low level client
 		if (useRMI) {
@@ -2,15 +2,22 @@ package it.polimi.ingsw.network;
 
 import it.polimi.ingsw.GamesHandler;
 import it.polimi.ingsw.model.game.Game;
+import it.polimi.ingsw.model.game.GameSaveWriter;
+import it.polimi.ingsw.model.game.IGameUpdatesListener;
+import it.polimi.ingsw.model.game.SavedGamesIndex;
 import it.polimi.ingsw.network.exceptions.AlreadyRunningServerException;
 import it.polimi.ingsw.network.messages.ClientUpdate;
 import it.polimi.ingsw.network.rmi.RmiServer;
 import it.polimi.ingsw.network.socket.SocketServer;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.util.Default;
-import it.polimi.ingsw.util.Logger;
+import it.polimi.ingsw.util.events.BroadcastEvent;
+import it.polimi.ingsw.util.logging.Log;
+import it.polimi.ingsw.util.metrics.Histogram;
+import it.polimi.ingsw.util.metrics.Metrics;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.BindException;
 import java.net.ServerSocket;
 import java.net.InetAddress;
@@ -21,24 +28,35 @@ import java.rmi.registry.Registry;
 import java.rmi.server.ExportException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
-public class GameServer{
+public class GameServer implements IGameUpdatesListener {
+
+	private static final Log LOG = Log.get(GameServer.class);
 
 	private final int socketPort;
 	private SocketServer socketServer;
 	private final int rmiPort;
 	private RmiServer rmiServer;
-	private final Map<UUID, IClient> clients = new HashMap<>();
+	private IServer instrumentedServer;
+	// concurrent: clients connect and get broadcasts from different threads
+	private final Map<UUID, IClient> clients = new ConcurrentHashMap<>();
 
 	private final ExecutorService executor = Executors.newFixedThreadPool(3);
 	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
+	private final Histogram broadcastDuration = Metrics.getInstance().timer("server.broadcast.duration");
+	private final Histogram broadcastRecipients = Metrics.getInstance().histogram("server.broadcast.recipients", "");
+	private final LongAdder failedUpdates = Metrics.getInstance().counter("server.updates.failed");
+
 	private static GameServer instance;
 
 	/**
@@ -54,39 +72,42 @@ public class GameServer{
 		// RMI
 		try {
 			rmiServer = new RmiServer();
-			IServer stub = (IServer) UnicastRemoteObject.exportObject(rmiServer, 0);
+			instrumentedServer = InstrumentedServer.wrap(rmiServer);
+			IServer stub = (IServer) UnicastRemoteObject.exportObject(instrumentedServer, 0);
 			Registry registry = LocateRegistry.createRegistry(rmiPort);
 			registry.rebind(Default.RMI_SERVER_NAME, stub);
-			System.out.println("RMI server bound on port " + rmiPort + " with name " + Default.RMI_SERVER_NAME + ".");
+			LOG.info("RMI server bound on port " + rmiPort + " with name " + Default.RMI_SERVER_NAME + ".");
 		} catch (ExportException e) {
 			String errorMessage = "RMI server can't be exported: failure in binding on port "
 					+ rmiPort + " with name " + Default.RMI_SERVER_NAME +
 					".\nThat's probably because an other instance of the Server is already running.\n" + e.getMessage();
-			System.err.println(errorMessage);
+			LOG.error(errorMessage);
 			throw new AlreadyRunningServerException(errorMessage);
 		} catch (Exception e) { // Catching all exceptions to see what's going wrong
-			e.printStackTrace();
+			LOG.error("RMI server can't be started", e);
 			return;
 		}
 		// Socket
 		try {
 			ServerSocket listenSocket = new ServerSocket(socketPort);
 			socketServer = new SocketServer(listenSocket);
-			System.out.println("Socket server bound on port " + socketPort + ".");
+			LOG.info("Socket server bound on port " + socketPort + ".");
 		} catch (BindException e) {
 			String errorMessage = "Socket server can't bind on port " + socketPort + ".\n" + e.getMessage();
-			System.err.println(errorMessage);
+			LOG.error(errorMessage);
 			throw new AlreadyRunningServerException(errorMessage);
 		} catch (IOException e) {
-			e.printStackTrace();
+			LOG.error("Socket server can't be started", e);
 			return;
 		}
 
 		// notify server ready
-		Logger.info("Server is ready -> " + getCompleteAddress());
+		LOG.info("Server is ready -> " + getCompleteAddress());
 	}
 
 	private void init() {
+		// load the index of the saved games now, not while building the first update for the menu
+		LOG.info("Indexed " + SavedGamesIndex.getInstance().size() + " saved games.");
 		// NOTE: RMIServer is already "running" since the non-blocking function rebind,
 		// however it needs to be initialized
 		executor.submit(() -> rmiServer.init());
@@ -95,7 +116,7 @@ public class GameServer{
 			try {
 				socketServer.run();
 			} catch (IOException e) {
-				e.printStackTrace();
+				LOG.error("Socket server stopped", e);
 			}
 		});
 
@@ -103,9 +124,63 @@ public class GameServer{
 			try {
 				checkConnectedClients();
 			} catch (Exception e) {
-				e.printStackTrace();
+				LOG.error("Unable to check the connected clients", e);
 			}
 		}, 0, 3, TimeUnit.SECONDS);
+
+		registerMetrics();
+	}
+
+	/**
+	 * Registers the gauges describing the load of the server, and exposes all the metrics through JMX.
+	 */
+	private void registerMetrics() {
+		Metrics metrics = Metrics.getInstance();
+		metrics.gauge("server.connections", clients::size);
+		metrics.gauge("server.games", () -> GamesHandler.getInstance().getGames().size());
+		metrics.gauge("jvm.threads", () -> ManagementFactory.getThreadMXBean().getThreadCount());
+		metrics.gauge("jvm.heap.used", () -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+		metrics.gauge("saves.pending", () -> GameSaveWriter.getInstance().getPendingCount());
+		metrics.gauge("saves.written", () -> GameSaveWriter.getInstance().getWrittenCount());
+		metrics.gauge("saves.coalesced", () -> GameSaveWriter.getInstance().getCoalescedCount());
+		metrics.gauge("saves.failed", () -> GameSaveWriter.getInstance().getFailedCount());
+		metrics.gauge("integrity.queued", () -> sumOverGames(g -> g.getIntegrityProblemExecutor().getQueueLength()));
+		metrics.gauge("integrity.inflight", () -> sumOverGames(g -> g.getIntegrityProblemExecutor().getInFlightCount()));
+		metrics.registerMBean();
+	}
+
+	/**
+	 * Sums a value over the games currently handled by the server.
+	 * The games are copied first, since the list may change while the metrics are read.
+	 * @param value the value of a single game
+	 * @return the sum of the values of all the games
+	 */
+	private static int sumOverGames(ToIntFunction<Game> value) {
+		return new ArrayList<>(GamesHandler.getInstance().getGames()).stream()
+				.filter(Objects::nonNull)
+				.mapToInt(value)
+				.sum();
+	}
+
+	/**
+	 * Records the measures of a broadcast.
+	 * @param event the event begun with the broadcast
+	 * @param startNanos when the broadcast started, as returned by {@link System#nanoTime()}
+	 * @param gameId the game whose players have been updated, {@code null} if all the clients have been updated
+	 * @param recipients the number of clients the update has been sent to
+	 * @param failed the number of clients that could not be updated
+	 */
+	private void recordBroadcast(BroadcastEvent event, long startNanos, UUID gameId, int recipients, int failed) {
+		broadcastDuration.recordNanosSince(startNanos);
+		broadcastRecipients.record(recipients);
+		failedUpdates.add(failed);
+		event.end();
+		if (event.shouldCommit()) {
+			event.gameId = (gameId == null) ? null : gameId.toString();
+			event.recipients = recipients;
+			event.failed = failed;
+			event.commit();
+		}
 	}
 
 	/**
@@ -132,7 +207,7 @@ public class GameServer{
 			try {
 				client.pingClient();
 			} catch (RemoteException e) {
-				System.out.println("Client " + uuid + " did not respond to ping. Marking as disconnected.");
+				LOG.info("Client " + uuid + " did not respond to ping. Marking as disconnected.");
 				Game g = GamesHandler.getInstance().findGameByClientUUID(uuid);
 				Player p = GamesHandler.getInstance().getPlayerByConnection(uuid);
 				if (g != null && p != null) {
@@ -166,6 +241,14 @@ public class GameServer{
 		return rmiServer;
 	}
 
+	/**
+	 * @return the server on which the commands of the clients are executed, measuring them
+	 * @see InstrumentedServer
+	 */
+	public IServer getInstrumentedServer() {
+		return instrumentedServer;
+	}
+
 	/**
 	 * Looks in the clients database for the correspondent connection, and returns the UUID.
 	 * @param client the client connection
@@ -226,7 +309,7 @@ public class GameServer{
         try {
             start();
         } catch (AlreadyRunningServerException e) {
-            e.printStackTrace();
+            LOG.error("Server can't be started", e);
         }
     }
 
@@ -258,6 +341,11 @@ public class GameServer{
 	 * @throws RemoteException if a remote communication error occurs during client notification
 	 */
 	public void broadcastUpdateAllRefreshOnlyIf(BiPredicate<UUID, IClient> refreshCondition) throws RemoteException {
+		BroadcastEvent event = new BroadcastEvent();
+		event.begin();
+		long start = System.nanoTime();
+		int recipients = 0;
+		int failed = 0;
 		for (Map.Entry<UUID, IClient> entry : clients.entrySet()) {
 			UUID uuid = entry.getKey();
 			IClient client = entry.getValue();
@@ -265,8 +353,11 @@ public class GameServer{
 				client.updateClient(new ClientUpdate(uuid, refreshCondition.test(uuid, client)));
 			}catch(RemoteException e){
 				//The client is no longer connected. The cleanup thread from game server will discover it.
+				failed++;
 			}
+			recipients++;
 		}
+		recordBroadcast(event, start, null, recipients, failed);
 	}
 
 	/**
@@ -295,6 +386,11 @@ public class GameServer{
 	 * @throws RemoteException if a remote communication error occurs during client notification
 	 */
 	public void broadcastUpdate(Game game) throws RemoteException {
+		BroadcastEvent event = new BroadcastEvent();
+		event.begin();
+		long start = System.nanoTime();
+		int recipients = 0;
+		int failed = 0;
 		for (Player player: game.getGameData().getPlayers(Player::isConnected)){
 			IClient client = clients.get(player.getConnectionUUID());
 			if (client != null){
@@ -302,9 +398,12 @@ public class GameServer{
 					client.updateClient(new ClientUpdate(player.getConnectionUUID()));
 				}catch(RemoteException e){
 					//The client is no longer connected. The cleanup thread from game server will discover it.
+					failed++;
 				}
+				recipients++;
 			}
 		}
+		recordBroadcast(event, start, game.getId(), recipients, failed);
 	}
 
 	/**
@@ -318,6 +417,11 @@ public class GameServer{
 	 * @throws RemoteException if a remote communication error occurs during client notification
 	 */
 	public void broadcastUpdateRefreshOnlyIf(Game game, Predicate<Player> filter) throws RemoteException {
+		BroadcastEvent event = new BroadcastEvent();
+		event.begin();
+		long start = System.nanoTime();
+		int recipients = 0;
+		int failed = 0;
 		for (Player player: game.getGameData().getPlayers(Player::isConnected)){
 			IClient client = clients.get(player.getConnectionUUID());
 			if (client != null){
@@ -326,9 +430,12 @@ public class GameServer{
 					client.updateClient(new ClientUpdate(player.getConnectionUUID(), filter.test(player)));
 				}catch(RemoteException e){
 					//The client is no longer connected. The cleanup thread from game server will discover it.
+					failed++;
 				}
+				recipients++;
 			}
 		}
+		recordBroadcast(event, start, game.getId(), recipients, failed);
 	}
 
 	/**
@@ -361,5 +468,19 @@ public class GameServer{
 				p.equals(targetShipboard) || p.getSpectating().equals(targetShipboard.getUsername()));
 	}
 
+	/**
+	 * Sends to a client a {@link ClientUpdate} notifying that its player is no longer in a game.
+	 *
+	 * @param connectionUUID the connection of the client
+	 * @throws RemoteException if a remote communication error occurs during client notification
+	 */
+	@Override
+	public void notifyLeftGame(UUID connectionUUID) throws RemoteException {
+		IClient client = clients.get(connectionUUID);
+		if (client != null) {
+			client.updateClient(new ClientUpdate(connectionUUID, true));
+		}
+	}
+
 
 }
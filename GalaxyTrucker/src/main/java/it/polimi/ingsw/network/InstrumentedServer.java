@@ -0,0 +1,59 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.util.metrics.Histogram;
+import it.polimi.ingsw.util.metrics.Metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures every command received by the server, whatever the protocol it arrived with:
+ * each call to the {@link IServer} returned by {@link #wrap(IServer)} is timed in the
+ * {@code server.command.<name>} timer of the {@link Metrics}, and counted.
+ */
+public class InstrumentedServer implements InvocationHandler {
+
+	private final IServer server;
+	private final Map<Method, Histogram> timers = new ConcurrentHashMap<>();
+	private final LongAdder commands;
+	private final LongAdder failedCommands;
+
+	private InstrumentedServer(IServer server, Metrics metrics) {
+		this.server = server;
+		commands = metrics.counter("server.commands");
+		failedCommands = metrics.counter("server.commands.failed");
+	}
+
+	/**
+	 * @param server the server executing the commands
+	 * @return a server executing the commands on {@code server}, measuring them
+	 */
+	public static IServer wrap(IServer server) {
+		return (IServer) Proxy.newProxyInstance(IServer.class.getClassLoader(), new Class<?>[]{IServer.class},
+				new InstrumentedServer(server, Metrics.getInstance()));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class) {
+			return method.invoke(server, args);
+		}
+		Histogram timer = timers.computeIfAbsent(method,
+				m -> Metrics.getInstance().timer("server.command." + m.getName()));
+		long start = System.nanoTime();
+		try {
+			return method.invoke(server, args);
+		} catch (InvocationTargetException e) {
+			failedCommands.increment();
+			throw e.getCause();
+		} finally {
+			timer.recordNanosSince(start);
+			commands.increment();
+		}
+	}
+}
@@ -6,6 +6,8 @@ import it.polimi.ingsw.model.cards.Deck;
 import it.polimi.ingsw.enums.GamePhaseType;
 import it.polimi.ingsw.model.game.Game;
 import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.game.GameSaveFormat;
+import it.polimi.ingsw.model.game.SavedGamesIndex;
 import it.polimi.ingsw.model.player.Player;
 
 import java.io.*;
@@ -17,6 +19,7 @@ public class ClientUpdate implements Serializable {
 	private final UUID clientUUID;
 	private final GameData currentGame;
 	private final List<GameData> availableGames;
+	private final List<GameSaveFormat.Metadata> savedGames;
 	private final boolean requireRefresh;
 	private String error;
 
@@ -41,6 +44,13 @@ public class ClientUpdate implements Serializable {
 		}
 		availableGames = GamesHandler.getInstance().getGames().stream()
 				.map(Game::getGameData).collect(Collectors.toList());
+		if(currentGame == null){
+			// only needed by the menu. The list from the index is shared by all the updates until a save changes,
+			// and saved games are loaded only when resumed
+			savedGames = SavedGamesIndex.getInstance().getSavedGames();
+		}else{
+			savedGames = List.of();
+		}
 		this.requireRefresh = requireRefresh;
 	}
 
@@ -112,6 +122,14 @@ public class ClientUpdate implements Serializable {
 		return availableGames;
 	}
 
+	/**
+	 * @return The metadata of the saved games, the most recently saved first: it can include the games already
+	 * resumed, which are also in {@link #getAvailableGames()}. Empty if the client is already in a game.
+	 */
+	public List<GameSaveFormat.Metadata> getSavedGames() {
+		return savedGames;
+	}
+
 	/**
 	 * Serializes the object instance into an UTF-8 encoded string.
 	 * @return
@@ -8,7 +8,9 @@ import it.polimi.ingsw.enums.Rotation;
 import it.polimi.ingsw.model.game.Cheats;
 import it.polimi.ingsw.model.game.Game;
 import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.game.SavedGamesIndex;
 import it.polimi.ingsw.model.game.exceptions.*;
+import it.polimi.ingsw.model.game.journal.JournalReplayException;
 import it.polimi.ingsw.model.gamePhases.exceptions.AlreadyPickedPosition;
 import it.polimi.ingsw.controller.commandsProcessors.exceptions.CommandNotAllowedException;
 import it.polimi.ingsw.model.gamePhases.exceptions.IllegalStartingPositionIndexException;
@@ -28,20 +30,21 @@ import it.polimi.ingsw.model.playerInput.exceptions.InputNotSupportedException;
 import it.polimi.ingsw.model.playerInput.exceptions.TileNotAvailableException;
 import it.polimi.ingsw.model.playerInput.exceptions.WrongPlayerTurnException;
 import it.polimi.ingsw.model.shipboard.LoadableType;
-import it.polimi.ingsw.model.shipboard.ShipBoard;
 import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.FixedTileException;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.NotEnoughItemsException;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.TooMuchLoadException;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.UnsupportedLoadableItemException;
 import it.polimi.ingsw.util.Coordinates;
-import it.polimi.ingsw.util.Logger;
+import it.polimi.ingsw.util.logging.Log;
 
 import java.rmi.RemoteException;
 import java.util.*;
 
 public class RmiServer implements IServer {
 
+	private static final Log LOG = Log.get(RmiServer.class);
+
 	private static class PlayerGameInstance {
 		UUID connectionUUID;
 		Player player;
@@ -111,14 +114,14 @@ public class RmiServer implements IServer {
 			if (game == null) {
 				throw new Exception("Game creation failed");
 			}
-			System.out.println("Created new game: " + game.getId());
+			LOG.info("Created new game: " + game.getId());
 			GameServer.getInstance().broadcastUpdateAllRefreshOnlyIf((clientUUID, clientInterface) -> {
 				// refresh only the clients that are not in a game yet, or this client
 				return (GamesHandler.getInstance().findGameByClientUUID(clientUUID) == null);
 			});
 			client.updateClient(new ClientUpdate(connectionUUID));
 		} catch (Exception e) {
-			e.printStackTrace();
+			LOG.warn("Game creation failed: " + e.getMessage());
 			client.updateClient(new ClientUpdate(connectionUUID, e.getMessage()));
 		}
 	}
@@ -158,7 +161,7 @@ public class RmiServer implements IServer {
 
 	@Override
 	public void pirActivateTiles(IClient client, Set<Coordinates> tilesToActivate) throws RemoteException {
-		Logger.info("Received PIR command ACTIVATE TILES.");
+		LOG.debug("Received PIR command ACTIVATE TILES.");
 		PlayerGameInstance pg = PlayerGameInstance.validateClient(gamesHandler, gameServer, client);
 		if (pg == null) return;
 		// else: actually try to perform the action
@@ -166,6 +169,7 @@ public class RmiServer implements IServer {
 		try {
 			PIR activePIR = pg.game.getGameData().getPIRHandler().getPlayerPIR(pg.player);
 			if(activePIR != null){
+				activePIR.markResponded();
 				activePIR.activateTiles(pg.player, tilesToActivate);
 			}
 			client.updateClient(new ClientUpdate(pg.connectionUUID));
@@ -177,7 +181,7 @@ public class RmiServer implements IServer {
 
 	@Override
 	public void pirAllocateLoadables(IClient client, Map<Coordinates, List<LoadableType>> cargoToAdd) throws RemoteException {
-		Logger.info("Received PIR command ALLOCATE LOADABLES");
+		LOG.debug("Received PIR command ALLOCATE LOADABLES");
 		PlayerGameInstance pg = PlayerGameInstance.validateClient(gamesHandler, gameServer, client);
 		if (pg == null) return;
 		// else: actually try to perform the action
@@ -185,6 +189,7 @@ public class RmiServer implements IServer {
 		try {
 			PIR activePIR = pg.game.getGameData().getPIRHandler().getPlayerPIR(pg.player);
 			if(activePIR != null){
+				activePIR.markResponded();
 				activePIR.addLoadables(pg.player, cargoToAdd);
 			}
 			client.updateClient(new ClientUpdate(pg.connectionUUID));
@@ -196,7 +201,7 @@ public class RmiServer implements IServer {
 
 	@Override
 	public void pirForceEndTurn(IClient client) throws RemoteException {
-		Logger.info("Received PIR command END TURN");
+		LOG.debug("Received PIR command END TURN");
 		PlayerGameInstance pg = PlayerGameInstance.validateClient(gamesHandler, gameServer, client);
 		if (pg == null) return;
 		// else: actually try to perform the action
@@ -214,13 +219,14 @@ public class RmiServer implements IServer {
 
 	@Override
 	public void pirRemoveLoadables(IClient client, Map<Coordinates, List<LoadableType>> cargoToAdd) throws RemoteException {
-		Logger.info("Received PIR command REMOVE LOADABLES");
+		LOG.debug("Received PIR command REMOVE LOADABLES");
 		PlayerGameInstance pg = PlayerGameInstance.validateClient(gamesHandler, gameServer, client);
 		if (pg == null) return;
 
 		try {
 			PIR activePIR = pg.game.getGameData().getPIRHandler().getPlayerPIR(pg.player);
 			if(activePIR != null){
+				activePIR.markResponded();
 				activePIR.removeLoadables(pg.player, cargoToAdd);
 			}
 			client.updateClient(new ClientUpdate(pg.connectionUUID));
@@ -232,12 +238,13 @@ public class RmiServer implements IServer {
 
 	@Override
 	public void pirSelectMultipleChoice(IClient client, int selection) throws RemoteException {
-		Logger.info("Received PIR command MULTIPLE CHOICE");
+		LOG.debug("Received PIR command MULTIPLE CHOICE");
 		PlayerGameInstance pg = PlayerGameInstance.validateClient(gamesHandler, gameServer, client);
 		if (pg == null) return;
 
 		PIR activePIR = pg.game.getGameData().getPIRHandler().getPlayerPIR(pg.player);
 		if(activePIR != null){
+			activePIR.markResponded();
 			try {
 				activePIR.makeChoice(pg.player, selection);
 			} catch (WrongPlayerTurnException | InputNotSupportedException e) {
@@ -290,11 +297,15 @@ public class RmiServer implements IServer {
 		if (pg == null) return;
 		// else: actually try to perform the action
 
-		try {
-			pg.player.drawTile(pg.game.getGameData());
-		} catch (DrawTileException | TooManyItemsInHandException e) {
-			client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
-			return;
+		GameData gameData = pg.game.getGameData();
+		synchronized (gameData.getCommandLock()) {
+			try {
+				pg.player.drawTile(gameData);
+			} catch (DrawTileException | TooManyItemsInHandException e) {
+				client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
+				return;
+			}
+			gameData.getJournal().recordTileDrawn(pg.player, pg.player.getTileInHand().getTileId());
 		}
 
 		GameServer.getInstance().broadcastUpdateRefreshOnly(pg.game, Set.of(pg.player));
@@ -306,11 +317,15 @@ public class RmiServer implements IServer {
 		if (pg == null) return;
 		// else: actually try to perform the action
 
-		try {
-			pg.player.discardTile(pg.game.getGameData());
-		} catch (NoTileInHandException | ReservedTileException e) {
-			client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
-			return;
+		GameData gameData = pg.game.getGameData();
+		synchronized (gameData.getCommandLock()) {
+			try {
+				pg.player.discardTile(gameData);
+			} catch (NoTileInHandException | ReservedTileException e) {
+				client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
+				return;
+			}
+			gameData.getJournal().recordTileDiscarded(pg.player);
 		}
 
         GameServer.getInstance().broadcastUpdate(pg.game);
@@ -322,11 +337,15 @@ public class RmiServer implements IServer {
 		if (pg == null) return;
 		// else: actually try to perform the action
 
-		try {
-			pg.player.reserveTile();
-        }catch (NoTileInHandException | TooManyReservedTilesException e){
-			client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
-			return;
+		GameData gameData = pg.game.getGameData();
+		synchronized (gameData.getCommandLock()) {
+			try {
+				pg.player.reserveTile();
+			} catch (NoTileInHandException | TooManyReservedTilesException e) {
+				client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
+				return;
+			}
+			gameData.getJournal().recordTileReserved(pg.player);
 		}
 
 		GameServer.getInstance().broadcastUpdateShipboardSpectators(pg.game, pg.player);
@@ -338,12 +357,16 @@ public class RmiServer implements IServer {
 		if (pg == null) return;
 		// else: actually try to perform the action
 
-		try{
-			pg.player.pickTile(pg.game.getGameData(), id);
-		} catch (TooManyItemsInHandException | ThatTileIdDoesNotExistsException e) {
-			client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
-			return;
-        }
+		GameData gameData = pg.game.getGameData();
+		synchronized (gameData.getCommandLock()) {
+			try {
+				pg.player.pickTile(gameData, id);
+			} catch (TooManyItemsInHandException | ThatTileIdDoesNotExistsException e) {
+				client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
+				return;
+			}
+			gameData.getJournal().recordTilePicked(pg.player, id);
+		}
 
 		GameServer.getInstance().broadcastUpdate(pg.game);
     }
@@ -353,13 +376,17 @@ public class RmiServer implements IServer {
 		PlayerGameInstance pg = PlayerGameInstance.validateClient(gamesHandler, gameServer, client, GamePhaseType.ASSEMBLE);
 		if (pg == null) return;
 
-		try {
-			pg.player.placeTile(coordinates, rotation);
-		} catch (NoTileInHandException | NoShipboardException | FixedTileException | TileAlreadyPresentException
-				 | OutOfBuildingAreaException | TileWithoutNeighborException | AlreadyEndedAssemblyException e) {
-			client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
-			return;
-        }
+		GameData gameData = pg.game.getGameData();
+		synchronized (gameData.getCommandLock()) {
+			try {
+				pg.player.placeTile(coordinates, rotation);
+			} catch (NoTileInHandException | NoShipboardException | FixedTileException | TileAlreadyPresentException
+					 | OutOfBuildingAreaException | TileWithoutNeighborException | AlreadyEndedAssemblyException e) {
+				client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
+				return;
+			}
+			gameData.getJournal().recordTilePlaced(pg.player, coordinates, rotation);
+		}
 
 		GameServer.getInstance().broadcastUpdateShipboardSpectators(pg.game, pg.player);
     }
@@ -370,9 +397,13 @@ public class RmiServer implements IServer {
 		if (pg == null) return;
 		// else: actually try to perform the action
 
+		GameData gameData = pg.game.getGameData();
 		try {
-			pg.game.getGameData().endAssembly(pg.player, false, preferredPosition);
-			pg.game.getGameData().getCurrentGamePhase().setAutoTimerSequence(true);
+			synchronized (gameData.getCommandLock()) {
+				gameData.endAssembly(pg.player, false, preferredPosition);
+				gameData.getJournal().recordAssemblyEnded(pg.player, pg.player.getPosition());
+			}
+			gameData.getCurrentGamePhase().setAutoTimerSequence(true);
 			// note: here no broadcast/update because is already managed by endAssembly
 		} catch (NoShipboardException | AlreadyEndedAssemblyException | TooManyItemsInHandException |
                  AlreadyPickedPosition | IllegalStartingPositionIndexException e) {
@@ -386,34 +417,15 @@ public class RmiServer implements IServer {
 		if (pg == null) return;
 		// else: actually try to perform the action
 
-		try {
-			ShipBoard shipBoard = pg.player.getShipBoard();
-			if (shipBoard == null) {
-				throw new NoShipboardException();  // caught below
-			}
-			if (shipBoard.getTiles().size() <= 1) {
-				throw new CardsGroupException("You have to place a tile before taking a group of cards.");  // caught below
-			}
-
-			// attempt assigning the group of cards in hand
-			Integer oldCardGroup = pg.player.getCardGroupInHand();
-			pg.player.setCardGroupInHand(id);
-
+		GameData gameData = pg.game.getGameData();
+		synchronized (gameData.getCommandLock()) {
 			try {
-				// attempt showing the group of cards to the player
-				pg.game.getGameData().getDeck().getGroup(id).showGroup(pg.player.getUsername());
-			} catch (Exception e) {
-				// reset the old card group in hand
-				pg.player.clearCardGroupInHand();
-				if (oldCardGroup != null) {
-					pg.player.setCardGroupInHand(oldCardGroup);
-				}
-				// then propagate the error (caught below if expected)
-				throw e;
+				pg.player.showCardGroup(gameData, id);
+			} catch (CardsGroupException | NoShipboardException | TooManyItemsInHandException e) {
+				client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
+				return;
 			}
-		} catch (CardsGroupException | NoShipboardException | TooManyItemsInHandException e) {
-			client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
-			return;
+			gameData.getJournal().recordCardGroupShown(pg.player, id);
 		}
 
 		GameServer.getInstance().broadcastUpdate(pg.game);
@@ -425,12 +437,15 @@ public class RmiServer implements IServer {
 		if (pg == null) return;
 		// else: actually try to perform the action
 
-		try {
-			pg.game.getGameData().getDeck().getGroup(pg.player.getCardGroupInHand()).hideGroup();
-			pg.player.clearCardGroupInHand();
-		} catch (CardsGroupException e) {
-			client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
-			return;
+		GameData gameData = pg.game.getGameData();
+		synchronized (gameData.getCommandLock()) {
+			try {
+				pg.player.hideCardGroup(gameData);
+			} catch (CardsGroupException e) {
+				client.updateClient(new ClientUpdate(pg.connectionUUID, e.getMessage()));
+				return;
+			}
+			gameData.getJournal().recordCardGroupHidden(pg.player);
 		}
 
 		GameServer.getInstance().broadcastUpdate(pg.game);
@@ -465,8 +480,15 @@ public class RmiServer implements IServer {
 		switch (cheatName){
 			case "skip" -> Cheats.skipPhase(pg.game);
 			default -> {
+				GameData gameData = pg.game.getGameData();
 				try {
-					Cheats.cheatShipboard(cheatName, pg.game, pg.player);
+					// journaled with its seed, so that replaying it builds the same shipboard
+					synchronized (gameData.getCommandLock()) {
+						long seed = gameData.getRandom().nextLong();
+						Cheats.cheatShipboard(cheatName, gameData, pg.player, seed);
+						gameData.getJournal().recordCheatApplied(pg.player, cheatName, seed);
+					}
+					pg.game.getUpdatesListener().broadcastUpdateShipboardSpectators(pg.game, pg.player);
 					client.updateClient(new ClientUpdate(pg.connectionUUID, true));
 				} catch (UninitializedShipboardException | AlreadyEndedAssemblyException | FixedTileException | TileAlreadyPresentException |
 						 TileWithoutNeighborException | OutOfBuildingAreaException e) {
@@ -485,7 +507,8 @@ public class RmiServer implements IServer {
 			return;
 		}
 
-		GameData loaded = GameData.loadFromState(gameId);
+		// the index tells if the save exists without loading it
+		GameData loaded = SavedGamesIndex.getInstance().get(gameId) == null ? null : GameData.loadFromState(gameId);
 		if(loaded == null){
 			client.updateClient(new ClientUpdate(connectionUUID, "Could not find specified game."));
 			return;
@@ -495,6 +518,9 @@ public class RmiServer implements IServer {
 			gamesHandler.resumeGame(loaded, connectionUUID);
 		} catch (PlayerAlreadyInGameException | GameAlreadyRunningException e) {
 			client.updateClient(new ClientUpdate(connectionUUID, e.getMessage()));
+		} catch (JournalReplayException e) {
+			LOG.error("Unable to resume game " + gameId, e);
+			client.updateClient(new ClientUpdate(connectionUUID, "The saved game is damaged and can not be resumed."));
 		}
 	}
 }
@@ -10,6 +10,10 @@ import it.polimi.ingsw.model.shipboard.LoadableType;
 import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
 import it.polimi.ingsw.util.Coordinates;
 import it.polimi.ingsw.util.Default;
+import it.polimi.ingsw.util.Logger.LoggerLevel;
+import it.polimi.ingsw.util.logging.Log;
+import it.polimi.ingsw.util.metrics.Histogram;
+import it.polimi.ingsw.util.metrics.Metrics;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -21,10 +25,14 @@ import java.util.*;
 
 public class ClientSocketHandler implements IClient {
 
+	private static final Log LOG = Log.get(ClientSocketHandler.class);
+
 	final GameServer gameServer;
 	final BufferedReader input;
 	final PrintWriter output;
 	final Socket socket;
+	// measured here since serialized anyway: the size of the updates sent through RMI is not known
+	private final Histogram updateBytes = Metrics.getInstance().histogram("server.update.size", "bytes");
 
 	/**
 	 * This adapter handles all socket connections on the server. It handles both INCOMING MESSAGES (parsing client-made
@@ -63,11 +71,12 @@ public class ClientSocketHandler implements IClient {
 				byte[] decodedMessage = Base64.getDecoder().decode(line);
 				message = SocketMessage.deserialize(decodedMessage);
 			}catch(ClassNotFoundException | IOException e){
-				System.err.println("Could not deserialize message: " + line);
-				e.printStackTrace();
+				LOG.error("Could not deserialize message: " + line, e);
 			}
 			if(message != null){
-				System.out.println("Received new command: " + message.getType() + " args: " + message.getArgs());
+				if (LOG.isEnabled(LoggerLevel.DEBUG)) {
+					LOG.debug("Received new command: " + message.getType() + " args: " + message.getArgs());
+				}
 				try{
 					switch (message.getType()) {
 						case PING -> getServer().ping(this);
@@ -122,10 +131,8 @@ public class ClientSocketHandler implements IClient {
 						case SPECTATE -> getServer().spectatePlayerShipboard(this, (String) message.getArgs().getFirst());
 					}
 				}catch(IllegalArgumentException e){
-					System.err.println("ERROR WHILE PARSING MESSAGE! Message:");
-					System.err.println("cmd: " + message.getType() + "args: " + message.getArgs());
-					System.err.println("Make sure the arguments are passed in the correct order by the client!");
-					e.printStackTrace();
+					LOG.error("Error while parsing message: cmd: " + message.getType() + " args: " + message.getArgs()
+							+ ". Make sure the arguments are passed in the correct order by the client!", e);
 				}
             }
 
@@ -136,7 +143,7 @@ public class ClientSocketHandler implements IClient {
 	public IServer getServer() {
 		//In here we shouldn't worry about this function. It is present only because the class extends IClient, but
 		//the server will never actually call getServer() on a ClientSocketToRMIAdapter. If it does, we're fucked :).
-		return gameServer.getRmiServer();
+		return gameServer.getInstrumentedServer();
 	}
 
 	/**
@@ -145,7 +152,9 @@ public class ClientSocketHandler implements IClient {
 	 */
 	@Override
 	public void updateClient(ClientUpdate clientUpdate) {
-		String encodedMessage = Base64.getEncoder().encodeToString(clientUpdate.serialize());
+		byte[] serializedUpdate = clientUpdate.serialize();
+		updateBytes.record(serializedUpdate.length);
+		String encodedMessage = Base64.getEncoder().encodeToString(serializedUpdate);
 		output.println(encodedMessage);
 		output.flush();
 	}
@@ -2,6 +2,7 @@ package it.polimi.ingsw.network.socket;
 
 import it.polimi.ingsw.network.messages.ClientUpdate;
 import it.polimi.ingsw.network.GameServer;
+import it.polimi.ingsw.util.logging.Log;
 
 import java.io.*;
 import java.net.ServerSocket;
@@ -11,6 +12,8 @@ import java.util.UUID;
 
 public class SocketServer {
 
+	private static final Log LOG = Log.get(SocketServer.class);
+
 	private final ServerSocket listenSocket;
 
 	/**
@@ -44,11 +47,11 @@ public class SocketServer {
 			handler.handshake();
 
 			UUID connectionUUID = GameServer.getInstance().registerClient(handler);
-			System.out.println("Detected a new connection: " + connectionUUID);
+			LOG.info("Detected a new connection: " + connectionUUID);
 			//Confirm connection and send notify client with assigned UUID
 			handler.updateClient(new ClientUpdate(connectionUUID));
 			new Thread(() -> {
-				try {
+				try (Log.Scope _ = Log.tag("connection", connectionUUID)) {
 					handler.runVirtualView();
 				} catch(SocketException e) {
 					if(e.getMessage().equals("Connection reset")) {
@@ -57,11 +60,11 @@ public class SocketServer {
 						try {
 							handler.socket.close();
 						} catch (IOException ex) {
-							System.err.println("Error while closing a socket that disconnected: " + ex.getMessage());
+							LOG.warn("Error while closing a socket that disconnected: " + ex.getMessage());
 						}
 					}
 				} catch (IOException e) {
-					e.printStackTrace();
+					LOG.error("Connection " + connectionUUID + " failed", e);
 				}
 			}).start();
 		}
@@ -6,7 +6,7 @@ import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
 import it.polimi.ingsw.view.cli.CLIFrame;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -18,8 +18,20 @@ import java.util.stream.Stream;
  */
 public class BoardCoordinates {
 
-    /** Stores valid coordinate sets for different game levels. */
-    private static final HashMap<GameLevel, Set<Integer>> validCoordinates = new HashMap<>();
+    /** Stores, for each supported game level, which coordinate IDs are valid. */
+    private static final EnumMap<GameLevel, boolean[]> validCoordinates = new EnumMap<>(GameLevel.class);
+
+    static {
+        for (GameLevel level : GameLevel.values()) {
+            Set<Integer> allowedPlaces = calculateValidCoordinates(level);
+            if (allowedPlaces == null) continue;
+            boolean[] valid = new boolean[Coordinates.getIDsCount()];
+            for (int id : allowedPlaces) {
+                valid[id] = true;
+            }
+            validCoordinates.put(level, valid);
+        }
+    }
 
     /**
      * Calculates the set of valid coordinates for the game level {@link GameLevel#TESTFLIGHT}.
@@ -101,16 +113,12 @@ public class BoardCoordinates {
      * @throws UnsupportedOperationException If the specified level is not supported.
      */
     public static boolean isOnBoard(GameLevel level, Coordinates coordinates) {
-        Set<Integer> allowedPlaces = validCoordinates.get(level);
+        boolean[] allowedPlaces = validCoordinates.get(level);
         if (allowedPlaces == null) {
-            allowedPlaces = calculateValidCoordinates(level);
-            if (allowedPlaces == null) {
-                throw new UnsupportedOperationException("level " + level + " is not supported as a board of coordinates");
-            }
-            validCoordinates.put(level, allowedPlaces);
+            throw new UnsupportedOperationException("level " + level + " is not supported as a board of coordinates");
         }
 
-        return allowedPlaces.contains(coordinates.getID());
+        return coordinates.isInGrid() && allowedPlaces[coordinates.getID()];
     }
 
     /**
@@ -138,7 +146,7 @@ public class BoardCoordinates {
      * @return The main cabin coordinates.
      */
     public static Coordinates getMainCabinCoordinates() {
-        return new Coordinates(7, 7);
+        return Coordinates.of(7, 7);
     }
 
     /**
@@ -187,7 +195,7 @@ public class BoardCoordinates {
 
             // Iterate over each column for the current row.
             for (int col = minCol; col <= maxCol; col++) {
-                Coordinates coord = new Coordinates(row, col);
+                Coordinates coord = Coordinates.of(row, col);
                 String[] tileRep;
 
                 if (BoardCoordinates.isOnBoard(level, coord)) {
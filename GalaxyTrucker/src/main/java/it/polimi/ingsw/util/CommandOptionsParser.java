@@ -205,11 +205,11 @@ public class CommandOptionsParser {
         for (OptionFinder opt : optionsFinder) {
             String optionID = opt.getOptionID();
             String content = options.get(optionID);
-            if (validator != null) {
-                validator.validate(optionID, content);
-            }
             if (content == null) {
+                // note: default values have already been validated
                 options.put(optionID, opt.getDefaultValue());
+            } else if (validator != null) {
+                validator.validate(optionID, content);
             }
         }
 
@@ -21,6 +21,36 @@ public class Coordinates implements Serializable {
      */
     private static final int MAX_COL = 12;
 
+    /** The maximum number of rows in the grid.
+     * Based on the maximum grid possible, including the margins around the valid board cells.
+     */
+    private static final int MAX_ROW = 12;
+
+    /** The canonical instances of all the coordinates inside the grid, indexed by ID. */
+    private static final Coordinates[] GRID = new Coordinates[MAX_ROW * MAX_COL];
+
+    /** The neighbors of each canonical instance, indexed by ID and {@link Direction#getValue()}.
+     * A neighbor outside the grid is {@code null}.
+     */
+    private static final Coordinates[][] NEIGHBORS = new Coordinates[GRID.length][Direction.TOTAL_DIRECTIONS];
+
+    static {
+        for (int row = 0; row < MAX_ROW; row++) {
+            for (int column = 0; column < MAX_COL; column++) {
+                GRID[toID(row, column)] = new Coordinates(row, column);
+            }
+        }
+        for (Coordinates coordinates : GRID) {
+            for (Direction direction : Direction.values()) {
+                int row = coordinates.row + direction.getRowOffset();
+                int column = coordinates.column + direction.getColumnOffset();
+                if (isInGrid(row, column)) {
+                    NEIGHBORS[coordinates.id][direction.getValue()] = GRID[toID(row, column)];
+                }
+            }
+        }
+    }
+
     /** The row index of the coordinate. */
     private final int row;
 
@@ -57,7 +87,7 @@ public class Coordinates implements Serializable {
                 try {
                     int row = Integer.parseInt(parts[0].trim());
                     int col = Integer.parseInt(parts[1].trim());
-                    coordinatesList.add(new Coordinates(row, col));
+                    coordinatesList.add(Coordinates.of(row, col));
                 } catch (NumberFormatException e) {
                     // skip malformed coordinate
                 }
@@ -75,24 +105,78 @@ public class Coordinates implements Serializable {
      * @param row the row index of the coordinate
      * @param column the column index of the coordinate
      */
-    @JsonCreator
-    public Coordinates(@JsonProperty("row") int row, @JsonProperty("column") int column) {
+    public Coordinates(int row, int column) {
         this.row = row;
         this.column = column;
-        id = row * MAX_COL + column;
+        id = toID(row, column);
+    }
+
+    /**
+     * Computes the unique ID of a position without creating a {@code Coordinates} object for it.
+     *
+     * @param row the row index of the position
+     * @param column the column index of the position
+     * @return the unique ID the coordinate of the provided position would have
+     */
+    public static int toID(int row, int column) {
+        return row * MAX_COL + column;
+    }
+
+    /**
+     * Returns the coordinate with the specified row and column.
+     * Inside the grid, the returned object is the shared canonical instance, and no new object is created.
+     *
+     * @param row the row index of the coordinate
+     * @param column the column index of the coordinate
+     * @return a {@code Coordinates} object with the provided row and column
+     */
+    @JsonCreator
+    public static Coordinates of(@JsonProperty("row") int row, @JsonProperty("column") int column) {
+        return isInGrid(row, column) ? GRID[toID(row, column)] : new Coordinates(row, column);
     }
 
     /**
-     * Creates a {@code Coordinates} instance from a unique ID.
+     * Returns the {@code Coordinates} instance of a unique ID.
      * The row and column are derived from the given ID based on the grid's structure.
+     * Inside the grid, the returned object is the shared canonical instance, and no new object is created.
      *
      * @param id the unique identifier representing a coordinate
      * @return a {@code Coordinates} object corresponding to the given ID
      */
     public static Coordinates fromID(int id) {
+        if (id >= 0 && id < GRID.length) {
+            return GRID[id];
+        }
         return new Coordinates(id / MAX_COL, id % MAX_COL);
     }
 
+    /**
+     * @return the amount of distinct IDs of the coordinates inside the grid:
+     * those are all and only the IDs in {@code [0, getIDsCount())}
+     */
+    public static int getIDsCount() {
+        return MAX_ROW * MAX_COL;
+    }
+
+    /**
+     * Checks if the provided position is inside the grid, so that its ID is unique.
+     *
+     * @param row the row index of the position
+     * @param column the column index of the position
+     * @return {@code true} if the position is inside the grid, {@code false} otherwise
+     */
+    public static boolean isInGrid(int row, int column) {
+        return row >= 0 && row < MAX_ROW && column >= 0 && column < MAX_COL;
+    }
+
+    /**
+     * @return {@code true} if this coordinate is inside the grid, so that its ID is unique, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isInGrid() {
+        return isInGrid(row, column);
+    }
+
     /**
      * Returns the unique identifier associated with this coordinate.
      *
@@ -128,20 +212,17 @@ public class Coordinates implements Serializable {
      * </ul>
      *
      * @param direction the direction in which to move
-     * @return a new {@code Coordinates} object representing the adjacent position
+     * @return a {@code Coordinates} object representing the adjacent position:
+     * the canonical one, without creating any object, if both this and it are inside the grid
      */
     public Coordinates getNext(Direction direction) {
-        int newRow = switch (direction) {
-            case SOUTH -> row + 1;
-            case NORTH -> row - 1;
-            default -> row;
-        };
-        int newColumn = switch (direction) {
-            case EAST -> column + 1;
-            case WEST -> column - 1;
-            default -> column;
-        };
-        return new Coordinates(newRow, newColumn);
+        if (isInGrid()) {
+            Coordinates next = NEIGHBORS[id][direction.getValue()];
+            if (next != null) {
+                return next;
+            }
+        }
+        return new Coordinates(row + direction.getRowOffset(), column + direction.getColumnOffset());
     }
 
     /**
@@ -177,10 +258,17 @@ public class Coordinates implements Serializable {
         return neighbors;
     }
 
+    /**
+     * @param neighbor the coordinates to look for
+     * @return the direction to move towards to reach {@code neighbor} in one step,
+     * or {@code null} if {@code neighbor} is not adjacent to this
+     */
     public Direction getNeighborDirection(Coordinates neighbor) {
         if (neighbor == null) return null;
+        int rowOffset = neighbor.row - row;
+        int columnOffset = neighbor.column - column;
         for (Direction direction : Direction.values()) {
-            if (getNext(direction).equals(neighbor)) return direction;
+            if (direction.getRowOffset() == rowOffset && direction.getColumnOffset() == columnOffset) return direction;
         }
         return null;
     }
@@ -212,7 +300,17 @@ public class Coordinates implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, column);
+        // same value as Objects.hash(row, column), without boxing
+        return 31 * (31 + row) + column;
+    }
+
+    /**
+     * Replaces the deserialized coordinates with the canonical instance, when inside the grid.
+     *
+     * @return the canonical instance of these coordinates, or this if outside the grid
+     */
+    private Object readResolve() {
+        return isInGrid() ? GRID[id] : this;
     }
 
 
@@ -228,7 +326,7 @@ public class Coordinates implements Serializable {
             }
             int row = Integer.parseInt(parts[0].trim());
             int column = Integer.parseInt(parts[1].trim());
-            return new Coordinates(row, column);
+            return Coordinates.of(row, column);
         }
     }
 }
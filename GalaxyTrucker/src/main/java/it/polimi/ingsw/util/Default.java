@@ -9,12 +9,18 @@ public class Default {
     public static final String RMI_SERVER_NAME = "GalaxyTruckerServer";
     public static final int RMI_PORT = 1111;
     public static final int SOCKET_PORT = 1234;
+    public static final int METRICS_PORT = 9464;  // 0 to disable the metrics endpoint
     public static int PORT(boolean useRMI) {
         return useRMI ? RMI_PORT : SOCKET_PORT;
     }
     public static final String SOCKET_HANDSHAKE_MESSAGE = "GalaxyTruckerSocketServer";
     public static final int SOCKET_HANDSHAKE_TIMEOUT_MS = 5000;
 
+    // logging
+    public static final String LOG_LEVEL = "info";
+    public static final long LOG_FILE_MAX_BYTES = 10 * 1024 * 1024;
+    public static final int LOG_FILE_MAX_OLD_FILES = 5;
+
     // client
     public static boolean USE_RMI = false;
     public static boolean USE_GUI = false;
@@ -37,4 +43,11 @@ public class Default {
 
     public static String STARTING_CARD = null;
 
+    // debug: cross-check the incrementally maintained shipboard aggregates against a full recomputation
+    public static boolean DEBUG_SHIPBOARD_AGGREGATES = false;
+
+    // persistence
+    public static boolean SAVE_FSYNC = true;
+    public static final int SAVE_SHUTDOWN_TIMEOUT_MS = 5000;  // max wait for the pending saves when exiting
+
 }
@@ -0,0 +1,108 @@
+package it.polimi.ingsw.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Disjoint-set (union-find) structure over non-negative integer IDs (e.g. {@link Coordinates#getID()}),
+ * with path compression and union by rank: both {@link #find(int)} and {@link #union(int, int)}
+ * run in nearly constant amortized time.
+ * <p>
+ * The set of IDs grows as needed; each ID starts in its own singleton set.
+ */
+public class DisjointSet implements Serializable {
+
+    private int[] parent;
+    private byte[] rank;
+
+    /**
+     * Creates a disjoint set able to hold without resizing the IDs in {@code [0, capacity)}.
+     * @param capacity the initial capacity
+     */
+    public DisjointSet(int capacity) {
+        parent = new int[Math.max(capacity, 1)];
+        rank = new byte[parent.length];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("IDs must be non-negative (provided: " + id + ")");
+        }
+        if (id < parent.length) return;
+        int oldLength = parent.length;
+        int newLength = Math.max(id + 1, oldLength * 2);
+        parent = Arrays.copyOf(parent, newLength);
+        rank = Arrays.copyOf(rank, newLength);
+        for (int i = oldLength; i < newLength; i++) {
+            parent[i] = i;
+        }
+    }
+
+    /**
+     * @param id the element to look for
+     * @return the representative of the set containing {@code id}
+     */
+    public int find(int id) {
+        ensureCapacity(id);
+        int root = id;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        // path compression
+        while (parent[id] != root) {
+            int next = parent[id];
+            parent[id] = root;
+            id = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets containing {@code a} and {@code b}.
+     * @param a an element
+     * @param b another element
+     * @return {@code true} if the two elements were in different sets, {@code false} otherwise
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return false;
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        return true;
+    }
+
+    /**
+     * @param a an element
+     * @param b another element
+     * @return {@code true} if the two elements are in the same set, {@code false} otherwise
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Puts each of the provided elements back in its own singleton set.
+     * <p>
+     * Only the whole sets can be safely reset: resetting just part of a set would leave
+     * the other elements pointing to the reset ones.
+     * @param ids all the elements of the sets to split
+     */
+    public void reset(Collection<Integer> ids) {
+        for (int id : ids) {
+            ensureCapacity(id);
+            parent[id] = id;
+            rank[id] = 0;
+        }
+    }
+}
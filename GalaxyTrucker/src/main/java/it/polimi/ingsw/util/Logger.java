@@ -1,47 +1,49 @@
 package it.polimi.ingsw.util;
 
-import static it.polimi.ingsw.view.cli.ANSI.*;
+import it.polimi.ingsw.util.logging.Log;
 
+/**
+ * Shortcuts to log on the application log ({@value #APPLICATION_LOG}), for the classes not having their own
+ * {@link Log}. Messages are written asynchronously: see {@link Log}.
+ */
 public class Logger {
 
 	public enum LoggerLevel {
-		INFO, WARN, ERROR
+		DEBUG, INFO, WARN, ERROR, OFF
 	}
 
-	// Default logger level
-	private static LoggerLevel currentLevel = LoggerLevel.INFO;
+	/** Name of the log used by these shortcuts. */
+	public static final String APPLICATION_LOG = "it.polimi.ingsw";
 
-	// Setter for logger level
+	private static final Log log = Log.get(APPLICATION_LOG);
+
+	// Setter for the root logger level: applies to every log without a more specific level
 	public static void setLevel(LoggerLevel level) {
-		currentLevel = level;
+		Log.setLevel("", level);
+	}
+
+	// Static method for DEBUG logs
+	public static void debug(String message) {
+		log.debug(message);
 	}
 
 	// Static method for INFO logs
 	public static void info(String message) {
-		if (currentLevel.ordinal() <= LoggerLevel.INFO.ordinal()) {
-			System.out.println(GREEN + "[INFO] " + message + RESET);
-		}
+		log.info(message);
 	}
 
 	// Static method for WARN logs
 	public static void warn(String message) {
-		if (currentLevel.ordinal() <= LoggerLevel.WARN.ordinal()) {
-			System.out.println(YELLOW + "[WARN] " + message + RESET);
-		}
+		log.warn(message);
 	}
 
 	// Static method for ERROR logs
 	public static void error(String message) {
-		if (currentLevel.ordinal() <= LoggerLevel.ERROR.ordinal()) {
-			System.out.println(RED + "[ERROR] " + message + RESET);
-		}
+		log.error(message);
 	}
 
 	// Static method for ERROR logs
 	public static void error(String message, Exception e) {
-		if (currentLevel.ordinal() <= LoggerLevel.ERROR.ordinal()) {
-			System.out.println(RED + "[ERROR] " + message + RESET);
-			e.printStackTrace();
-		}
+		log.error(message, e);
 	}
 }
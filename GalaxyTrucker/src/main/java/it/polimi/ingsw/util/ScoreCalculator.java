@@ -2,6 +2,7 @@ package it.polimi.ingsw.util;
 
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.shipboard.LoadableType;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
 import it.polimi.ingsw.model.shipboard.tiles.CargoHoldTile;
 import it.polimi.ingsw.model.shipboard.visitors.CalculatorCargoInfo;
 
@@ -15,31 +16,40 @@ public class ScoreCalculator implements Serializable {
     private static final int RED_GOODS_MULTIPLIER = 4;
 
     /**
-     * Counts all the goods and adds up the value
-     * then adds credits to the score
-     * then subtracts a point for each lost tile
-     * @param p player of which we are calculating the score
-     * @return the player's score
+     * Counts all the goods loaded on a ship and adds up their value.
+     * @param shipBoard the ship of which we are calculating the goods value
+     * @return the value of the goods on the ship, as if the flight was completed
      */
-    public static float calculateScore(Player p){
-        float score = 0;
+    public static float calculateGoodsValue(ShipBoard shipBoard){
+        float value = 0;
         int goodsCount;
-        CalculatorCargoInfo<CargoHoldTile> goodsInfo;
-
-        //Add the goods to the score
-        goodsInfo = p.getShipBoard().getVisitorCalculateCargoInfo().getGoodsInfo();
+        CalculatorCargoInfo<CargoHoldTile> goodsInfo = shipBoard.getVisitorCalculateCargoInfo().getGoodsInfo();
 
         goodsCount = goodsInfo.count(LoadableType.BLUE_GOODS);
-        score += goodsCount * BLUE_GOODS_MULTIPLIER;
+        value += goodsCount * BLUE_GOODS_MULTIPLIER;
 
         goodsCount = goodsInfo.count(LoadableType.GREEN_GOODS);
-        score += goodsCount * GREEN_GOODS_MULTIPLIER;
+        value += goodsCount * GREEN_GOODS_MULTIPLIER;
 
         goodsCount = goodsInfo.count(LoadableType.YELLOW_GOODS);
-        score += goodsCount * YELLOW_GOODS_MULTIPLIER;
+        value += goodsCount * YELLOW_GOODS_MULTIPLIER;
 
         goodsCount = goodsInfo.count(LoadableType.RED_GOODS);
-        score += goodsCount * RED_GOODS_MULTIPLIER;
+        value += goodsCount * RED_GOODS_MULTIPLIER;
+
+        return value;
+    }
+
+    /**
+     * Counts all the goods and adds up the value
+     * then adds credits to the score
+     * then subtracts a point for each lost tile
+     * @param p player of which we are calculating the score
+     * @return the player's score
+     */
+    public static float calculateScore(Player p){
+        //Add the goods to the score
+        float score = calculateGoodsValue(p.getShipBoard());
 
         //Each good is worth half if the player is out of the race
         if(p.isEndedFlight()){
@@ -0,0 +1,24 @@
+package it.polimi.ingsw.util.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The fan-out of an update to the clients: of all the players of a game, or of all the connected clients
+ * (then without game).
+ */
+@Name(BroadcastEvent.NAME)
+@Label("Broadcast")
+@Description("An update sent to a group of clients")
+public class BroadcastEvent extends GameEvent {
+
+    public static final String NAME = "it.polimi.ingsw.Broadcast";
+
+    @Label("Recipients")
+    public int recipients;
+
+    @Label("Failed")
+    @Description("Recipients that could not be updated")
+    public int failed;
+}
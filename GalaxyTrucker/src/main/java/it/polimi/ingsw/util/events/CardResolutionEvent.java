@@ -0,0 +1,25 @@
+package it.polimi.ingsw.util.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The resolution of an adventure card, from when it is drawn to when its effect has been applied to all the players.
+ */
+@Name(CardResolutionEvent.NAME)
+@Label("Card Resolution")
+@Description("An adventure card, from its draw to the end of its effect")
+public class CardResolutionEvent extends GameEvent {
+
+    public static final String NAME = "it.polimi.ingsw.CardResolution";
+
+    @Label("Card")
+    public String card;
+
+    @Label("Level")
+    public String level;
+
+    @Label("Players In Flight")
+    public int playersInFlight;
+}
@@ -0,0 +1,30 @@
+package it.polimi.ingsw.util.events;
+
+import jdk.jfr.*;
+
+/**
+ * Base of the Java Flight Recorder events of the server, all related to a game.
+ * <p>
+ * Events are only written while a recording is running, e.g. started with
+ * {@code -XX:StartFlightRecording=filename=server.jfr} or {@code jcmd <pid> JFR.start}: otherwise creating and
+ * committing them is almost free. Setting their fields may not be, so they are set only if the event
+ * {@link #shouldCommit()}:
+ * <pre>{@code
+ * PIREvent event = new PIREvent();
+ * event.begin();
+ * ...
+ * event.end();
+ * if (event.shouldCommit()) {
+ *     event.gameId = gameId.toString();
+ *     event.commit();
+ * }
+ * }</pre>
+ */
+@Category("Galaxy Trucker")
+@StackTrace(false)
+public abstract class GameEvent extends Event {
+
+    @Label("Game")
+    @Description("Id of the game, if the event is related to a single game")
+    public String gameId;
+}
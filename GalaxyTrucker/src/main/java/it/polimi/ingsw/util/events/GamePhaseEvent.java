@@ -0,0 +1,23 @@
+package it.polimi.ingsw.util.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A phase of a game: lobby, assemble, flight or endgame.
+ */
+@Name(GamePhaseEvent.NAME)
+@Label("Game Phase")
+@Description("A phase of a game, from its start to its end")
+public class GamePhaseEvent extends GameEvent {
+
+    public static final String NAME = "it.polimi.ingsw.GamePhase";
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Completed")
+    @Description("False if the game has been stopped during the phase")
+    public boolean completed;
+}
@@ -0,0 +1,38 @@
+package it.polimi.ingsw.util.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A player input request, from its creation to its completion.
+ */
+@Name(PIREvent.NAME)
+@Label("Player Input Request")
+@Description("A request of input to a player, from its creation to its completion")
+public class PIREvent extends GameEvent {
+
+    public static final String NAME = "it.polimi.ingsw.PIR";
+
+    /** The player answered before the cooldown. */
+    public static final String ANSWERED = "answered";
+    /** The cooldown ended: the default choice has been applied. */
+    public static final String TIMEOUT = "timeout";
+    /** The request has not been run, since the player had another request running. */
+    public static final String REJECTED = "rejected";
+
+    @Label("Player")
+    public String player;
+
+    @Label("Type")
+    public String pirType;
+
+    @Label("Cooldown")
+    @Timespan(Timespan.SECONDS)
+    public long cooldown;
+
+    @Label("Outcome")
+    @Description("One of: " + ANSWERED + ", " + TIMEOUT + ", " + REJECTED)
+    public String outcome;
+}
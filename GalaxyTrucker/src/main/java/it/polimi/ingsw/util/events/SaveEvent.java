@@ -0,0 +1,28 @@
+package it.polimi.ingsw.util.events;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A step of the save of a game: the capture of its snapshot (on the game thread) or its write on disk.
+ */
+@Name(SaveEvent.NAME)
+@Label("Save")
+@Description("The capture or the write of the snapshot of a game")
+public class SaveEvent extends GameEvent {
+
+    public static final String NAME = "it.polimi.ingsw.Save";
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String WRITE = "write";
+
+    @Label("Stage")
+    @Description("One of: " + SNAPSHOT + ", " + WRITE)
+    public String stage;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+}
@@ -0,0 +1,53 @@
+package it.polimi.ingsw.util.logging;
+
+import java.io.PrintStream;
+
+import static it.polimi.ingsw.view.cli.ANSI.*;
+
+/**
+ * Writes the messages on the standard output, colored by level, as {@code [LEVEL] {tags} message}.
+ * Unless a stream is given, the standard output is the one set when each message is written.
+ */
+public class ConsoleLogSink implements LogSink {
+
+    private final PrintStream out;
+
+    public ConsoleLogSink() {
+        this(null);
+    }
+
+    /**
+     * @param out the stream to write on
+     */
+    public ConsoleLogSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(LogRecord record) {
+        String color = switch (record.level()) {
+            case DEBUG -> CYAN;
+            case INFO -> GREEN;
+            case WARN -> YELLOW;
+            default -> RED;
+        };
+        StringBuilder line = new StringBuilder(color).append('[').append(record.level()).append("] ");
+        if (!record.tags().isEmpty()) {
+            line.append('{').append(record.tags()).append("} ");
+        }
+        PrintStream out = getOut();
+        out.println(line.append(record.message()).append(RESET));
+        if (record.throwable() != null) {
+            record.throwable().printStackTrace(out);
+        }
+    }
+
+    @Override
+    public void flush() {
+        getOut().flush();
+    }
+
+    private PrintStream getOut() {
+        return (out == null) ? System.out : out;
+    }
+}
@@ -0,0 +1,192 @@
+package it.polimi.ingsw.util.logging;
+
+import it.polimi.ingsw.util.Logger.LoggerLevel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A named log, usually one for each class ({@code private static final Log LOG = Log.get(MyClass.class)}).
+ * <p>
+ * Messages are written asynchronously (see {@link LogDispatcher}): logging only captures the message with its
+ * context and hands it over to the writer thread. A message below the level of the log costs a single comparison;
+ * when building the message is expensive, guard it with {@link #isEnabled(LoggerLevel)} or pass a supplier.
+ * <p>
+ * The level of a log is the one set for its most specific package (see {@link #setLevel(String, LoggerLevel)}),
+ * or the root level. Each message also carries the context tags of the thread logging it,
+ * like the game or the player it is about (see {@link #tag(String, Object)}).
+ */
+public final class Log {
+
+    /**
+     * A context of tags, to close to restore the previous one.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final ThreadLocal<String> tags = ThreadLocal.withInitial(() -> "");
+
+    private final LogDispatcher dispatcher;
+    private final String name;
+    private volatile int threshold;
+
+    Log(LogDispatcher dispatcher, String name, LoggerLevel level) {
+        this.dispatcher = dispatcher;
+        this.name = name;
+        applyLevel(level);
+    }
+
+    /**
+     * @param type the class logging
+     * @return the log named after the class
+     */
+    public static Log get(Class<?> type) {
+        return get(type.getName());
+    }
+
+    /**
+     * @param name the name of the log
+     * @return the log with the given name
+     */
+    public static Log get(String name) {
+        return LogDispatcher.getInstance().getLog(name);
+    }
+
+    /**
+     * Sets the level of all the logs in a package (or of a single class), unless a more specific level is set.
+     * @param name the name of the package or class, or an empty string for the root level
+     * @param level the lowest level to write, or {@code null} to use again the level of the enclosing package
+     */
+    public static void setLevel(String name, LoggerLevel level) {
+        LogDispatcher.getInstance().setLevel(name, level);
+    }
+
+    /**
+     * Sets the levels from a specification like {@code info,it.polimi.ingsw.network=debug}.
+     * @param specification the levels to set
+     * @throws IllegalArgumentException if a level is not recognized
+     * @see #parseLevels(String)
+     */
+    public static void configure(String specification) {
+        parseLevels(specification).forEach(Log::setLevel);
+    }
+
+    /**
+     * Parses a specification of levels: a comma separated list of levels,
+     * each for the package before {@code =} or for the root if there is none.
+     * @param specification the levels, like {@code info,it.polimi.ingsw.network=debug}
+     * @return the levels by package name, the root level being at the empty name
+     * @throws IllegalArgumentException if a level is not recognized
+     */
+    public static Map<String, LoggerLevel> parseLevels(String specification) {
+        Map<String, LoggerLevel> levels = new LinkedHashMap<>();
+        for (String entry : specification.split(",")) {
+            if (entry.isBlank()) continue;
+            int equal = entry.indexOf('=');
+            String name = (equal < 0) ? "" : entry.substring(0, equal).trim();
+            String level = entry.substring(equal + 1).trim().toUpperCase();
+            levels.put(name, LoggerLevel.valueOf(level));
+        }
+        return levels;
+    }
+
+    /**
+     * Writes the messages also in a file, rotated when it gets bigger than {@code maxBytes}.
+     * @see RotatingFileLogSink
+     * @throws IOException if the file can not be opened
+     */
+    public static void addFileOutput(File file, long maxBytes, int maxOldFiles) throws IOException {
+        addOutput(new RotatingFileLogSink(file, maxBytes, maxOldFiles));
+    }
+
+    /**
+     * @param sink a new destination for the messages, besides the standard output
+     */
+    public static void addOutput(LogSink sink) {
+        LogDispatcher.getInstance().addSink(sink);
+    }
+
+    /**
+     * @param sink a destination previously added with {@link #addOutput(LogSink)}, not to write on anymore
+     */
+    public static void removeOutput(LogSink sink) {
+        LogDispatcher.getInstance().removeSink(sink);
+    }
+
+    /**
+     * Waits (up to one second) for the messages logged so far to be written.
+     */
+    public static void flush() {
+        LogDispatcher.getInstance().flush(1000);
+    }
+
+    /**
+     * Adds a tag to the messages logged by this thread, until the returned scope is closed:
+     * {@code try (Log.Scope _ = Log.tag("game", gameId)) { ... }}.
+     * @param key the name of the tag
+     * @param value the value of the tag
+     * @return the scope of the tag
+     */
+    public static Scope tag(String key, Object value) {
+        String previous = tags.get();
+        tags.set((previous.isEmpty() ? "" : previous + " ") + key + "=" + value);
+        return () -> tags.set(previous);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void applyLevel(LoggerLevel level) {
+        threshold = level.ordinal();
+    }
+
+    /**
+     * @param level the level of a message
+     * @return {@code true} if a message of that level would be written
+     */
+    public boolean isEnabled(LoggerLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    private void log(LoggerLevel level, String message, Throwable throwable) {
+        dispatcher.publish(new LogRecord(System.currentTimeMillis(), level, name,
+                Thread.currentThread().getName(), tags.get(), message, throwable));
+    }
+
+    public void debug(String message) {
+        if (LoggerLevel.DEBUG.ordinal() >= threshold) log(LoggerLevel.DEBUG, message, null);
+    }
+
+    /**
+     * @param message provides the message, only if it has to be written
+     */
+    public void debug(Supplier<String> message) {
+        if (LoggerLevel.DEBUG.ordinal() >= threshold) log(LoggerLevel.DEBUG, message.get(), null);
+    }
+
+    public void info(String message) {
+        if (LoggerLevel.INFO.ordinal() >= threshold) log(LoggerLevel.INFO, message, null);
+    }
+
+    public void warn(String message) {
+        if (LoggerLevel.WARN.ordinal() >= threshold) log(LoggerLevel.WARN, message, null);
+    }
+
+    public void error(String message) {
+        if (LoggerLevel.ERROR.ordinal() >= threshold) log(LoggerLevel.ERROR, message, null);
+    }
+
+    /**
+     * @param message the message
+     * @param throwable the exception to report with its stack trace
+     */
+    public void error(String message, Throwable throwable) {
+        if (LoggerLevel.ERROR.ordinal() >= threshold) log(LoggerLevel.ERROR, message, throwable);
+    }
+}
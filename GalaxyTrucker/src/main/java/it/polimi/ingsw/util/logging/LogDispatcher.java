@@ -0,0 +1,192 @@
+package it.polimi.ingsw.util.logging;
+
+import it.polimi.ingsw.util.Logger.LoggerLevel;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the messages of all the {@link Log}s in a bounded ring buffer, from which a single writer thread
+ * takes them in batches and writes them to the {@link LogSink}s: logging threads never wait for I/O
+ * nor contend on an output stream. If the buffer is full the message is dropped and counted,
+ * and a warning with the number of dropped messages is written as soon as there is room again.
+ * <p>
+ * The writer also limits repeated messages: after {@value #MAX_REPEATS_PER_SECOND} equal messages of the same
+ * log in the same second, the others are only counted and reported once the second is over.
+ */
+class LogDispatcher {
+
+    /** Number of messages the buffer can hold waiting to be written. */
+    static final int CAPACITY = 8192;
+    /** Number of equal messages written each second before the others are suppressed. */
+    static final int MAX_REPEATS_PER_SECOND = 20;
+
+    private static final int BATCH_SIZE = 256;
+
+    private static LogDispatcher instance;
+
+    private final BlockingQueue<LogRecord> buffer = new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long written = 0;
+
+    private final List<LogSink> sinks = new CopyOnWriteArrayList<>(List.of(new ConsoleLogSink()));
+    private final Map<String, Log> logs = new ConcurrentHashMap<>();
+    // the levels by package (or class) name, the root level being at the empty name
+    private final Map<String, LoggerLevel> levels = new ConcurrentHashMap<>(Map.of("", LoggerLevel.INFO));
+
+    // used by the writer thread only
+    private final Map<String, int[]> repeats = new HashMap<>();
+    private long repeatsSecond = 0;
+
+    private LogDispatcher() {
+        Thread writer = new Thread(this::writeLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(1000)));
+    }
+
+    static synchronized LogDispatcher getInstance() {
+        if (instance == null) {
+            instance = new LogDispatcher();
+        }
+        return instance;
+    }
+
+    Log getLog(String name) {
+        return logs.computeIfAbsent(name, n -> new Log(this, n, getLevel(n)));
+    }
+
+    /**
+     * @param name the name of a log
+     * @return the level of the most specific package (or class) containing the log
+     */
+    LoggerLevel getLevel(String name) {
+        String prefix = name;
+        while (true) {
+            LoggerLevel level = levels.get(prefix);
+            if (level != null) return level;
+            int lastDot = prefix.lastIndexOf('.');
+            prefix = (lastDot < 0) ? "" : prefix.substring(0, lastDot);
+        }
+    }
+
+    synchronized void setLevel(String name, LoggerLevel level) {
+        if (level == null && !name.isEmpty()) {
+            levels.remove(name);
+        } else {
+            levels.put(name, Objects.requireNonNull(level));
+        }
+        logs.values().forEach(log -> log.applyLevel(getLevel(log.getName())));
+    }
+
+    void addSink(LogSink sink) {
+        sinks.add(sink);
+    }
+
+    void removeSink(LogSink sink) {
+        sinks.remove(sink);
+    }
+
+    void publish(LogRecord record) {
+        if (buffer.offer(record)) {
+            published.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for the messages logged so far to be written.
+     * @param timeoutMillis the maximum time to wait
+     */
+    void flush(long timeoutMillis) {
+        long target = published.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written < target && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            LogRecord first;
+            try {
+                first = buffer.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                // nothing logged for a while: report what has been suppressed until now
+                if (!repeats.isEmpty() && System.currentTimeMillis() / 1000 != repeatsSecond) {
+                    reportSuppressed();
+                    sinks.forEach(LogSink::flush);
+                }
+                continue;
+            }
+            batch.add(first);
+            buffer.drainTo(batch, BATCH_SIZE - 1);
+
+            long droppedNow = dropped.getAndSet(0);
+            if (droppedNow > 0) {
+                write(new LogRecord(System.currentTimeMillis(), LoggerLevel.WARN, LogDispatcher.class.getName(),
+                        Thread.currentThread().getName(), "", droppedNow + " log messages dropped: buffer full", null));
+            }
+            for (LogRecord record : batch) {
+                if (!isRepeatedTooMuch(record)) {
+                    write(record);
+                }
+            }
+            sinks.forEach(LogSink::flush);
+            written += batch.size();
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return {@code true} if the message has to be suppressed, since logged too many times this second
+     */
+    private boolean isRepeatedTooMuch(LogRecord record) {
+        long second = record.timeMillis() / 1000;
+        if (second != repeatsSecond) {
+            reportSuppressed();
+            repeatsSecond = second;
+        }
+        int[] count = repeats.computeIfAbsent(record.loggerName() + '\n' + record.message(), _ -> new int[1]);
+        return ++count[0] > MAX_REPEATS_PER_SECOND;
+    }
+
+    private void reportSuppressed() {
+        repeats.forEach((key, count) -> {
+            if (count[0] > MAX_REPEATS_PER_SECOND) {
+                int separator = key.indexOf('\n');
+                write(new LogRecord(repeatsSecond * 1000 + 999, LoggerLevel.WARN, key.substring(0, separator),
+                        Thread.currentThread().getName(), "", "Suppressed " + (count[0] - MAX_REPEATS_PER_SECOND)
+                        + " repetitions of: " + key.substring(separator + 1), null));
+            }
+        });
+        repeats.clear();
+    }
+
+    private void write(LogRecord record) {
+        for (LogSink sink : sinks) {
+            try {
+                sink.write(record);
+            } catch (RuntimeException e) {
+                // a broken sink must not stop the others
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package it.polimi.ingsw.util.logging;
+
+import it.polimi.ingsw.util.Logger.LoggerLevel;
+
+/**
+ * A message logged, captured with everything needed to write it later on the writer thread.
+ *
+ * @param timeMillis when the message has been logged, as returned by {@link System#currentTimeMillis()}
+ * @param level the level of the message
+ * @param loggerName the name of the {@link Log} the message has been logged with
+ * @param threadName the name of the thread that logged the message
+ * @param tags the context tags of that thread (see {@link Log#tag(String, Object)}), or an empty string
+ * @param message the message
+ * @param throwable the exception to report with the message, or {@code null}
+ */
+public record LogRecord(long timeMillis, LoggerLevel level, String loggerName, String threadName, String tags,
+                        String message, Throwable throwable) { }
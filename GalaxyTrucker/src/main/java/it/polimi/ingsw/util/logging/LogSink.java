@@ -0,0 +1,19 @@
+package it.polimi.ingsw.util.logging;
+
+/**
+ * Destination of the logged messages. Its methods are only called by the writer thread of the logs,
+ * so a sink does not need to be thread safe.
+ */
+public interface LogSink {
+
+    /**
+     * Writes a message, possibly buffering it.
+     * @param record the message
+     */
+    void write(LogRecord record);
+
+    /**
+     * Writes out the buffered messages, if any: called after each batch of messages.
+     */
+    default void flush() { }
+}
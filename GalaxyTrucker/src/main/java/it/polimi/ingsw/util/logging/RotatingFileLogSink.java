@@ -0,0 +1,98 @@
+package it.polimi.ingsw.util.logging;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes the messages in a file, one per line with time, level, thread, logger and tags.
+ * When the file grows over its maximum size it is renamed {@code <file>.1}, the previous {@code <file>.1}
+ * becomes {@code <file>.2} and so on, keeping a bounded number of old files.
+ */
+public class RotatingFileLogSink implements LogSink {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final File file;
+    private final long maxBytes;
+    private final int maxOldFiles;
+    private Writer writer;
+    private long size;
+
+    /**
+     * @param file the file to write, created with its directory if missing, otherwise appended to
+     * @param maxBytes the size over which the file is rotated
+     * @param maxOldFiles the number of rotated files to keep
+     * @throws IOException if the file can not be opened
+     */
+    public RotatingFileLogSink(File file, long maxBytes, int maxOldFiles) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxOldFiles = maxOldFiles;
+        open();
+    }
+
+    private void open() throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        size = file.length();
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+        new File(file.getPath() + "." + maxOldFiles).delete();
+        for (int i = maxOldFiles - 1; i >= 1; i--) {
+            File old = new File(file.getPath() + "." + i);
+            if (old.exists()) {
+                old.renameTo(new File(file.getPath() + "." + (i + 1)));
+            }
+        }
+        if (maxOldFiles > 0) {
+            file.renameTo(new File(file.getPath() + ".1"));
+        } else {
+            file.delete();
+        }
+        open();
+    }
+
+    @Override
+    public void write(LogRecord record) {
+        StringBuilder line = new StringBuilder(TIME_FORMAT.format(Instant.ofEpochMilli(record.timeMillis())))
+                .append(' ').append(String.format("%-5s", record.level()))
+                .append(" [").append(record.threadName()).append("] ").append(record.loggerName());
+        if (!record.tags().isEmpty()) {
+            line.append(" {").append(record.tags()).append('}');
+        }
+        line.append(" - ").append(record.message()).append(System.lineSeparator());
+        if (record.throwable() != null) {
+            StringWriter stackTrace = new StringWriter();
+            record.throwable().printStackTrace(new PrintWriter(stackTrace));
+            line.append(stackTrace);
+        }
+
+        try {
+            if (size > 0 && size + line.length() > maxBytes) {
+                rotate();
+            }
+            writer.write(line.toString());
+            size += line.length();
+        } catch (IOException e) {
+            System.err.println("Unable to write the log file " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Unable to write the log file " + file + ": " + e.getMessage());
+        }
+    }
+}
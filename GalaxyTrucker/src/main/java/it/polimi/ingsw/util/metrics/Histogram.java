@@ -0,0 +1,123 @@
+package it.polimi.ingsw.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values, with buckets of logarithmic size like an HDR histogram:
+ * every power of two is split in {@value #SUB_BUCKETS} buckets, so any percentile is reported with
+ * an error below about three percent, whatever the magnitude of the values, in a fixed amount of memory.
+ * <p>
+ * Recording a value costs a few atomic increments and never allocates: it can be done on any hot path.
+ */
+public class Histogram {
+
+    /**
+     * Content of a histogram at a given moment.
+     *
+     * @param count the number of values recorded
+     * @param sum the sum of the values recorded
+     * @param max the highest value recorded, or {@code 0} if none
+     * @param counts the number of values recorded in each bucket
+     */
+    public record Snapshot(long count, long sum, long max, long[] counts) {
+
+        /**
+         * @return the average of the values recorded, or {@code 0} if none
+         */
+        public double mean() {
+            return (count == 0) ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param quantile the quantile to find, between {@code 0} and {@code 1}
+         * @return the highest value equivalent to the requested quantile (never above {@link #max()}),
+         * or {@code 0} if no value has been recorded
+         */
+        public long quantile(double quantile) {
+            long total = 0;
+            for (long bucketCount : counts) total += bucketCount;
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestEquivalentValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+
+    private static final int SUB_BUCKETS_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKETS_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKETS_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value a non-negative value
+     * @return the index of the bucket of {@code value}
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKETS_BITS;
+        return ((shift + 1) << SUB_BUCKETS_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * @param bucket the index of a bucket
+     * @return the highest value that falls in the bucket
+     */
+    static long highestEquivalentValue(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket >>> SUB_BUCKETS_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Records a value. Negative values are recorded as {@code 0}.
+     * @param value the value to record
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Records the time elapsed from {@code startNanos}.
+     * @param startNanos a value previously returned by {@link System#nanoTime()}
+     */
+    public void recordNanosSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the number of values recorded so far
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return a copy of the content of this histogram. Values recorded while copying may be partially included.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(count.sum(), sum.sum(), max.get(), copy);
+    }
+}
@@ -0,0 +1,163 @@
+package it.polimi.ingsw.util.metrics;
+
+import it.polimi.ingsw.util.Logger;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of the metrics of the process: counters, gauges and histograms identified by a dotted name
+ * (e.g. {@code server.command.drawTile}), created the first time they are requested.
+ * <p>
+ * The metrics can be read through JMX (see {@link #registerMBean()}), or as text in the Prometheus format
+ * (see {@link #render()}), which is what the {@link MetricsEndpoint} serves.
+ */
+public class Metrics {
+
+    /** Name of the MBean exposing the metrics through JMX. */
+    public static final String MBEAN_NAME = "it.polimi.ingsw:type=Metrics";
+
+    /** Quantiles reported for every histogram. */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    /**
+     * A histogram together with the unit of its values, once scaled.
+     */
+    private record ScaledHistogram(Histogram histogram, String unit, double scale) { }
+
+    private static Metrics instance;
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, ScaledHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty registry, apart from the one of the process returned by {@link #getInstance()}.
+     */
+    Metrics() { }
+
+    public static synchronized Metrics getInstance() {
+        if (instance == null) {
+            instance = new Metrics();
+        }
+        return instance;
+    }
+
+    /**
+     * @param name the name of the counter
+     * @return the counter with the given name
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, _ -> new LongAdder());
+    }
+
+    /**
+     * Registers a gauge, replacing the one with the same name if any.
+     * @param name the name of the gauge
+     * @param supplier provides the current value of the gauge each time the metrics are read
+     */
+    public void gauge(String name, DoubleSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * @param name the name of the timer
+     * @return the histogram with the given name, recording durations in nanoseconds and reporting them in seconds
+     */
+    public Histogram timer(String name) {
+        return histograms.computeIfAbsent(name, _ -> new ScaledHistogram(new Histogram(), "seconds", 1e-9))
+                .histogram();
+    }
+
+    /**
+     * @param name the name of the histogram
+     * @param unit the unit of the recorded values (e.g. {@code bytes}), or an empty string if they have none
+     * @return the histogram with the given name
+     */
+    public Histogram histogram(String name, String unit) {
+        return histograms.computeIfAbsent(name, _ -> new ScaledHistogram(new Histogram(), unit, 1)).histogram();
+    }
+
+    /**
+     * @param name the name of a metric
+     * @param unit the unit of the metric, or an empty string
+     * @return the name in the format accepted by Prometheus
+     */
+    private static String exportedName(String name, String unit) {
+        String exported = name.replaceAll("[^a-zA-Z0-9_]", "_");
+        return unit.isEmpty() ? exported : exported + "_" + unit;
+    }
+
+    /**
+     * @return the current value of every metric, by name and in alphabetical order.
+     * Each histogram contributes with its count, mean, quantiles and max (e.g. {@code name.p99}).
+     */
+    public Map<String, Number> getValues() {
+        Map<String, Number> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsDouble()));
+        histograms.forEach((name, scaled) -> {
+            Histogram.Snapshot snapshot = scaled.histogram().snapshot();
+            values.put(name + ".count", snapshot.count());
+            values.put(name + ".mean", snapshot.mean() * scaled.scale());
+            for (double quantile : QUANTILES) {
+                values.put(name + ".p" + Math.round(quantile * 100), snapshot.quantile(quantile) * scaled.scale());
+            }
+            values.put(name + ".max", snapshot.max() * scaled.scale());
+        });
+        return values;
+    }
+
+    /**
+     * @return all the metrics in the Prometheus text format: counters, gauges,
+     * and histograms as summaries with their quantiles
+     */
+    public String render() {
+        StringBuilder text = new StringBuilder();
+        new TreeMap<>(counters).forEach((name, counter) -> {
+            String exported = exportedName(name, "total");
+            text.append("# TYPE ").append(exported).append(" counter\n")
+                    .append(exported).append(' ').append(counter.sum()).append('\n');
+        });
+        new TreeMap<>(gauges).forEach((name, gauge) -> {
+            String exported = exportedName(name, "");
+            text.append("# TYPE ").append(exported).append(" gauge\n")
+                    .append(exported).append(' ').append(gauge.getAsDouble()).append('\n');
+        });
+        new TreeMap<>(histograms).forEach((name, scaled) -> {
+            String exported = exportedName(name, scaled.unit());
+            Histogram.Snapshot snapshot = scaled.histogram().snapshot();
+            text.append("# TYPE ").append(exported).append(" summary\n");
+            for (double quantile : QUANTILES) {
+                text.append(exported).append("{quantile=\"").append(quantile).append("\"} ")
+                        .append(snapshot.quantile(quantile) * scaled.scale()).append('\n');
+            }
+            text.append(exported).append("_sum ").append(snapshot.sum() * scaled.scale()).append('\n')
+                    .append(exported).append("_count ").append(snapshot.count()).append('\n')
+                    .append("# TYPE ").append(exported).append("_max gauge\n")
+                    .append(exported).append("_max ").append(snapshot.max() * scaled.scale()).append('\n');
+        });
+        return text.toString();
+    }
+
+    /**
+     * Exposes the metrics through JMX on the platform MBean server, as {@value #MBEAN_NAME}.
+     * Nothing happens if they are already exposed.
+     */
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(this), new ObjectName(MBEAN_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // already exposed
+        } catch (JMException e) {
+            Logger.warn("Unable to expose the metrics through JMX: " + e.getMessage());
+        }
+    }
+}
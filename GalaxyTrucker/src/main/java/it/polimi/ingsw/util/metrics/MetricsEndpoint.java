@@ -0,0 +1,71 @@
+package it.polimi.ingsw.util.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the {@link Metrics} as text, in the Prometheus format, at {@code http://localhost:<port>/metrics}.
+ * It only listens on the loopback interface: the metrics are not reachable from other hosts.
+ */
+public class MetricsEndpoint {
+
+    /** Path at which the metrics are served. */
+    public static final String PATH = "/metrics";
+
+    private final HttpServer server;
+    private final Metrics metrics;
+
+    /**
+     * Binds the endpoint, without starting it.
+     * @param port the port to listen on, or {@code 0} for any free port
+     * @param metrics the metrics to serve
+     * @throws IOException if the port can not be bound
+     */
+    public MetricsEndpoint(int port, Metrics metrics) throws IOException {
+        this.metrics = metrics;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, this::handle);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = metrics.render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    /**
+     * Starts serving the metrics, on a thread of the endpoint.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops serving the metrics.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * @return the port the endpoint listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+}
@@ -3,6 +3,9 @@ package it.polimi.ingsw.view;
 import it.polimi.ingsw.controller.commandsProcessors.ICommandsProcessor;
 import it.polimi.ingsw.controller.commandsProcessors.ViewCommandsProcessor;
 import it.polimi.ingsw.controller.states.CommonState;
+import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.simulation.SurvivalEstimator;
 import it.polimi.ingsw.network.GameClient;
 import it.polimi.ingsw.network.messages.ClientUpdate;
 
@@ -245,6 +248,28 @@ public abstract class View implements IView {
         showInfo("The current game state was saved to update.json");
     }
 
+    /**
+     * Estimates, locally, how likely the ship of this player is to survive a flight of the current game level,
+     * and the credits it would earn, then shows the result.
+     * <p>
+     * The ship can still be under construction: the estimate considers it as it is now.
+     */
+    public void onSurvival() {
+        ClientUpdate lastUpdate = CommonState.getLastUpdate();
+        GameData gameData = (lastUpdate == null) ? null : lastUpdate.getCurrentGame();
+        Player player = (lastUpdate == null) ? null : lastUpdate.getClientPlayer();
+        if (gameData == null || player == null || player.getShipBoard() == null) {
+            showWarning("You have no ship to estimate yet.");
+            return;
+        }
+        SurvivalEstimator.Estimate estimate = new SurvivalEstimator(gameData.getLevel())
+                .estimate(player.getShipBoard());
+        showInfo("Survival", String.format(
+                "Your ship completes %.0f%% of %d simulated flights, earning on average %.1f credits (%.1f tiles lost).",
+                estimate.survivalProbability() * 100, estimate.samples(),
+                estimate.expectedCredits(), estimate.expectedLostTiles()));
+    }
+
     /**
      * Sends a cheat command to the server (if enabled and permitted).
      *
@@ -0,0 +1,451 @@
+package it.polimi.ingsw.view.bot;
+
+import it.polimi.ingsw.controller.commandsProcessors.ICommandsProcessor;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.GamePhaseType;
+import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.playerInput.PIRs.PIR;
+import it.polimi.ingsw.model.playerInput.PIRs.PIRMultipleChoice;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.simulation.AssemblyAdvisor;
+import it.polimi.ingsw.network.IClient;
+import it.polimi.ingsw.network.IServer;
+import it.polimi.ingsw.network.messages.ClientUpdate;
+import it.polimi.ingsw.network.rmi.RmiClient;
+import it.polimi.ingsw.util.Logger;
+import it.polimi.ingsw.view.View;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * A headless view which plays on its own, used to put load on a server.
+ * <p>
+ * Nothing is rendered: each update is only recorded in the shared {@link LoadStats} and then
+ * {@link #run()} reacts to the most recent one with simple policies:
+ * <ul>
+ *     <li>in the menu it creates a new game, or joins the one it has been given;</li>
+ *     <li>in the lobby the game leader sets the level and the number of players;</li>
+ *     <li>in assembly it places a few tiles where the {@link AssemblyAdvisor} suggests, picking an uncovered tile
+ *     when it improves the ship or else drawing a covered one, then fills the rest of the ship with
+ *     the {@code randomship} cheat and finishes assembling;</li>
+ *     <li>it answers any player input request with a random choice, or by ending the turn
+ *     (the server then applies its default action);</li>
+ *     <li>when the game ends it quits.</li>
+ * </ul>
+ * After each command the bot waits for the update showing its effect (or an error) before acting again:
+ * the time in between is recorded as the latency of the command.
+ * <p>
+ * The server is never called while holding the lock of the view: with RMI the server calls back
+ * {@link #onUpdate(ClientUpdate)} before the command returns.
+ */
+public class BotView extends View {
+
+    /**
+     * A command sent to the server.
+     */
+    @FunctionalInterface
+    private interface ServerCommand {
+        void send(IServer server, IClient client) throws RemoteException;
+    }
+
+    /** Time to wait for a new update before evaluating again the last one. */
+    private static final long RETRY_MS = 1000;
+    /** Time after which a command without answer is considered lost. */
+    private static final long COMMAND_TIMEOUT_NS = TimeUnit.SECONDS.toNanos(15);
+    /** Attempts to place each drawn tile before discarding it. */
+    private static final int MAX_PLACE_ATTEMPTS = 3;
+    /** Time budget of the assembly advisor for each decision. */
+    private static final long ADVICE_BUDGET_MS = 50;
+
+    private final String username;
+    private final UUID gameToJoin;
+    private final GameLevel level;
+    private final int requiredPlayers;
+    private final int tilesToPlace;
+    private final LoadStats stats;
+    private final Random random;
+
+    private final Object lock = new Object();
+    private ClientUpdate lastUpdate;
+    private String pendingCommand;
+    private Predicate<ClientUpdate> pendingAnswer;
+    private long pendingSince;
+    private volatile boolean stopped = false;
+
+    private final CompletableFuture<UUID> gameReady = new CompletableFuture<>();
+
+    // progress of the policies: only accessed by the thread running the bot
+    private boolean requestedGame = false;
+    private boolean requestedSettings = false;
+    private boolean wasInGame = false;
+    private boolean startedAssembly = false;
+    private boolean cheated = false;
+    private int drawnTiles = 0;
+    private int placeAttempts = 0;
+    private String lastAnsweredPIR = null;
+    private AssemblyAdvisor advisor = null;
+
+    /**
+     * Creates a bot.
+     *
+     * @param username the username to play with
+     * @param gameToJoin the game to join, or {@code null} to create a new game and lead it
+     * @param level the level to set in the game, if leader
+     * @param requiredPlayers the number of players to set in the game, if leader
+     * @param tilesToPlace the number of tiles to draw and place before filling the ship with the cheat
+     * @param stats where to record the statistics
+     * @param seed the seed of the random choices of this bot
+     */
+    public BotView(String username, UUID gameToJoin, GameLevel level, int requiredPlayers, int tilesToPlace,
+                   LoadStats stats, long seed) {
+        this.username = username;
+        this.gameToJoin = gameToJoin;
+        this.level = level;
+        this.requiredPlayers = requiredPlayers;
+        this.tilesToPlace = tilesToPlace;
+        this.stats = stats;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    protected void _init() { }
+
+    @Override
+    protected void _onUpdate(ClientUpdate update) {
+        byte[] serialized = update.serialize();
+        stats.recordUpdate(serialized == null ? 0 : serialized.length);
+        synchronized (lock) {
+            if (pendingCommand != null && (update.getError() != null || pendingAnswer.test(update))) {
+                stats.recordLatency(pendingCommand, System.nanoTime() - pendingSince);
+                if (update.getError() != null) {
+                    stats.recordError(pendingCommand);
+                }
+                pendingCommand = null;
+            } else if (update.getError() != null) {
+                stats.recordError("unsolicited");
+            }
+            lastUpdate = update;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Plays until the game ends or {@link #stop()} is called (blocking function).
+     */
+    @Override
+    public void run() {
+        ClientUpdate actedOn = null;
+        while (!stopped) {
+            ClientUpdate update;
+            synchronized (lock) {
+                try {
+                    if (lastUpdate == actedOn || isWaitingAnswer()) {
+                        lock.wait(RETRY_MS);
+                    }
+                } catch (InterruptedException e) {
+                    stop();
+                    return;
+                }
+                if (isWaitingAnswer()) continue;
+                if (pendingCommand != null) {  // lost
+                    stats.recordError(pendingCommand + " (no answer)");
+                    pendingCommand = null;
+                }
+                update = lastUpdate;
+            }
+            if (update == null || stopped) continue;
+            actedOn = update;
+            try {
+                act(update);
+            } catch (RuntimeException e) {
+                // a bot must not hang its game: count it and leave
+                Logger.error("Bot " + username + " failed", e);
+                stats.recordFailure();
+                stop();
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the last command sent has not been answered yet, and it is not considered lost
+     * @implNote to call while holding {@link #lock}
+     */
+    private boolean isWaitingAnswer() {
+        return pendingCommand != null && System.nanoTime() - pendingSince < COMMAND_TIMEOUT_NS;
+    }
+
+    /**
+     * Stops this bot and releases its connection, if possible.
+     */
+    public void stop() {
+        stopped = true;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        if (gameClient != null && gameClient.getClient() instanceof RmiClient rmiClient) {
+            try {
+                UnicastRemoteObject.unexportObject(rmiClient, true);
+            } catch (NoSuchObjectException e) {
+                // ok: already released
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if this bot has stopped playing
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Waits for the game created by this bot to be ready to be joined by the other bots,
+     * that is when its settings have been applied.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return the UUID of the game
+     * @throws TimeoutException if the game is not ready in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public UUID awaitGameReady(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+        try {
+            return gameReady.get(timeout, unit);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);  // should never happen -> runtime error
+        }
+    }
+
+    /**
+     * Sends a command to the server.
+     *
+     * @param command the name of the command, for the statistics
+     * @param answered tells if an update shows the effect of the command
+     * @param serverCommand the actual command
+     */
+    private void send(String command, Predicate<ClientUpdate> answered, ServerCommand serverCommand) {
+        IServer server = gameClient.getServer();
+        if (server == null) {  // already recorded by showError
+            stop();
+            return;
+        }
+        synchronized (lock) {
+            pendingCommand = command;
+            pendingAnswer = answered;
+            pendingSince = System.nanoTime();
+        }
+        try {
+            serverCommand.send(server, gameClient.getClient());
+        } catch (RemoteException e) {
+            stats.recordFailure();
+            stop();
+        } catch (RuntimeException e) {
+            // with RMI the unchecked exceptions of the server reach the caller: count them and go on
+            synchronized (lock) {
+                pendingCommand = null;
+            }
+            stats.recordError(command + " (" + e.getClass().getSimpleName() + ")");
+        }
+    }
+
+    private void act(ClientUpdate update) {
+        GameData game = update.getCurrentGame();
+        Player player = update.getClientPlayer();
+
+        if (game == null || player == null) {
+            if (wasInGame) {  // the game has been closed
+                finish(false);
+            } else if (!requestedGame || update.getError() != null) {
+                requestedGame = true;
+                if (gameToJoin == null) {
+                    send("create", u -> u.getCurrentGame() != null, (s, c) -> s.createGame(c, username, MainCabinTile.Color.values()[0]));
+                } else {
+                    MainCabinTile.Color color = getFreeColor(update);
+                    send("join", u -> u.getCurrentGame() != null, (s, c) -> s.joinGame(c, gameToJoin, username, color));
+                }
+            }
+            return;
+        }
+        wasInGame = true;
+
+        PIR pir = game.getPIRHandler().getPlayerPIR(player);
+        if (pir != null) {
+            answer(pir);
+            return;
+        }
+
+        switch (game.getCurrentGamePhaseType()) {
+            case LOBBY -> actLobby(update, game);
+            case ASSEMBLE -> actAssemble(update, game, player);
+            case ENDGAME -> finish(true);
+            default -> { }  // wait for the next player input request
+        }
+    }
+
+    /**
+     * @return the first color not used yet in the game to join, according to the games listed in {@code update}
+     */
+    private MainCabinTile.Color getFreeColor(ClientUpdate update) {
+        Set<MainCabinTile.Color> used = EnumSet.noneOf(MainCabinTile.Color.class);
+        for (GameData game : update.getAvailableGames()) {
+            if (gameToJoin.equals(game.getGameId())) {
+                game.getPlayers().forEach(p -> used.add(p.getColor()));
+            }
+        }
+        for (MainCabinTile.Color color : MainCabinTile.Color.values()) {
+            if (!used.contains(color)) return color;
+        }
+        return MainCabinTile.Color.values()[0];  // the game is full: the server will refuse the join
+    }
+
+    /**
+     * @return the ID of the request the client of {@code update} has to answer, or {@code null} if none
+     */
+    private static String getActivePIRId(ClientUpdate update) {
+        Player player = update.getClientPlayer();
+        if (player == null) return null;
+        PIR pir = update.getCurrentGame().getPIRHandler().getPlayerPIR(player);
+        return (pir == null) ? null : pir.getId();
+    }
+
+    /**
+     * @return {@code true} if in {@code update} the client can not assemble its ship anymore
+     */
+    private static boolean isAssemblyOver(ClientUpdate update) {
+        Player player = update.getClientPlayer();
+        return player == null || player.getPosition() != null
+                || update.getCurrentGame().getCurrentGamePhaseType() != GamePhaseType.ASSEMBLE;
+    }
+
+    /**
+     * @return the ID of the tile in hand of the client of {@code update}, or {@code null} if none
+     */
+    private static Integer getTileInHandId(ClientUpdate update) {
+        Player player = update.getClientPlayer();
+        return (player == null || player.getTileInHand() == null) ? null : player.getTileInHand().getTileId();
+    }
+
+    private void answer(PIR pir) {
+        String pirId = pir.getId();
+        if (pirId.equals(lastAnsweredPIR)) return;
+        lastAnsweredPIR = pirId;
+        Predicate<ClientUpdate> answered = u -> !pirId.equals(getActivePIRId(u));
+        if (pir instanceof PIRMultipleChoice choice) {
+            int selection = random.nextInt(choice.getPossibleOptions().length);
+            send("pir " + pir.getPIRType(), answered, (s, c) -> s.pirSelectMultipleChoice(c, selection));
+        } else {
+            send("pir " + pir.getPIRType(), answered, IServer::pirForceEndTurn);
+        }
+    }
+
+    private void actLobby(ClientUpdate update, GameData game) {
+        if (!update.isGameLeader()) return;
+        if (game.getLevel() == level && game.getRequiredPlayers() == requiredPlayers) {
+            gameReady.complete(game.getGameId());
+        } else if (!requestedSettings) {
+            requestedSettings = true;
+            send("updateGameSettings", u -> u.getCurrentGame() != null
+                    && u.getCurrentGame().getRequiredPlayers() == requiredPlayers
+                    && u.getCurrentGame().getLevel() == level, (s, c) -> s.updateGameSettings(c, level, requiredPlayers));
+        }
+    }
+
+    private void actAssemble(ClientUpdate update, GameData game, Player player) {
+        if (!startedAssembly) {
+            startedAssembly = true;
+            if (update.isGameLeader()) {
+                stats.recordGameStarted();
+            }
+        }
+        if (player.getPosition() != null) return;  // assembly ended: waiting for the others
+
+        ShipBoard ship = player.getShipBoard();
+        int tilesCount = ship.getTiles().size();
+        Integer tileInHandId = getTileInHandId(update);
+        Predicate<ClientUpdate> handChanged = u -> isAssemblyOver(u) || !Objects.equals(tileInHandId, getTileInHandId(u));
+        if (advisor == null) {
+            advisor = new AssemblyAdvisor(game.getLevel());
+        }
+        if (tileInHandId != null) {
+            AssemblyAdvisor.Placement placement = (placeAttempts < MAX_PLACE_ATTEMPTS)
+                    ? advisor.advise(ship, player.getTileInHand(), List.of(), ADVICE_BUDGET_MS)
+                    : null;
+            if (placement != null && placement.gain() >= 0) {
+                placeAttempts++;
+                send("placeTile", handChanged, (s, c) -> s.placeTile(c, placement.coordinates(), placement.rotation()));
+            } else {
+                send("discardTile", handChanged, IServer::discardTile);
+            }
+        } else if (drawnTiles < tilesToPlace) {
+            drawnTiles++;
+            placeAttempts = 0;
+            AssemblyAdvisor.Placement placement = advisor.advise(ship, null, game.getUncoveredTiles(), ADVICE_BUDGET_MS);
+            if (placement != null && placement.gain() > 0) {
+                int tileId = placement.tile().getTileId();
+                send("pickTile", handChanged, (s, c) -> s.pickTile(c, tileId));
+            } else {
+                send("drawTile", handChanged, IServer::drawTile);
+            }
+        } else if (!cheated) {
+            cheated = true;
+            send("cheat randomship", u -> isAssemblyOver(u)
+                    || u.getClientPlayer().getShipBoard().getTiles().size() != tilesCount, (s, c) -> s.useCheat(c, "randomship"));
+        } else {
+            send("finishAssembling", BotView::isAssemblyOver, (s, c) -> s.finishAssembling(c, null));
+        }
+    }
+
+    private void finish(boolean quit) {
+        if (stopped) return;
+        if (wasInGame && startedAssembly && gameToJoin == null) {
+            stats.recordGameFinished();
+        }
+        if (quit) {
+            IServer server = gameClient.getServer();
+            try {
+                if (server != null) server.quitGame(gameClient.getClient());
+            } catch (RemoteException e) {
+                // ok: the game is over anyway
+            }
+        }
+        stop();
+    }
+
+    @Override
+    public void onVoid() { }
+
+    @Override
+    protected void _onRefresh() { }
+
+    @Override
+    public void onScreen(String screenName) { }
+
+    @Override
+    public void onHelp() { }
+
+    @Override
+    public Deque<ICommandsProcessor> getCommandsProcessors() {
+        return new ArrayDeque<>();
+    }
+
+    @Override
+    public void showInfo(String title, String content) { }
+
+    @Override
+    public void showWarning(String title, String content) { }
+
+    @Override
+    public void showError(String title, String content) {
+        stats.recordFailure();
+    }
+}
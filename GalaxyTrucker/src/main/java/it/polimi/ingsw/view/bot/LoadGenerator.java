@@ -0,0 +1,171 @@
+package it.polimi.ingsw.view.bot;
+
+import it.polimi.ingsw.controller.states.State;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.network.GameClient;
+
+import java.io.IOException;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Load generator: plays concurrently some games against a running server, each one with some {@link BotView}s,
+ * and collects the statistics of the whole run in a {@link LoadStats}.
+ * <p>
+ * Every game is set up by its leader bot, which creates the game and sets its level and number of players;
+ * once the settings are applied the other bots join, so the game starts as soon as the last one is in.
+ */
+public class LoadGenerator {
+
+    /** Time to wait for a leader bot to have its game ready to be joined. */
+    private static final long GAME_SETUP_TIMEOUT_S = 30;
+
+    private final boolean useRMI;
+    private final String host;
+    private final int port;
+    private final int games;
+    private final int botsPerGame;
+    private final GameLevel level;
+    private final int tilesToPlace;
+    private final long seed;
+
+    private final LoadStats stats = new LoadStats();
+    private final List<BotView> bots = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+
+    /**
+     * Prepares a load test.
+     *
+     * @param useRMI {@code true} to connect the bots with RMI, {@code false} to use sockets
+     * @param host the host of the server
+     * @param port the port of the server
+     * @param games the number of concurrent games
+     * @param botsPerGame the number of bots in each game
+     * @param level the level of the games
+     * @param tilesToPlace the number of tiles each bot draws and places before completing its ship with a cheat
+     * @param seed the seed of the random choices of the bots
+     */
+    public LoadGenerator(boolean useRMI, String host, int port, int games, int botsPerGame, GameLevel level,
+                         int tilesToPlace, long seed) {
+        this.useRMI = useRMI;
+        this.host = host;
+        this.port = port;
+        this.games = games;
+        this.botsPerGame = botsPerGame;
+        this.level = level;
+        this.tilesToPlace = tilesToPlace;
+        this.seed = seed;
+    }
+
+    /**
+     * @return the statistics collected by the bots
+     */
+    public LoadStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Runs the load test: sets up all the games, then waits for them to end.
+     * When {@code timeoutSeconds} expire the bots still playing are stopped.
+     *
+     * @param timeoutSeconds the maximum duration of the load test
+     * @return the statistics collected by the bots
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    public LoadStats run(int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        stats.start();
+
+        // games are set up in parallel: each leader has to wait for its own game
+        List<Thread> setups = new ArrayList<>();
+        for (int g = 0; g < games; g++) {
+            int gameIndex = g;
+            Thread setup = new Thread(() -> setupGame(gameIndex), "load-setup-" + g);
+            setups.add(setup);
+            setup.start();
+        }
+        for (Thread setup : setups) {
+            setup.join();
+        }
+
+        List<Thread> toJoin;
+        synchronized (threads) {
+            toJoin = new ArrayList<>(threads);
+        }
+        for (Thread thread : toJoin) {
+            long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (left > 0) {
+                thread.join(left);
+            }
+        }
+
+        stopAll();
+        stats.stop();
+        return stats;
+    }
+
+    /**
+     * Stops all the bots still playing.
+     */
+    public void stopAll() {
+        synchronized (bots) {
+            bots.forEach(BotView::stop);
+        }
+    }
+
+    private void setupGame(int gameIndex) {
+        long gameSeed = seed + (long) gameIndex * botsPerGame;
+        BotView leader = startBot("bot-" + gameIndex + "-0", null, gameSeed);
+        if (leader == null) return;
+
+        UUID gameId;
+        try {
+            gameId = leader.awaitGameReady(GAME_SETUP_TIMEOUT_S, TimeUnit.SECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            stats.recordFailure();
+            leader.stop();
+            return;
+        }
+
+        for (int b = 1; b < botsPerGame; b++) {
+            startBot("bot-" + gameIndex + "-" + b, gameId, gameSeed + b);
+        }
+    }
+
+    /**
+     * Connects a new bot to the server and runs it in its own thread.
+     * @return the started bot, or {@code null} if it could not connect
+     */
+    private BotView startBot(String username, UUID gameToJoin, long botSeed) {
+        BotView bot = new BotView(username, gameToJoin, level, botsPerGame, tilesToPlace, stats, botSeed);
+        GameClient gameClient;
+        try {
+            gameClient = GameClient.create(useRMI, host, port, bot, new State());
+        } catch (IOException | NotBoundException e) {
+            stats.recordFailure();
+            return null;
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                GameClient.start(gameClient);
+            } catch (RemoteException e) {
+                stats.recordFailure();
+                bot.stop();
+            }
+        }, "load-" + username);
+        synchronized (bots) {
+            bots.add(bot);
+        }
+        synchronized (threads) {
+            threads.add(thread);
+        }
+        thread.start();
+        return bot;
+    }
+}
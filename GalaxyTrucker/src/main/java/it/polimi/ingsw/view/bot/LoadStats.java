@@ -0,0 +1,162 @@
+package it.polimi.ingsw.view.bot;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics collected by the bots of a load test, shared between all of them.
+ * <p>
+ * The latency of a command is measured from the moment a bot sends it to the moment that bot receives
+ * the update showing its effect (or an error): this works the same way for RMI (where the call blocks
+ * on the server) and for sockets (where the call only writes the message).
+ */
+public class LoadStats {
+
+    /**
+     * Samples of the latency of a single command, in nanoseconds.
+     */
+    private static class Samples {
+        private long[] values = new long[64];
+        private int size = 0;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private final Map<String, Samples> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder updatesBytes = new LongAdder();
+    private final AtomicLong maxUpdateBytes = new AtomicLong();
+
+    private final LongAdder startedGames = new LongAdder();
+    private final LongAdder finishedGames = new LongAdder();
+
+    private volatile long startNanos;
+    private volatile long stopNanos;
+
+    /**
+     * Marks the beginning of the load test.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+        stopNanos = 0;
+    }
+
+    /**
+     * Marks the end of the load test.
+     */
+    public void stop() {
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the seconds elapsed from {@link #start()} to {@link #stop()}, or to now if not stopped yet
+     */
+    public double getElapsedSeconds() {
+        long end = (stopNanos == 0) ? System.nanoTime() : stopNanos;
+        return (end - startNanos) / 1e9;
+    }
+
+    void recordLatency(String command, long nanos) {
+        latencies.computeIfAbsent(command, _ -> new Samples()).add(nanos);
+    }
+
+    void recordUpdate(int bytes) {
+        updates.increment();
+        updatesBytes.add(bytes);
+        maxUpdateBytes.accumulateAndGet(bytes, Math::max);
+    }
+
+    /**
+     * Records an error sent back by the server as answer to a command.
+     * @param command the command the error is about
+     */
+    void recordError(String command) {
+        errors.computeIfAbsent(command, _ -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records a failure on the client side (e.g. a lost connection).
+     */
+    void recordFailure() {
+        failures.increment();
+    }
+
+    void recordGameStarted() {
+        startedGames.increment();
+    }
+
+    void recordGameFinished() {
+        finishedGames.increment();
+    }
+
+    /**
+     * @return the total number of updates received by all the bots
+     */
+    public long getUpdates() {
+        return updates.sum();
+    }
+
+    /**
+     * @return the total number of errors and failures
+     */
+    public long getErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum() + failures.sum();
+    }
+
+    /**
+     * @param sorted the sorted samples
+     * @param percentile the percentile to find, between {@code 0} and {@code 100}
+     * @return the value of the requested percentile, in milliseconds
+     */
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)] / 1e6;
+    }
+
+    /**
+     * @return a human-readable report of all the collected statistics
+     */
+    public String getReport() {
+        double seconds = getElapsedSeconds();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Load test: %.1f s, games started %d, finished %d%n",
+                seconds, startedGames.sum(), finishedGames.sum()));
+
+        report.append(String.format("%-28s %8s %9s %9s %9s %9s%n", "command [ms]", "count", "p50", "p90", "p99", "max"));
+        new TreeMap<>(latencies).forEach((command, samples) -> {
+            long[] sorted = samples.sorted();
+            if (sorted.length == 0) return;
+            report.append(String.format("%-28s %8d %9.2f %9.2f %9.2f %9.2f%n", command, sorted.length,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    sorted[sorted.length - 1] / 1e6));
+        });
+
+        long totalUpdates = updates.sum();
+        report.append(String.format("Updates: %d (%.1f/s), avg size %d B, max size %d B%n",
+                totalUpdates, totalUpdates / Math.max(seconds, 1e-9),
+                totalUpdates == 0 ? 0 : updatesBytes.sum() / totalUpdates, maxUpdateBytes.get()));
+
+        report.append(String.format("Errors: %d (client failures %d)%n", getErrors(), failures.sum()));
+        new TreeMap<>(errors).forEach((command, count) ->
+                report.append(String.format("  %-26s %8d%n", command, count.sum())));
+        return report.toString();
+    }
+}
@@ -171,7 +171,7 @@ public abstract class CLIScreen implements ICLIPrintable {
 	public final CLIFrame popupCommands(String screenName, String... commands) {
 		final int frameWidth = 60;
 		final int spacesOnAvoidOverload = 1;
-		CLIFrame frame = CLIScreen.getScreenFrame(14, frameWidth, ANSI.BACKGROUND_BLACK);
+		CLIFrame frame = CLIScreen.getScreenFrame(15, frameWidth, ANSI.BACKGROUND_BLACK);
 
 		String header = ANSI.BACKGROUND_BLUE +
 				ANSI.RED + " " + screenName.toUpperCase() +
@@ -186,6 +186,7 @@ public abstract class CLIScreen implements ICLIPrintable {
 		cmds.addFirst("ping|Ping the host server.");
 		cmds.addFirst("screen|Navigate screens.");
 		cmds.addFirst("help|Get all the available commands.");
+		cmds.addFirst("survival|Estimate the chances of your ship to survive the flight.");
 		cmds.addFirst("debug|Create a json containing the current game state.");
 		frame = frame.merge(new CLIFrame(header), AnchorPoint.TOP, AnchorPoint.CENTER, 1, 0);
 
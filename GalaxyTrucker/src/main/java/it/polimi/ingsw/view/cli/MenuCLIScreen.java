@@ -4,11 +4,15 @@ import it.polimi.ingsw.controller.commandsProcessors.MenuCommandsProcessor;
 import it.polimi.ingsw.controller.states.CommonState;
 import it.polimi.ingsw.enums.AnchorPoint;
 import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.game.GameSaveFormat;
 import it.polimi.ingsw.network.GameClient;
 import it.polimi.ingsw.model.player.Player;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class MenuCLIScreen extends CLIScreen {
 
@@ -36,7 +40,12 @@ public class MenuCLIScreen extends CLIScreen {
 		gamesListBorder = gamesListBorder.merge(title, AnchorPoint.TOP, AnchorPoint.CENTER, 1, 0);
 
 		List<GameData> availableGames = CommonState.getLastUpdate().getAvailableGames();
-		if (!availableGames.isEmpty()) {
+		// saved games already resumed are listed as available games
+		Set<UUID> runningGames = availableGames.stream().map(GameData::getGameId).collect(Collectors.toSet());
+		List<GameSaveFormat.Metadata> savedGames = CommonState.getLastUpdate().getSavedGames().stream()
+				.filter(m -> !runningGames.contains(m.getGameId()))
+				.toList();
+		if (!availableGames.isEmpty() || !savedGames.isEmpty()) {
 			List<String> gameLines = new ArrayList<>();
 			availableGames.stream()
 					.limit(13)
@@ -46,6 +55,17 @@ public class MenuCLIScreen extends CLIScreen {
 							g.getPlayers(Player::isConnected).size(),
 							g.getRequiredPlayers()
 					)));
+			if (!savedGames.isEmpty() && gameLines.size() < 11) {
+				gameLines.add("");
+				gameLines.add(ANSI.BACKGROUND_RED + ANSI.WHITE + "SAVED GAMES" + ANSI.RESET);
+				savedGames.stream()
+						.limit(13 - gameLines.size())
+						.forEach(m -> gameLines.add(String.format(
+								"~ " + ANSI.BLACK + "[%s]" + ANSI.RESET + " by %.12s",
+								m.getGameId().toString(),
+								m.getLeader() == null ? "?" : m.getLeader()
+						)));
+			}
 			CLIFrame gamesContent = new CLIFrame(gameLines.toArray(new String[0]));
 			gamesListBorder = gamesListBorder.merge(gamesContent, AnchorPoint.TOP_LEFT, AnchorPoint.TOP_LEFT, 3, 2);
 		} else {
@@ -63,9 +83,11 @@ public class MenuCLIScreen extends CLIScreen {
 		CLIFrame res = screenBorder.merge(gamesListBorder, AnchorPoint.CENTER, AnchorPoint.CENTER, 0, 0);
 
 		// Create a tip message in green.
-		String tipText = availableGames.isEmpty()
+		String tipText = !availableGames.isEmpty()
+				? "Join a game with >join"
+				: savedGames.isEmpty()
 				? "Create a game with >create"
-				: "Join a game with >join";
+				: "Create a game with >create or continue a saved one with >resume";
 		CLIFrame tip = new CLIFrame(new String[]{
 				"",
 				ANSI.BACKGROUND_GREEN + ANSI.WHITE + "Tip" + ": " + tipText + ANSI.RESET
@@ -7,12 +7,16 @@ import it.polimi.ingsw.enums.GamePhaseType;
 import it.polimi.ingsw.network.messages.ClientUpdate;
 import it.polimi.ingsw.view.View;
 import it.polimi.ingsw.view.gui.utils.AlertUtils;
+import javafx.application.Platform;
 
 import java.util.Deque;
 import java.util.LinkedList;
 
 /**
  * Represents the graphical user interface view of the game.
+ * <p>
+ * Messages can be shown from any thread (e.g. from the background computations of the assemble screen):
+ * they are always displayed on the JavaFX application thread.
  */
 public class GUIView extends View {
 
@@ -93,6 +97,10 @@ public class GUIView extends View {
      */
     @Override
     public void showInfo(String title, String content) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> showInfo(title, content));
+            return;
+        }
         // System.out.println("GUI function: showInfo -> [" + title + "] >> " + content);
         AlertUtils.showInfo(title, content);
         onRefresh();
@@ -105,6 +113,10 @@ public class GUIView extends View {
      */
     @Override
     public void showWarning(String title, String content) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> showWarning(title, content));
+            return;
+        }
         // System.out.println("GUI function: showWarning -> [" + title + "] >> " + content);
         AlertUtils.showWarning(title, content);
         onRefresh();
@@ -117,6 +129,10 @@ public class GUIView extends View {
      */
     @Override
     public void showError(String title, String content) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> showError(title, content));
+            return;
+        }
         // System.out.println("GUI function: showError -> [" + title + "] >> " + content);
         AlertUtils.showError(title, content);
         onRefresh();
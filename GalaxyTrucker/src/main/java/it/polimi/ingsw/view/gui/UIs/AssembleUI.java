@@ -10,6 +10,7 @@ import it.polimi.ingsw.network.messages.ClientUpdate;
 import it.polimi.ingsw.view.gui.components.*;
 import it.polimi.ingsw.view.gui.managers.ClientManager;
 import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
@@ -291,9 +292,22 @@ public class AssembleUI implements INodeRefreshableOnUpdateUI {
 
         Button boardButton = getBoardButton();
 
+        Button survivalButton = new Button("Survival Chances");
+        styleButton(survivalButton);
+        // the Monte Carlo estimate takes up to a second: the result is shown by the view on the application thread
+        survivalButton.setOnMouseClicked(event -> runInBackground(survivalButton,
+                () -> ClientManager.getInstance().getGameClient().getView().onSurvival()));
+
+        Button hintButton = new Button("Hint");
+        styleButton(hintButton);
+        // the advisor search takes up to its time budget: the hint is shown by the view on the application thread
+        hintButton.setOnMouseClicked(event -> runInBackground(hintButton,
+                () -> ClientManager.getInstance().simulateCommand("hint")));
+
         SpectateVBox spectateVBox = new SpectateVBox();
 
-        decksAndTimerGrid.getChildren().addAll(timerComponent, flipButton, finishButton, boardButton, spectateVBox);
+        decksAndTimerGrid.getChildren().addAll(timerComponent, flipButton, finishButton, boardButton, survivalButton,
+                hintButton, spectateVBox);
 
         if (LobbyState.getGameLevel() != GameLevel.TESTFLIGHT) {
             DecksComponent decksComponent = new DecksComponent();
@@ -326,6 +340,30 @@ public class AssembleUI implements INodeRefreshableOnUpdateUI {
         return boardButton;
     }
 
+    /**
+     * Runs a slow client side computation off the JavaFX application thread, so that the screen and the timer
+     * keep updating. The button is disabled until the computation ends, to avoid queueing more of them.
+     * @param button The button starting the computation
+     * @param computation The computation, showing its result through the view
+     */
+    private static void runInBackground(Button button, Runnable computation) {
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() {
+                computation.run();
+                return null;
+            }
+        };
+        // the handlers below run on the application thread
+        task.setOnSucceeded(e -> button.setDisable(false));
+        task.setOnFailed(e -> button.setDisable(false));
+        button.setDisable(true);
+
+        Thread thread = new Thread(task, "assemble-ui-" + button.getText());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     /**
      * Applies consistent styling to a button
      * @param button The button to style
@@ -13,6 +13,7 @@ import it.polimi.ingsw.GamesHandler;
 import it.polimi.ingsw.enums.Direction;
 import it.polimi.ingsw.model.game.Game;
 import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.game.GameTimings;
 
 import java.util.UUID;
 
@@ -44,10 +45,8 @@ class PiratesCardTest {
     void SevenPlusZeroShouldEqualSeven() {
 
         System.out.println("Test givePrize");
-        int oldSeconds = Default.PIR_SECONDS;
-        Default.PIR_SECONDS = 1;
+        testGameData.setTimings(new GameTimings(1, Default.PIR_SHORT_SECONDS, Default.HOURGLASS_SECONDS));
         piratesCard.givePrize(player1, testGameData);
-        Default.PIR_SECONDS = oldSeconds;
         assertEquals(7, player1.getCredits());
 
     }
@@ -1,7 +1,9 @@
 package it.polimi.ingsw.model.game;
 
 import it.polimi.ingsw.GamesHandler;
+import it.polimi.ingsw.model.cards.Card;
 import it.polimi.ingsw.model.cards.Deck;
+import it.polimi.ingsw.model.cards.projectile.Projectile;
 import it.polimi.ingsw.enums.Direction;
 import it.polimi.ingsw.enums.GameLevel;
 import it.polimi.ingsw.enums.GamePhaseType;
@@ -10,6 +12,7 @@ import it.polimi.ingsw.model.gamePhases.AssembleGamePhase;
 import it.polimi.ingsw.model.gamePhases.exceptions.AlreadyPickedPosition;
 import it.polimi.ingsw.model.game.exceptions.GameAlreadyRunningException;
 import it.polimi.ingsw.model.game.exceptions.PlayerAlreadyInGameException;
+import it.polimi.ingsw.model.game.journal.JournalReplayException;
 import it.polimi.ingsw.model.gamePhases.PlayableGamePhase;
 import it.polimi.ingsw.model.gamePhases.exceptions.IllegalStartingPositionIndexException;
 import it.polimi.ingsw.model.gamePhases.exceptions.TimerIsAlreadyRunningException;
@@ -100,7 +103,7 @@ class GameDataTest {
     }
 
     @Test
-    void testResumeGameInAssembly() throws AlreadyPickedPosition, AlreadyEndedAssemblyException, NoShipboardException, FixedTileException, TileAlreadyPresentException, TileWithoutNeighborException, RemoteException, InterruptedException, PlayerAlreadyInGameException, OutOfBuildingAreaException, GameAlreadyRunningException, TooManyItemsInHandException, IllegalStartingPositionIndexException, ColorAlreadyInUseException {
+    void testResumeGameInAssembly() throws AlreadyPickedPosition, AlreadyEndedAssemblyException, NoShipboardException, FixedTileException, TileAlreadyPresentException, TileWithoutNeighborException, RemoteException, InterruptedException, PlayerAlreadyInGameException, OutOfBuildingAreaException, GameAlreadyRunningException, TooManyItemsInHandException, IllegalStartingPositionIndexException, ColorAlreadyInUseException, JournalReplayException {
         UUID gameId = runAndSaveGameUntilStep(0);
         Thread.sleep(1000);
         Game g = GamesHandler.getInstance().getGame(gameId);
@@ -355,6 +358,12 @@ class GameDataTest {
                 setTileId(id);
             }
 
+            @Override
+            public TileSkeleton copy() {
+                // the mock has no state besides its id
+                return createMockTile(id);
+            }
+
             @Override
             public String getName() {
                 return "";
@@ -362,6 +371,37 @@ class GameDataTest {
         };
     }
 
+    @Test
+    void testSameSeedSameGame() {
+        Game first = new Game(42);
+        Game second = new Game(42);
+        for (Game game : List.of(first, second)) {
+            game.getGameData().setLevel(GameLevel.TWO);
+            game.initGame();
+        }
+        GameData firstData = first.getGameData();
+        GameData secondData = second.getGameData();
+        assertEquals(42, firstData.getSeed());
+
+        assertEquals(firstData.getCoveredTiles().stream().map(TileSkeleton::getTextureName).toList(),
+                secondData.getCoveredTiles().stream().map(TileSkeleton::getTextureName).toList());
+
+        firstData.getDeck().mixGroupsIntoCards(firstData.getRandom());
+        secondData.getDeck().mixGroupsIntoCards(secondData.getRandom());
+        for (Card card = firstData.getDeck().drawNextCard(); card != null; card = firstData.getDeck().drawNextCard()) {
+            assertEquals(card.getTextureName(), secondData.getDeck().drawNextCard().getTextureName());
+        }
+        assertNull(secondData.getDeck().drawNextCard());
+
+        Projectile projectile = Projectile.createSmallMeteor(Direction.NORTH);
+        for (int i = 0; i < 10; i++) {
+            projectile.roll2D6(firstData.getRandom());
+            int coord = projectile.getCoord();
+            projectile.roll2D6(secondData.getRandom());
+            assertEquals(coord, projectile.getCoord());
+        }
+    }
+
     private Deck createMockDeck() {
         return Deck.random(GameLevel.TESTFLIGHT);
     }
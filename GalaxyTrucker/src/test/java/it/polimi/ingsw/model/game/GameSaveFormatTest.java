@@ -0,0 +1,174 @@
+package it.polimi.ingsw.model.game;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.GamePhaseType;
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.shipboard.LoadableType;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.CabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.CargoHoldTile;
+import it.polimi.ingsw.model.shipboard.tiles.ContainerTile;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.Coordinates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSaveFormatTest {
+
+    private File directory;
+    private GameData gameData;
+    private Coordinates cargoCoordinates;
+    private Coordinates cabinCoordinates;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("saves").toFile();
+
+        Game game = new Game();
+        gameData = game.getGameData();
+        gameData.setLevel(GameLevel.TWO);
+        Player player = game.addPlayer("Player", UUID.randomUUID(), MainCabinTile.Color.BLUE);
+        ShipBoard shipBoard = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.BLUE);
+        player.setShipBoard(shipBoard);
+        gameData.setGameLeader("Player");
+
+        List<TileSkeleton> tiles = TilesFactory.createPileTiles();
+        for (int i = 0; i < tiles.size(); i++) {
+            tiles.get(i).setTileId(i);
+        }
+        TileSkeleton cargoHold = tiles.stream().filter(t -> t instanceof CargoHoldTile).findFirst().orElseThrow();
+        TileSkeleton cabin = tiles.stream()
+                .filter(t -> t.getClass() == CabinTile.class).findFirst().orElseThrow();
+        tiles.remove(cargoHold);
+        tiles.remove(cabin);
+
+        cargoCoordinates = new Coordinates(7, 8);
+        cabinCoordinates = new Coordinates(7, 6);
+        cargoHold.rotateTile(Rotation.OPPOSITE);
+        shipBoard.setTile(cargoHold, cargoCoordinates);
+        shipBoard.setTile(cabin, cabinCoordinates);
+        ((ContainerTile) cargoHold).loadItems(LoadableType.BLUE_GOODS, 1);
+        ((CabinTile) cabin).fillWith(LoadableType.HUMAN);
+
+        gameData.setCoveredTiles(tiles);
+        gameData.setCurrentGamePhaseType(GamePhaseType.ASSEMBLE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    void testRoundTrip() throws Exception {
+        File save = new File(directory, gameData.getGameId() + ".state");
+        GameSaveWriter.writeAtomically(save, GameSaveFormat.write(gameData));
+        assertTrue(GameSaveFormat.isCompactSave(save));
+
+        GameData loaded = GameSaveFormat.read(save);
+        assertEquals(gameData.getGameId(), loaded.getGameId());
+        assertEquals(gameData.getCoveredTiles().size(), loaded.getCoveredTiles().size());
+        assertEquals(gameData.getCoveredTiles().getFirst().getTileId(), loaded.getCoveredTiles().getFirst().getTileId());
+
+        ShipBoard loadedBoard = loaded.getPlayers().getFirst().getShipBoard();
+        ContainerTile loadedCargo = (ContainerTile) loadedBoard.getTile(cargoCoordinates);
+        assertEquals(Rotation.OPPOSITE, loadedCargo.getAppliedRotation());
+        assertEquals(cargoCoordinates, loadedCargo.forceGetCoordinates());
+        assertEquals(List.of(LoadableType.BLUE_GOODS), loadedCargo.getLoadedItems());
+        assertEquals(loadedCargo.getCapacity() - 1, loadedCargo.getCapacityLeft());
+
+        CabinTile loadedCabin = (CabinTile) loadedBoard.getTile(cabinCoordinates);
+        assertEquals(LoadableType.HUMAN, loadedCabin.getLoadedCrew());
+        assertEquals(2, loadedCabin.getLoadedItems().size());
+        assertNotNull(loadedBoard.getCLIRepresentation());
+    }
+
+    @Test
+    void testRoundTripKeepsRandom() throws Exception {
+        gameData.getRandom().nextInt();
+        File save = new File(directory, gameData.getGameId() + ".state");
+        GameSaveWriter.writeAtomically(save, GameSaveFormat.write(gameData));
+
+        GameData loaded = GameSaveFormat.read(save);
+        assertEquals(gameData.getSeed(), loaded.getSeed());
+        // the resumed game goes on with the same sequence of random choices
+        for (int i = 0; i < 10; i++) {
+            assertEquals(gameData.getRandom().nextLong(), loaded.getRandom().nextLong());
+        }
+    }
+
+    @Test
+    void testRandomIsNotSentToClients() throws Exception {
+        // the game data is sent to the clients with plain Java serialization
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(gameData);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            GameData received = (GameData) in.readObject();
+            assertNull(received.getRandom());
+            assertEquals(0, received.getSeed());
+        }
+    }
+
+    @Test
+    void testReadMetadata() throws Exception {
+        File save = new File(directory, gameData.getGameId() + ".state");
+        GameSaveWriter.writeAtomically(save, GameSaveFormat.write(gameData));
+
+        GameSaveFormat.Metadata metadata = GameSaveFormat.readMetadata(save);
+        assertEquals(gameData.getGameId(), metadata.getGameId());
+        assertEquals(GameLevel.TWO, metadata.getLevel());
+        assertEquals(GamePhaseType.ASSEMBLE, metadata.getPhase());
+        assertEquals("Player", metadata.getLeader());
+        assertEquals(List.of("Player"), metadata.getPlayers());
+    }
+
+    @Test
+    void testPileTexturesAreUnique() {
+        List<TileSkeleton> pile = TilesFactory.createPileTiles();
+        assertEquals(pile.size(), pile.stream().map(TileSkeleton::getTextureName).distinct().count());
+    }
+
+    @Test
+    void testConvertLegacySave() throws Exception {
+        File save = new File(directory, gameData.getGameId() + ".state");
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(save))) {
+            oos.writeObject(gameData);
+        }
+        long legacySize = save.length();
+        assertFalse(GameSaveFormat.isCompactSave(save));
+
+        assertEquals(1, GameSaveFormat.convertLegacySaves(directory));
+        assertTrue(GameSaveFormat.isCompactSave(save));
+        assertTrue(save.length() < legacySize);
+        assertEquals(0, GameSaveFormat.convertLegacySaves(directory));
+
+        GameData loaded = GameSaveFormat.read(save);
+        assertEquals(List.of(LoadableType.BLUE_GOODS),
+                ((ContainerTile) loaded.getPlayers().getFirst().getShipBoard().getTile(cargoCoordinates))
+                        .getLoadedItems());
+    }
+}
@@ -0,0 +1,132 @@
+package it.polimi.ingsw.model.game;
+
+import it.polimi.ingsw.GamesHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSaveWriterTest {
+
+    private GameSaveWriter writer;
+    private UUID gameId;
+    private UUID blockingGameId;
+
+    @BeforeEach
+    void setUp() {
+        writer = GameSaveWriter.getInstance();
+        gameId = UUID.randomUUID();
+        blockingGameId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        GamesHandler.deleteGameSave(gameId);
+        GamesHandler.deleteGameSave(blockingGameId);
+    }
+
+    @Test
+    void testWriteReplacesAtomically() throws Exception {
+        writer.submit(gameId, new byte[]{1, 2, 3}, null);
+        writer.flush();
+        File file = GameSaveWriter.getStateFile(gameId);
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(file.toPath()));
+
+        writer.submit(gameId, new byte[]{4, 5}, null);
+        writer.flush();
+        assertArrayEquals(new byte[]{4, 5}, Files.readAllBytes(file.toPath()));
+        assertFalse(new File(file.getParentFile(), file.getName() + ".tmp").exists());
+    }
+
+    @Test
+    void testPendingSavesAreCoalesced() throws Exception {
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // keep the writer thread busy, so that the following saves stay pending
+        writer.submit(blockingGameId, new byte[]{0}, () -> {
+            blocking.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blocking.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger savedCallbacks = new AtomicInteger();
+        long coalescedBefore = writer.getCoalescedCount();
+        for (byte i = 1; i <= 5; i++) {
+            writer.submit(gameId, new byte[]{i}, savedCallbacks::incrementAndGet);
+        }
+        assertEquals(4, writer.getCoalescedCount() - coalescedBefore);
+
+        release.countDown();
+        writer.flush();
+        assertEquals(1, savedCallbacks.get());
+        assertArrayEquals(new byte[]{5}, Files.readAllBytes(GameSaveWriter.getStateFile(gameId).toPath()));
+    }
+
+    @Test
+    void testDeleteCancelsPendingSave() throws Exception {
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer.submit(blockingGameId, new byte[]{0}, () -> {
+            blocking.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blocking.await(5, TimeUnit.SECONDS));
+
+        writer.submit(gameId, new byte[]{1}, null);
+        GamesHandler.deleteGameSave(gameId);
+        release.countDown();
+        writer.flush();
+        assertFalse(GameSaveWriter.getStateFile(gameId).exists());
+    }
+
+    @Test
+    void testShutdownWritesSubmittedSaves() throws Exception {
+        GameSaveWriter closingWriter = new GameSaveWriter();
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        closingWriter.submit(blockingGameId, new byte[]{0}, () -> {
+            blocking.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blocking.await(5, TimeUnit.SECONDS));
+        // still waiting when the shutdown begins
+        assertTrue(closingWriter.submit(gameId, new byte[]{1}, null));
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+        releaser.start();
+        assertTrue(closingWriter.shutdown(5, TimeUnit.SECONDS));
+        releaser.join();
+
+        assertArrayEquals(new byte[]{1}, Files.readAllBytes(GameSaveWriter.getStateFile(gameId).toPath()));
+        assertFalse(closingWriter.submit(gameId, new byte[]{2}, null));
+        closingWriter.flush();
+        assertArrayEquals(new byte[]{1}, Files.readAllBytes(GameSaveWriter.getStateFile(gameId).toPath()));
+    }
+}
@@ -0,0 +1,137 @@
+package it.polimi.ingsw.model.game;
+
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.GamePhaseType;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavedGamesIndexTest {
+
+    private File directory;
+    private GameData gameData;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("saves").toFile();
+
+        Game game = new Game();
+        gameData = game.getGameData();
+        gameData.setLevel(GameLevel.TWO);
+        Player player = game.addPlayer("Leader", UUID.randomUUID(), MainCabinTile.Color.BLUE);
+        player.setShipBoard(ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.BLUE));
+        gameData.setGameLeader("Leader");
+        gameData.setCurrentGamePhaseType(GamePhaseType.ASSEMBLE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private File writeSave(GameData gameData) throws Exception {
+        File save = new File(directory, gameData.getGameId() + ".state");
+        GameSaveWriter.writeAtomically(save, GameSaveFormat.write(gameData));
+        return save;
+    }
+
+    @Test
+    void testRebuildFromSaves() throws Exception {
+        writeSave(gameData);
+        // not a game save: ignored
+        Files.write(new File(directory, "other.state").toPath(), new byte[]{1, 2, 3});
+
+        SavedGamesIndex index = new SavedGamesIndex(directory);
+        assertEquals(1, index.size());
+        GameSaveFormat.Metadata metadata = index.get(gameData.getGameId());
+        assertNotNull(metadata);
+        assertEquals("Leader", metadata.getLeader());
+        assertEquals(List.of("Leader"), metadata.getPlayers());
+        assertEquals(GamePhaseType.ASSEMBLE, metadata.getPhase());
+        assertTrue(new File(directory, "index.dat").exists());
+    }
+
+    @Test
+    void testUpdateAndRemoveArePersisted() throws Exception {
+        SavedGamesIndex index = new SavedGamesIndex(directory);
+        assertEquals(0, index.size());
+
+        writeSave(gameData);
+        GameSaveFormat.Metadata older = GameSaveFormat.createMetadata(gameData, 1000);
+        GameSaveFormat.Metadata newer = GameSaveFormat.createMetadata(gameData, 2000);
+        index.update(newer);
+        index.update(older);
+        assertEquals(2000, index.get(gameData.getGameId()).getSavedAt());
+
+        // the reloaded index comes from the index file, not from the save
+        SavedGamesIndex reloaded = new SavedGamesIndex(directory);
+        assertEquals(2000, reloaded.get(gameData.getGameId()).getSavedAt());
+
+        reloaded.remove(gameData.getGameId());
+        assertNull(reloaded.get(gameData.getGameId()));
+        new File(directory, gameData.getGameId() + ".state").delete();
+        assertEquals(0, new SavedGamesIndex(directory).size());
+    }
+
+    @Test
+    void testReconcileWithSaves() throws Exception {
+        SavedGamesIndex index = new SavedGamesIndex(directory);
+        index.update(GameSaveFormat.createMetadata(gameData, 1000));  // no save on disk
+
+        GameData other = new Game().getGameData();
+        other.setLevel(GameLevel.ONE);
+        other.setCurrentGamePhaseType(GamePhaseType.ADVENTURE);
+        writeSave(other);  // save not in the index
+
+        SavedGamesIndex reloaded = new SavedGamesIndex(directory);
+        assertNull(reloaded.get(gameData.getGameId()));
+        assertNotNull(reloaded.get(other.getGameId()));
+        assertEquals(List.of(other.getGameId()),
+                reloaded.getSavedGames().stream().map(GameSaveFormat.Metadata::getGameId).toList());
+    }
+
+    @Test
+    void testCorruptedIndexIsRebuilt() throws Exception {
+        writeSave(gameData);
+        Files.write(new File(directory, "index.dat").toPath(), new byte[]{0x47, 0x54, 0x49, 0x58, 0, 1, 0, 0, 0, 5});
+
+        SavedGamesIndex index = new SavedGamesIndex(directory);
+        assertEquals(1, index.size());
+        assertNotNull(index.get(gameData.getGameId()));
+    }
+
+    @Test
+    void testSavedGamesSharedUntilChange() throws Exception {
+        SavedGamesIndex index = new SavedGamesIndex(directory);
+        index.update(GameSaveFormat.createMetadata(gameData, 1000));
+        List<GameSaveFormat.Metadata> savedGames = index.getSavedGames();
+        assertSame(savedGames, index.getSavedGames());
+        assertThrows(UnsupportedOperationException.class, savedGames::clear);
+
+        GameData other = new Game().getGameData();
+        other.setLevel(GameLevel.ONE);
+        other.setCurrentGamePhaseType(GamePhaseType.ADVENTURE);
+        index.update(GameSaveFormat.createMetadata(other, 2000));
+        assertEquals(List.of(other.getGameId(), gameData.getGameId()),
+                index.getSavedGames().stream().map(GameSaveFormat.Metadata::getGameId).toList());
+
+        index.remove(other.getGameId());
+        assertEquals(1, index.getSavedGames().size());
+    }
+}
@@ -0,0 +1,235 @@
+package it.polimi.ingsw.model.game.journal;
+
+import it.polimi.ingsw.GamesHandler;
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.GamePhaseType;
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.cards.Deck;
+import it.polimi.ingsw.model.game.Cheats;
+import it.polimi.ingsw.model.game.Game;
+import it.polimi.ingsw.model.game.GameData;
+import it.polimi.ingsw.model.game.GameSaveWriter;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.Coordinates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+
+    private GameData gameData;
+    private Player player;
+    private File previousSavesDirectory;
+    private File savesDirectory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        previousSavesDirectory = GameSaveWriter.getSavesDirectory();
+        savesDirectory = Files.createTempDirectory("saves").toFile();
+        GameSaveWriter.setSavesDirectory(savesDirectory);
+
+        Game game = new Game();
+        gameData = game.getGameData();
+        gameData.setLevel(GameLevel.TWO);
+        player = game.addPlayer("Player", UUID.randomUUID(), MainCabinTile.Color.BLUE);
+        player.setShipBoard(ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.BLUE));
+        // a second player still assembling keeps the assemble phase going when the first one ends it
+        Player other = game.addPlayer("Other", UUID.randomUUID(), MainCabinTile.Color.RED);
+        other.setShipBoard(ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED));
+        List<TileSkeleton> tiles = TilesFactory.createPileTiles();
+        for (int i = 0; i < tiles.size(); i++) {
+            tiles.get(i).setTileId(i);
+        }
+        gameData.setCoveredTiles(tiles);
+        gameData.setCurrentGamePhaseType(GamePhaseType.ASSEMBLE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GamesHandler.deleteGameSave(gameData.getGameId());
+        GameSaveWriter.setSavesDirectory(previousSavesDirectory);
+        File[] files = savesDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        savesDirectory.delete();
+    }
+
+    @Test
+    void testReplayAfterSnapshot() throws Exception {
+        gameData.saveGameState();
+        GameSaveWriter.getInstance().flush();
+        GameJournal journal = gameData.getJournal();
+
+        player.drawTile(gameData);
+        int placedId = player.getTileInHand().getTileId();
+        journal.recordTileDrawn(player, placedId);
+        Coordinates coordinates = new Coordinates(7, 8);
+        player.placeTile(coordinates, Rotation.CLOCKWISE);
+        journal.recordTilePlaced(player, coordinates, Rotation.CLOCKWISE);
+
+        player.drawTile(gameData);
+        int discardedId = player.getTileInHand().getTileId();
+        journal.recordTileDrawn(player, discardedId);
+        player.discardTile(gameData);
+        journal.recordTileDiscarded(player);
+
+        player.pickTile(gameData, discardedId);
+        journal.recordTilePicked(player, discardedId);
+        player.reserveTile();
+        journal.recordTileReserved(player);
+
+        assertEquals(6, journal.getPendingEntries());
+
+        GameData loaded = GameData.loadFromState(gameData.getGameId());
+        assertNotNull(loaded);
+        assertEquals(6, loaded.replayJournal());
+
+        Player loadedPlayer = loaded.getPlayer(p -> p.getUsername().equals("Player"));
+        TileSkeleton placed = loadedPlayer.getShipBoard().getTile(coordinates);
+        assertNotNull(placed);
+        assertEquals(placedId, placed.getTileId());
+        assertEquals(Rotation.CLOCKWISE, placed.getAppliedRotation());
+        assertNull(loadedPlayer.getTileInHand());
+        assertEquals(1, loadedPlayer.getReservedTiles().size());
+        assertEquals(discardedId, loadedPlayer.getReservedTiles().getFirst().getTileId());
+        assertEquals(gameData.getCoveredTiles().size(), loaded.getCoveredTiles().size());
+        assertTrue(loaded.getUncoveredTiles().isEmpty());
+    }
+
+    @Test
+    void testSnapshotCompactsJournal() throws Exception {
+        GameJournal journal = gameData.getJournal();
+        player.drawTile(gameData);
+        journal.recordTileDrawn(player, player.getTileInHand().getTileId());
+        assertEquals(1, journal.getPendingEntries());
+        assertTrue(GameJournal.getJournalFile(gameData.getGameId()).exists());
+
+        gameData.saveGameState();
+        GameSaveWriter.getInstance().flush();
+        assertEquals(0, journal.getPendingEntries());
+        assertFalse(GameJournal.getJournalFile(gameData.getGameId()).exists());
+
+        // the snapshot already contains the drawn tile: nothing to replay
+        GameData loaded = GameData.loadFromState(gameData.getGameId());
+        assertNotNull(loaded);
+        assertEquals(0, loaded.replayJournal());
+        assertNotNull(loaded.getPlayer(p -> p.getUsername().equals("Player")).getTileInHand());
+    }
+
+    @Test
+    void testReplayAssemblyEnded() throws Exception {
+        gameData.saveGameState();
+        GameSaveWriter.getInstance().flush();
+
+        synchronized (gameData.getCommandLock()) {
+            gameData.endAssembly(player, false, 1);
+            gameData.getJournal().recordAssemblyEnded(player, player.getPosition());
+        }
+
+        GameData loaded = GameData.loadFromState(gameData.getGameId());
+        assertNotNull(loaded);
+        assertEquals(1, loaded.replayJournal());
+        Player loadedPlayer = loaded.getPlayer(p -> p.getUsername().equals("Player"));
+        assertTrue(loadedPlayer.getShipBoard().isEndedAssembly());
+        assertEquals(player.getPosition(), loadedPlayer.getPosition());
+    }
+
+    @Test
+    void testSnapshotMatchesJournalSequence() throws Exception {
+        GameJournal journal = gameData.getJournal();
+        Thread commands = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                synchronized (gameData.getCommandLock()) {
+                    try {
+                        player.drawTile(gameData);
+                        journal.recordTileDrawn(player, player.getTileInHand().getTileId());
+                        player.discardTile(gameData);
+                        journal.recordTileDiscarded(player);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+        });
+        commands.start();
+        gameData.saveGameState();
+        commands.join();
+        GameSaveWriter.getInstance().flush();
+
+        // whatever the interleaving, replaying the journal on the snapshot rebuilds the same state
+        GameData loaded = GameData.loadFromState(gameData.getGameId());
+        assertNotNull(loaded);
+        loaded.replayJournal();
+        assertEquals(gameData.getCoveredTiles().size(), loaded.getCoveredTiles().size());
+        assertEquals(gameData.getUncoveredTiles().size(), loaded.getUncoveredTiles().size());
+        assertNull(loaded.getPlayer(p -> p.getUsername().equals("Player")).getTileInHand());
+    }
+
+    @Test
+    void testReplayCardGroupsAndCheat() throws Exception {
+        gameData.setDeck(Deck.random(GameLevel.TWO, new Random(1)));
+        gameData.saveGameState();
+        GameSaveWriter.getInstance().flush();
+        GameJournal journal = gameData.getJournal();
+
+        synchronized (gameData.getCommandLock()) {
+            Cheats.cheatShipboard("randomship", gameData, player, 42);
+            journal.recordCheatApplied(player, "randomship", 42);
+            player.showCardGroup(gameData, 1);
+            journal.recordCardGroupShown(player, 1);
+            player.hideCardGroup(gameData);
+            journal.recordCardGroupHidden(player);
+            player.showCardGroup(gameData, 2);
+            journal.recordCardGroupShown(player, 2);
+        }
+
+        GameData loaded = GameData.loadFromState(gameData.getGameId());
+        assertNotNull(loaded);
+        assertEquals(4, loaded.replayJournal());
+
+        Player loadedPlayer = loaded.getPlayer(p -> p.getUsername().equals("Player"));
+        Set<Coordinates> occupied = player.getShipBoard().getOccupiedCoordinates();
+        assertEquals(occupied, loadedPlayer.getShipBoard().getOccupiedCoordinates());
+        for (Coordinates coordinates : occupied) {
+            assertEquals(player.getShipBoard().getTile(coordinates).getTextureName(),
+                    loadedPlayer.getShipBoard().getTile(coordinates).getTextureName());
+        }
+        assertEquals(gameData.getCoveredTiles().size(), loaded.getCoveredTiles().size());
+        assertEquals(2, loadedPlayer.getCardGroupInHand());
+        assertNull(loaded.getDeck().getGroup(1).getHeldBy());
+        assertEquals("Player", loaded.getDeck().getGroup(2).getHeldBy());
+    }
+
+    @Test
+    void testReplayStopsAtFirstFailingEntry() throws Exception {
+        gameData.saveGameState();
+        GameSaveWriter.getInstance().flush();
+        GameJournal journal = gameData.getJournal();
+
+        // no uncovered tile with this id: the entry can not be applied
+        journal.recordTilePicked(player, -1);
+        player.drawTile(gameData);
+        journal.recordTileDrawn(player, player.getTileInHand().getTileId());
+
+        GameData loaded = GameData.loadFromState(gameData.getGameId());
+        assertNotNull(loaded);
+        assertThrows(JournalReplayException.class, loaded::replayJournal);
+        assertNull(loaded.getPlayer(p -> p.getUsername().equals("Player")).getTileInHand());
+    }
+}
@@ -231,6 +231,12 @@ class PlayerTest {
             {
                 setTileId(id);
             }
+
+            @Override
+            public TileSkeleton copy() {
+                // the mock has no state besides its id
+                return createMockTile(id);
+            }
         };
     }
 
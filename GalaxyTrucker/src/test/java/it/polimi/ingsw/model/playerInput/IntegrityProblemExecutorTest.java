@@ -0,0 +1,115 @@
+package it.polimi.ingsw.model.playerInput;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntegrityProblemExecutorTest {
+
+	private IntegrityProblemExecutor executor;
+	private Player player;
+
+	@BeforeEach
+	void setUp() {
+		executor = new IntegrityProblemExecutor("test");
+		player = new Player("TestCommander", UUID.randomUUID(), MainCabinTile.Color.BLUE);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void testLatestPendingSupersedesOlder() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		List<String> executed = new CopyOnWriteArrayList<>();
+
+		executor.submit(player, () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			executed.add("first");
+		});
+		executor.submit(player, () -> executed.add("second"));
+		executor.submit(player, () -> {
+			executed.add("third");
+			done.countDown();
+		});
+
+		assertEquals(1, executor.getQueueLength());
+		assertEquals(1, executor.getInFlightCount());
+		assertEquals(1, executor.getSupersededCount());
+
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+
+		assertEquals(List.of("first", "third"), executed);
+		assertEquals(3, executor.getSubmittedCount());
+	}
+
+	@Test
+	void testNewerWaitsForInFlight() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		List<String> executed = new CopyOnWriteArrayList<>();
+
+		executor.submit(player, () -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			executed.add("older");
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		executor.submit(player, () -> {
+			executed.add("newer");
+			done.countDown();
+		});
+
+		assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+		assertTrue(executed.isEmpty());
+
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of("older", "newer"), executed);
+	}
+
+	@Test
+	void testShutdownRejectsAndInterrupts() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		executor.submit(player, () -> {
+			started.countDown();
+			try {
+				Thread.sleep(10_000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		executor.shutdown();
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		assertTrue(executor.isShutdown());
+		assertFalse(executor.submit(player, () -> {}));
+		assertEquals(0, executor.getQueueLength());
+	}
+}
@@ -0,0 +1,113 @@
+package it.polimi.ingsw.model.playerInput.PIRs;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.playerInput.PIRType;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PIRTimeStatsTest {
+
+	private static final long MS = 1_000_000;
+
+	private final Player player = new Player("PlayerTest", UUID.randomUUID(), MainCabinTile.Color.BLUE);
+
+	@Test
+	void testAnsweredStages() throws InterruptedException {
+		PIRDelay pir = new PIRDelay(player, 10, "answer me", null);
+		Thread.sleep(30);
+		pir.markDelivered();
+		Thread.sleep(50);
+		pir.markResponded();
+		pir.markResponded();  // only the first input counts
+		pir.markCompleted();
+
+		assertTrue(pir.getDeliveryNanos() >= 30 * MS);
+		assertTrue(pir.getThinkNanos() >= 50 * MS);
+		assertTrue(pir.getProcessingNanos() < 50 * MS);
+		assertFalse(pir.isTimedOut());
+	}
+
+	@Test
+	void testTimeout() throws InterruptedException {
+		PIRDelay pir = new PIRDelay(player, 1, "nobody answers", null);
+		pir.markDelivered();
+		pir.run();
+		pir.markCompleted();
+
+		assertTrue(pir.isTimedOut());
+		assertTrue(pir.getThinkNanos() >= 1000 * MS);
+		assertEquals(0, pir.getProcessingNanos());
+
+		PIRTimeStats stats = new PIRTimeStats();
+		stats.record(pir);
+		PIRTimeStats.Totals totals = stats.getTotals().get(PIRType.DELAY);
+		assertEquals(1, totals.count());
+		assertEquals(1, totals.timeouts());
+		assertEquals(totals.thinkNanos(), stats.getOverall().thinkNanos());
+	}
+
+	@Test
+	void testInputBeforeRunDoesNotWait() throws InterruptedException {
+		PIRDelay pir = new PIRDelay(player, 5, "answered early", null);
+		pir.markResponded();
+		pir.endTurn();
+		long start = System.nanoTime();
+		pir.run();
+
+		assertTrue(System.nanoTime() - start < 1000 * MS);
+		assertFalse(pir.isTimedOut());
+	}
+
+	@Test
+	void testDeserializedStartsNow() throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+			out.writeObject(new PIRDelay(player, 1, "saved", null));
+		}
+		PIRDelay pir;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			pir = (PIRDelay) in.readObject();
+		}
+		pir.markDelivered();
+		pir.markCompleted();
+
+		assertTrue(pir.getDeliveryNanos() >= 0);
+		assertTrue(pir.getDeliveryNanos() < 1000 * MS);
+	}
+
+	@Test
+	void testUndeliveredIsThinkTime() throws InterruptedException {
+		PIRDelay pir = new PIRDelay(player, 1, "disconnected", null);
+		Thread.sleep(20);
+		pir.markCompleted();
+
+		assertEquals(0, pir.getDeliveryNanos());
+		assertEquals(0, pir.getProcessingNanos());
+		assertTrue(pir.getThinkNanos() >= 20 * MS);
+	}
+
+	@Test
+	void testReport() {
+		PIRTimeStats stats = new PIRTimeStats();
+		assertFalse(stats.getReport().contains("Server"));
+
+		PIRDelay pir = new PIRDelay(player, 1, "report", null);
+		pir.markResponded();
+		pir.markCompleted();
+		stats.record(pir);
+		stats.record(pir);
+
+		String report = stats.getReport();
+		assertTrue(report.contains("DELAY"));
+		assertTrue(report.contains("ALL"));
+		assertEquals(2, stats.getOverall().count());
+	}
+}
@@ -0,0 +1,156 @@
+package it.polimi.ingsw.model.shipboard;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.Direction;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.ProtectionType;
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.shipboard.tiles.CannonTile;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.BoardCoordinates;
+import it.polimi.ingsw.util.Coordinates;
+import it.polimi.ingsw.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShipBitboardTest {
+
+    private static ShipBitboard build(Map<Coordinates, TileSkeleton> board) {
+        ShipBitboard bitboard = new ShipBitboard();
+        board.forEach((coordinates, tile) -> bitboard.add(tile, coordinates));
+        return bitboard;
+    }
+
+    /* oracles: plain scans of the board */
+
+    private static int countExposedConnectors(Map<Coordinates, TileSkeleton> board) {
+        int count = 0;
+        for (Map.Entry<Coordinates, TileSkeleton> entry : board.entrySet()) {
+            for (Direction direction : Direction.values()) {
+                if (!board.containsKey(entry.getKey().getNext(direction))
+                        && entry.getValue().getSide(direction).isConnector()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static Coordinates getFirstTileLocation(Map<Coordinates, TileSkeleton> board,
+                                                    Direction direction, int coordinate) {
+        int first = BoardCoordinates.getFirstCoordinateFromDirection(direction);
+        Coordinates coord = switch (direction) {
+            case EAST, WEST -> new Coordinates(coordinate, first);
+            case NORTH, SOUTH -> new Coordinates(first, coordinate);
+        };
+        Direction checkDirection = direction.getRotated(Rotation.OPPOSITE);
+        int iterations = Math.abs(BoardCoordinates.getFirstCoordinateFromDirection(checkDirection) - first);
+        for (int i = 0; i < iterations; i++) {
+            if (board.containsKey(coord)) return coord;
+            coord = coord.getNext(checkDirection);
+        }
+        return null;
+    }
+
+    private static ProtectionType getCannonProtection(Map<Coordinates, TileSkeleton> board,
+                                                      Direction direction, int coordinate) {
+        Pair<Coordinates> area = ShipBoard.getCannonCoverageArea(direction, coordinate);
+        if (hasCannonPointing(board, false, direction, area.getFirst(), area.getSecond())) {
+            return ProtectionType.SINGLE_CANNON;
+        }
+        if (hasCannonPointing(board, true, direction, area.getFirst(), area.getSecond())) {
+            return ProtectionType.DOUBLE_CANNON;
+        }
+        return ProtectionType.NONE;
+    }
+
+    private static boolean hasCannonPointing(Map<Coordinates, TileSkeleton> board, boolean checkForDoubleCannon,
+                                             Direction direction, Coordinates topLeft, Coordinates bottomRight) {
+        for (Map.Entry<Coordinates, TileSkeleton> entry : board.entrySet()) {
+            Coordinates c = entry.getKey();
+            if (c.getRow() < topLeft.getRow() || c.getRow() > bottomRight.getRow()
+                    || c.getColumn() < topLeft.getColumn() || c.getColumn() > bottomRight.getColumn()) continue;
+            if (entry.getValue() instanceof CannonTile cannon && cannon.isDoubleCannon() == checkForDoubleCannon
+                    && cannon.getSide(direction) == SideType.CANNON) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertMatchesScan(Map<Coordinates, TileSkeleton> board, ShipBitboard bitboard) {
+        assertTrue(bitboard.isExact());
+        assertEquals(countExposedConnectors(board), bitboard.countExposedConnectors());
+        for (Direction direction : Direction.values()) {
+            for (int coordinate = 0; coordinate <= 12; coordinate++) {
+                assertEquals(getFirstTileLocation(board, direction, coordinate),
+                        bitboard.getFirstTileLocation(direction, coordinate),
+                        "first tile from " + direction + " at " + coordinate);
+                assertEquals(getCannonProtection(board, direction, coordinate),
+                        bitboard.getCannonProtection(direction, coordinate),
+                        "cannon protection from " + direction + " at " + coordinate);
+            }
+        }
+    }
+
+    @Test
+    void testRandomShipsMatchScans() throws Exception {
+        Random random = new Random(7);
+        for (int round = 0; round < 5; round++) {
+            ShipBoard ship = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED);
+            List<TileSkeleton> pile = TilesFactory.createPileTiles();
+            Collections.shuffle(pile, random);
+            for (TileSkeleton tile : pile) {
+                List<Coordinates> free = new ArrayList<>();
+                for (Coordinates occupied : ship.getOccupiedCoordinates()) {
+                    for (Coordinates neighbor : occupied.getNeighbors()) {
+                        if (BoardCoordinates.isOnBoard(GameLevel.TWO, neighbor) && !ship.getBoard().containsKey(neighbor)) {
+                            free.add(neighbor);
+                        }
+                    }
+                }
+                if (free.isEmpty() || random.nextInt(4) == 0) break;
+                tile.rotateTile(Rotation.values()[random.nextInt(Rotation.values().length)]);
+                ship.forceSetTile(tile, free.get(random.nextInt(free.size())));
+            }
+
+            ShipBitboard bitboard = build(ship.getBoard());
+            assertMatchesScan(ship.getBoard(), bitboard);
+            assertEquals(countExposedConnectors(ship.getBoard()), ship.getExposedConnectorsCount());
+            for (Direction direction : Direction.values()) {
+                for (int coordinate = 4; coordinate <= 10; coordinate++) {
+                    assertEquals(getFirstTileLocation(ship.getBoard(), direction, coordinate),
+                            ship.getFirstTileLocation(direction, coordinate));
+                    assertEquals(getCannonProtection(ship.getBoard(), direction, coordinate),
+                            ship.getCannonProtection(direction, coordinate));
+                }
+            }
+
+            // incremental removal
+            List<Coordinates> occupied = new ArrayList<>(ship.getOccupiedCoordinates());
+            Collections.shuffle(occupied, random);
+            for (Coordinates coordinates : occupied.subList(0, occupied.size() / 2)) {
+                bitboard.remove(ship.forceRemoveTile(coordinates), coordinates);
+                assertMatchesScan(ship.getBoard(), bitboard);
+                assertEquals(countExposedConnectors(ship.getBoard()), ship.getExposedConnectorsCount());
+            }
+        }
+    }
+
+    @Test
+    void testTileOutsideBuildingArea() {
+        ShipBoard ship = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED);
+        ShipBitboard bitboard = build(ship.getBoard());
+        assertTrue(bitboard.isExact());
+
+        TileSkeleton tile = TilesFactory.createPileTiles().getFirst();
+        bitboard.add(tile, new Coordinates(4, 7));
+        assertFalse(bitboard.isExact());
+        bitboard.remove(tile, new Coordinates(4, 7));
+        assertTrue(bitboard.isExact());
+    }
+}
@@ -13,6 +13,7 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.shipboard.exceptions.*;
 import it.polimi.ingsw.model.shipboard.tiles.*;
 import it.polimi.ingsw.model.shipboard.tiles.exceptions.FixedTileException;
+import it.polimi.ingsw.util.BoardCoordinates;
 import it.polimi.ingsw.util.Coordinates;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -229,4 +230,173 @@ class ShipBoardTest {
 
 
 
-}
\ No newline at end of file
+
+    @Test
+    void testIncrementalAggregates() throws Exception {
+        ShipBoard ship = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED);
+        ship.resetVisitors();
+
+        CabinTile cabin = (CabinTile) tiles.stream()
+                .filter(t -> t.getClass() == CabinTile.class).findFirst().orElseThrow();
+        LifeSupportSystemTile lifeSupport = (LifeSupportSystemTile) tiles.stream()
+                .filter(t -> t instanceof LifeSupportSystemTile).findFirst().orElseThrow();
+        CannonTile cannon = (CannonTile) tiles.stream()
+                .filter(t -> t instanceof CannonTile c && !c.isDoubleCannon()).findFirst().orElseThrow();
+        ShieldGeneratorTile shield = (ShieldGeneratorTile) tiles.stream()
+                .filter(t -> t instanceof ShieldGeneratorTile).findFirst().orElseThrow();
+
+        Coordinates cabinCoordinates = new Coordinates(7, 8);
+        Coordinates lifeSupportCoordinates = new Coordinates(7, 9);
+        ship.forceSetTile(cabin, cabinCoordinates);
+        ship.forceSetTile(lifeSupport, lifeSupportCoordinates);
+        ship.forceSetTile(cannon, new Coordinates(6, 7));
+        ship.forceSetTile(shield, new Coordinates(8, 7));
+
+        // updated without any reset
+        assertTrue(cabin.getAllowedItems().contains(lifeSupport.getProvidedLifeSupport()));
+        assertTrue(ship.getVisitorCalculateCargoInfo().getCrewInfo().getLocations().containsKey(cabinCoordinates));
+        assertEquals(cannon.calculateFirePower(), ship.getVisitorCalculatePowers().getInfoFirePower().getBasePower());
+        for (Direction direction : Direction.values()) {
+            assertEquals(shield.hasPower(direction), ship.getVisitorCalculateShieldedSides().hasShieldFacing(direction));
+        }
+        assertTrue(ship.crossCheckAggregates());
+
+        ship.forceRemoveTile(lifeSupportCoordinates);
+        ship.forceRemoveTile(new Coordinates(6, 7));
+        ship.forceRemoveTile(new Coordinates(8, 7));
+        assertEquals(CabinTile.BASIC_ALLOWED_ITEMS, cabin.getAllowedItems());
+        assertEquals(0, ship.getVisitorCalculatePowers().getInfoFirePower().getBasePower());
+        for (Direction direction : Direction.values()) {
+            assertFalse(ship.getVisitorCalculateShieldedSides().hasShieldFacing(direction));
+        }
+        assertTrue(ship.crossCheckAggregates());
+    }
+
+    @Test
+    void testIncrementalAggregatesRandomShip() throws Exception {
+        ShipBoard ship = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED);
+        ship.resetVisitors();
+        Random random = new Random(42);
+        List<TileSkeleton> pile = new ArrayList<>(tiles);
+        Collections.shuffle(pile, random);
+
+        for (TileSkeleton tile : pile) {
+            List<Coordinates> free = new ArrayList<>();
+            for (Coordinates occupied : ship.getOccupiedCoordinates()) {
+                for (Coordinates neighbor : occupied.getNeighbors()) {
+                    if (BoardCoordinates.isOnBoard(GameLevel.TWO, neighbor) && !ship.getBoard().containsKey(neighbor)) {
+                        free.add(neighbor);
+                    }
+                }
+            }
+            if (free.isEmpty()) break;
+            ship.forceSetTile(tile, free.get(random.nextInt(free.size())));
+        }
+        assertTrue(ship.crossCheckAggregates());
+
+        List<Coordinates> occupied = new ArrayList<>(ship.getOccupiedCoordinates());
+        occupied.remove(BoardCoordinates.getMainCabinCoordinates());
+        Collections.shuffle(occupied, random);
+        for (Coordinates coordinates : occupied.subList(0, Math.min(20, occupied.size()))) {
+            ship.forceRemoveTile(coordinates);
+            assertTrue(ship.crossCheckAggregates());
+        }
+    }
+
+    @Test
+    void testIntegrityComponentsAfterRemoval() throws Exception {
+        ShipBoard ship = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED);
+        ship.resetVisitors();
+        // a line of welded tiles east of the main cabin (7, 7)
+        for (int column = 8; column <= 10; column++) {
+            ship.forceSetTile(new StructuralTile(Direction.sortedArray(SideType.UNIVERSAL, SideType.UNIVERSAL,
+                    SideType.UNIVERSAL, SideType.UNIVERSAL).toArray(SideType[]::new)), new Coordinates(7, column));
+        }
+        assertEquals(1, ship.getVisitorCheckIntegrity().getClusters().size());
+        assertEquals(4, ship.getVisitorCheckIntegrity().getMainCabinComponent().size());
+
+        ship.forceRemoveTile(new Coordinates(7, 9));
+        assertEquals(2, ship.getVisitorCheckIntegrity().getClusters().size());
+        assertFalse(ship.getVisitorCheckIntegrity().areWelded(new Coordinates(7, 8), new Coordinates(7, 10)));
+        assertEquals(Set.of(new Coordinates(7, 7), new Coordinates(7, 8)),
+                ship.getVisitorCheckIntegrity().getMainCabinComponent());
+        assertEquals(2, ship.getVisitorCheckIntegrity().getProblem(true).getClustersToRemove().size()
+                + ship.getVisitorCheckIntegrity().getProblem(true).getClustersToKeep().size());
+        assertTrue(ship.crossCheckAggregates());
+    }
+
+    @Test
+    void testClustersInVisitOrder() throws Exception {
+        ShipBoard ship = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED);
+        ship.resetVisitors();
+        // two tiles not welded to anything, east and then west of the main cabin (7, 7)
+        for (Coordinates coordinates : List.of(new Coordinates(7, 9), new Coordinates(7, 5))) {
+            ship.forceSetTile(new StructuralTile(Direction.sortedArray(SideType.UNIVERSAL, SideType.UNIVERSAL,
+                    SideType.UNIVERSAL, SideType.UNIVERSAL).toArray(SideType[]::new)), coordinates);
+        }
+
+        List<Set<Coordinates>> clusters = new ArrayList<>();
+        for (TileCluster cluster : ship.getVisitorCheckIntegrity().getClusters()) {
+            clusters.add(cluster.getCoordinates());
+        }
+        assertEquals(List.of(Set.of(new Coordinates(7, 7)), Set.of(new Coordinates(7, 9)),
+                Set.of(new Coordinates(7, 5))), clusters);
+    }
+
+    @Test
+    void testCopyIsIndependent() throws Exception {
+        ShipBoard ship = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED);
+        ship.resetVisitors();
+        Random random = new Random(11);
+        List<TileSkeleton> pile = new ArrayList<>(tiles);
+        Collections.shuffle(pile, random);
+        for (TileSkeleton tile : pile.subList(0, 40)) {
+            List<Coordinates> free = new ArrayList<>();
+            for (Coordinates occupied : ship.getOccupiedCoordinates()) {
+                for (Coordinates neighbor : occupied.getNeighbors()) {
+                    if (BoardCoordinates.isOnBoard(GameLevel.TWO, neighbor) && !ship.getBoard().containsKey(neighbor)) {
+                        free.add(neighbor);
+                    }
+                }
+            }
+            if (free.isEmpty()) break;
+            ship.forceSetTile(tile, free.get(random.nextInt(free.size())));
+        }
+        ship.getVisitorCalculateCargoInfo().getBatteriesInfo().getLocations().values()
+                .forEach(BatteryComponentTile::fill);
+        for (CargoHoldTile hold : ship.getVisitorCalculateCargoInfo().getGoodsInfo().getLocations().values()) {
+            hold.loadItems(LoadableType.BLUE_GOODS, 1);
+        }
+
+        ShipBoard copy = ship.copy();
+        assertEquals(ship.getBoard().keySet(), copy.getBoard().keySet());
+        for (Coordinates coordinates : ship.getOccupiedCoordinates()) {
+            TileSkeleton original = ship.getBoard().get(coordinates);
+            TileSkeleton copied = copy.getBoard().get(coordinates);
+            assertNotSame(original, copied);
+            assertEquals(original.getClass(), copied.getClass());
+            assertEquals(original, copied);
+            assertEquals(original.getAppliedRotation(), copied.getAppliedRotation());
+            assertEquals(coordinates, copied.getCoordinates());
+        }
+        int goods = ship.getVisitorCalculateCargoInfo().getGoodsInfo().count(LoadableType.BLUE_GOODS);
+        int batteries = ship.getVisitorCalculateCargoInfo().getBatteriesInfo().count(LoadableType.BATTERY);
+        assertEquals(goods, copy.getVisitorCalculateCargoInfo().getGoodsInfo().count(LoadableType.BLUE_GOODS));
+        assertEquals(batteries, copy.getVisitorCalculateCargoInfo().getBatteriesInfo().count(LoadableType.BATTERY));
+        assertEquals(ship.getExposedConnectorsCount(), copy.getExposedConnectorsCount());
+
+        // changing the copy does not affect the original
+        copy.loseBestGoods(goods + batteries);
+        assertEquals(0, copy.getVisitorCalculateCargoInfo().getInfoAllContainers().getMostValuableItems(1).size());
+        List<Coordinates> occupied = new ArrayList<>(copy.getOccupiedCoordinates());
+        occupied.remove(BoardCoordinates.getMainCabinCoordinates());
+        for (Coordinates coordinates : occupied.subList(0, occupied.size() / 2)) {
+            copy.forceRemoveTile(coordinates);
+        }
+        assertEquals(goods, ship.getVisitorCalculateCargoInfo().getGoodsInfo().count(LoadableType.BLUE_GOODS));
+        assertEquals(batteries, ship.getVisitorCalculateCargoInfo().getBatteriesInfo().count(LoadableType.BATTERY));
+        assertNotEquals(ship.getBoard().size(), copy.getBoard().size());
+        assertTrue(ship.crossCheckAggregates());
+        assertTrue(copy.crossCheckAggregates());
+    }
+}
@@ -0,0 +1,133 @@
+package it.polimi.ingsw.model.shipboard;
+
+import it.polimi.ingsw.model.shipboard.tiles.StructuralTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.Coordinates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileGridTest {
+
+    private TileGrid grid;
+
+    private static TileSkeleton newTile() {
+        SideType[] sides = new SideType[]{SideType.UNIVERSAL, SideType.SMOOTH, SideType.SINGLE, SideType.DOUBLE};
+        return new StructuralTile(sides);
+    }
+
+    @BeforeEach
+    void setUp() {
+        grid = new TileGrid();
+    }
+
+    @Test
+    void testPutGetRemove() {
+        TileSkeleton tile = newTile();
+        assertNull(grid.put(new Coordinates(7, 7), tile));
+        assertEquals(1, grid.size());
+        assertSame(tile, grid.get(new Coordinates(7, 7)));
+        assertSame(tile, grid.get(Coordinates.toID(7, 7)));
+        assertSame(tile, grid.get(7, 7));
+        assertTrue(grid.containsKey(new Coordinates(7, 7)));
+        assertTrue(grid.containsValue(tile));
+
+        TileSkeleton other = newTile();
+        assertSame(tile, grid.put(new Coordinates(7, 7), other));
+        assertEquals(1, grid.size());
+
+        assertSame(other, grid.remove(new Coordinates(7, 7)));
+        assertNull(grid.remove(new Coordinates(7, 7)));
+        assertTrue(grid.isEmpty());
+        assertFalse(grid.containsKey(new Coordinates(7, 7)));
+    }
+
+    @Test
+    void testOutsideGrid() {
+        // (0; 13) would have the same ID as (1; 1)
+        grid.put(new Coordinates(1, 1), newTile());
+        assertNull(grid.get(new Coordinates(0, 13)));
+        assertFalse(grid.containsKey(new Coordinates(0, 13)));
+        assertNull(grid.get(-1, 5));
+        assertNull(grid.get(Coordinates.getIDsCount()));
+        assertFalse(grid.containsKey("(1; 1)"));
+
+        assertThrows(IllegalArgumentException.class, () -> grid.put(new Coordinates(0, 13), newTile()));
+        assertThrows(NullPointerException.class, () -> grid.put(new Coordinates(5, 5), null));
+    }
+
+    @Test
+    void testIterationIsRowMajor() {
+        List<Coordinates> coordinates = List.of(new Coordinates(9, 4), new Coordinates(5, 8),
+                new Coordinates(7, 7), new Coordinates(7, 6));
+        for (Coordinates c : coordinates) {
+            grid.put(c, newTile());
+        }
+        List<Coordinates> expected = List.of(new Coordinates(5, 8), new Coordinates(7, 6),
+                new Coordinates(7, 7), new Coordinates(9, 4));
+        assertEquals(expected, new ArrayList<>(grid.keySet()));
+
+        List<Coordinates> visited = new ArrayList<>();
+        grid.forEach((c, _) -> visited.add(c));
+        assertEquals(expected, visited);
+
+        Map<Coordinates, TileSkeleton> copy = new HashMap<>(grid);
+        assertEquals(copy, grid);
+        assertEquals(copy.hashCode(), grid.hashCode());
+    }
+
+    @Test
+    void testIteratorRemoveAndFailFast() {
+        grid.put(new Coordinates(6, 6), newTile());
+        grid.put(new Coordinates(6, 7), newTile());
+        grid.put(new Coordinates(6, 8), newTile());
+
+        grid.keySet().removeIf(c -> c.getColumn() == 7);
+        assertEquals(Set.of(new Coordinates(6, 6), new Coordinates(6, 8)), grid.keySet());
+
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (Coordinates c : grid.keySet()) {
+                grid.remove(c);
+            }
+        });
+    }
+
+    @Test
+    void testCopyIsSnapshot() {
+        grid.put(new Coordinates(7, 7), newTile());
+        TileGrid copy = new TileGrid(grid);
+
+        // iterating the copy while the original changes does not throw
+        for (Coordinates coordinates : copy.keySet()) {
+            grid.remove(coordinates);
+            grid.put(new Coordinates(8, 8), newTile());
+        }
+        assertEquals(1, copy.size());
+        assertNotNull(copy.get(7, 7));
+        assertNull(copy.get(8, 8));
+        assertNull(grid.get(7, 7));
+    }
+
+    @Test
+    void testSerialization() throws IOException, ClassNotFoundException {
+        grid.put(new Coordinates(7, 7), newTile());
+        grid.put(new Coordinates(8, 7), newTile());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(grid);
+        }
+        TileGrid read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            read = (TileGrid) in.readObject();
+        }
+        assertEquals(grid.keySet(), read.keySet());
+        assertNotNull(read.get(8, 7));
+        read.remove(new Coordinates(8, 7));
+        assertEquals(1, read.size());
+    }
+}
@@ -1,5 +1,7 @@
 package it.polimi.ingsw.model.shipboard.tiles;
 
+import it.polimi.ingsw.enums.Direction;
+import it.polimi.ingsw.enums.Rotation;
 import it.polimi.ingsw.model.shipboard.SideType;
 import it.polimi.ingsw.model.shipboard.tiles.*;
 import it.polimi.ingsw.model.shipboard.visitors.TileVisitor;
@@ -118,4 +120,36 @@ class StructuralTileTest {
         // Assert
         assertTrue(mockVisitor.wasVisited(), "The visitor should visit the StructuralTile.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConnectorsFollowRotation() throws Exception {
+        // East: UNIVERSAL, North: SMOOTH, West: SINGLE, South: DOUBLE
+        assertTrue(structuralTile.hasConnector(Direction.EAST));
+        assertFalse(structuralTile.hasConnector(Direction.NORTH));
+        assertEquals(0b1101, structuralTile.getConnectorsMask());
+
+        structuralTile.rotateTile(Rotation.CLOCKWISE);
+        for (Direction direction : Direction.values()) {
+            assertEquals(structuralTile.getSide(direction).isConnector(), structuralTile.hasConnector(direction));
+        }
+        structuralTile.resetRotation();
+        assertEquals(0b1101, structuralTile.getConnectorsMask());
+    }
+
+    @Test
+    void testSideTypeTables() {
+        assertTrue(SideType.areWeldable(SideType.SINGLE, SideType.UNIVERSAL));
+        assertTrue(SideType.areWeldable(SideType.UNIVERSAL, SideType.DOUBLE));
+        assertFalse(SideType.areWeldable(SideType.SINGLE, SideType.DOUBLE));
+        assertFalse(SideType.areWeldable(SideType.SMOOTH, SideType.SMOOTH));
+        assertTrue(SideType.areCompatible(SideType.SMOOTH, SideType.SMOOTH));
+        assertFalse(SideType.areCompatible(SideType.SMOOTH, SideType.SINGLE));
+        assertFalse(SideType.areCompatible(SideType.CANNON, SideType.SMOOTH));
+        for (SideType s1 : SideType.values()) {
+            for (SideType s2 : SideType.values()) {
+                assertEquals(SideType.areWeldable(s1, s2), SideType.areWeldable(s2, s1));
+                assertEquals(SideType.areCompatible(s1, s2), SideType.areCompatible(s2, s1));
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package it.polimi.ingsw.model.shipboard.visitors;
+
+import it.polimi.ingsw.model.shipboard.LoadableType;
+import it.polimi.ingsw.model.shipboard.SideType;
+import it.polimi.ingsw.model.shipboard.tiles.BatteryComponentTile;
+import it.polimi.ingsw.model.shipboard.tiles.CargoHoldTile;
+import it.polimi.ingsw.model.shipboard.tiles.ContainerTile;
+import it.polimi.ingsw.util.Coordinates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculatorCargoInfoTest {
+
+    private CargoHoldTile hold1;
+    private CargoHoldTile hold2;
+    private VisitorCalculateCargoInfo visitor;
+
+    private static CargoHoldTile newHold(int capacity, Coordinates coordinates) throws Exception {
+        SideType[] sides = new SideType[]{SideType.UNIVERSAL, SideType.UNIVERSAL, SideType.UNIVERSAL, SideType.UNIVERSAL};
+        CargoHoldTile hold = new CargoHoldTile(sides, capacity);
+        hold.setAllowedItems(Set.of(LoadableType.BLUE_GOODS, LoadableType.GREEN_GOODS,
+                LoadableType.YELLOW_GOODS, LoadableType.RED_GOODS));
+        hold.place(coordinates);
+        return hold;
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        hold1 = newHold(3, Coordinates.of(7, 8));
+        hold2 = newHold(2, Coordinates.of(7, 9));
+        visitor = new VisitorCalculateCargoInfo();
+        visitor.visitCargoHold(hold1);
+        visitor.visitCargoHold(hold2);
+    }
+
+    private void assertTotalsMatchContainers(CalculatorCargoInfo<CargoHoldTile> info) {
+        for (LoadableType item : LoadableType.values()) {
+            int expected = hold1.countLoaded(item) + hold2.countLoaded(item);
+            assertEquals(expected, info.count(item), "count of " + item);
+        }
+        assertEquals(hold1.getLoadedItems().size() + hold2.getLoadedItems().size(),
+                info.getAllLoadedItems().size());
+    }
+
+    @Test
+    void testTotalsFollowLoadAndUnload() throws Exception {
+        CalculatorCargoInfo<CargoHoldTile> info = visitor.getGoodsInfo();
+        hold1.loadItems(LoadableType.RED_GOODS, 2);
+        hold2.loadItems(LoadableType.BLUE_GOODS, 1);
+        hold2.loadItems(LoadableType.RED_GOODS, 1);
+        assertEquals(3, info.count(LoadableType.RED_GOODS));
+        assertEquals(4, info.countAll(Set.of(LoadableType.RED_GOODS, LoadableType.BLUE_GOODS)));
+        assertEquals(List.of(LoadableType.BLUE_GOODS, LoadableType.RED_GOODS, LoadableType.RED_GOODS,
+                LoadableType.RED_GOODS), info.getAllLoadedItems().stream().sorted().toList());
+        assertTotalsMatchContainers(info);
+
+        hold1.removeItems(LoadableType.RED_GOODS, 1);
+        assertEquals(2, hold2.removeAny(Set.of(LoadableType.RED_GOODS, LoadableType.BLUE_GOODS), 5));
+        assertTotalsMatchContainers(info);
+
+        hold1.restoreItems(Set.of(LoadableType.YELLOW_GOODS), List.of(LoadableType.YELLOW_GOODS));
+        assertEquals(0, info.count(LoadableType.RED_GOODS));
+        assertEquals(1, info.count(LoadableType.YELLOW_GOODS));
+        assertTotalsMatchContainers(info);
+        // also the calculator of all the containers follows the changes
+        assertEquals(1, visitor.getInfoAllContainers().count(LoadableType.YELLOW_GOODS));
+    }
+
+    @Test
+    void testUnvisitAndDetach() throws Exception {
+        CalculatorCargoInfo<CargoHoldTile> info = visitor.getGoodsInfo();
+        hold1.loadItems(LoadableType.GREEN_GOODS, 3);
+        hold2.loadItems(LoadableType.GREEN_GOODS, 1);
+
+        visitor.unvisit(hold2, hold2.getCoordinates());
+        assertEquals(3, info.count(LoadableType.GREEN_GOODS));
+        hold2.loadItems(LoadableType.GREEN_GOODS, 1);  // no more on the ship
+        assertEquals(3, info.count(LoadableType.GREEN_GOODS));
+
+        visitor.detach();
+        hold1.removeItems(LoadableType.GREEN_GOODS, 3);
+        assertEquals(3, info.count(LoadableType.GREEN_GOODS));
+    }
+
+    @Test
+    void testTotalsAfterDeserialization() throws Exception {
+        hold1.loadItems(LoadableType.RED_GOODS, 1);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(visitor);
+        }
+        VisitorCalculateCargoInfo read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            read = (VisitorCalculateCargoInfo) in.readObject();
+        }
+        CalculatorCargoInfo<CargoHoldTile> info = read.getGoodsInfo();
+        assertEquals(1, info.count(LoadableType.RED_GOODS));
+
+        CargoHoldTile readHold = info.getLocations().get(hold1.getCoordinates());
+        readHold.loadItems(LoadableType.RED_GOODS, 1);
+        assertEquals(2, info.count(LoadableType.RED_GOODS));
+    }
+
+    @Test
+    void testMostValuableItems() throws Exception {
+        SideType[] sides = new SideType[]{SideType.UNIVERSAL, SideType.UNIVERSAL, SideType.UNIVERSAL, SideType.UNIVERSAL};
+        BatteryComponentTile battery = new BatteryComponentTile(sides, 3);
+        battery.place(Coordinates.of(8, 8));
+        battery.fill();
+        visitor.visitBatteryComponent(battery);
+        CalculatorCargoInfo<ContainerTile> info = visitor.getInfoAllContainers();
+
+        hold1.loadItems(LoadableType.GREEN_GOODS, 1);
+        hold1.loadItems(LoadableType.RED_GOODS, 1);
+        hold2.loadItems(LoadableType.RED_GOODS, 1);
+        hold2.loadItems(LoadableType.BLUE_GOODS, 1);
+
+        Map<LoadableType, Integer> expected = new LinkedHashMap<>();
+        expected.put(LoadableType.RED_GOODS, 2);
+        expected.put(LoadableType.GREEN_GOODS, 1);
+        assertEquals(expected, info.getMostValuableItems(3));
+        assertEquals(List.copyOf(expected.entrySet()), List.copyOf(info.getMostValuableItems(3).entrySet()));
+
+        // not enough goods: batteries are lost too
+        assertEquals(6, info.removeMostValuableItems(6));
+        assertEquals(0, info.countAll(Set.of(LoadableType.RED_GOODS, LoadableType.GREEN_GOODS, LoadableType.BLUE_GOODS)));
+        assertEquals(1, battery.countLoaded(LoadableType.BATTERY));
+        assertEquals(1, info.removeMostValuableItems(5));
+        assertTrue(info.getMostValuableItems(5).isEmpty());
+    }
+
+    @Test
+    void testRemovalMatchesVisitorSmugglers() throws Exception {
+        Random random = new Random(3);
+        List<LoadableType> goods = List.of(LoadableType.BLUE_GOODS, LoadableType.GREEN_GOODS,
+                LoadableType.YELLOW_GOODS, LoadableType.RED_GOODS);
+        for (int round = 0; round < 50; round++) {
+            setUp();
+            for (CargoHoldTile hold : List.of(hold1, hold2)) {
+                while (hold.getCapacityLeft() > 0 && random.nextBoolean()) {
+                    hold.loadItems(goods.get(random.nextInt(goods.size())), 1);
+                }
+            }
+            int quantity = 1 + random.nextInt(5);
+
+            // oracle on copies of the same holds
+            List<CargoHoldTile> copies = new ArrayList<>();
+            VisitorSmugglers smugglers = new VisitorSmugglers(quantity);
+            for (CargoHoldTile hold : List.of(hold1, hold2)) {
+                CargoHoldTile copy = newHold(hold.getCapacity(), hold.getCoordinates());
+                for (LoadableType item : hold.getLoadedItems()) {
+                    copy.loadItems(item, 1);
+                }
+                copies.add(copy);
+                copy.accept(smugglers);
+            }
+            smugglers.removeMostValuableItems(quantity);
+
+            visitor.getGoodsInfo().removeMostValuableItems(quantity);
+            for (LoadableType item : goods) {
+                assertEquals(copies.get(0).countLoaded(item) + copies.get(1).countLoaded(item),
+                        visitor.getGoodsInfo().count(item), "count of " + item);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.Direction;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.enums.Rotation;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import it.polimi.ingsw.util.Coordinates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssemblyAdvisorTest {
+
+    private static final long BUDGET_MILLIS = 60_000;
+
+    private AssemblyAdvisor advisor;
+    private ShipBoard shipBoard;
+    private List<TileSkeleton> tiles;
+
+    @BeforeEach
+    void setUp() {
+        advisor = new AssemblyAdvisor(GameLevel.TWO);
+        shipBoard = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.BLUE);
+        tiles = new ArrayList<>(TilesFactory.createPileTiles());
+        Collections.shuffle(tiles, new Random(7));
+    }
+
+    private boolean hasNeighbor(ShipBoard ship, Coordinates coordinates) {
+        for (Direction direction : Direction.values()) {
+            if (ship.getBoard().containsKey(coordinates.getNext(direction))) return true;
+        }
+        return false;
+    }
+
+    @Test
+    void testPlacementOfTileInHand() {
+        TileSkeleton tileInHand = tiles.getFirst();
+        int tilesBefore = shipBoard.getTiles().size();
+
+        AssemblyAdvisor.Placement placement = advisor.advise(shipBoard, tileInHand, tiles, BUDGET_MILLIS);
+
+        assertNotNull(placement);
+        assertSame(tileInHand, placement.tile());
+        assertTrue(advisor.getFreeSpots(shipBoard).contains(placement.coordinates()));
+        assertTrue(hasNeighbor(shipBoard, placement.coordinates()));
+        // neither the ship nor the tile are modified
+        assertEquals(tilesBefore, shipBoard.getTiles().size());
+        assertEquals(Rotation.NONE, tileInHand.getAppliedRotation());
+    }
+
+    @Test
+    void testPickAmongUncoveredTiles() {
+        List<TileSkeleton> uncovered = tiles.subList(0, 10);
+
+        AssemblyAdvisor.Placement placement = advisor.advise(shipBoard, null, uncovered, BUDGET_MILLIS);
+
+        assertNotNull(placement);
+        assertTrue(uncovered.contains(placement.tile()));
+        // no other tile is better than the suggested one
+        for (TileSkeleton tile : uncovered) {
+            assertTrue(advisor.advise(shipBoard, tile, List.of(), BUDGET_MILLIS).gain() <= placement.gain());
+        }
+    }
+
+    @Test
+    void testFollowingTheAdviceImprovesTheShip() throws Exception {
+        float before = AssemblyAdvisor.evaluate(shipBoard);
+        TileSkeleton tile = tiles.getFirst();
+        AssemblyAdvisor.Placement placement = advisor.advise(shipBoard, tile, List.of(), BUDGET_MILLIS);
+
+        tile.rotateTile(placement.rotation());
+        shipBoard.setTile(tile, placement.coordinates());
+
+        assertEquals(before + placement.gain(), AssemblyAdvisor.evaluate(shipBoard), 1e-3);
+    }
+
+    @Test
+    void testSameShipSameAdvice() {
+        List<TileSkeleton> uncovered = tiles.subList(0, 20);
+
+        assertEquals(advisor.advise(shipBoard, null, uncovered, BUDGET_MILLIS),
+                advisor.advise(shipBoard, null, uncovered, BUDGET_MILLIS));
+    }
+
+    @Test
+    void testNoAdvice() throws Exception {
+        assertNull(advisor.advise(shipBoard, null, List.of(), BUDGET_MILLIS));
+
+        shipBoard.endAssembly();
+        assertNull(advisor.advise(shipBoard, tiles.getFirst(), tiles, BUDGET_MILLIS));
+    }
+}
@@ -0,0 +1,58 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.network.GameServer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSimulationTest {
+
+    @Test
+    void testSimulatedGameFinishesWithoutServer() {
+        boolean serverWasRunning = GameServer.isRunning();
+
+        GameSimulation.Result result = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> new GameSimulation(GameLevel.TWO, 2, 42).play());
+
+        assertTrue(result.finished());
+        assertEquals(42, result.seed());
+        assertEquals(List.of("sim-0", "sim-1"), List.copyOf(result.scores().keySet()));
+        assertTrue(result.getWinnerSeat() >= 0);
+        if (!serverWasRunning) {
+            assertFalse(GameServer.isRunning());
+        }
+    }
+
+    @Test
+    void testSameSeedReplaysTheSameGame() {
+        GameSimulation.Result first = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> new GameSimulation(GameLevel.TWO, 3, 11).play());
+        GameSimulation.Result second = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> new GameSimulation(GameLevel.TWO, 3, 11).play());
+
+        assertTrue(first.finished());
+        assertEquals(first.scores(), second.scores());
+    }
+
+    @Test
+    void testRunnerPlaysTheWholeBatch() throws InterruptedException {
+        SimulationRunner runner = new SimulationRunner(GameLevel.TWO, 4, 3, 7, 2);
+        List<GameSimulation.Result> results = runner.run(60);
+
+        assertEquals(4, results.size());
+        assertTrue(results.stream().allMatch(GameSimulation.Result::finished));
+        assertEquals(List.of(7L, 8L, 9L, 10L),
+                results.stream().map(GameSimulation.Result::seed).sorted().toList());
+        assertTrue(runner.getReport().contains("Finished 4"));
+    }
+
+    @Test
+    void testInvalidNumberOfPlayers() {
+        assertThrows(IllegalArgumentException.class, () -> new GameSimulation(GameLevel.TWO, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GameSimulation(GameLevel.TWO, 5, 0));
+    }
+}
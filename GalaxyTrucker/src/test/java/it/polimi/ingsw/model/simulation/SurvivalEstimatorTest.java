@@ -0,0 +1,70 @@
+package it.polimi.ingsw.model.simulation;
+
+import it.polimi.ingsw.TilesFactory;
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.game.Cheats;
+import it.polimi.ingsw.model.shipboard.ShipBoard;
+import it.polimi.ingsw.model.shipboard.tiles.MainCabinTile;
+import it.polimi.ingsw.model.shipboard.tiles.TileSkeleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.RemoteException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SurvivalEstimatorTest {
+
+    private ShipBoard shipBoard;
+
+    @BeforeEach
+    void setUp() throws RemoteException {
+        shipBoard = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.BLUE);
+        Random random = new Random(3);
+        List<TileSkeleton> tiles = TilesFactory.createPileTiles();
+        Collections.shuffle(tiles, random);
+        Cheats.randomFillShipboard(shipBoard, tiles, random);
+    }
+
+    @Test
+    void testEstimateIsConsistent() {
+        int tilesBefore = shipBoard.getTiles().size();
+
+        SurvivalEstimator.Estimate estimate = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> new SurvivalEstimator(GameLevel.TWO).estimate(shipBoard));
+
+        assertEquals(SurvivalEstimator.DEFAULT_SAMPLES, estimate.samples());
+        assertTrue(estimate.survivalProbability() >= 0 && estimate.survivalProbability() <= 1);
+        assertTrue(estimate.expectedLostTiles() >= 0);
+        // the estimated ship is left untouched
+        assertEquals(tilesBefore, shipBoard.getTiles().size());
+        assertFalse(shipBoard.isFilled());
+    }
+
+    @Test
+    void testSameSeedSameEstimate() {
+        SurvivalEstimator estimator = new SurvivalEstimator(GameLevel.ONE);
+
+        assertEquals(estimator.estimate(shipBoard, 300, 5), estimator.estimate(shipBoard, 300, 5));
+    }
+
+    @Test
+    void testShipWithoutEnginesNeverSurvivesOpenSpace() {
+        ShipBoard onlyMainCabin = ShipBoard.create(GameLevel.TWO, MainCabinTile.Color.RED);
+
+        SurvivalEstimator.Estimate estimate = new SurvivalEstimator(GameLevel.TWO).estimate(onlyMainCabin, 500, 1);
+
+        // open space is almost always drawn among 12 cards, and a ship without engines ends its flight there
+        assertTrue(estimate.survivalProbability() < 0.5);
+    }
+
+    @Test
+    void testInvalidNumberOfSamples() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SurvivalEstimator(GameLevel.TWO).estimate(shipBoard, 0, 0));
+    }
+}
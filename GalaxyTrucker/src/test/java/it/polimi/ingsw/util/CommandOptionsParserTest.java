@@ -63,4 +63,20 @@ class CommandOptionsParserTest {
                         new CommandOptionsParser.OptionFinder(List.of("-h2"), "help", "false")
                 )));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testValidatorOnlyOnProvidedValues() throws CommandOptionsParser.IllegalFormatException {
+        CommandOptionsParser.Validator validator = new CommandOptionsParser.Validator();
+        validator.add("number", CommandOptionsParser.Validator.createIntegerInvalidator("number", 1, 10));
+        List<CommandOptionsParser.OptionFinder> numberFinders = List.of(
+                new CommandOptionsParser.OptionFinder(List.of("-n", "--number"), "number", "5"));
+
+        // missing: the default value is used
+        assertEquals("5", CommandOptionsParser.parse("command", numberFinders, validator).get("number"));
+        assertEquals("7", CommandOptionsParser.parse("command -n 7", numberFinders, validator).get("number"));
+        assertThrows(CommandOptionsParser.IllegalFormatException.class, () ->
+                CommandOptionsParser.parse("command -n 11", numberFinders, validator));
+        assertThrows(CommandOptionsParser.IllegalFormatException.class, () ->
+                CommandOptionsParser.parse("command --number", numberFinders, validator));
+    }
+}
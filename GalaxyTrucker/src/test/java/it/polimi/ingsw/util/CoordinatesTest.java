@@ -0,0 +1,67 @@
+package it.polimi.ingsw.util;
+
+import it.polimi.ingsw.enums.Direction;
+import it.polimi.ingsw.enums.GameLevel;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordinatesTest {
+
+    @Test
+    void testCanonicalInstances() {
+        assertSame(Coordinates.of(7, 7), Coordinates.of(7, 7));
+        assertSame(Coordinates.of(7, 7), Coordinates.fromID(new Coordinates(7, 7).getID()));
+        assertEquals(new Coordinates(7, 7), Coordinates.of(7, 7));
+        assertEquals(Objects.hash(7, 8), Coordinates.of(7, 8).hashCode());
+
+        // outside the grid: still valid, but not shared
+        Coordinates outside = Coordinates.of(-1, 3);
+        assertEquals(new Coordinates(-1, 3), outside);
+        assertFalse(outside.isInGrid());
+    }
+
+    @Test
+    void testNeighbors() {
+        Coordinates center = Coordinates.of(7, 7);
+        assertSame(Coordinates.of(6, 7), center.getNext(Direction.NORTH));
+        assertSame(Coordinates.of(8, 7), center.getNext(Direction.SOUTH));
+        assertSame(Coordinates.of(7, 8), center.getNext(Direction.EAST));
+        assertSame(Coordinates.of(7, 6), center.getNext(Direction.WEST));
+        assertEquals(Set.of(Coordinates.of(6, 7), Coordinates.of(8, 7), Coordinates.of(7, 8), Coordinates.of(7, 6)),
+                center.getNeighbors());
+
+        for (Direction direction : Direction.values()) {
+            assertEquals(direction, center.getNeighborDirection(center.getNext(direction)));
+        }
+        assertNull(center.getNeighborDirection(Coordinates.of(8, 8)));
+        assertNull(center.getNeighborDirection(center));
+
+        // stepping out of the grid
+        assertEquals(new Coordinates(-1, 0), Coordinates.of(0, 0).getNext(Direction.NORTH));
+        assertEquals(new Coordinates(3, 12), Coordinates.of(3, 11).getNext(Direction.EAST));
+    }
+
+    @Test
+    void testDeserializationIsCanonical() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(Coordinates.of(5, 6));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            assertSame(Coordinates.of(5, 6), in.readObject());
+        }
+    }
+
+    @Test
+    void testIsOnBoard() {
+        assertTrue(BoardCoordinates.isOnBoard(GameLevel.TWO, Coordinates.of(7, 4)));
+        assertFalse(BoardCoordinates.isOnBoard(GameLevel.TESTFLIGHT, Coordinates.of(7, 4)));
+        assertFalse(BoardCoordinates.isOnBoard(GameLevel.TWO, Coordinates.of(9, 7)));
+        assertFalse(BoardCoordinates.isOnBoard(GameLevel.TWO, new Coordinates(-5, 100)));
+    }
+}
@@ -0,0 +1,37 @@
+package it.polimi.ingsw.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjointSetTest {
+
+    @Test
+    void testUnionFind() {
+        DisjointSet set = new DisjointSet(4);
+        assertFalse(set.connected(0, 1));
+        assertTrue(set.union(0, 1));
+        assertTrue(set.union(2, 3));
+        assertFalse(set.connected(1, 2));
+        assertTrue(set.union(1, 3));
+        assertFalse(set.union(0, 2));
+        assertTrue(set.connected(0, 3));
+        assertEquals(set.find(0), set.find(2));
+    }
+
+    @Test
+    void testGrowsAndResets() {
+        DisjointSet set = new DisjointSet(2);
+        assertTrue(set.union(1, 100));
+        assertTrue(set.connected(100, 1));
+        assertEquals(57, set.find(57));
+
+        set.union(100, 57);
+        set.reset(List.of(1, 57, 100));
+        assertFalse(set.connected(1, 100));
+        assertFalse(set.connected(57, 100));
+        assertThrows(IllegalArgumentException.class, () -> set.find(-1));
+    }
+}
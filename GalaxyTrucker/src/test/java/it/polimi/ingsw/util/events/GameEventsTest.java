@@ -0,0 +1,62 @@
+package it.polimi.ingsw.util.events;
+
+import it.polimi.ingsw.enums.GameLevel;
+import it.polimi.ingsw.model.simulation.GameSimulation;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventsTest {
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+    }
+
+    @Test
+    void testSimulatedGameIsRecorded() throws Exception {
+        Path file = Files.createTempFile("game", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(GamePhaseEvent.NAME);
+                recording.enable(CardResolutionEvent.NAME);
+                recording.enable(PIREvent.NAME);
+                recording.start();
+                assertTrue(new GameSimulation(GameLevel.TWO, 2, 42).play().finished());
+                recording.stop();
+                recording.dump(file);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            List<RecordedEvent> phases = ofType(events, GamePhaseEvent.NAME);
+            assertEquals(List.of("LOBBY", "ASSEMBLE", "FLIGHT", "ENDGAME"),
+                    phases.stream().map(e -> e.getString("phase")).toList());
+            assertTrue(phases.stream().allMatch(e -> e.getBoolean("completed")));
+            String gameId = phases.getFirst().getString("gameId");
+            assertNotNull(gameId);
+
+            List<RecordedEvent> cards = ofType(events, CardResolutionEvent.NAME);
+            assertFalse(cards.isEmpty());
+            assertTrue(cards.stream().allMatch(e -> gameId.equals(e.getString("gameId"))
+                    && e.getString("card") != null));
+
+            List<RecordedEvent> pirs = ofType(events, PIREvent.NAME);
+            assertFalse(pirs.isEmpty());
+            assertTrue(pirs.stream().allMatch(e -> Set.of("sim-0", "sim-1").contains(e.getString("player"))
+                    && Set.of(PIREvent.ANSWERED, PIREvent.TIMEOUT).contains(e.getString("outcome"))));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
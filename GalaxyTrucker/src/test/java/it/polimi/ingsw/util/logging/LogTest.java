@@ -0,0 +1,111 @@
+package it.polimi.ingsw.util.logging;
+
+import it.polimi.ingsw.util.Logger.LoggerLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTest {
+
+    private final List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+    private final LogSink capture = records::add;
+
+    @BeforeEach
+    void setUp() {
+        Log.addOutput(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Log.removeOutput(capture);
+        Log.setLevel("logtest", null);
+    }
+
+    private List<LogRecord> recordsOf(Log log) {
+        synchronized (records) {
+            return records.stream().filter(r -> r.loggerName().equals(log.getName())).toList();
+        }
+    }
+
+    @Test
+    void testPackageLevels() {
+        Log.setLevel("logtest", LoggerLevel.WARN);
+        Log log = Log.get("logtest.levels.Some");
+        assertFalse(log.isEnabled(LoggerLevel.INFO));
+        assertTrue(log.isEnabled(LoggerLevel.WARN));
+
+        Log.setLevel("logtest.levels", LoggerLevel.DEBUG);
+        assertTrue(log.isEnabled(LoggerLevel.DEBUG));
+        assertFalse(Log.get("logtest.other.Some").isEnabled(LoggerLevel.INFO));
+
+        Log.setLevel("logtest.levels", null);
+        assertFalse(log.isEnabled(LoggerLevel.INFO));
+    }
+
+    @Test
+    void testDisabledMessageIsNotBuilt() {
+        Log.setLevel("logtest", LoggerLevel.OFF);
+        Log log = Log.get("logtest.disabled.Some");
+        log.debug(() -> fail("message built for a disabled level"));
+        log.error("not written");
+        Log.flush();
+
+        assertTrue(recordsOf(log).isEmpty());
+    }
+
+    @Test
+    void testTags() {
+        Log log = Log.get("logtest.tags.Some");
+        try (Log.Scope _ = Log.tag("game", 1)) {
+            try (Log.Scope _ = Log.tag("player", "p")) {
+                log.info("tagged");
+            }
+            log.info("game only");
+        }
+        log.info("untagged");
+        Log.flush();
+
+        List<LogRecord> written = recordsOf(log);
+        assertEquals(3, written.size());
+        assertEquals("game=1 player=p", written.get(0).tags());
+        assertEquals("game=1", written.get(1).tags());
+        assertEquals("", written.get(2).tags());
+        assertEquals("untagged", written.get(2).message());
+    }
+
+    @Test
+    void testRepeatedMessagesAreSuppressed() throws InterruptedException {
+        Log log = Log.get("logtest.repeated.Some");
+        for (int i = 0; i < 200; i++) {
+            log.warn("always the same");
+        }
+        Log.flush();
+
+        // at most two seconds have been crossed by the loop
+        long repeats = recordsOf(log).size();
+        assertTrue(repeats >= LogDispatcher.MAX_REPEATS_PER_SECOND);
+        assertTrue(repeats <= 2 * LogDispatcher.MAX_REPEATS_PER_SECOND);
+
+        // the suppressed ones are reported once the second is over, even without new messages
+        long deadline = System.currentTimeMillis() + 3000;
+        while (recordsOf(log).stream().noneMatch(r -> r.message().startsWith("Suppressed "))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(recordsOf(log).stream().anyMatch(r -> r.message().startsWith("Suppressed ")));
+    }
+
+    @Test
+    void testParseLevels() {
+        assertEquals(Map.of("", LoggerLevel.WARN, "it.polimi.ingsw.network", LoggerLevel.DEBUG),
+                Log.parseLevels("warn, it.polimi.ingsw.network=debug"));
+        assertThrows(IllegalArgumentException.class, () -> Log.parseLevels("verbose"));
+    }
+}
@@ -0,0 +1,64 @@
+package it.polimi.ingsw.util.logging;
+
+import it.polimi.ingsw.util.Logger.LoggerLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RotatingFileLogSinkTest {
+
+    private File directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("logs").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private static LogRecord record(String message) {
+        return new LogRecord(0, LoggerLevel.INFO, "test.Logger", "main", "game=1", message, null);
+    }
+
+    @Test
+    void testFormat() throws IOException {
+        File file = new File(directory, "server.log");
+        RotatingFileLogSink sink = new RotatingFileLogSink(file, 1024, 1);
+        sink.write(record("hello"));
+        sink.flush();
+
+        String line = Files.readString(file.toPath());
+        assertTrue(line.endsWith("INFO  [main] test.Logger {game=1} - hello" + System.lineSeparator()));
+    }
+
+    @Test
+    void testRotation() throws IOException {
+        File file = new File(directory, "server.log");
+        RotatingFileLogSink sink = new RotatingFileLogSink(file, 200, 2);
+        for (int i = 0; i < 20; i++) {
+            sink.write(record("message " + i));
+        }
+        sink.flush();
+
+        assertTrue(file.length() <= 200);
+        assertTrue(new File(directory, "server.log.1").exists());
+        assertTrue(new File(directory, "server.log.2").exists());
+        assertFalse(new File(directory, "server.log.3").exists());
+        assertTrue(Files.readString(file.toPath()).contains("message 19"));
+    }
+}
@@ -0,0 +1,47 @@
+package it.polimi.ingsw.util.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void testBucketsCoverAllValues() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(Histogram.highestEquivalentValue(bucket) >= value);
+            assertTrue(bucket == 0 || Histogram.highestEquivalentValue(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    void testQuantilesWithinPrecision() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.count());
+        assertEquals(10_000_000, snapshot.max());
+        assertEquals(5_000_500, snapshot.mean(), 1e-6);
+        assertEquals(5_000_000, snapshot.quantile(0.5), 5_000_000 * 0.04);
+        assertEquals(9_900_000, snapshot.quantile(0.99), 9_900_000 * 0.04);
+        assertEquals(10_000_000, snapshot.quantile(1));
+    }
+
+    @Test
+    void testEmptyAndNegative() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.snapshot().quantile(0.99));
+        assertEquals(0, histogram.snapshot().mean());
+
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.snapshot().max());
+    }
+}
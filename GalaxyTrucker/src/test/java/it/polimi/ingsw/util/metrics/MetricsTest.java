@@ -0,0 +1,72 @@
+package it.polimi.ingsw.util.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void testRender() {
+        Metrics metrics = new Metrics();
+        metrics.counter("test.commands").add(3);
+        metrics.gauge("test.connections", () -> 2);
+        metrics.timer("test.command.draw").record(2_000_000);
+
+        String text = metrics.render();
+
+        assertTrue(text.contains("# TYPE test_commands_total counter\ntest_commands_total 3\n"));
+        assertTrue(text.contains("test_connections 2.0\n"));
+        assertTrue(text.contains("# TYPE test_command_draw_seconds summary\n"));
+        assertTrue(text.contains("test_command_draw_seconds_count 1\n"));
+        assertEquals(0.002, metrics.getValues().get("test.command.draw.p99").doubleValue(), 0.002 * 0.04);
+    }
+
+    @Test
+    void testSameNameSameMetric() {
+        Metrics metrics = new Metrics();
+
+        assertSame(metrics.counter("a"), metrics.counter("a"));
+        assertSame(metrics.timer("b"), metrics.timer("b"));
+    }
+
+    @Test
+    void testEndpoint() throws IOException {
+        Metrics metrics = new Metrics();
+        metrics.counter("test.endpoint").increment();
+        MetricsEndpoint endpoint = new MetricsEndpoint(0, metrics);
+        endpoint.start();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI
+                    .create("http://localhost:" + endpoint.getPort() + MetricsEndpoint.PATH).toURL().openConnection();
+            assertEquals(200, connection.getResponseCode());
+            try (InputStream body = connection.getInputStream()) {
+                assertTrue(new String(body.readAllBytes(), StandardCharsets.UTF_8).contains("test_endpoint_total 1"));
+            }
+        } finally {
+            endpoint.stop();
+        }
+    }
+
+    @Test
+    void testMBean() throws Exception {
+        Metrics metrics = Metrics.getInstance();
+        metrics.counter("test.mbean").increment();
+        metrics.registerMBean();
+        metrics.registerMBean();  // no error if already registered
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Object value = server.getAttribute(new ObjectName(Metrics.MBEAN_NAME), "test.mbean");
+
+        assertTrue(((Number) value).longValue() >= 1);
+    }
+}
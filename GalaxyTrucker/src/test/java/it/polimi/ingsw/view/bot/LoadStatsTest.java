@@ -0,0 +1,31 @@
+package it.polimi.ingsw.view.bot;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadStatsTest {
+
+    @Test
+    void testReport() {
+        LoadStats stats = new LoadStats();
+        stats.start();
+        for (int i = 1; i <= 100; i++) {
+            stats.recordLatency("drawTile", i * 1_000_000L);
+        }
+        stats.recordUpdate(100);
+        stats.recordUpdate(300);
+        stats.recordError("placeTile");
+        stats.recordFailure();
+        stats.stop();
+
+        assertEquals(2, stats.getUpdates());
+        assertEquals(2, stats.getErrors());
+
+        String report = stats.getReport();
+        // p50, p90, p99 and max of 1..100 ms
+        assertTrue(report.matches("(?s).*drawTile\\s+100\\s+50\\.00\\s+90\\.00\\s+99\\.00\\s+100\\.00.*"), report);
+        assertTrue(report.contains("avg size 200 B, max size 300 B"), report);
+        assertTrue(report.matches("(?s).*placeTile\\s+1.*"), report);
+    }
+}